@@ -111,10 +111,23 @@ public class UnifiedMapTest
         UnifiedMapTest.assertUnifiedMapWithCollisions(4, 8);
     }
 
+    @Test
+    public void unifiedMapWithCollisionsAndSortedChains()
+    {
+        for (int shift = 0; shift <= 4; shift++)
+        {
+            UnifiedMapTest.assertUnifiedMapWithCollisions(UnifiedMap.<CollidingInt, String>newMapWithSortedChains(), shift, 2);
+            UnifiedMapTest.assertUnifiedMapWithCollisions(UnifiedMap.<CollidingInt, String>newMapWithSortedChains(), shift, 8);
+        }
+    }
+
     private static void assertUnifiedMapWithCollisions(int shift, int removeStride)
     {
-        UnifiedMap<CollidingInt, String> map = UnifiedMap.newMap();
+        UnifiedMapTest.assertUnifiedMapWithCollisions(UnifiedMap.<CollidingInt, String>newMap(), shift, removeStride);
+    }
 
+    private static void assertUnifiedMapWithCollisions(UnifiedMap<CollidingInt, String> map, int shift, int removeStride)
+    {
         int size = 100000;
         for (int i = 0; i < size; i++)
         {
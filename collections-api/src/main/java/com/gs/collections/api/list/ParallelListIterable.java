@@ -38,6 +38,15 @@ public interface ParallelListIterable<T>
 {
     ParallelUnsortedSetIterable<T> asUnique();
 
+    /**
+     * Creates a parallel iterable of the distinct elements of the current iterable. Unlike {@link #asUnique()}, the
+     * first occurrence of each element is kept and encounter order is preserved, so {@code distinct().toList()} is
+     * the same as {@link ListIterable#distinct()} regardless of how the work was scheduled.
+     *
+     * @since 5.1
+     */
+    ParallelListIterable<T> distinct();
+
     /**
      * Creates a parallel iterable for selecting elements from the current iterable.
      */
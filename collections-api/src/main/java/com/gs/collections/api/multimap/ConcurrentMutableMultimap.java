@@ -0,0 +1,34 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.api.multimap;
+
+/**
+ * A ConcurrentMutableMultimap is a {@link MutableMultimap} that is safe for concurrent reads and writes.  Each of
+ * {@link #put(Object, Object)}, {@link #remove(Object, Object)}, {@link #putAll(Object, Iterable)},
+ * {@link #replaceValues(Object, Iterable)} and {@link #removeAll(Object)} takes effect atomically for its key.
+ * Iteration and views are weakly consistent: they never throw {@link java.util.ConcurrentModificationException}, see
+ * every key's values as they were at some point during the iteration, and may or may not reflect writes made after
+ * the iteration started.  Operations spanning more than one key, such as {@link #size()} or {@link #clear()}, are not
+ * atomic.
+ *
+ * @since 5.1
+ */
+public interface ConcurrentMutableMultimap<K, V>
+        extends MutableMultimap<K, V>
+{
+    ConcurrentMutableMultimap<K, V> newEmpty();
+}
@@ -0,0 +1,1001 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.bag.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import com.gs.collections.api.annotation.Beta;
+import com.gs.collections.api.bag.Bag;
+import com.gs.collections.api.bag.ImmutableBag;
+import com.gs.collections.api.bag.MutableBag;
+import com.gs.collections.api.bag.primitive.MutableBooleanBag;
+import com.gs.collections.api.bag.primitive.MutableByteBag;
+import com.gs.collections.api.bag.primitive.MutableCharBag;
+import com.gs.collections.api.bag.primitive.MutableDoubleBag;
+import com.gs.collections.api.bag.primitive.MutableFloatBag;
+import com.gs.collections.api.bag.primitive.MutableIntBag;
+import com.gs.collections.api.bag.primitive.MutableLongBag;
+import com.gs.collections.api.bag.primitive.MutableShortBag;
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.function.Function2;
+import com.gs.collections.api.block.function.primitive.BooleanFunction;
+import com.gs.collections.api.block.function.primitive.ByteFunction;
+import com.gs.collections.api.block.function.primitive.CharFunction;
+import com.gs.collections.api.block.function.primitive.DoubleFunction;
+import com.gs.collections.api.block.function.primitive.FloatFunction;
+import com.gs.collections.api.block.function.primitive.IntFunction;
+import com.gs.collections.api.block.function.primitive.LongFunction;
+import com.gs.collections.api.block.function.primitive.ShortFunction;
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.api.block.predicate.Predicate2;
+import com.gs.collections.api.block.predicate.primitive.IntPredicate;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import com.gs.collections.api.list.MutableList;
+import com.gs.collections.api.map.MutableMap;
+import com.gs.collections.api.partition.bag.PartitionMutableBag;
+import com.gs.collections.api.set.MutableSet;
+import com.gs.collections.api.tuple.Pair;
+import com.gs.collections.impl.Counter;
+import com.gs.collections.impl.bag.mutable.primitive.BooleanHashBag;
+import com.gs.collections.impl.bag.mutable.primitive.ByteHashBag;
+import com.gs.collections.impl.bag.mutable.primitive.CharHashBag;
+import com.gs.collections.impl.bag.mutable.primitive.DoubleHashBag;
+import com.gs.collections.impl.bag.mutable.primitive.FloatHashBag;
+import com.gs.collections.impl.bag.mutable.primitive.IntHashBag;
+import com.gs.collections.impl.bag.mutable.primitive.LongHashBag;
+import com.gs.collections.impl.bag.mutable.primitive.ShortHashBag;
+import com.gs.collections.impl.block.procedure.CollectionAddProcedure;
+import com.gs.collections.impl.collection.AbstractMutableBag;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.map.mutable.ConcurrentHashMap;
+import com.gs.collections.impl.map.mutable.UnifiedMap;
+import com.gs.collections.impl.multimap.bag.HashBagMultimap;
+import com.gs.collections.impl.partition.bag.PartitionHashBag;
+import com.gs.collections.impl.set.mutable.UnifiedSet;
+import com.gs.collections.impl.utility.ArrayIterate;
+import com.gs.collections.impl.utility.Iterate;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A ConcurrentHashBag is a MutableBag that is safe for concurrent reads and writes without locking.  Each item's
+ * count is an {@link AtomicInteger} in a {@link ConcurrentHashMap}, so {@link #add(Object)},
+ * {@link #addOccurrences(Object, int)} and {@link #removeOccurrences(Object, int)} of an item that is already present
+ * are a single compare-and-set, and writers of different items never contend.  A count that drops to zero is removed
+ * from the map and never reused; a writer that finds one retries against a fresh count.
+ * <p/>
+ * The total size is kept in striped cells picked by thread, rather than in one shared counter, so {@link #size()} is
+ * cheap and exact when no writes are in flight, but only approximate while they are.  {@link #occurrencesOf(Object)}
+ * is always exact.  Iteration and bulk operations are weakly consistent, as with {@link ConcurrentHashMap}, and see each
+ * item's count as it was when the item was reached.  Null items are not supported.
+ *
+ * @since 5.1
+ */
+@Beta
+@ThreadSafe
+public final class ConcurrentHashBag<T>
+        extends AbstractMutableBag<T>
+        implements Externalizable, MutableBag<T>
+{
+    private static final long serialVersionUID = 1L;
+
+    private final ConcurrentHashMap<T, AtomicInteger> items;
+    private final SizeCells size = new SizeCells();
+
+    public ConcurrentHashBag()
+    {
+        this.items = ConcurrentHashMap.newMap();
+    }
+
+    public ConcurrentHashBag(int sizeDistinct)
+    {
+        this.items = ConcurrentHashMap.newMap(sizeDistinct);
+    }
+
+    public static <E> ConcurrentHashBag<E> newBag()
+    {
+        return new ConcurrentHashBag<E>();
+    }
+
+    public static <E> ConcurrentHashBag<E> newBag(int sizeDistinct)
+    {
+        return new ConcurrentHashBag<E>(sizeDistinct);
+    }
+
+    public static <E> ConcurrentHashBag<E> newBag(Bag<? extends E> source)
+    {
+        final ConcurrentHashBag<E> result = new ConcurrentHashBag<E>(source.sizeDistinct());
+        source.forEachWithOccurrences(new ObjectIntProcedure<E>()
+        {
+            public void value(E each, int occurrences)
+            {
+                result.addOccurrences(each, occurrences);
+            }
+        });
+        return result;
+    }
+
+    public static <E> ConcurrentHashBag<E> newBag(Iterable<? extends E> source)
+    {
+        ConcurrentHashBag<E> result = ConcurrentHashBag.newBag();
+        Iterate.addAllTo(source, result);
+        return result;
+    }
+
+    public static <E> ConcurrentHashBag<E> newBagWith(E... elements)
+    {
+        ConcurrentHashBag<E> result = ConcurrentHashBag.newBag();
+        ArrayIterate.addAllTo(elements, result);
+        return result;
+    }
+
+    // Counting
+
+    @Override
+    public boolean add(T item)
+    {
+        this.addToCount(item, 1);
+        this.size.add(1);
+        return true;
+    }
+
+    public void addOccurrences(T item, int occurrences)
+    {
+        if (occurrences < 0)
+        {
+            throw new IllegalArgumentException("Cannot add a negative number of occurrences");
+        }
+        if (occurrences > 0)
+        {
+            this.addToCount(item, occurrences);
+            this.size.add(occurrences);
+        }
+    }
+
+    private void addToCount(T item, int occurrences)
+    {
+        AtomicInteger count = this.items.get(item);
+        while (true)
+        {
+            if (count == null)
+            {
+                count = this.items.putIfAbsent(item, new AtomicInteger(occurrences));
+                if (count == null)
+                {
+                    return;
+                }
+            }
+            int current = count.get();
+            if (current == 0)
+            {
+                // Emptied by a concurrent removal, which is about to remove it from the map
+                this.items.remove(item, count);
+                count = this.items.get(item);
+            }
+            else if (count.compareAndSet(current, current + occurrences))
+            {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean remove(Object item)
+    {
+        return this.removeOccurrences(item, 1);
+    }
+
+    public boolean removeOccurrences(Object item, int occurrences)
+    {
+        if (occurrences < 0)
+        {
+            throw new IllegalArgumentException("Cannot remove a negative number of occurrences");
+        }
+        if (occurrences == 0)
+        {
+            return false;
+        }
+        AtomicInteger count = this.items.get(item);
+        while (count != null)
+        {
+            int current = count.get();
+            if (current == 0)
+            {
+                this.items.remove(item, count);
+                return false;
+            }
+            int newCount = Math.max(current - occurrences, 0);
+            if (count.compareAndSet(current, newCount))
+            {
+                if (newCount == 0)
+                {
+                    this.items.remove(item, count);
+                }
+                this.size.add(newCount - current);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean setOccurrences(T item, int occurrences)
+    {
+        if (occurrences < 0)
+        {
+            throw new IllegalArgumentException("Cannot set a negative number of occurrences");
+        }
+        while (true)
+        {
+            AtomicInteger count = this.items.get(item);
+            if (count == null)
+            {
+                if (occurrences == 0)
+                {
+                    return false;
+                }
+                if (this.items.putIfAbsent(item, new AtomicInteger(occurrences)) == null)
+                {
+                    this.size.add(occurrences);
+                    return true;
+                }
+            }
+            else
+            {
+                int current = count.get();
+                if (current == 0)
+                {
+                    this.items.remove(item, count);
+                }
+                else if (current == occurrences)
+                {
+                    return false;
+                }
+                else if (count.compareAndSet(current, occurrences))
+                {
+                    if (occurrences == 0)
+                    {
+                        this.items.remove(item, count);
+                    }
+                    this.size.add(occurrences - current);
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes every occurrence of {@code item} and returns how many there were.
+     */
+    private int removeItem(Object item)
+    {
+        AtomicInteger count = this.items.get(item);
+        if (count == null)
+        {
+            return 0;
+        }
+        int removed = count.getAndSet(0);
+        this.items.remove(item, count);
+        this.size.add(-removed);
+        return removed;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> collection)
+    {
+        return this.removeAllIterable(collection);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> collection)
+    {
+        return this.retainAllIterable(collection);
+    }
+
+    @Override
+    public boolean removeAllIterable(Iterable<?> iterable)
+    {
+        boolean changed = false;
+        for (Object each : iterable)
+        {
+            changed |= this.removeItem(each) > 0;
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean retainAllIterable(Iterable<?> iterable)
+    {
+        MutableSet<Object> retained = UnifiedSet.newSet(iterable);
+        boolean changed = false;
+        for (T each : this.items.keySet())
+        {
+            if (!retained.contains(each))
+            {
+                changed |= this.removeItem(each) > 0;
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public void removeIf(Predicate<? super T> predicate)
+    {
+        for (T each : this.items.keySet())
+        {
+            if (predicate.accept(each))
+            {
+                this.removeItem(each);
+            }
+        }
+    }
+
+    @Override
+    public <P> void removeIfWith(Predicate2<? super T, ? super P> predicate, P parameter)
+    {
+        for (T each : this.items.keySet())
+        {
+            if (predicate.accept(each, parameter))
+            {
+                this.removeItem(each);
+            }
+        }
+    }
+
+    /**
+     * Removes every item.  Items added while clear is running may or may not be removed.
+     */
+    public void clear()
+    {
+        for (T each : this.items.keySet())
+        {
+            this.removeItem(each);
+        }
+    }
+
+    // Queries
+
+    public int occurrencesOf(Object item)
+    {
+        AtomicInteger count = this.items.get(item);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Returns the sum of the per-thread size cells.  Exact if no writes are in flight, otherwise approximate.
+     */
+    public int size()
+    {
+        return this.size.sum();
+    }
+
+    public int sizeDistinct()
+    {
+        return this.items.size();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.items.isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object item)
+    {
+        return this.occurrencesOf(item) > 0;
+    }
+
+    public void forEachWithOccurrences(final ObjectIntProcedure<? super T> objectIntProcedure)
+    {
+        this.items.forEachKeyValue(new Procedure2<T, AtomicInteger>()
+        {
+            public void value(T item, AtomicInteger count)
+            {
+                int occurrences = count.get();
+                if (occurrences > 0)
+                {
+                    objectIntProcedure.value(item, occurrences);
+                }
+            }
+        });
+    }
+
+    public void forEach(final Procedure<? super T> procedure)
+    {
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                for (int i = 0; i < occurrences; i++)
+                {
+                    procedure.value(each);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void forEachWithIndex(final ObjectIntProcedure<? super T> objectIntProcedure)
+    {
+        final Counter index = new Counter();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                for (int i = 0; i < occurrences; i++)
+                {
+                    objectIntProcedure.value(each, index.getCount());
+                    index.increment();
+                }
+            }
+        });
+    }
+
+    @Override
+    public <P> void forEachWith(final Procedure2<? super T, ? super P> procedure, final P parameter)
+    {
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                for (int i = 0; i < occurrences; i++)
+                {
+                    procedure.value(each, parameter);
+                }
+            }
+        });
+    }
+
+    public Iterator<T> iterator()
+    {
+        return new InternalIterator();
+    }
+
+    public T getFirst()
+    {
+        for (Map.Entry<T, AtomicInteger> entry : this.items.entrySet())
+        {
+            if (entry.getValue().get() > 0)
+            {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    public T getLast()
+    {
+        T last = null;
+        for (Map.Entry<T, AtomicInteger> entry : this.items.entrySet())
+        {
+            if (entry.getValue().get() > 0)
+            {
+                last = entry.getKey();
+            }
+        }
+        return last;
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (this == other)
+        {
+            return true;
+        }
+        if (!(other instanceof Bag))
+        {
+            return false;
+        }
+        Bag<?> bag = (Bag<?>) other;
+        MutableMap<T, Integer> snapshot = this.toMapOfItemToCount();
+        if (snapshot.size() != bag.sizeDistinct())
+        {
+            return false;
+        }
+        for (Map.Entry<T, Integer> entry : snapshot.entrySet())
+        {
+            if (bag.occurrencesOf(entry.getKey()) != entry.getValue())
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        final Counter counter = new Counter();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T item, int count)
+            {
+                counter.add(item.hashCode() ^ count);
+            }
+        });
+        return counter.getCount();
+    }
+
+    public MutableBag<T> selectByOccurrences(final IntPredicate predicate)
+    {
+        final MutableBag<T> result = HashBag.newBag();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                if (predicate.accept(occurrences))
+                {
+                    result.addOccurrences(each, occurrences);
+                }
+            }
+        });
+        return result;
+    }
+
+    public MutableMap<T, Integer> toMapOfItemToCount()
+    {
+        final MutableMap<T, Integer> map = UnifiedMap.newMap(this.items.size());
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T item, int count)
+            {
+                map.put(item, count);
+            }
+        });
+        return map;
+    }
+
+    public String toStringOfItemToCount()
+    {
+        return this.toMapOfItemToCount().toString();
+    }
+
+    // Copies and views
+
+    public MutableBag<T> newEmpty()
+    {
+        return ConcurrentHashBag.newBag();
+    }
+
+    public ConcurrentHashBag<T> with(T element)
+    {
+        this.add(element);
+        return this;
+    }
+
+    public ConcurrentHashBag<T> without(T element)
+    {
+        this.remove(element);
+        return this;
+    }
+
+    public ConcurrentHashBag<T> withAll(Iterable<? extends T> iterable)
+    {
+        this.addAllIterable(iterable);
+        return this;
+    }
+
+    public ConcurrentHashBag<T> withoutAll(Iterable<? extends T> iterable)
+    {
+        this.removeAllIterable(iterable);
+        return this;
+    }
+
+    public UnmodifiableBag<T> asUnmodifiable()
+    {
+        return UnmodifiableBag.of(this);
+    }
+
+    public SynchronizedBag<T> asSynchronized()
+    {
+        return new SynchronizedBag<T>(this);
+    }
+
+    public ImmutableBag<T> toImmutable()
+    {
+        return HashBag.newBag(this).toImmutable();
+    }
+
+    @Override
+    public MutableBag<T> toBag()
+    {
+        return HashBag.newBag(this);
+    }
+
+    @Override
+    public MutableList<T> toList()
+    {
+        MutableList<T> result = FastList.newList();
+        this.forEach(CollectionAddProcedure.on(result));
+        return result;
+    }
+
+    @Override
+    public MutableSet<T> toSet()
+    {
+        final MutableSet<T> result = UnifiedSet.newSet(this.sizeDistinct());
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                result.add(each);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public Object[] toArray()
+    {
+        return this.toList().toArray();
+    }
+
+    @Override
+    public <E> E[] toArray(E[] array)
+    {
+        return this.toList().toArray(array);
+    }
+
+    // Iteration patterns that return a new bag
+
+    public MutableBag<T> select(final Predicate<? super T> predicate)
+    {
+        final MutableBag<T> result = HashBag.newBag();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                if (predicate.accept(each))
+                {
+                    result.addOccurrences(each, occurrences);
+                }
+            }
+        });
+        return result;
+    }
+
+    public <P> MutableBag<T> selectWith(final Predicate2<? super T, ? super P> predicate, final P parameter)
+    {
+        final MutableBag<T> result = HashBag.newBag();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                if (predicate.accept(each, parameter))
+                {
+                    result.addOccurrences(each, occurrences);
+                }
+            }
+        });
+        return result;
+    }
+
+    public MutableBag<T> reject(final Predicate<? super T> predicate)
+    {
+        final MutableBag<T> result = HashBag.newBag();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                if (!predicate.accept(each))
+                {
+                    result.addOccurrences(each, occurrences);
+                }
+            }
+        });
+        return result;
+    }
+
+    public <P> MutableBag<T> rejectWith(final Predicate2<? super T, ? super P> predicate, final P parameter)
+    {
+        final MutableBag<T> result = HashBag.newBag();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                if (!predicate.accept(each, parameter))
+                {
+                    result.addOccurrences(each, occurrences);
+                }
+            }
+        });
+        return result;
+    }
+
+    public PartitionMutableBag<T> partition(final Predicate<? super T> predicate)
+    {
+        final PartitionMutableBag<T> result = new PartitionHashBag<T>();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                MutableBag<T> bucket = predicate.accept(each) ? result.getSelected() : result.getRejected();
+                bucket.addOccurrences(each, occurrences);
+            }
+        });
+        return result;
+    }
+
+    public <P> PartitionMutableBag<T> partitionWith(final Predicate2<? super T, ? super P> predicate, final P parameter)
+    {
+        final PartitionMutableBag<T> result = new PartitionHashBag<T>();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                MutableBag<T> bucket = predicate.accept(each, parameter) ? result.getSelected() : result.getRejected();
+                bucket.addOccurrences(each, occurrences);
+            }
+        });
+        return result;
+    }
+
+    public <S> MutableBag<S> selectInstancesOf(final Class<S> clazz)
+    {
+        final MutableBag<S> result = HashBag.newBag();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                if (clazz.isInstance(each))
+                {
+                    result.addOccurrences((S) each, occurrences);
+                }
+            }
+        });
+        return result;
+    }
+
+    public <V> MutableBag<V> collect(final Function<? super T, ? extends V> function)
+    {
+        final MutableBag<V> result = HashBag.newBag();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                result.addOccurrences(function.valueOf(each), occurrences);
+            }
+        });
+        return result;
+    }
+
+    public <P, V> MutableBag<V> collectWith(
+            final Function2<? super T, ? super P, ? extends V> function,
+            final P parameter)
+    {
+        final MutableBag<V> result = HashBag.newBag();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                result.addOccurrences(function.value(each, parameter), occurrences);
+            }
+        });
+        return result;
+    }
+
+    public <V> MutableBag<V> collectIf(
+            final Predicate<? super T> predicate,
+            final Function<? super T, ? extends V> function)
+    {
+        final MutableBag<V> result = HashBag.newBag();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                if (predicate.accept(each))
+                {
+                    result.addOccurrences(function.valueOf(each), occurrences);
+                }
+            }
+        });
+        return result;
+    }
+
+    public <V> MutableBag<V> flatCollect(final Function<? super T, ? extends Iterable<V>> function)
+    {
+        final MutableBag<V> result = HashBag.newBag();
+        this.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, final int occurrences)
+            {
+                Iterate.forEach(function.valueOf(each), new Procedure<V>()
+                {
+                    public void value(V value)
+                    {
+                        result.addOccurrences(value, occurrences);
+                    }
+                });
+            }
+        });
+        return result;
+    }
+
+    public MutableBooleanBag collectBoolean(BooleanFunction<? super T> booleanFunction)
+    {
+        return this.collectBoolean(booleanFunction, new BooleanHashBag());
+    }
+
+    public MutableByteBag collectByte(ByteFunction<? super T> byteFunction)
+    {
+        return this.collectByte(byteFunction, new ByteHashBag());
+    }
+
+    public MutableCharBag collectChar(CharFunction<? super T> charFunction)
+    {
+        return this.collectChar(charFunction, new CharHashBag());
+    }
+
+    public MutableDoubleBag collectDouble(DoubleFunction<? super T> doubleFunction)
+    {
+        return this.collectDouble(doubleFunction, new DoubleHashBag());
+    }
+
+    public MutableFloatBag collectFloat(FloatFunction<? super T> floatFunction)
+    {
+        return this.collectFloat(floatFunction, new FloatHashBag());
+    }
+
+    public MutableIntBag collectInt(IntFunction<? super T> intFunction)
+    {
+        return this.collectInt(intFunction, new IntHashBag());
+    }
+
+    public MutableLongBag collectLong(LongFunction<? super T> longFunction)
+    {
+        return this.collectLong(longFunction, new LongHashBag());
+    }
+
+    public MutableShortBag collectShort(ShortFunction<? super T> shortFunction)
+    {
+        return this.collectShort(shortFunction, new ShortHashBag());
+    }
+
+    public <V> HashBagMultimap<V, T> groupBy(Function<? super T, ? extends V> function)
+    {
+        return this.groupBy(function, HashBagMultimap.<V, T>newMultimap());
+    }
+
+    public <V> HashBagMultimap<V, T> groupByEach(Function<? super T, ? extends Iterable<V>> function)
+    {
+        return this.groupByEach(function, HashBagMultimap.<V, T>newMultimap());
+    }
+
+    public <V> MutableMap<V, T> groupByUniqueKey(Function<? super T, ? extends V> function)
+    {
+        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".groupByUniqueKey() not implemented yet");
+    }
+
+    public <S> MutableBag<Pair<T, S>> zip(Iterable<S> that)
+    {
+        return this.zip(that, HashBag.<Pair<T, S>>newBag());
+    }
+
+    public MutableSet<Pair<T, Integer>> zipWithIndex()
+    {
+        return this.zipWithIndex(UnifiedSet.<Pair<T, Integer>>newSet());
+    }
+
+    // Serialization
+
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        HashBag.newBag(this).writeExternal(out);
+    }
+
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        HashBag<T> bag = new HashBag<T>();
+        bag.readExternal(in);
+        bag.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                ConcurrentHashBag.this.addOccurrences(each, occurrences);
+            }
+        });
+    }
+
+    private final class InternalIterator implements Iterator<T>
+    {
+        private final Iterator<Map.Entry<T, AtomicInteger>> entries = ConcurrentHashBag.this.items.entrySet().iterator();
+        private T current;
+        private int remaining;
+        private boolean isCurrentSet;
+
+        public boolean hasNext()
+        {
+            while (this.remaining == 0 && this.entries.hasNext())
+            {
+                Map.Entry<T, AtomicInteger> entry = this.entries.next();
+                this.current = entry.getKey();
+                this.remaining = entry.getValue().get();
+            }
+            return this.remaining > 0;
+        }
+
+        public T next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            this.remaining--;
+            this.isCurrentSet = true;
+            return this.current;
+        }
+
+        public void remove()
+        {
+            if (!this.isCurrentSet)
+            {
+                throw new IllegalStateException();
+            }
+            this.isCurrentSet = false;
+            ConcurrentHashBag.this.remove(this.current);
+        }
+    }
+
+    /**
+     * The size of the bag, split into cells that each sit on their own cache line.  A thread always adds to the cell
+     * picked by its id, so threads only contend on a cell when there are more writing threads than cells.
+     */
+    private static final class SizeCells
+    {
+        private static final int PADDING = 16;
+        private static final int CELLS = SizeCells.cellCount(Runtime.getRuntime().availableProcessors() * 2);
+
+        private final AtomicIntegerArray cells = new AtomicIntegerArray(CELLS * PADDING);
+
+        private static int cellCount(int minimum)
+        {
+            int count = 1;
+            while (count < minimum)
+            {
+                count <<= 1;
+            }
+            return count;
+        }
+
+        public void add(int delta)
+        {
+            int cell = (int) Thread.currentThread().getId() & (CELLS - 1);
+            this.cells.addAndGet(cell * PADDING, delta);
+        }
+
+        public int sum()
+        {
+            int sum = 0;
+            for (int i = 0; i < CELLS; i++)
+            {
+                sum += this.cells.get(i * PADDING);
+            }
+            return sum;
+        }
+    }
+}
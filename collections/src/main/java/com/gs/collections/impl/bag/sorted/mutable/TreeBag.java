@@ -27,8 +27,10 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.SortedMap;
 import java.util.concurrent.ExecutorService;
 
+import com.gs.collections.api.LazyIterable;
 import com.gs.collections.api.annotation.Beta;
 import com.gs.collections.api.bag.Bag;
 import com.gs.collections.api.bag.MutableBag;
@@ -78,6 +80,14 @@ import com.gs.collections.impl.block.procedure.MultimapEachPutProcedure;
 import com.gs.collections.impl.block.procedure.MultimapPutProcedure;
 import com.gs.collections.impl.block.procedure.checked.CheckedProcedure2;
 import com.gs.collections.impl.collection.AbstractMutableBag;
+import com.gs.collections.impl.lazy.AbstractLazyIterable;
+import com.gs.collections.impl.lazy.parallel.AbstractBatch;
+import com.gs.collections.impl.lazy.parallel.bag.sorted.AbstractParallelSortedBag;
+import com.gs.collections.impl.lazy.parallel.bag.sorted.CollectSortedBagBatch;
+import com.gs.collections.impl.lazy.parallel.bag.sorted.RootSortedBagBatch;
+import com.gs.collections.impl.lazy.parallel.bag.sorted.SelectSortedBagBatch;
+import com.gs.collections.impl.lazy.parallel.bag.sorted.SortedBagBatch;
+import com.gs.collections.impl.lazy.parallel.list.ListBatch;
 import com.gs.collections.impl.list.mutable.FastList;
 import com.gs.collections.impl.list.mutable.primitive.BooleanArrayList;
 import com.gs.collections.impl.list.mutable.primitive.ByteArrayList;
@@ -87,6 +97,7 @@ import com.gs.collections.impl.list.mutable.primitive.FloatArrayList;
 import com.gs.collections.impl.list.mutable.primitive.IntArrayList;
 import com.gs.collections.impl.list.mutable.primitive.LongArrayList;
 import com.gs.collections.impl.list.mutable.primitive.ShortArrayList;
+import com.gs.collections.impl.map.sorted.mutable.BTreeSortedMap;
 import com.gs.collections.impl.map.sorted.mutable.TreeSortedMap;
 import com.gs.collections.impl.multimap.bag.sorted.TreeBagMultimap;
 import com.gs.collections.impl.partition.bag.sorted.PartitionTreeBag;
@@ -98,7 +109,9 @@ import com.gs.collections.impl.utility.internal.IterableIterate;
 
 /**
  * A TreeBag is a MutableSortedBag which uses a SortedMap as its underlying data store.  Each key in the SortedMap represents some item,
- * and the value in the map represents the current number of occurrences of that item.
+ * and the value in the map represents the current number of occurrences of that item.  Since 5.1 the map is a
+ * {@link BTreeSortedMap}, so the distinct items are held in the arrays of a B-tree's leaves rather than in one
+ * red-black tree node each.
  *
  * @since 4.2
  */
@@ -119,7 +132,7 @@ public class TreeBag<T>
 
     public TreeBag()
     {
-        this.items = TreeSortedMap.newMap();
+        this.items = BTreeSortedMap.newMap();
     }
 
     private TreeBag(MutableSortedMap<T, Counter> map)
@@ -130,7 +143,7 @@ public class TreeBag<T>
 
     public TreeBag(Comparator<? super T> comparator)
     {
-        this.items = TreeSortedMap.newMap(comparator);
+        this.items = BTreeSortedMap.newMap(comparator);
     }
 
     public TreeBag(SortedBag<T> sortedBag)
@@ -413,7 +426,7 @@ public class TreeBag<T>
 
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
     {
-        this.items = new TreeSortedMap<T, Counter>((Comparator<T>) in.readObject());
+        this.items = new BTreeSortedMap<T, Counter>((Comparator<T>) in.readObject());
         int size = in.readInt();
         for (int i = 0; i < size; i++)
         {
@@ -732,7 +745,7 @@ public class TreeBag<T>
         {
             throw new IllegalArgumentException();
         }
-        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".asParallel() not implemented yet");
+        return new TreeBagParallelIterable(executorService, batchSize);
     }
 
     @Override
@@ -1364,4 +1377,216 @@ public class TreeBag<T>
             this.currentKeyPosition--;
         }
     }
+
+    private final class TreeBagBatch extends AbstractBatch<T> implements RootSortedBagBatch<T>
+    {
+        private final SortedMap<T, Counter> chunk;
+
+        private TreeBagBatch(SortedMap<T, Counter> chunk)
+        {
+            this.chunk = chunk;
+        }
+
+        public void forEach(Procedure<? super T> procedure)
+        {
+            for (Map.Entry<T, Counter> entry : this.chunk.entrySet())
+            {
+                T each = entry.getKey();
+                int occurrences = entry.getValue().getCount();
+                for (int i = 0; i < occurrences; i++)
+                {
+                    procedure.value(each);
+                }
+            }
+        }
+
+        public void forEachWithOccurrences(ObjectIntProcedure<? super T> procedure)
+        {
+            for (Map.Entry<T, Counter> entry : this.chunk.entrySet())
+            {
+                procedure.value(entry.getKey(), entry.getValue().getCount());
+            }
+        }
+
+        public boolean anySatisfy(Predicate<? super T> predicate)
+        {
+            for (T each : this.chunk.keySet())
+            {
+                if (predicate.accept(each))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public boolean allSatisfy(Predicate<? super T> predicate)
+        {
+            for (T each : this.chunk.keySet())
+            {
+                if (!predicate.accept(each))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public T detect(Predicate<? super T> predicate)
+        {
+            for (T each : this.chunk.keySet())
+            {
+                if (predicate.accept(each))
+                {
+                    return each;
+                }
+            }
+            return null;
+        }
+
+        public SortedBagBatch<T> select(Predicate<? super T> predicate)
+        {
+            return new SelectSortedBagBatch<T>(this, predicate);
+        }
+
+        public <V> ListBatch<V> collect(Function<? super T, ? extends V> function)
+        {
+            return new CollectSortedBagBatch<T, V>(this, function);
+        }
+    }
+
+    private final class TreeBagParallelIterable extends AbstractParallelSortedBag<T, RootSortedBagBatch<T>>
+    {
+        private final ExecutorService executorService;
+        private final int batchSize;
+
+        private TreeBagParallelIterable(ExecutorService executorService, int batchSize)
+        {
+            this.executorService = executorService;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public Comparator<? super T> comparator()
+        {
+            return TreeBag.this.comparator();
+        }
+
+        @Override
+        public ExecutorService getExecutorService()
+        {
+            return this.executorService;
+        }
+
+        @Override
+        public LazyIterable<RootSortedBagBatch<T>> split()
+        {
+            return new TreeBagParallelBatchLazyIterable();
+        }
+
+        public void forEach(Procedure<? super T> procedure)
+        {
+            forEach(this, procedure);
+        }
+
+        public void forEachWithOccurrences(ObjectIntProcedure<? super T> procedure)
+        {
+            forEachWithOccurrences(this, procedure);
+        }
+
+        public boolean anySatisfy(Predicate<? super T> predicate)
+        {
+            return anySatisfy(this, predicate);
+        }
+
+        public boolean allSatisfy(Predicate<? super T> predicate)
+        {
+            return allSatisfy(this, predicate);
+        }
+
+        public T detect(Predicate<? super T> predicate)
+        {
+            return detect(this, predicate);
+        }
+
+        /**
+         * Walks the distinct keys once to find the first key of each batch. Each batch is a subMap view between two
+         * consecutive boundaries, so batches can be handed to the executor while the walk is still in progress.
+         */
+        private class TreeBagParallelBatchIterator implements Iterator<RootSortedBagBatch<T>>
+        {
+            private final Iterator<T> iterator = TreeBag.this.items.keySet().iterator();
+            private T chunkStart;
+            private boolean hasChunkStart;
+
+            private TreeBagParallelBatchIterator()
+            {
+                this.advanceChunkStart();
+            }
+
+            private void advanceChunkStart()
+            {
+                this.hasChunkStart = this.iterator.hasNext();
+                this.chunkStart = this.hasChunkStart ? this.iterator.next() : null;
+            }
+
+            public boolean hasNext()
+            {
+                return this.hasChunkStart;
+            }
+
+            public RootSortedBagBatch<T> next()
+            {
+                if (!this.hasChunkStart)
+                {
+                    throw new NoSuchElementException();
+                }
+                T currentChunkStart = this.chunkStart;
+                for (int i = 1; i < TreeBagParallelIterable.this.batchSize && this.iterator.hasNext(); i++)
+                {
+                    this.iterator.next();
+                }
+                this.advanceChunkStart();
+                SortedMap<T, Counter> chunk = this.hasChunkStart
+                        ? TreeBag.this.items.subMap(currentChunkStart, this.chunkStart)
+                        : TreeBag.this.items.tailMap(currentChunkStart);
+                return new TreeBagBatch(chunk);
+            }
+
+            public void remove()
+            {
+                throw new UnsupportedOperationException("Cannot call remove() on " + this.getClass().getSimpleName());
+            }
+        }
+
+        private class TreeBagParallelBatchLazyIterable
+                extends AbstractLazyIterable<RootSortedBagBatch<T>>
+        {
+            public void forEach(Procedure<? super RootSortedBagBatch<T>> procedure)
+            {
+                for (RootSortedBagBatch<T> chunk : this)
+                {
+                    procedure.value(chunk);
+                }
+            }
+
+            public <P> void forEachWith(Procedure2<? super RootSortedBagBatch<T>, ? super P> procedure, P parameter)
+            {
+                for (RootSortedBagBatch<T> chunk : this)
+                {
+                    procedure.value(chunk, parameter);
+                }
+            }
+
+            public void forEachWithIndex(ObjectIntProcedure<? super RootSortedBagBatch<T>> objectIntProcedure)
+            {
+                throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".forEachWithIndex() not implemented yet");
+            }
+
+            public Iterator<RootSortedBagBatch<T>> iterator()
+            {
+                return new TreeBagParallelBatchIterator();
+            }
+        }
+    }
 }
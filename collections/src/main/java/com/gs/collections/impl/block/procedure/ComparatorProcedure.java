@@ -34,6 +34,11 @@ public abstract class ComparatorProcedure<T> implements Procedure<T>
         this.comparator = comparator;
     }
 
+    public boolean isVisitedAtLeastOnce()
+    {
+        return this.visitedAtLeastOnce;
+    }
+
     public T getResult()
     {
         if (!this.visitedAtLeastOnce)
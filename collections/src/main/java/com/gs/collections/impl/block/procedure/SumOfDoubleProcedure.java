@@ -0,0 +1,56 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.block.procedure;
+
+import com.gs.collections.api.block.function.primitive.DoubleFunction;
+import com.gs.collections.api.block.procedure.Procedure;
+
+/**
+ * Applies a DoubleFunction to an object and adds the result to a running double sum.
+ *
+ * @since 5.1
+ */
+public class SumOfDoubleProcedure<T> implements Procedure<T>
+{
+    private static final long serialVersionUID = 1L;
+
+    private final DoubleFunction<? super T> function;
+    private double result = 0.0;
+
+    public SumOfDoubleProcedure(DoubleFunction<? super T> function)
+    {
+        this.function = function;
+    }
+
+    public void value(T each)
+    {
+        this.result += this.function.doubleValueOf(each);
+    }
+
+    /**
+     * Adds the sum held by another procedure, such as one that summed a different part of the same iterable.
+     */
+    public void add(SumOfDoubleProcedure<?> other)
+    {
+        this.result += other.result;
+    }
+
+    public double getResult()
+    {
+        return this.result;
+    }
+}
@@ -208,14 +208,24 @@ public abstract class AbstractLazyIterable<T>
         return IterableIterate.getLast(this);
     }
 
+    /**
+     * Returns this iterable as a {@link FusedIterable} if it is a select, reject or collect that a following select,
+     * reject, collect or primitive collect can be fused into, otherwise null.
+     */
+    protected FusedIterable<T> fused()
+    {
+        return null;
+    }
+
     public LazyIterable<T> select(Predicate<? super T> predicate)
     {
-        return LazyIterate.select(this, predicate);
+        FusedIterable<T> fused = this.fused();
+        return fused == null ? LazyIterate.select(this, predicate) : fused.select(predicate);
     }
 
     public <P> LazyIterable<T> selectWith(Predicate2<? super T, ? super P> predicate, P parameter)
     {
-        return LazyIterate.select(this, Predicates.bind(predicate, parameter));
+        return this.select(Predicates.bind(predicate, parameter));
     }
 
     public <R extends Collection<T>> R select(Predicate<? super T> predicate, R target)
@@ -230,12 +240,13 @@ public abstract class AbstractLazyIterable<T>
 
     public LazyIterable<T> reject(Predicate<? super T> predicate)
     {
-        return LazyIterate.reject(this, predicate);
+        FusedIterable<T> fused = this.fused();
+        return fused == null ? LazyIterate.reject(this, predicate) : fused.reject(predicate);
     }
 
     public <P> LazyIterable<T> rejectWith(Predicate2<? super T, ? super P> predicate, P parameter)
     {
-        return LazyIterate.reject(this, Predicates.bind(predicate, parameter));
+        return this.reject(Predicates.bind(predicate, parameter));
     }
 
     public <R extends Collection<T>> R reject(Predicate<? super T> predicate, R target)
@@ -265,12 +276,14 @@ public abstract class AbstractLazyIterable<T>
 
     public <V> LazyIterable<V> collect(Function<? super T, ? extends V> function)
     {
-        return LazyIterate.collect(this, function);
+        FusedIterable<T> fused = this.fused();
+        return fused == null ? LazyIterate.collect(this, function) : fused.collect(function);
     }
 
     public LazyBooleanIterable collectBoolean(BooleanFunction<? super T> booleanFunction)
     {
-        return new CollectBooleanIterable<T>(this, booleanFunction);
+        FusedIterable<T> fused = this.fused();
+        return fused == null ? new CollectBooleanIterable<T>(this, booleanFunction) : fused.collectBoolean(booleanFunction);
     }
 
     public <R extends MutableBooleanCollection> R collectBoolean(BooleanFunction<? super T> booleanFunction, R target)
@@ -280,7 +293,8 @@ public abstract class AbstractLazyIterable<T>
 
     public LazyByteIterable collectByte(ByteFunction<? super T> byteFunction)
     {
-        return new CollectByteIterable<T>(this, byteFunction);
+        FusedIterable<T> fused = this.fused();
+        return fused == null ? new CollectByteIterable<T>(this, byteFunction) : fused.collectByte(byteFunction);
     }
 
     public <R extends MutableByteCollection> R collectByte(ByteFunction<? super T> byteFunction, R target)
@@ -290,7 +304,8 @@ public abstract class AbstractLazyIterable<T>
 
     public LazyCharIterable collectChar(CharFunction<? super T> charFunction)
     {
-        return new CollectCharIterable<T>(this, charFunction);
+        FusedIterable<T> fused = this.fused();
+        return fused == null ? new CollectCharIterable<T>(this, charFunction) : fused.collectChar(charFunction);
     }
 
     public <R extends MutableCharCollection> R collectChar(CharFunction<? super T> charFunction, R target)
@@ -300,7 +315,8 @@ public abstract class AbstractLazyIterable<T>
 
     public LazyDoubleIterable collectDouble(DoubleFunction<? super T> doubleFunction)
     {
-        return new CollectDoubleIterable<T>(this, doubleFunction);
+        FusedIterable<T> fused = this.fused();
+        return fused == null ? new CollectDoubleIterable<T>(this, doubleFunction) : fused.collectDouble(doubleFunction);
     }
 
     public <R extends MutableDoubleCollection> R collectDouble(DoubleFunction<? super T> doubleFunction, R target)
@@ -310,7 +326,8 @@ public abstract class AbstractLazyIterable<T>
 
     public LazyFloatIterable collectFloat(FloatFunction<? super T> floatFunction)
     {
-        return new CollectFloatIterable<T>(this, floatFunction);
+        FusedIterable<T> fused = this.fused();
+        return fused == null ? new CollectFloatIterable<T>(this, floatFunction) : fused.collectFloat(floatFunction);
     }
 
     public <R extends MutableFloatCollection> R collectFloat(FloatFunction<? super T> floatFunction, R target)
@@ -320,7 +337,8 @@ public abstract class AbstractLazyIterable<T>
 
     public LazyIntIterable collectInt(IntFunction<? super T> intFunction)
     {
-        return new CollectIntIterable<T>(this, intFunction);
+        FusedIterable<T> fused = this.fused();
+        return fused == null ? new CollectIntIterable<T>(this, intFunction) : fused.collectInt(intFunction);
     }
 
     public <R extends MutableIntCollection> R collectInt(IntFunction<? super T> intFunction, R target)
@@ -330,7 +348,8 @@ public abstract class AbstractLazyIterable<T>
 
     public LazyLongIterable collectLong(LongFunction<? super T> longFunction)
     {
-        return new CollectLongIterable<T>(this, longFunction);
+        FusedIterable<T> fused = this.fused();
+        return fused == null ? new CollectLongIterable<T>(this, longFunction) : fused.collectLong(longFunction);
     }
 
     public <R extends MutableLongCollection> R collectLong(LongFunction<? super T> longFunction, R target)
@@ -340,7 +359,8 @@ public abstract class AbstractLazyIterable<T>
 
     public LazyShortIterable collectShort(ShortFunction<? super T> shortFunction)
     {
-        return new CollectShortIterable<T>(this, shortFunction);
+        FusedIterable<T> fused = this.fused();
+        return fused == null ? new CollectShortIterable<T>(this, shortFunction) : fused.collectShort(shortFunction);
     }
 
     public <R extends MutableShortCollection> R collectShort(ShortFunction<? super T> shortFunction, R target)
@@ -355,7 +375,7 @@ public abstract class AbstractLazyIterable<T>
 
     public <P, V> LazyIterable<V> collectWith(Function2<? super T, ? super P, ? extends V> function, P parameter)
     {
-        return LazyIterate.collect(this, Functions.bind(function, parameter));
+        return this.collect(Functions.bind(function, parameter));
     }
 
     public <P, V, R extends Collection<V>> R collectWith(Function2<? super T, ? super P, ? extends V> function, P parameter, R targetCollection)
@@ -380,7 +400,7 @@ public abstract class AbstractLazyIterable<T>
 
     public <V> LazyIterable<V> collectIf(Predicate<? super T> predicate, Function<? super T, ? extends V> function)
     {
-        return LazyIterate.collectIf(this, predicate, function);
+        return this.select(predicate).collect(function);
     }
 
     public <V, R extends Collection<V>> R collectIf(Predicate<? super T> predicate, Function<? super T, ? extends V> function, R target)
@@ -43,6 +43,12 @@ public class CollectIterable<T, V>
         this.function = function;
     }
 
+    @Override
+    protected FusedIterable<V> fused()
+    {
+        return FusedIterable.collect(this.adapted, this.function);
+    }
+
     public void forEach(Procedure<? super V> procedure)
     {
         Iterate.forEach(this.adapted, Functions.bind(procedure, this.function));
@@ -16,6 +16,7 @@
 
 package com.gs.collections.impl.lazy;
 
+import java.util.Collection;
 import java.util.Iterator;
 
 import com.gs.collections.api.block.procedure.Procedure;
@@ -64,6 +65,16 @@ public class DropIterable<T> extends AbstractLazyIterable<T>
         Iterate.forEachWith(this.adapted, new IfProcedureWith<T, P>(new DropIterablePredicate<T>(this.count), procedure), parameter);
     }
 
+    @Override
+    public int size()
+    {
+        if (this.adapted instanceof Collection)
+        {
+            return Math.max(0, ((Collection<?>) this.adapted).size() - this.count);
+        }
+        return super.size();
+    }
+
     public Iterator<T> iterator()
     {
         return new DropIterator<T>(this.adapted, this.count);
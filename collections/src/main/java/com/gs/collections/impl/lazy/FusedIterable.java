@@ -0,0 +1,614 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.lazy;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.gs.collections.api.LazyBooleanIterable;
+import com.gs.collections.api.LazyByteIterable;
+import com.gs.collections.api.LazyCharIterable;
+import com.gs.collections.api.LazyDoubleIterable;
+import com.gs.collections.api.LazyFloatIterable;
+import com.gs.collections.api.LazyIntIterable;
+import com.gs.collections.api.LazyIterable;
+import com.gs.collections.api.LazyLongIterable;
+import com.gs.collections.api.LazyShortIterable;
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.function.primitive.BooleanFunction;
+import com.gs.collections.api.block.function.primitive.ByteFunction;
+import com.gs.collections.api.block.function.primitive.CharFunction;
+import com.gs.collections.api.block.function.primitive.DoubleFunction;
+import com.gs.collections.api.block.function.primitive.FloatFunction;
+import com.gs.collections.api.block.function.primitive.IntFunction;
+import com.gs.collections.api.block.function.primitive.LongFunction;
+import com.gs.collections.api.block.function.primitive.ShortFunction;
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.api.block.procedure.primitive.BooleanProcedure;
+import com.gs.collections.api.block.procedure.primitive.ByteProcedure;
+import com.gs.collections.api.block.procedure.primitive.CharProcedure;
+import com.gs.collections.api.block.procedure.primitive.DoubleProcedure;
+import com.gs.collections.api.block.procedure.primitive.FloatProcedure;
+import com.gs.collections.api.block.procedure.primitive.IntProcedure;
+import com.gs.collections.api.block.procedure.primitive.LongProcedure;
+import com.gs.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import com.gs.collections.api.block.procedure.primitive.ShortProcedure;
+import com.gs.collections.impl.block.procedure.SumOfDoubleProcedure;
+import com.gs.collections.impl.block.procedure.SumOfFloatProcedure;
+import com.gs.collections.impl.block.procedure.SumOfIntProcedure;
+import com.gs.collections.impl.block.procedure.SumOfLongProcedure;
+import com.gs.collections.impl.lazy.primitive.CollectBooleanIterable;
+import com.gs.collections.impl.lazy.primitive.CollectByteIterable;
+import com.gs.collections.impl.lazy.primitive.CollectCharIterable;
+import com.gs.collections.impl.lazy.primitive.CollectDoubleIterable;
+import com.gs.collections.impl.lazy.primitive.CollectFloatIterable;
+import com.gs.collections.impl.lazy.primitive.CollectIntIterable;
+import com.gs.collections.impl.lazy.primitive.CollectLongIterable;
+import com.gs.collections.impl.lazy.primitive.CollectShortIterable;
+import com.gs.collections.impl.utility.Iterate;
+import net.jcip.annotations.Immutable;
+
+/**
+ * A FusedIterable is a chain of adjacent select, reject and collect operations over a source iterable, evaluated as a
+ * single stage.  Each element is passed through every operation in one loop over the source, instead of through a
+ * nested IfProcedure or bound Function for every operation in the chain.  Chaining another select, reject or collect
+ * onto a SelectIterable, RejectIterable, CollectIterable or FusedIterable returns a FusedIterable.  A primitive collect
+ * at the end of the chain, such as {@link #collectInt(IntFunction)}, is applied in the same loop.
+ *
+ * @since 5.1
+ */
+@Immutable
+public final class FusedIterable<V>
+        extends AbstractLazyIterable<V>
+{
+    private static final byte SELECT = 0;
+    private static final byte REJECT = 1;
+    private static final byte COLLECT = 2;
+
+    private static final Object FILTERED = new Object();
+
+    private final Iterable<?> adapted;
+    private final byte[] operations;
+    private final Object[] blocks;
+    private final boolean sizePreserving;
+
+    private FusedIterable(Iterable<?> adapted, byte[] operations, Object[] blocks)
+    {
+        this.adapted = adapted;
+        this.operations = operations;
+        this.blocks = blocks;
+        this.sizePreserving = FusedIterable.isSizePreserving(operations);
+    }
+
+    public static <T> FusedIterable<T> select(Iterable<T> adapted, Predicate<? super T> predicate)
+    {
+        return new FusedIterable<T>(adapted, new byte[]{SELECT}, new Object[]{predicate});
+    }
+
+    public static <T, V> FusedIterable<V> collect(Iterable<T> adapted, Function<? super T, ? extends V> function)
+    {
+        return new FusedIterable<V>(adapted, new byte[]{COLLECT}, new Object[]{function});
+    }
+
+    private static boolean isSizePreserving(byte[] operations)
+    {
+        for (byte operation : operations)
+        {
+            if (operation != COLLECT)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private <R> FusedIterable<R> with(byte operation, Object block)
+    {
+        int length = this.operations.length;
+        byte[] newOperations = new byte[length + 1];
+        Object[] newBlocks = new Object[length + 1];
+        System.arraycopy(this.operations, 0, newOperations, 0, length);
+        System.arraycopy(this.blocks, 0, newBlocks, 0, length);
+        newOperations[length] = operation;
+        newBlocks[length] = block;
+        return new FusedIterable<R>(this.adapted, newOperations, newBlocks);
+    }
+
+    @Override
+    protected FusedIterable<V> fused()
+    {
+        return this;
+    }
+
+    @Override
+    public LazyIterable<V> select(Predicate<? super V> predicate)
+    {
+        return this.<V>with(SELECT, predicate);
+    }
+
+    @Override
+    public LazyIterable<V> reject(Predicate<? super V> predicate)
+    {
+        return this.<V>with(REJECT, predicate);
+    }
+
+    @Override
+    public <R> LazyIterable<R> collect(Function<? super V, ? extends R> function)
+    {
+        return this.<R>with(COLLECT, function);
+    }
+
+    @Override
+    public LazyBooleanIterable collectBoolean(BooleanFunction<? super V> booleanFunction)
+    {
+        return new FusedBooleanIterable(booleanFunction);
+    }
+
+    @Override
+    public LazyByteIterable collectByte(ByteFunction<? super V> byteFunction)
+    {
+        return new FusedByteIterable(byteFunction);
+    }
+
+    @Override
+    public LazyCharIterable collectChar(CharFunction<? super V> charFunction)
+    {
+        return new FusedCharIterable(charFunction);
+    }
+
+    @Override
+    public LazyDoubleIterable collectDouble(DoubleFunction<? super V> doubleFunction)
+    {
+        return new FusedDoubleIterable(doubleFunction);
+    }
+
+    @Override
+    public LazyFloatIterable collectFloat(FloatFunction<? super V> floatFunction)
+    {
+        return new FusedFloatIterable(floatFunction);
+    }
+
+    @Override
+    public LazyIntIterable collectInt(IntFunction<? super V> intFunction)
+    {
+        return new FusedIntIterable(intFunction);
+    }
+
+    @Override
+    public LazyLongIterable collectLong(LongFunction<? super V> longFunction)
+    {
+        return new FusedLongIterable(longFunction);
+    }
+
+    @Override
+    public LazyShortIterable collectShort(ShortFunction<? super V> shortFunction)
+    {
+        return new FusedShortIterable(shortFunction);
+    }
+
+    /**
+     * Applies every operation to {@code each}, returning the result or FILTERED if a select or reject dropped it.
+     */
+    private Object apply(Object each)
+    {
+        Object result = each;
+        byte[] localOperations = this.operations;
+        Object[] localBlocks = this.blocks;
+        for (int i = 0; i < localOperations.length; i++)
+        {
+            switch (localOperations[i])
+            {
+                case SELECT:
+                    if (!((Predicate<Object>) localBlocks[i]).accept(result))
+                    {
+                        return FILTERED;
+                    }
+                    break;
+                case REJECT:
+                    if (((Predicate<Object>) localBlocks[i]).accept(result))
+                    {
+                        return FILTERED;
+                    }
+                    break;
+                default:
+                    result = ((Function<Object, Object>) localBlocks[i]).valueOf(result);
+            }
+        }
+        return result;
+    }
+
+    public void forEach(final Procedure<? super V> procedure)
+    {
+        Iterate.forEach(this.adapted, new Procedure<Object>()
+        {
+            public void value(Object each)
+            {
+                Object result = FusedIterable.this.apply(each);
+                if (result != FILTERED)
+                {
+                    procedure.value((V) result);
+                }
+            }
+        });
+    }
+
+    public void forEachWithIndex(final ObjectIntProcedure<? super V> objectIntProcedure)
+    {
+        Iterate.forEach(this.adapted, new Procedure<Object>()
+        {
+            private int index;
+
+            public void value(Object each)
+            {
+                Object result = FusedIterable.this.apply(each);
+                if (result != FILTERED)
+                {
+                    objectIntProcedure.value((V) result, this.index++);
+                }
+            }
+        });
+    }
+
+    public <P> void forEachWith(final Procedure2<? super V, ? super P> procedure, final P parameter)
+    {
+        Iterate.forEach(this.adapted, new Procedure<Object>()
+        {
+            public void value(Object each)
+            {
+                Object result = FusedIterable.this.apply(each);
+                if (result != FILTERED)
+                {
+                    procedure.value((V) result, parameter);
+                }
+            }
+        });
+    }
+
+    public Iterator<V> iterator()
+    {
+        return new FusedIterator(this.adapted.iterator());
+    }
+
+    @Override
+    public int size()
+    {
+        return this.sizePreserving ? Iterate.sizeOf(this.adapted) : super.size();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.sizePreserving ? Iterate.isEmpty(this.adapted) : super.isEmpty();
+    }
+
+    @Override
+    public boolean notEmpty()
+    {
+        return !this.isEmpty();
+    }
+
+    /**
+     * The terminal collectBoolean of a fused chain, which applies the chain and the BooleanFunction in the same loop.
+     */
+    private final class FusedBooleanIterable extends CollectBooleanIterable<V>
+    {
+        private final BooleanFunction<? super V> function;
+
+        private FusedBooleanIterable(BooleanFunction<? super V> function)
+        {
+            super(FusedIterable.this, function);
+            this.function = function;
+        }
+
+        @Override
+        public void forEach(final BooleanProcedure procedure)
+        {
+            Iterate.forEach(FusedIterable.this.adapted, new Procedure<Object>()
+            {
+                public void value(Object each)
+                {
+                    Object result = FusedIterable.this.apply(each);
+                    if (result != FILTERED)
+                    {
+                        procedure.value(FusedBooleanIterable.this.function.booleanValueOf((V) result));
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * The terminal collectByte of a fused chain, which applies the chain and the ByteFunction in the same loop.
+     */
+    private final class FusedByteIterable extends CollectByteIterable<V>
+    {
+        private final ByteFunction<? super V> function;
+
+        private FusedByteIterable(ByteFunction<? super V> function)
+        {
+            super(FusedIterable.this, function);
+            this.function = function;
+        }
+
+        @Override
+        public void forEach(final ByteProcedure procedure)
+        {
+            Iterate.forEach(FusedIterable.this.adapted, new Procedure<Object>()
+            {
+                public void value(Object each)
+                {
+                    Object result = FusedIterable.this.apply(each);
+                    if (result != FILTERED)
+                    {
+                        procedure.value(FusedByteIterable.this.function.byteValueOf((V) result));
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * The terminal collectChar of a fused chain, which applies the chain and the CharFunction in the same loop.
+     */
+    private final class FusedCharIterable extends CollectCharIterable<V>
+    {
+        private final CharFunction<? super V> function;
+
+        private FusedCharIterable(CharFunction<? super V> function)
+        {
+            super(FusedIterable.this, function);
+            this.function = function;
+        }
+
+        @Override
+        public void forEach(final CharProcedure procedure)
+        {
+            Iterate.forEach(FusedIterable.this.adapted, new Procedure<Object>()
+            {
+                public void value(Object each)
+                {
+                    Object result = FusedIterable.this.apply(each);
+                    if (result != FILTERED)
+                    {
+                        procedure.value(FusedCharIterable.this.function.charValueOf((V) result));
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * The terminal collectDouble of a fused chain, which applies the chain and the DoubleFunction in the same loop.
+     */
+    private final class FusedDoubleIterable extends CollectDoubleIterable<V>
+    {
+        private final DoubleFunction<? super V> function;
+
+        private FusedDoubleIterable(DoubleFunction<? super V> function)
+        {
+            super(FusedIterable.this, function);
+            this.function = function;
+        }
+
+        @Override
+        public void forEach(final DoubleProcedure procedure)
+        {
+            Iterate.forEach(FusedIterable.this.adapted, new Procedure<Object>()
+            {
+                public void value(Object each)
+                {
+                    Object result = FusedIterable.this.apply(each);
+                    if (result != FILTERED)
+                    {
+                        procedure.value(FusedDoubleIterable.this.function.doubleValueOf((V) result));
+                    }
+                }
+            });
+        }
+
+        @Override
+        public double sum()
+        {
+            SumOfDoubleProcedure<V> procedure = new SumOfDoubleProcedure<V>(this.function);
+            FusedIterable.this.forEach(procedure);
+            return procedure.getResult();
+        }
+    }
+
+    /**
+     * The terminal collectFloat of a fused chain, which applies the chain and the FloatFunction in the same loop.
+     */
+    private final class FusedFloatIterable extends CollectFloatIterable<V>
+    {
+        private final FloatFunction<? super V> function;
+
+        private FusedFloatIterable(FloatFunction<? super V> function)
+        {
+            super(FusedIterable.this, function);
+            this.function = function;
+        }
+
+        @Override
+        public void forEach(final FloatProcedure procedure)
+        {
+            Iterate.forEach(FusedIterable.this.adapted, new Procedure<Object>()
+            {
+                public void value(Object each)
+                {
+                    Object result = FusedIterable.this.apply(each);
+                    if (result != FILTERED)
+                    {
+                        procedure.value(FusedFloatIterable.this.function.floatValueOf((V) result));
+                    }
+                }
+            });
+        }
+
+        @Override
+        public double sum()
+        {
+            SumOfFloatProcedure<V> procedure = new SumOfFloatProcedure<V>(this.function);
+            FusedIterable.this.forEach(procedure);
+            return procedure.getResult();
+        }
+    }
+
+    /**
+     * The terminal collectInt of a fused chain, which applies the chain and the IntFunction in the same loop.
+     */
+    private final class FusedIntIterable extends CollectIntIterable<V>
+    {
+        private final IntFunction<? super V> function;
+
+        private FusedIntIterable(IntFunction<? super V> function)
+        {
+            super(FusedIterable.this, function);
+            this.function = function;
+        }
+
+        @Override
+        public void forEach(final IntProcedure procedure)
+        {
+            Iterate.forEach(FusedIterable.this.adapted, new Procedure<Object>()
+            {
+                public void value(Object each)
+                {
+                    Object result = FusedIterable.this.apply(each);
+                    if (result != FILTERED)
+                    {
+                        procedure.value(FusedIntIterable.this.function.intValueOf((V) result));
+                    }
+                }
+            });
+        }
+
+        @Override
+        public long sum()
+        {
+            SumOfIntProcedure<V> procedure = new SumOfIntProcedure<V>(this.function);
+            FusedIterable.this.forEach(procedure);
+            return procedure.getResult();
+        }
+    }
+
+    /**
+     * The terminal collectLong of a fused chain, which applies the chain and the LongFunction in the same loop.
+     */
+    private final class FusedLongIterable extends CollectLongIterable<V>
+    {
+        private final LongFunction<? super V> function;
+
+        private FusedLongIterable(LongFunction<? super V> function)
+        {
+            super(FusedIterable.this, function);
+            this.function = function;
+        }
+
+        @Override
+        public void forEach(final LongProcedure procedure)
+        {
+            Iterate.forEach(FusedIterable.this.adapted, new Procedure<Object>()
+            {
+                public void value(Object each)
+                {
+                    Object result = FusedIterable.this.apply(each);
+                    if (result != FILTERED)
+                    {
+                        procedure.value(FusedLongIterable.this.function.longValueOf((V) result));
+                    }
+                }
+            });
+        }
+
+        @Override
+        public long sum()
+        {
+            SumOfLongProcedure<V> procedure = new SumOfLongProcedure<V>(this.function);
+            FusedIterable.this.forEach(procedure);
+            return procedure.getResult();
+        }
+    }
+
+    /**
+     * The terminal collectShort of a fused chain, which applies the chain and the ShortFunction in the same loop.
+     */
+    private final class FusedShortIterable extends CollectShortIterable<V>
+    {
+        private final ShortFunction<? super V> function;
+
+        private FusedShortIterable(ShortFunction<? super V> function)
+        {
+            super(FusedIterable.this, function);
+            this.function = function;
+        }
+
+        @Override
+        public void forEach(final ShortProcedure procedure)
+        {
+            Iterate.forEach(FusedIterable.this.adapted, new Procedure<Object>()
+            {
+                public void value(Object each)
+                {
+                    Object result = FusedIterable.this.apply(each);
+                    if (result != FILTERED)
+                    {
+                        procedure.value(FusedShortIterable.this.function.shortValueOf((V) result));
+                    }
+                }
+            });
+        }
+    }
+
+    private final class FusedIterator implements Iterator<V>
+    {
+        private final Iterator<?> iterator;
+        private Object next = FILTERED;
+
+        private FusedIterator(Iterator<?> iterator)
+        {
+            this.iterator = iterator;
+        }
+
+        public boolean hasNext()
+        {
+            while (this.next == FILTERED && this.iterator.hasNext())
+            {
+                this.next = FusedIterable.this.apply(this.iterator.next());
+            }
+            return this.next != FILTERED;
+        }
+
+        public V next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            Object result = this.next;
+            this.next = FILTERED;
+            return (V) result;
+        }
+
+        public void remove()
+        {
+            throw new UnsupportedOperationException("Cannot remove from a fused iterator");
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.lazy;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+import com.gs.collections.api.LazyIterable;
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import net.jcip.annotations.Immutable;
+
+/**
+ * A ListRangeIterable is the result of take and drop on a {@link RandomAccess} list.  It iterates over at most count
+ * elements of the list starting at index from, by index, so dropping elements does not visit them, chained take and
+ * drop calls only adjust the range, and size, getFirst and getLast do not iterate at all.  The range is resolved
+ * against the size of the list each time it is evaluated.
+ *
+ * @since 5.1
+ */
+@Immutable
+public final class ListRangeIterable<T>
+        extends AbstractLazyIterable<T>
+{
+    private final List<T> adapted;
+    private final int from;
+    private final int count;
+
+    public ListRangeIterable(List<T> newAdapted, int from, int count)
+    {
+        if (from < 0)
+        {
+            throw new IllegalArgumentException("Count must be greater than zero, but was: " + from);
+        }
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("Count must be greater than zero, but was: " + count);
+        }
+        this.adapted = newAdapted;
+        this.from = from;
+        this.count = count;
+    }
+
+    private int start()
+    {
+        return Math.min(this.from, this.adapted.size());
+    }
+
+    private int end(int start)
+    {
+        int size = this.adapted.size();
+        return size - start <= this.count ? size : start + this.count;
+    }
+
+    @Override
+    public LazyIterable<T> take(int count)
+    {
+        return new ListRangeIterable<T>(this.adapted, this.from, Math.min(this.count, count));
+    }
+
+    @Override
+    public LazyIterable<T> drop(int count)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("Count must be greater than zero, but was: " + count);
+        }
+        int newFrom = count > Integer.MAX_VALUE - this.from ? Integer.MAX_VALUE : this.from + count;
+        return new ListRangeIterable<T>(this.adapted, newFrom, Math.max(0, this.count - count));
+    }
+
+    public void forEach(Procedure<? super T> procedure)
+    {
+        int start = this.start();
+        int end = this.end(start);
+        for (int i = start; i < end; i++)
+        {
+            procedure.value(this.adapted.get(i));
+        }
+    }
+
+    public void forEachWithIndex(ObjectIntProcedure<? super T> objectIntProcedure)
+    {
+        int start = this.start();
+        int end = this.end(start);
+        for (int i = start; i < end; i++)
+        {
+            objectIntProcedure.value(this.adapted.get(i), i - start);
+        }
+    }
+
+    public <P> void forEachWith(Procedure2<? super T, ? super P> procedure, P parameter)
+    {
+        int start = this.start();
+        int end = this.end(start);
+        for (int i = start; i < end; i++)
+        {
+            procedure.value(this.adapted.get(i), parameter);
+        }
+    }
+
+    @Override
+    public T detect(Predicate<? super T> predicate)
+    {
+        int start = this.start();
+        int end = this.end(start);
+        for (int i = start; i < end; i++)
+        {
+            T each = this.adapted.get(i);
+            if (predicate.accept(each))
+            {
+                return each;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean anySatisfy(Predicate<? super T> predicate)
+    {
+        return this.shortCircuit(predicate, true);
+    }
+
+    @Override
+    public boolean allSatisfy(Predicate<? super T> predicate)
+    {
+        return !this.shortCircuit(predicate, false);
+    }
+
+    @Override
+    public boolean noneSatisfy(Predicate<? super T> predicate)
+    {
+        return !this.shortCircuit(predicate, true);
+    }
+
+    /**
+     * Returns true as soon as the predicate returns expected for an element, or false if it never does.
+     */
+    private boolean shortCircuit(Predicate<? super T> predicate, boolean expected)
+    {
+        int start = this.start();
+        int end = this.end(start);
+        for (int i = start; i < end; i++)
+        {
+            if (predicate.accept(this.adapted.get(i)) == expected)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size()
+    {
+        int start = this.start();
+        return this.end(start) - start;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.size() == 0;
+    }
+
+    @Override
+    public boolean notEmpty()
+    {
+        return this.size() != 0;
+    }
+
+    @Override
+    public T getFirst()
+    {
+        int start = this.start();
+        return start < this.end(start) ? this.adapted.get(start) : null;
+    }
+
+    @Override
+    public T getLast()
+    {
+        int start = this.start();
+        int end = this.end(start);
+        return start < end ? this.adapted.get(end - 1) : null;
+    }
+
+    @Override
+    public Object[] toArray()
+    {
+        int start = this.start();
+        int end = this.end(start);
+        Object[] result = new Object[end - start];
+        for (int i = start; i < end; i++)
+        {
+            result[i - start] = this.adapted.get(i);
+        }
+        return result;
+    }
+
+    public Iterator<T> iterator()
+    {
+        return new RangeIterator();
+    }
+
+    private final class RangeIterator implements Iterator<T>
+    {
+        private int index = ListRangeIterable.this.start();
+        private final int end = ListRangeIterable.this.end(this.index);
+
+        public boolean hasNext()
+        {
+            return this.index < this.end;
+        }
+
+        public T next()
+        {
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            return ListRangeIterable.this.adapted.get(this.index++);
+        }
+
+        public void remove()
+        {
+            throw new UnsupportedOperationException("Cannot remove from a list range iterator");
+        }
+    }
+}
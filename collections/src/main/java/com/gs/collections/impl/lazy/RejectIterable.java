@@ -46,6 +46,12 @@ public class RejectIterable<T>
         this.predicate = Predicates.not(newPredicate);
     }
 
+    @Override
+    protected FusedIterable<T> fused()
+    {
+        return FusedIterable.select(this.adapted, this.predicate);
+    }
+
     public void forEach(Procedure<? super T> procedure)
     {
         Iterate.forEach(this.adapted, new IfProcedure<T>(this.predicate, procedure));
@@ -45,6 +45,12 @@ public class SelectIterable<T>
         this.predicate = newPredicate;
     }
 
+    @Override
+    protected FusedIterable<T> fused()
+    {
+        return FusedIterable.select(this.adapted, this.predicate);
+    }
+
     public void forEach(Procedure<? super T> procedure)
     {
         Iterate.forEach(this.adapted, new IfProcedure<T>(this.predicate, procedure));
@@ -16,6 +16,7 @@
 
 package com.gs.collections.impl.lazy;
 
+import java.util.Collection;
 import java.util.Iterator;
 
 import com.gs.collections.api.block.procedure.Procedure;
@@ -93,6 +94,16 @@ public class TakeIterable<T> extends AbstractLazyIterable<T>
         return result;
     }
 
+    @Override
+    public int size()
+    {
+        if (this.adapted instanceof Collection)
+        {
+            return Math.min(this.count, ((Collection<?>) this.adapted).size());
+        }
+        return super.size();
+    }
+
     public Iterator<T> iterator()
     {
         return new TakeIterator<T>(this.adapted, this.count);
@@ -52,20 +52,32 @@ import com.gs.collections.impl.block.factory.Predicates;
 import com.gs.collections.impl.block.factory.Procedures;
 import com.gs.collections.impl.block.procedure.AtomicCountProcedure;
 import com.gs.collections.impl.block.procedure.CollectionAddProcedure;
+import com.gs.collections.impl.block.procedure.ComparatorProcedure;
 import com.gs.collections.impl.block.procedure.MapCollectProcedure;
+import com.gs.collections.impl.block.procedure.MaxComparatorProcedure;
+import com.gs.collections.impl.block.procedure.MinComparatorProcedure;
 import com.gs.collections.impl.block.procedure.MutatingAggregationProcedure;
 import com.gs.collections.impl.block.procedure.NonMutatingAggregationProcedure;
+import com.gs.collections.impl.block.procedure.SumOfDoubleProcedure;
+import com.gs.collections.impl.block.procedure.SumOfFloatProcedure;
+import com.gs.collections.impl.block.procedure.SumOfIntProcedure;
+import com.gs.collections.impl.block.procedure.SumOfLongProcedure;
 import com.gs.collections.impl.block.procedure.checked.CheckedProcedure2;
 import com.gs.collections.impl.list.mutable.CompositeFastList;
 import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.map.mutable.ConcurrentHashMap;
 import com.gs.collections.impl.map.mutable.UnifiedMap;
 import com.gs.collections.impl.map.sorted.mutable.TreeSortedMap;
+import com.gs.collections.impl.parallel.ParallelIterate;
+import com.gs.collections.impl.parallel.ProcedureFactory;
 import com.gs.collections.impl.set.mutable.UnifiedSet;
 import com.gs.collections.impl.set.sorted.mutable.TreeSortedSet;
 
 @Beta
 public abstract class AbstractParallelIterable<T, B extends Batch<T>> implements ParallelIterable<T>
 {
+    private static final Object NULL_KEY = new Object();
+
     protected static <T> void forEach(final AbstractParallelIterable<T, ? extends RootBatch<T>> parallelIterable, final Procedure<? super T> procedure)
     {
         LazyIterable<Future<?>> futures = parallelIterable.split().collect(new Function<RootBatch<T>, Future<?>>()
@@ -456,12 +468,12 @@ public abstract class AbstractParallelIterable<T, B extends Batch<T>> implements
 
     public Object[] toArray()
     {
-        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".toArray() not implemented yet");
+        return this.toList().toArray();
     }
 
     public <E> E[] toArray(E[] array)
     {
-        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".toArray() not implemented yet");
+        return this.toList().toArray(array);
     }
 
     public MutableList<T> toList()
@@ -489,12 +501,13 @@ public abstract class AbstractParallelIterable<T, B extends Batch<T>> implements
 
     public MutableList<T> toSortedList()
     {
-        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".toSortedList() not implemented yet");
+        return this.toSortedList(null);
     }
 
     public MutableList<T> toSortedList(Comparator<? super T> comparator)
     {
-        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".toSortedList() not implemented yet");
+        FastList<T> result = FastList.newList(this.toList());
+        return result.sortThisInParallel(comparator, this.getExecutorService(), ParallelIterate.getDefaultEngine().getMinForkSize());
     }
 
     public <V extends Comparable<? super V>> MutableList<T> toSortedListBy(Function<? super T, ? extends V> function)
@@ -567,9 +580,9 @@ public abstract class AbstractParallelIterable<T, B extends Batch<T>> implements
             Function0<? extends V> zeroValueFactory,
             Function2<? super V, ? super T, ? extends V> nonMutatingAggregator)
     {
-        MutableMap<K, V> map = UnifiedMap.<K, V>newMap().asSynchronized();
-        this.forEach(new NonMutatingAggregationProcedure<T, K, V>(map, groupBy, zeroValueFactory, nonMutatingAggregator));
-        return map;
+        MutableMap<K, V> map = ConcurrentHashMap.newMap();
+        this.forEach(new NonMutatingAggregationProcedure<T, K, V>(map, AbstractParallelIterable.<T, K>nullSafeKey(groupBy), zeroValueFactory, nonMutatingAggregator));
+        return AbstractParallelIterable.restoreNullKey(map);
     }
 
     public <K, V> MapIterable<K, V> aggregateInPlaceBy(
@@ -577,9 +590,42 @@ public abstract class AbstractParallelIterable<T, B extends Batch<T>> implements
             Function0<? extends V> zeroValueFactory,
             Procedure2<? super V, ? super T> mutatingAggregator)
     {
-        MutableMap<K, V> map = UnifiedMap.<K, V>newMap().asSynchronized();
-        this.forEach(new MutatingAggregationProcedure<T, K, V>(map, groupBy, zeroValueFactory, mutatingAggregator));
-        return map;
+        MutableMap<K, V> map = ConcurrentHashMap.newMap();
+        this.forEach(new MutatingAggregationProcedure<T, K, V>(map, AbstractParallelIterable.<T, K>nullSafeKey(groupBy), zeroValueFactory, mutatingAggregator));
+        return AbstractParallelIterable.restoreNullKey(map);
+    }
+
+    /**
+     * ConcurrentHashMap does not accept null keys, so a null group is aggregated under {@link #NULL_KEY} instead and
+     * put back by {@link #restoreNullKey(MutableMap)} once the parallel phase is over.
+     */
+    private static <T, K> Function<T, K> nullSafeKey(final Function<? super T, ? extends K> groupBy)
+    {
+        return new Function<T, K>()
+        {
+            public K valueOf(T each)
+            {
+                K key = groupBy.valueOf(each);
+                return key == null ? (K) NULL_KEY : key;
+            }
+        };
+    }
+
+    /**
+     * Returns the ConcurrentHashMap itself unless some element was grouped under null. In that case the groups are
+     * copied into a UnifiedMap, which accepts a null key. That copy is a serial pass on the calling thread with one put
+     * per distinct group, so it costs little when there are few groups. Groupings with a null key and very many
+     * groups pay for it, though.
+     */
+    private static <K, V> MapIterable<K, V> restoreNullKey(MutableMap<K, V> map)
+    {
+        if (!map.containsKey(NULL_KEY))
+        {
+            return map;
+        }
+        MutableMap<K, V> result = UnifiedMap.newMap(map);
+        result.put(null, result.removeKey((K) NULL_KEY));
+        return result;
     }
 
     public int count(Predicate<? super T> predicate)
@@ -594,53 +640,248 @@ public abstract class AbstractParallelIterable<T, B extends Batch<T>> implements
         return this.count(Predicates.bind(predicate, parameter));
     }
 
-    public T min(Comparator<? super T> comparator)
+    public T min(final Comparator<? super T> comparator)
     {
-        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".min() not implemented yet");
+        return this.reduceBatches(new Function0<ComparatorProcedure<T>>()
+        {
+            public ComparatorProcedure<T> value()
+            {
+                return new MinComparatorProcedure<T>(comparator);
+            }
+        });
     }
 
-    public T max(Comparator<? super T> comparator)
+    public T max(final Comparator<? super T> comparator)
     {
-        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".max() not implemented yet");
+        return this.reduceBatches(new Function0<ComparatorProcedure<T>>()
+        {
+            public ComparatorProcedure<T> value()
+            {
+                return new MaxComparatorProcedure<T>(comparator);
+            }
+        });
     }
 
     public T min()
     {
-        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".min() not implemented yet");
+        return this.min(Comparators.naturalOrder());
     }
 
     public T max()
     {
-        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".max() not implemented yet");
+        return this.max(Comparators.naturalOrder());
     }
 
     public <V extends Comparable<? super V>> T minBy(Function<? super T, ? extends V> function)
     {
-        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".minBy() not implemented yet");
+        return this.min(Comparators.byFunction(function));
     }
 
     public <V extends Comparable<? super V>> T maxBy(Function<? super T, ? extends V> function)
     {
-        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".maxBy() not implemented yet");
+        return this.max(Comparators.byFunction(function));
     }
 
-    public long sumOfInt(IntFunction<? super T> function)
+    /**
+     * Runs a new procedure from {@code procedureFactory} over each batch, then feeds the result of each batch that
+     * was not empty to one more procedure, in encounter order if this iterable is ordered.  Since min and max keep the
+     * first of equal elements, ties resolve the same way as they would sequentially.
+     */
+    private T reduceBatches(final Function0<ComparatorProcedure<T>> procedureFactory)
     {
-        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".sumOfInt() not implemented yet");
+        Function<Batch<T>, ComparatorProcedure<T>> map = new Function<Batch<T>, ComparatorProcedure<T>>()
+        {
+            public ComparatorProcedure<T> valueOf(Batch<T> batch)
+            {
+                ComparatorProcedure<T> procedure = procedureFactory.value();
+                batch.forEach(procedure);
+                return procedure;
+            }
+        };
+        Procedure2<ComparatorProcedure<T>, ComparatorProcedure<T>> reduce = new Procedure2<ComparatorProcedure<T>, ComparatorProcedure<T>>()
+        {
+            public void value(ComparatorProcedure<T> accumulator, ComparatorProcedure<T> each)
+            {
+                if (each.isVisitedAtLeastOnce())
+                {
+                    accumulator.value(each.getResult());
+                }
+            }
+        };
+        ComparatorProcedure<T> state = procedureFactory.value();
+        this.collectCombine(map, reduce, state);
+        return state.getResult();
     }
 
-    public double sumOfFloat(FloatFunction<? super T> function)
+    public <V> MapIterable<V, T> groupByUniqueKey(final Function<? super T, ? extends V> function)
     {
-        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".sumOfFloat() not implemented yet");
+        // Duplicates are only reported from the combine step, so the exception reaches the caller unwrapped no matter
+        // how the elements were split into batches.
+        Function<Batch<T>, UniqueKeyBatchResult<V, T>> map = new Function<Batch<T>, UniqueKeyBatchResult<V, T>>()
+        {
+            public UniqueKeyBatchResult<V, T> valueOf(Batch<T> batch)
+            {
+                final UniqueKeyBatchResult<V, T> result = new UniqueKeyBatchResult<V, T>();
+                batch.forEach(new Procedure<T>()
+                {
+                    public void value(T each)
+                    {
+                        result.put(function.valueOf(each), each);
+                    }
+                });
+                return result;
+            }
+        };
+        Procedure2<MutableMap<V, T>, UniqueKeyBatchResult<V, T>> reduce = new Procedure2<MutableMap<V, T>, UniqueKeyBatchResult<V, T>>()
+        {
+            public void value(final MutableMap<V, T> accumulator, UniqueKeyBatchResult<V, T> each)
+            {
+                if (each.hasDuplicate)
+                {
+                    throw AbstractParallelIterable.duplicateKey(each.duplicateKey);
+                }
+                each.map.forEachKeyValue(new Procedure2<V, T>()
+                {
+                    public void value(V key, T value)
+                    {
+                        if (accumulator.containsKey(key))
+                        {
+                            throw AbstractParallelIterable.duplicateKey(key);
+                        }
+                        accumulator.put(key, value);
+                    }
+                });
+            }
+        };
+        MutableMap<V, T> state = UnifiedMap.newMap();
+        this.collectCombine(map, reduce, state);
+        return state;
     }
 
-    public long sumOfLong(LongFunction<? super T> function)
+    private static IllegalStateException duplicateKey(Object key)
     {
-        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".sumOfLong() not implemented yet");
+        return new IllegalStateException("Key " + key + " already exists in map!");
     }
 
-    public double sumOfDouble(DoubleFunction<? super T> function)
+    public long sumOfInt(final IntFunction<? super T> function)
     {
-        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".sumOfDouble() not implemented yet");
+        ProcedureFactory<SumOfIntProcedure<T>> procedureFactory = new ProcedureFactory<SumOfIntProcedure<T>>()
+        {
+            public SumOfIntProcedure<T> create()
+            {
+                return new SumOfIntProcedure<T>(function);
+            }
+        };
+        Procedure2<SumOfIntProcedure<T>, SumOfIntProcedure<T>> combiner = new Procedure2<SumOfIntProcedure<T>, SumOfIntProcedure<T>>()
+        {
+            public void value(SumOfIntProcedure<T> sum, SumOfIntProcedure<T> batchSum)
+            {
+                sum.add(batchSum);
+            }
+        };
+        return this.sumOfBatches(procedureFactory, combiner).getResult();
+    }
+
+    public double sumOfFloat(final FloatFunction<? super T> function)
+    {
+        ProcedureFactory<SumOfFloatProcedure<T>> procedureFactory = new ProcedureFactory<SumOfFloatProcedure<T>>()
+        {
+            public SumOfFloatProcedure<T> create()
+            {
+                return new SumOfFloatProcedure<T>(function);
+            }
+        };
+        Procedure2<SumOfFloatProcedure<T>, SumOfFloatProcedure<T>> combiner = new Procedure2<SumOfFloatProcedure<T>, SumOfFloatProcedure<T>>()
+        {
+            public void value(SumOfFloatProcedure<T> sum, SumOfFloatProcedure<T> batchSum)
+            {
+                sum.add(batchSum);
+            }
+        };
+        return this.sumOfBatches(procedureFactory, combiner).getResult();
+    }
+
+    public long sumOfLong(final LongFunction<? super T> function)
+    {
+        ProcedureFactory<SumOfLongProcedure<T>> procedureFactory = new ProcedureFactory<SumOfLongProcedure<T>>()
+        {
+            public SumOfLongProcedure<T> create()
+            {
+                return new SumOfLongProcedure<T>(function);
+            }
+        };
+        Procedure2<SumOfLongProcedure<T>, SumOfLongProcedure<T>> combiner = new Procedure2<SumOfLongProcedure<T>, SumOfLongProcedure<T>>()
+        {
+            public void value(SumOfLongProcedure<T> sum, SumOfLongProcedure<T> batchSum)
+            {
+                sum.add(batchSum);
+            }
+        };
+        return this.sumOfBatches(procedureFactory, combiner).getResult();
+    }
+
+    public double sumOfDouble(final DoubleFunction<? super T> function)
+    {
+        ProcedureFactory<SumOfDoubleProcedure<T>> procedureFactory = new ProcedureFactory<SumOfDoubleProcedure<T>>()
+        {
+            public SumOfDoubleProcedure<T> create()
+            {
+                return new SumOfDoubleProcedure<T>(function);
+            }
+        };
+        Procedure2<SumOfDoubleProcedure<T>, SumOfDoubleProcedure<T>> combiner = new Procedure2<SumOfDoubleProcedure<T>, SumOfDoubleProcedure<T>>()
+        {
+            public void value(SumOfDoubleProcedure<T> sum, SumOfDoubleProcedure<T> batchSum)
+            {
+                sum.add(batchSum);
+            }
+        };
+        return this.sumOfBatches(procedureFactory, combiner).getResult();
+    }
+
+    /**
+     * Sums each batch with its own procedure and adds each batch's procedure into one total as soon as it is done.
+     * collectCombine runs the combiner on the calling thread, so the total needs no synchronization.
+     */
+    private <P extends Procedure<? super T>> P sumOfBatches(
+            final ProcedureFactory<P> procedureFactory,
+            Procedure2<P, P> combiner)
+    {
+        Function<Batch<T>, P> map = new Function<Batch<T>, P>()
+        {
+            public P valueOf(Batch<T> batch)
+            {
+                P procedure = procedureFactory.create();
+                batch.forEach(procedure);
+                return procedure;
+            }
+        };
+        P sum = procedureFactory.create();
+        this.collectCombine(map, combiner, sum);
+        return sum;
+    }
+
+    private static final class UniqueKeyBatchResult<V, T>
+    {
+        private final MutableMap<V, T> map = UnifiedMap.newMap();
+        private boolean hasDuplicate;
+        private V duplicateKey;
+
+        private void put(V key, T value)
+        {
+            if (this.hasDuplicate)
+            {
+                return;
+            }
+            if (this.map.containsKey(key))
+            {
+                this.hasDuplicate = true;
+                this.duplicateKey = key;
+            }
+            else
+            {
+                this.map.put(key, value);
+            }
+        }
     }
 }
@@ -23,13 +23,13 @@ import com.gs.collections.api.block.function.Function2;
 import com.gs.collections.api.block.predicate.Predicate;
 import com.gs.collections.api.block.predicate.Predicate2;
 import com.gs.collections.api.block.procedure.Procedure;
-import com.gs.collections.api.map.MapIterable;
 import com.gs.collections.api.multimap.bag.MutableBagMultimap;
 import com.gs.collections.api.multimap.bag.UnsortedBagMultimap;
 import com.gs.collections.api.set.ParallelUnsortedSetIterable;
 import com.gs.collections.impl.block.factory.Functions;
 import com.gs.collections.impl.block.factory.Predicates;
 import com.gs.collections.impl.lazy.parallel.set.ParallelCollectIterable;
+import com.gs.collections.impl.lazy.parallel.set.ParallelFlatCollectIterable;
 import com.gs.collections.impl.multimap.bag.SynchronizedPutHashBagMultimap;
 
 @Beta
@@ -88,7 +88,7 @@ public abstract class AbstractParallelIterableImpl<T, B extends Batch<T>> extend
 
     public <V> ParallelIterable<V> flatCollect(Function<? super T, ? extends Iterable<V>> function)
     {
-        throw new UnsupportedOperationException();
+        return new ParallelFlatCollectIterable<T, V>(this, function);
     }
 
     public <V> UnsortedBagMultimap<V, T> groupBy(final Function<? super T, ? extends V> function)
@@ -121,9 +121,4 @@ public abstract class AbstractParallelIterableImpl<T, B extends Batch<T>> extend
         });
         return result;
     }
-
-    public <V> MapIterable<V, T> groupByUniqueKey(Function<? super T, ? extends V> function)
-    {
-        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".groupByUniqueKey() not implemented yet");
-    }
 }
@@ -27,7 +27,7 @@ import com.gs.collections.api.set.ParallelUnsortedSetIterable;
 import com.gs.collections.impl.lazy.parallel.list.DistinctBatch;
 import com.gs.collections.impl.lazy.parallel.set.AbstractParallelUnsortedSetIterable;
 import com.gs.collections.impl.lazy.parallel.set.UnsortedSetBatch;
-import com.gs.collections.impl.map.mutable.ConcurrentHashMap;
+import com.gs.collections.impl.set.mutable.ConcurrentHashSet;
 
 @Beta
 public class ParallelDistinctIterable<T> extends AbstractParallelUnsortedSetIterable<T, UnsortedSetBatch<T>>
@@ -48,8 +48,7 @@ public class ParallelDistinctIterable<T> extends AbstractParallelUnsortedSetIter
     @Override
     public LazyIterable<UnsortedSetBatch<T>> split()
     {
-        // TODO: Replace the map with a concurrent set once it's implemented
-        final ConcurrentHashMap<T, Boolean> distinct = new ConcurrentHashMap<T, Boolean>();
+        final ConcurrentHashSet<T> distinct = new ConcurrentHashSet<T>();
         return this.parallelIterable.split().collect(new Function<Batch<T>, UnsortedSetBatch<T>>()
         {
             public UnsortedSetBatch<T> valueOf(Batch<T> batch)
@@ -67,13 +66,12 @@ public class ParallelDistinctIterable<T> extends AbstractParallelUnsortedSetIter
 
     public void forEach(final Procedure<? super T> procedure)
     {
-        // TODO: Replace the map with a concurrent set once it's implemented
-        final ConcurrentHashMap<T, Boolean> distinct = new ConcurrentHashMap<T, Boolean>();
+        final ConcurrentHashSet<T> distinct = new ConcurrentHashSet<T>();
         this.parallelIterable.forEach(new Procedure<T>()
         {
             public void value(T each)
             {
-                if (distinct.put(each, true) == null)
+                if (distinct.add(each))
                 {
                     procedure.value(each);
                 }
@@ -98,8 +96,7 @@ public class ParallelDistinctIterable<T> extends AbstractParallelUnsortedSetIter
 
     private static final class DistinctAndPredicate<T> implements Predicate<T>
     {
-        // TODO: Replace the map with a concurrent set once it's implemented
-        private final ConcurrentHashMap<T, Boolean> distinct = new ConcurrentHashMap<T, Boolean>();
+        private final ConcurrentHashSet<T> distinct = new ConcurrentHashSet<T>();
         private final Predicate<? super T> predicate;
 
         private DistinctAndPredicate(Predicate<? super T> predicate)
@@ -109,14 +106,13 @@ public class ParallelDistinctIterable<T> extends AbstractParallelUnsortedSetIter
 
         public boolean accept(T each)
         {
-            return this.distinct.put(each, true) == null && this.predicate.accept(each);
+            return this.distinct.add(each) && this.predicate.accept(each);
         }
     }
 
     private static final class DistinctOrPredicate<T> implements Predicate<T>
     {
-        // TODO: Replace the map with a concurrent set once it's implemented
-        private final ConcurrentHashMap<T, Boolean> distinct = new ConcurrentHashMap<T, Boolean>();
+        private final ConcurrentHashSet<T> distinct = new ConcurrentHashSet<T>();
         private final Predicate<? super T> predicate;
 
         private DistinctOrPredicate(Predicate<? super T> predicate)
@@ -126,7 +122,7 @@ public class ParallelDistinctIterable<T> extends AbstractParallelUnsortedSetIter
 
         public boolean accept(T each)
         {
-            return this.distinct.put(each, true) != null || this.predicate.accept(each);
+            return !this.distinct.add(each) || this.predicate.accept(each);
         }
     }
 }
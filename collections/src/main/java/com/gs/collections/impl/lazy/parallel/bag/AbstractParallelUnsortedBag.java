@@ -24,7 +24,6 @@ import com.gs.collections.api.block.function.Function2;
 import com.gs.collections.api.block.predicate.Predicate;
 import com.gs.collections.api.block.predicate.Predicate2;
 import com.gs.collections.api.block.procedure.primitive.ObjectIntProcedure;
-import com.gs.collections.api.map.MapIterable;
 import com.gs.collections.api.multimap.bag.MutableBagMultimap;
 import com.gs.collections.api.multimap.bag.UnsortedBagMultimap;
 import com.gs.collections.api.set.ParallelUnsortedSetIterable;
@@ -46,7 +45,7 @@ public abstract class AbstractParallelUnsortedBag<T, B extends UnsortedBagBatch<
 
     public ParallelUnsortedSetIterable<T> asUnique()
     {
-        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".asUnique() not implemented yet");
+        return new ParallelUnsortedBagDistinctIterable<T>(this);
     }
 
     public ParallelUnsortedBag<T> select(Predicate<? super T> predicate)
@@ -91,7 +90,7 @@ public abstract class AbstractParallelUnsortedBag<T, B extends UnsortedBagBatch<
 
     public <V> ParallelUnsortedBag<V> flatCollect(Function<? super T, ? extends Iterable<V>> function)
     {
-        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".flatCollect() not implemented yet");
+        return new ParallelFlatCollectUnsortedBag<T, V>(this, function);
     }
 
     @Override
@@ -138,9 +137,4 @@ public abstract class AbstractParallelUnsortedBag<T, B extends UnsortedBagBatch<
         });
         return result;
     }
-
-    public <V> MapIterable<V, T> groupByUniqueKey(Function<? super T, ? extends V> function)
-    {
-        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".groupByUniqueKey() not implemented yet");
-    }
 }
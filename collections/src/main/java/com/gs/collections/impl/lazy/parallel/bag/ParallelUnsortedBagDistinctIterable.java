@@ -20,19 +20,22 @@ import java.util.concurrent.ExecutorService;
 
 import com.gs.collections.api.LazyIterable;
 import com.gs.collections.api.annotation.Beta;
+import com.gs.collections.api.block.function.Function;
 import com.gs.collections.api.block.predicate.Predicate;
 import com.gs.collections.api.block.procedure.Procedure;
 import com.gs.collections.api.block.procedure.primitive.ObjectIntProcedure;
 import com.gs.collections.api.set.ParallelUnsortedSetIterable;
+import com.gs.collections.impl.lazy.parallel.list.DistinctBatch;
 import com.gs.collections.impl.lazy.parallel.set.AbstractParallelUnsortedSetIterable;
 import com.gs.collections.impl.lazy.parallel.set.UnsortedSetBatch;
+import com.gs.collections.impl.set.mutable.ConcurrentHashSet;
 
 @Beta
 class ParallelUnsortedBagDistinctIterable<T> extends AbstractParallelUnsortedSetIterable<T, UnsortedSetBatch<T>>
 {
-    private final AbstractParallelUnsortedBag<T, UnsortedBagBatch<T>> parallelIterable;
+    private final AbstractParallelUnsortedBag<T, ? extends UnsortedBagBatch<T>> parallelIterable;
 
-    ParallelUnsortedBagDistinctIterable(AbstractParallelUnsortedBag<T, UnsortedBagBatch<T>> parallelIterable)
+    ParallelUnsortedBagDistinctIterable(AbstractParallelUnsortedBag<T, ? extends UnsortedBagBatch<T>> parallelIterable)
     {
         this.parallelIterable = parallelIterable;
     }
@@ -46,7 +49,14 @@ class ParallelUnsortedBagDistinctIterable<T> extends AbstractParallelUnsortedSet
     @Override
     public LazyIterable<UnsortedSetBatch<T>> split()
     {
-        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".split() not implemented yet");
+        final ConcurrentHashSet<T> distinct = new ConcurrentHashSet<T>();
+        return this.parallelIterable.split().collect(new Function<UnsortedBagBatch<T>, UnsortedSetBatch<T>>()
+        {
+            public UnsortedSetBatch<T> valueOf(UnsortedBagBatch<T> unsortedBagBatch)
+            {
+                return new DistinctBatch<T>(unsortedBagBatch, distinct);
+            }
+        });
     }
 
     public ParallelUnsortedSetIterable<T> asUnique()
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.lazy.parallel.bag.sorted;
+
+import java.util.Comparator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import com.gs.collections.api.LazyIterable;
+import com.gs.collections.api.annotation.Beta;
+import com.gs.collections.api.bag.MutableBag;
+import com.gs.collections.api.bag.sorted.ParallelSortedBag;
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.function.Function2;
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.api.block.predicate.Predicate2;
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import com.gs.collections.api.list.MutableList;
+import com.gs.collections.api.list.ParallelListIterable;
+import com.gs.collections.api.multimap.sortedbag.MutableSortedBagMultimap;
+import com.gs.collections.api.multimap.sortedbag.SortedBagMultimap;
+import com.gs.collections.api.set.sorted.ParallelSortedSetIterable;
+import com.gs.collections.impl.bag.mutable.HashBag;
+import com.gs.collections.impl.block.factory.Functions;
+import com.gs.collections.impl.block.factory.Predicates;
+import com.gs.collections.impl.block.procedure.BagAddOccurrencesProcedure;
+import com.gs.collections.impl.block.procedure.MultimapEachPutProcedure;
+import com.gs.collections.impl.block.procedure.MultimapPutProcedure;
+import com.gs.collections.impl.lazy.parallel.AbstractParallelIterable;
+import com.gs.collections.impl.lazy.parallel.Batch;
+import com.gs.collections.impl.lazy.parallel.list.ParallelFlatCollectListIterable;
+import com.gs.collections.impl.multimap.bag.sorted.TreeBagMultimap;
+
+@Beta
+public abstract class AbstractParallelSortedBag<T, B extends SortedBagBatch<T>> extends AbstractParallelIterable<T, B> implements ParallelSortedBag<T>
+{
+    protected static <T> void forEachWithOccurrences(final AbstractParallelSortedBag<T, ? extends RootSortedBagBatch<T>> parallelIterable, final ObjectIntProcedure<? super T> procedure)
+    {
+        LazyIterable<Future<?>> futures = parallelIterable.split().collect(new Function<RootSortedBagBatch<T>, Future<?>>()
+        {
+            public Future<?> valueOf(final RootSortedBagBatch<T> chunk)
+            {
+                return parallelIterable.getExecutorService().submit(new Runnable()
+                {
+                    public void run()
+                    {
+                        chunk.forEachWithOccurrences(procedure);
+                    }
+                });
+            }
+        });
+        // The call to to toList() is important to stop the lazy evaluation and force all the Runnables to start executing.
+        MutableList<Future<?>> futuresList = futures.toList();
+        for (Future<?> future : futuresList)
+        {
+            try
+            {
+                future.get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            catch (ExecutionException e)
+            {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    @Override
+    protected boolean isOrdered()
+    {
+        return true;
+    }
+
+    public abstract Comparator<? super T> comparator();
+
+    public ParallelSortedSetIterable<T> asUnique()
+    {
+        return new ParallelSortedBagDistinctIterable<T>(this);
+    }
+
+    public ParallelSortedBag<T> select(Predicate<? super T> predicate)
+    {
+        return new ParallelSelectSortedBag<T>(this, predicate);
+    }
+
+    public <P> ParallelSortedBag<T> selectWith(Predicate2<? super T, ? super P> predicate, P parameter)
+    {
+        return this.select(Predicates.bind(predicate, parameter));
+    }
+
+    public <S> ParallelSortedBag<S> selectInstancesOf(Class<S> clazz)
+    {
+        return (ParallelSortedBag<S>) this.select(Predicates.instanceOf(clazz));
+    }
+
+    public ParallelSortedBag<T> reject(Predicate<? super T> predicate)
+    {
+        return this.select(Predicates.not(predicate));
+    }
+
+    public <P> ParallelSortedBag<T> rejectWith(Predicate2<? super T, ? super P> predicate, P parameter)
+    {
+        return this.reject(Predicates.bind(predicate, parameter));
+    }
+
+    public <V> ParallelListIterable<V> collect(Function<? super T, ? extends V> function)
+    {
+        return new ParallelCollectSortedBag<T, V>(this, function);
+    }
+
+    public <P, V> ParallelListIterable<V> collectWith(Function2<? super T, ? super P, ? extends V> function, P parameter)
+    {
+        return this.collect(Functions.bind(function, parameter));
+    }
+
+    public <V> ParallelListIterable<V> collectIf(Predicate<? super T> predicate, Function<? super T, ? extends V> function)
+    {
+        return this.select(predicate).collect(function);
+    }
+
+    public <V> ParallelListIterable<V> flatCollect(Function<? super T, ? extends Iterable<V>> function)
+    {
+        return new ParallelFlatCollectListIterable<T, V>(this, function);
+    }
+
+    @Override
+    public MutableBag<T> toBag()
+    {
+        MutableBag<T> result = HashBag.<T>newBag().asSynchronized();
+        this.forEachWithOccurrences(BagAddOccurrencesProcedure.on(result));
+        return result;
+    }
+
+    public <V> SortedBagMultimap<V, T> groupBy(final Function<? super T, ? extends V> function)
+    {
+        Function<Batch<T>, MutableSortedBagMultimap<V, T>> map = new Function<Batch<T>, MutableSortedBagMultimap<V, T>>()
+        {
+            public MutableSortedBagMultimap<V, T> valueOf(Batch<T> batch)
+            {
+                MutableSortedBagMultimap<V, T> multimap = TreeBagMultimap.newMultimap(AbstractParallelSortedBag.this.comparator());
+                batch.forEach(MultimapPutProcedure.on(multimap, function));
+                return multimap;
+            }
+        };
+        MutableSortedBagMultimap<V, T> state = TreeBagMultimap.newMultimap(this.comparator());
+        this.collectCombine(map, AbstractParallelSortedBag.<V, T>putAllProcedure(), state);
+        return state;
+    }
+
+    public <V> SortedBagMultimap<V, T> groupByEach(final Function<? super T, ? extends Iterable<V>> function)
+    {
+        Function<Batch<T>, MutableSortedBagMultimap<V, T>> map = new Function<Batch<T>, MutableSortedBagMultimap<V, T>>()
+        {
+            public MutableSortedBagMultimap<V, T> valueOf(Batch<T> batch)
+            {
+                MutableSortedBagMultimap<V, T> multimap = TreeBagMultimap.newMultimap(AbstractParallelSortedBag.this.comparator());
+                batch.forEach(MultimapEachPutProcedure.on(multimap, function));
+                return multimap;
+            }
+        };
+        MutableSortedBagMultimap<V, T> state = TreeBagMultimap.newMultimap(this.comparator());
+        this.collectCombine(map, AbstractParallelSortedBag.<V, T>putAllProcedure(), state);
+        return state;
+    }
+
+    private static <V, T> Procedure2<MutableSortedBagMultimap<V, T>, MutableSortedBagMultimap<V, T>> putAllProcedure()
+    {
+        return new Procedure2<MutableSortedBagMultimap<V, T>, MutableSortedBagMultimap<V, T>>()
+        {
+            public void value(MutableSortedBagMultimap<V, T> accumulator, MutableSortedBagMultimap<V, T> each)
+            {
+                accumulator.putAll(each);
+            }
+        };
+    }
+}
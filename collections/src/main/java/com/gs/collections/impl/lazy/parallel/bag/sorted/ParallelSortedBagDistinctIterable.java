@@ -0,0 +1,90 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.lazy.parallel.bag.sorted;
+
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+
+import com.gs.collections.api.LazyIterable;
+import com.gs.collections.api.annotation.Beta;
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import com.gs.collections.impl.lazy.parallel.set.sorted.AbstractParallelSortedSetIterable;
+import com.gs.collections.impl.lazy.parallel.set.sorted.SortedSetBatch;
+
+@Beta
+class ParallelSortedBagDistinctIterable<T> extends AbstractParallelSortedSetIterable<T, SortedSetBatch<T>>
+{
+    private final AbstractParallelSortedBag<T, ? extends SortedBagBatch<T>> parallelIterable;
+
+    ParallelSortedBagDistinctIterable(AbstractParallelSortedBag<T, ? extends SortedBagBatch<T>> parallelIterable)
+    {
+        this.parallelIterable = parallelIterable;
+    }
+
+    @Override
+    public Comparator<? super T> comparator()
+    {
+        return this.parallelIterable.comparator();
+    }
+
+    @Override
+    public ExecutorService getExecutorService()
+    {
+        return this.parallelIterable.getExecutorService();
+    }
+
+    @Override
+    public LazyIterable<SortedSetBatch<T>> split()
+    {
+        return this.parallelIterable.split().collect(new Function<SortedBagBatch<T>, SortedSetBatch<T>>()
+        {
+            public SortedSetBatch<T> valueOf(SortedBagBatch<T> eachBatch)
+            {
+                return new DistinctSortedBagBatch<T>(eachBatch);
+            }
+        });
+    }
+
+    public void forEach(final Procedure<? super T> procedure)
+    {
+        this.parallelIterable.forEachWithOccurrences(new ObjectIntProcedure<T>()
+        {
+            public void value(T each, int occurrences)
+            {
+                procedure.value(each);
+            }
+        });
+    }
+
+    public boolean anySatisfy(Predicate<? super T> predicate)
+    {
+        return this.parallelIterable.anySatisfy(predicate);
+    }
+
+    public boolean allSatisfy(Predicate<? super T> predicate)
+    {
+        return this.parallelIterable.allSatisfy(predicate);
+    }
+
+    public T detect(Predicate<? super T> predicate)
+    {
+        return this.parallelIterable.detect(predicate);
+    }
+}
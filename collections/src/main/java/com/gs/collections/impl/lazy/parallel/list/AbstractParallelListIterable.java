@@ -21,13 +21,18 @@ import com.gs.collections.api.block.function.Function;
 import com.gs.collections.api.block.function.Function2;
 import com.gs.collections.api.block.predicate.Predicate;
 import com.gs.collections.api.block.predicate.Predicate2;
+import com.gs.collections.api.block.procedure.Procedure2;
 import com.gs.collections.api.list.ParallelListIterable;
-import com.gs.collections.api.map.MapIterable;
 import com.gs.collections.api.multimap.list.ListMultimap;
+import com.gs.collections.api.multimap.list.MutableListMultimap;
 import com.gs.collections.api.set.ParallelUnsortedSetIterable;
 import com.gs.collections.impl.block.factory.Functions;
 import com.gs.collections.impl.block.factory.Predicates;
+import com.gs.collections.impl.block.procedure.MultimapEachPutProcedure;
+import com.gs.collections.impl.block.procedure.MultimapPutProcedure;
 import com.gs.collections.impl.lazy.parallel.AbstractParallelIterable;
+import com.gs.collections.impl.lazy.parallel.Batch;
+import com.gs.collections.impl.multimap.list.FastListMultimap;
 
 @Beta
 public abstract class AbstractParallelListIterable<T, B extends ListBatch<T>> extends AbstractParallelIterable<T, B> implements ParallelListIterable<T>
@@ -43,6 +48,11 @@ public abstract class AbstractParallelListIterable<T, B extends ListBatch<T>> ex
         return new ParallelListDistinctIterable<T>(this);
     }
 
+    public ParallelListIterable<T> distinct()
+    {
+        return new ParallelOrderedDistinctListIterable<T>(this);
+    }
+
     public ParallelListIterable<T> select(Predicate<? super T> predicate)
     {
         return new ParallelSelectListIterable<T>(this, predicate);
@@ -85,21 +95,49 @@ public abstract class AbstractParallelListIterable<T, B extends ListBatch<T>> ex
 
     public <V> ParallelListIterable<V> flatCollect(Function<? super T, ? extends Iterable<V>> function)
     {
-        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".flatCollect() not implemented yet");
+        return new ParallelFlatCollectListIterable<T, V>(this, function);
     }
 
-    public <V> ListMultimap<V, T> groupBy(Function<? super T, ? extends V> function)
+    public <V> ListMultimap<V, T> groupBy(final Function<? super T, ? extends V> function)
     {
-        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".groupBy() not implemented yet");
+        Function<Batch<T>, MutableListMultimap<V, T>> map = new Function<Batch<T>, MutableListMultimap<V, T>>()
+        {
+            public MutableListMultimap<V, T> valueOf(Batch<T> batch)
+            {
+                MutableListMultimap<V, T> multimap = FastListMultimap.newMultimap();
+                batch.forEach(MultimapPutProcedure.on(multimap, function));
+                return multimap;
+            }
+        };
+        MutableListMultimap<V, T> state = FastListMultimap.newMultimap();
+        this.collectCombine(map, AbstractParallelListIterable.<V, T>putAllProcedure(), state);
+        return state;
     }
 
-    public <V> ListMultimap<V, T> groupByEach(Function<? super T, ? extends Iterable<V>> function)
+    public <V> ListMultimap<V, T> groupByEach(final Function<? super T, ? extends Iterable<V>> function)
     {
-        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".groupByEach() not implemented yet");
+        Function<Batch<T>, MutableListMultimap<V, T>> map = new Function<Batch<T>, MutableListMultimap<V, T>>()
+        {
+            public MutableListMultimap<V, T> valueOf(Batch<T> batch)
+            {
+                MutableListMultimap<V, T> multimap = FastListMultimap.newMultimap();
+                batch.forEach(MultimapEachPutProcedure.on(multimap, function));
+                return multimap;
+            }
+        };
+        MutableListMultimap<V, T> state = FastListMultimap.newMultimap();
+        this.collectCombine(map, AbstractParallelListIterable.<V, T>putAllProcedure(), state);
+        return state;
     }
 
-    public <V> MapIterable<V, T> groupByUniqueKey(Function<? super T, ? extends V> function)
+    private static <V, T> Procedure2<MutableListMultimap<V, T>, MutableListMultimap<V, T>> putAllProcedure()
     {
-        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".groupByUniqueKey() not implemented yet");
+        return new Procedure2<MutableListMultimap<V, T>, MutableListMultimap<V, T>>()
+        {
+            public void value(MutableListMultimap<V, T> accumulator, MutableListMultimap<V, T> each)
+            {
+                accumulator.putAll(each);
+            }
+        };
     }
 }
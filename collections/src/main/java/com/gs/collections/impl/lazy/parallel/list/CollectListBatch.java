@@ -23,7 +23,7 @@ import com.gs.collections.api.block.procedure.Procedure;
 import com.gs.collections.impl.block.factory.Functions;
 import com.gs.collections.impl.lazy.parallel.AbstractBatch;
 import com.gs.collections.impl.lazy.parallel.set.UnsortedSetBatch;
-import com.gs.collections.impl.map.mutable.ConcurrentHashMap;
+import com.gs.collections.impl.set.mutable.ConcurrentHashSet;
 
 @Beta
 public class CollectListBatch<T, V> extends AbstractBatch<V> implements ListBatch<V>
@@ -53,7 +53,7 @@ public class CollectListBatch<T, V> extends AbstractBatch<V> implements ListBatc
         return new CollectListBatch<V, VV>(this, function);
     }
 
-    public UnsortedSetBatch<V> distinct(ConcurrentHashMap<V, Boolean> distinct)
+    public UnsortedSetBatch<V> distinct(ConcurrentHashSet<V> distinct)
     {
         return new DistinctBatch<V>(this, distinct);
     }
@@ -25,15 +25,15 @@ import com.gs.collections.impl.lazy.parallel.Batch;
 import com.gs.collections.impl.lazy.parallel.set.CollectUnsortedSetBatch;
 import com.gs.collections.impl.lazy.parallel.set.SelectUnsortedSetBatch;
 import com.gs.collections.impl.lazy.parallel.set.UnsortedSetBatch;
-import com.gs.collections.impl.map.mutable.ConcurrentHashMap;
+import com.gs.collections.impl.set.mutable.ConcurrentHashSet;
 
 @Beta
 public class DistinctBatch<T> extends AbstractBatch<T> implements UnsortedSetBatch<T>
 {
     private final Batch<T> batch;
-    private final ConcurrentHashMap<T, Boolean> distinct;
+    private final ConcurrentHashSet<T> distinct;
 
-    public DistinctBatch(Batch<T> batch, ConcurrentHashMap<T, Boolean> distinct)
+    public DistinctBatch(Batch<T> batch, ConcurrentHashSet<T> distinct)
     {
         this.batch = batch;
         this.distinct = distinct;
@@ -45,7 +45,7 @@ public class DistinctBatch<T> extends AbstractBatch<T> implements UnsortedSetBat
         {
             public void value(T each)
             {
-                if (DistinctBatch.this.distinct.put(each, true) == null)
+                if (DistinctBatch.this.distinct.add(each))
                 {
                     procedure.value(each);
                 }
@@ -21,7 +21,7 @@ import com.gs.collections.api.block.function.Function;
 import com.gs.collections.api.block.predicate.Predicate;
 import com.gs.collections.impl.lazy.parallel.Batch;
 import com.gs.collections.impl.lazy.parallel.set.UnsortedSetBatch;
-import com.gs.collections.impl.map.mutable.ConcurrentHashMap;
+import com.gs.collections.impl.set.mutable.ConcurrentHashSet;
 
 @Beta
 public interface ListBatch<T> extends Batch<T>
@@ -30,5 +30,5 @@ public interface ListBatch<T> extends Batch<T>
 
     <V> ListBatch<V> collect(Function<? super T, ? extends V> function);
 
-    UnsortedSetBatch<T> distinct(ConcurrentHashMap<T, Boolean> distinct);
+    UnsortedSetBatch<T> distinct(ConcurrentHashSet<T> distinct);
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.lazy.parallel.list;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.gs.collections.api.annotation.Beta;
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.impl.lazy.parallel.AbstractBatch;
+import com.gs.collections.impl.lazy.parallel.set.UnsortedSetBatch;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.map.mutable.ConcurrentHashMap;
+import com.gs.collections.impl.set.mutable.ConcurrentHashSet;
+
+@Beta
+public class OrderedDistinctListBatch<T> extends AbstractBatch<T> implements ListBatch<T>
+{
+    private final FastList<T> firstOccurrencesInBatch;
+    private final int batchIndex;
+    private final ConcurrentHashMap<Object, AtomicInteger> firstBatchIndex;
+
+    public OrderedDistinctListBatch(FastList<T> firstOccurrencesInBatch, int batchIndex, ConcurrentHashMap<Object, AtomicInteger> firstBatchIndex)
+    {
+        this.firstOccurrencesInBatch = firstOccurrencesInBatch;
+        this.batchIndex = batchIndex;
+        this.firstBatchIndex = firstBatchIndex;
+    }
+
+    public void forEach(Procedure<? super T> procedure)
+    {
+        for (int i = 0; i < this.firstOccurrencesInBatch.size(); i++)
+        {
+            T each = this.firstOccurrencesInBatch.get(i);
+            if (this.firstBatchIndex.get(ParallelOrderedDistinctListIterable.keyFor(each)).get() == this.batchIndex)
+            {
+                procedure.value(each);
+            }
+        }
+    }
+
+    public ListBatch<T> select(Predicate<? super T> predicate)
+    {
+        return new SelectListBatch<T>(this, predicate);
+    }
+
+    public <V> ListBatch<V> collect(Function<? super T, ? extends V> function)
+    {
+        return new CollectListBatch<T, V>(this, function);
+    }
+
+    public UnsortedSetBatch<T> distinct(ConcurrentHashSet<T> distinct)
+    {
+        return new DistinctBatch<T>(this, distinct);
+    }
+}
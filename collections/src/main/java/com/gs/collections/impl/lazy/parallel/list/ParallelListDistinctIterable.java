@@ -26,7 +26,7 @@ import com.gs.collections.api.block.procedure.Procedure;
 import com.gs.collections.api.set.ParallelUnsortedSetIterable;
 import com.gs.collections.impl.lazy.parallel.set.AbstractParallelUnsortedSetIterable;
 import com.gs.collections.impl.lazy.parallel.set.UnsortedSetBatch;
-import com.gs.collections.impl.map.mutable.ConcurrentHashMap;
+import com.gs.collections.impl.set.mutable.ConcurrentHashSet;
 
 @Beta
 class ParallelListDistinctIterable<T> extends AbstractParallelUnsortedSetIterable<T, UnsortedSetBatch<T>>
@@ -47,8 +47,7 @@ class ParallelListDistinctIterable<T> extends AbstractParallelUnsortedSetIterabl
     @Override
     public LazyIterable<UnsortedSetBatch<T>> split()
     {
-        // TODO: Replace the map with a concurrent set once it's implemented
-        final ConcurrentHashMap<T, Boolean> distinct = new ConcurrentHashMap<T, Boolean>();
+        final ConcurrentHashSet<T> distinct = new ConcurrentHashSet<T>();
         return this.parallelIterable.split().collect(new Function<ListBatch<T>, UnsortedSetBatch<T>>()
         {
             public UnsortedSetBatch<T> valueOf(ListBatch<T> listBatch)
@@ -66,13 +65,12 @@ class ParallelListDistinctIterable<T> extends AbstractParallelUnsortedSetIterabl
 
     public void forEach(final Procedure<? super T> procedure)
     {
-        // TODO: Replace the map with a concurrent set once it's implemented
-        final ConcurrentHashMap<T, Boolean> distinct = new ConcurrentHashMap<T, Boolean>();
+        final ConcurrentHashSet<T> distinct = new ConcurrentHashSet<T>();
         this.parallelIterable.forEach(new Procedure<T>()
         {
             public void value(T each)
             {
-                if (distinct.put(each, true) == null)
+                if (distinct.add(each))
                 {
                     procedure.value(each);
                 }
@@ -97,8 +95,7 @@ class ParallelListDistinctIterable<T> extends AbstractParallelUnsortedSetIterabl
 
     private static final class DistinctAndPredicate<T> implements Predicate<T>
     {
-        // TODO: Replace the map with a concurrent set once it's implemented
-        private final ConcurrentHashMap<T, Boolean> distinct = new ConcurrentHashMap<T, Boolean>();
+        private final ConcurrentHashSet<T> distinct = new ConcurrentHashSet<T>();
         private final Predicate<? super T> predicate;
 
         private DistinctAndPredicate(Predicate<? super T> predicate)
@@ -108,14 +105,13 @@ class ParallelListDistinctIterable<T> extends AbstractParallelUnsortedSetIterabl
 
         public boolean accept(T each)
         {
-            return this.distinct.put(each, true) == null && this.predicate.accept(each);
+            return this.distinct.add(each) && this.predicate.accept(each);
         }
     }
 
     private static final class DistinctOrPredicate<T> implements Predicate<T>
     {
-        // TODO: Replace the map with a concurrent set once it's implemented
-        private final ConcurrentHashMap<T, Boolean> distinct = new ConcurrentHashMap<T, Boolean>();
+        private final ConcurrentHashSet<T> distinct = new ConcurrentHashSet<T>();
         private final Predicate<? super T> predicate;
 
         private DistinctOrPredicate(Predicate<? super T> predicate)
@@ -125,7 +121,7 @@ class ParallelListDistinctIterable<T> extends AbstractParallelUnsortedSetIterabl
 
         public boolean accept(T each)
         {
-            return this.distinct.put(each, true) == null || this.predicate.accept(each);
+            return !this.distinct.add(each) || this.predicate.accept(each);
         }
     }
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.lazy.parallel.list;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.gs.collections.api.LazyIterable;
+import com.gs.collections.api.annotation.Beta;
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.list.MutableList;
+import com.gs.collections.api.set.MutableSet;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.map.mutable.ConcurrentHashMap;
+import com.gs.collections.impl.set.mutable.ConcurrentHashSet;
+import com.gs.collections.impl.set.mutable.UnifiedSet;
+import com.gs.collections.impl.utility.LazyIterate;
+
+@Beta
+class ParallelOrderedDistinctListIterable<T> extends AbstractParallelListIterable<T, ListBatch<T>>
+{
+    private static final Object NULL_ELEMENT = new Object();
+
+    private final AbstractParallelListIterable<T, ? extends ListBatch<T>> parallelIterable;
+
+    ParallelOrderedDistinctListIterable(AbstractParallelListIterable<T, ? extends ListBatch<T>> parallelIterable)
+    {
+        this.parallelIterable = parallelIterable;
+    }
+
+    @Override
+    public ExecutorService getExecutorService()
+    {
+        return this.parallelIterable.getExecutorService();
+    }
+
+    /**
+     * Each batch first drops its own duplicates in parallel, recording the lowest batch index every element occurs in.
+     * A batch then keeps only the elements whose first occurrence is in that batch, so merging the batches in order
+     * gives the same result as {@link FastList#distinct()}.
+     */
+    @Override
+    public LazyIterable<ListBatch<T>> split()
+    {
+        final ConcurrentHashMap<Object, AtomicInteger> firstBatchIndex = ConcurrentHashMap.newMap();
+        MutableList<? extends ListBatch<T>> batches = this.parallelIterable.split().toList();
+        MutableList<Future<FastList<T>>> futures = FastList.newList(batches.size());
+        for (int i = 0; i < batches.size(); i++)
+        {
+            final ListBatch<T> batch = batches.get(i);
+            final int batchIndex = i;
+            futures.add(this.getExecutorService().submit(new Callable<FastList<T>>()
+            {
+                public FastList<T> call()
+                {
+                    return ParallelOrderedDistinctListIterable.firstOccurrences(batch, batchIndex, firstBatchIndex);
+                }
+            }));
+        }
+
+        MutableList<ListBatch<T>> result = FastList.newList(batches.size());
+        for (int i = 0; i < futures.size(); i++)
+        {
+            try
+            {
+                result.add(new OrderedDistinctListBatch<T>(futures.get(i).get(), i, firstBatchIndex));
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            catch (ExecutionException e)
+            {
+                throw new RuntimeException(e);
+            }
+        }
+        return LazyIterate.adapt(result);
+    }
+
+    private static <T> FastList<T> firstOccurrences(ListBatch<T> batch, final int batchIndex, final ConcurrentHashMap<Object, AtomicInteger> firstBatchIndex)
+    {
+        final MutableSet<T> seenInBatch = UnifiedSet.newSet();
+        final FastList<T> result = FastList.newList();
+        batch.forEach(new Procedure<T>()
+        {
+            public void value(T each)
+            {
+                if (seenInBatch.add(each))
+                {
+                    result.add(each);
+                    ParallelOrderedDistinctListIterable.lowerBatchIndex(firstBatchIndex, ParallelOrderedDistinctListIterable.keyFor(each), batchIndex);
+                }
+            }
+        });
+        return result;
+    }
+
+    /**
+     * ConcurrentHashMap and ConcurrentHashSet do not accept null, so a null element is tracked as {@link #NULL_ELEMENT}.
+     */
+    static Object keyFor(Object each)
+    {
+        return each == null ? NULL_ELEMENT : each;
+    }
+
+    private static void lowerBatchIndex(ConcurrentHashMap<Object, AtomicInteger> firstBatchIndex, Object key, int batchIndex)
+    {
+        AtomicInteger index = firstBatchIndex.get(key);
+        if (index == null)
+        {
+            index = firstBatchIndex.putIfAbsent(key, new AtomicInteger(batchIndex));
+            if (index == null)
+            {
+                return;
+            }
+        }
+        while (true)
+        {
+            int current = index.get();
+            if (current <= batchIndex || index.compareAndSet(current, batchIndex))
+            {
+                return;
+            }
+        }
+    }
+
+    public void forEach(final Procedure<? super T> procedure)
+    {
+        final ConcurrentHashSet<Object> distinct = new ConcurrentHashSet<Object>();
+        this.parallelIterable.forEach(new Procedure<T>()
+        {
+            public void value(T each)
+            {
+                if (distinct.add(ParallelOrderedDistinctListIterable.keyFor(each)))
+                {
+                    procedure.value(each);
+                }
+            }
+        });
+    }
+
+    public boolean anySatisfy(Predicate<? super T> predicate)
+    {
+        return this.parallelIterable.anySatisfy(predicate);
+    }
+
+    public boolean allSatisfy(Predicate<? super T> predicate)
+    {
+        return this.parallelIterable.allSatisfy(predicate);
+    }
+
+    public T detect(Predicate<? super T> predicate)
+    {
+        return this.parallelIterable.detect(predicate);
+    }
+}
@@ -23,7 +23,7 @@ import com.gs.collections.api.block.procedure.Procedure;
 import com.gs.collections.impl.block.procedure.IfProcedure;
 import com.gs.collections.impl.lazy.parallel.AbstractBatch;
 import com.gs.collections.impl.lazy.parallel.set.UnsortedSetBatch;
-import com.gs.collections.impl.map.mutable.ConcurrentHashMap;
+import com.gs.collections.impl.set.mutable.ConcurrentHashSet;
 
 @Beta
 public class SelectListBatch<T> extends AbstractBatch<T> implements ListBatch<T>
@@ -59,7 +59,7 @@ public class SelectListBatch<T> extends AbstractBatch<T> implements ListBatch<T>
         return new CollectListBatch<T, V>(this, function);
     }
 
-    public UnsortedSetBatch<T> distinct(ConcurrentHashMap<T, Boolean> distinct)
+    public UnsortedSetBatch<T> distinct(ConcurrentHashSet<T> distinct)
     {
         return new DistinctBatch<T>(this, distinct);
     }
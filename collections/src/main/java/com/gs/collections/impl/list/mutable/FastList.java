@@ -28,6 +28,7 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.RandomAccess;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 
 import com.gs.collections.api.LazyIterable;
@@ -100,9 +101,11 @@ import com.gs.collections.impl.list.mutable.primitive.FloatArrayList;
 import com.gs.collections.impl.list.mutable.primitive.IntArrayList;
 import com.gs.collections.impl.list.mutable.primitive.LongArrayList;
 import com.gs.collections.impl.list.mutable.primitive.ShortArrayList;
-import com.gs.collections.impl.map.mutable.ConcurrentHashMap;
 import com.gs.collections.impl.parallel.BatchIterable;
+import com.gs.collections.impl.parallel.ParallelArraySort;
+import com.gs.collections.impl.parallel.ParallelIterate;
 import com.gs.collections.impl.partition.list.PartitionFastList;
+import com.gs.collections.impl.set.mutable.ConcurrentHashSet;
 import com.gs.collections.impl.set.mutable.UnifiedSet;
 import com.gs.collections.impl.tuple.Tuples;
 import com.gs.collections.impl.utility.ArrayIterate;
@@ -379,6 +382,45 @@ public class FastList<T>
         return this;
     }
 
+    /**
+     * Sorts this list by natural order in parallel batches, on the default engine of {@link ParallelIterate}. The
+     * sort is stable.
+     *
+     * @see ParallelArraySort
+     * @since 5.1
+     */
+    @Beta
+    public FastList<T> sortThisInParallel()
+    {
+        return this.sortThisInParallel(null);
+    }
+
+    /**
+     * Sorts this list using the comparator in parallel batches, on the default engine of {@link ParallelIterate}.
+     * The sort is stable.
+     *
+     * @see ParallelArraySort
+     * @since 5.1
+     */
+    @Beta
+    public FastList<T> sortThisInParallel(Comparator<? super T> comparator)
+    {
+        ParallelArraySort.sort(this.items, 0, this.size, comparator);
+        return this;
+    }
+
+    /**
+     * Sorts this list using the comparator in runs of at least {@code batchSize} elements on the executor.
+     *
+     * @since 5.1
+     */
+    @Beta
+    public FastList<T> sortThisInParallel(Comparator<? super T> comparator, Executor executor, int batchSize)
+    {
+        ParallelArraySort.sort(this.items, 0, this.size, comparator, batchSize, ParallelIterate.getDefaultEngine().getTaskCount(), executor);
+        return this;
+    }
+
     @Override
     public FastList<T> reverseThis()
     {
@@ -1731,7 +1773,7 @@ public class FastList<T>
             return new CollectListBatch<T, V>(this, function);
         }
 
-        public UnsortedSetBatch<T> distinct(ConcurrentHashMap<T, Boolean> distinct)
+        public UnsortedSetBatch<T> distinct(ConcurrentHashSet<T> distinct)
         {
             return new DistinctBatch<T>(this, distinct);
         }
@@ -77,14 +77,16 @@ public final class ConcurrentHashMap<K, V>
     private static final Object RESIZED = new Object();
     private static final Object RESIZING = new Object();
     private static final int PARTITIONED_SIZE_THRESHOLD = 4096; // chosen to keep size below 1% of the total size of the map
-    private static final int SIZE_BUCKETS = 7;
+    // must be a power of two; scales with the number of processors so that heavily contended writers spread out
+    private static final int SIZE_BUCKETS = Math.max(8, Math.min(64, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() - 1) << 1));
+    private static final AtomicReferenceFieldUpdater<ConcurrentHashMap, AtomicIntegerArray> PARTITIONED_SIZE_UPDATER = AtomicReferenceFieldUpdater.newUpdater(ConcurrentHashMap.class, AtomicIntegerArray.class, "partitionedSize");
 
     /**
      * The table, resized as necessary. Length MUST Always be a power of two.
      */
     private volatile AtomicReferenceArray table;
 
-    private AtomicIntegerArray partitionedSize;
+    private volatile AtomicIntegerArray partitionedSize;
 
     @SuppressWarnings("UnusedDeclaration")
     private volatile int size; // updated via atomic field updater
@@ -115,7 +117,7 @@ public final class ConcurrentHashMap<K, V>
         }
         if (capacity >= PARTITIONED_SIZE_THRESHOLD)
         {
-            this.partitionedSize = new AtomicIntegerArray(SIZE_BUCKETS * 16); // we want 7 extra slots and 64 bytes for each slot. int is 4 bytes, so 64 bytes is 16 ints.
+            this.partitionedSize = new AtomicIntegerArray(SIZE_BUCKETS * 16); // we want 64 bytes for each slot. int is 4 bytes, so 64 bytes is 16 ints.
         }
         this.table = new AtomicReferenceArray(capacity + 1);
     }
@@ -252,7 +254,7 @@ public final class ConcurrentHashMap<K, V>
                     oldTable.set(end, RESIZE_SENTINEL);
                     if (this.partitionedSize == null && newSize >= PARTITIONED_SIZE_THRESHOLD)
                     {
-                        this.partitionedSize = new AtomicIntegerArray(SIZE_BUCKETS * 16);
+                        PARTITIONED_SIZE_UPDATER.compareAndSet(this, null, new AtomicIntegerArray(SIZE_BUCKETS * 16));
                     }
                     resizeContainer = new ResizeContainer(new AtomicReferenceArray(newSize), oldTable.length() - 1);
                     oldTable.set(end, resizeContainer);
@@ -280,45 +282,12 @@ public final class ConcurrentHashMap<K, V>
     }
 
     /*
-     * Transfer all entries from src to dest tables
+     * Transfer all entries from src to dest tables. The resizing thread claims strides of the table from the same
+     * queue as the threads helping with the resize, so that no two threads ever contend on the same buckets.
      */
     private void transfer(AtomicReferenceArray src, ResizeContainer resizeContainer)
     {
-        AtomicReferenceArray dest = resizeContainer.nextArray;
-
-        for (int j = 0; j < src.length() - 1; )
-        {
-            Object o = src.get(j);
-            if (o == null)
-            {
-                if (src.compareAndSet(j, null, RESIZED))
-                {
-                    j++;
-                }
-            }
-            else if (o == RESIZED || o == RESIZING)
-            {
-                j = (j & ~(ResizeContainer.QUEUE_INCREMENT - 1)) + ResizeContainer.QUEUE_INCREMENT;
-                if (resizeContainer.resizers.get() == 1)
-                {
-                    break;
-                }
-            }
-            else
-            {
-                Entry<K, V> e = (Entry<K, V>) o;
-                if (src.compareAndSet(j, o, RESIZING))
-                {
-                    while (e != null)
-                    {
-                        this.unconditionalCopy(dest, e);
-                        e = e.getNext();
-                    }
-                    src.set(j, RESIZED);
-                    j++;
-                }
-            }
-        }
+        this.reverseTransfer(src, resizeContainer);
         resizeContainer.decrementResizerAndNotify();
         resizeContainer.waitForAllResizers();
     }
@@ -589,56 +558,51 @@ public final class ConcurrentHashMap<K, V>
 
     private void addToSize(int value)
     {
-        if (this.partitionedSize != null)
+        AtomicIntegerArray localPartitionedSize = this.partitionedSize;
+        if (localPartitionedSize != null)
         {
-            if (this.incrementPartitionedSize(value))
-            {
-                return;
-            }
+            this.incrementPartitionedSize(localPartitionedSize, value);
+        }
+        else if (!this.incrementLocalSize(value))
+        {
+            // the single size field is contended, switch to striped counting
+            PARTITIONED_SIZE_UPDATER.compareAndSet(this, null, new AtomicIntegerArray(SIZE_BUCKETS * 16));
+            this.incrementPartitionedSize(this.partitionedSize, value);
         }
-        this.incrementLocalSize(value);
     }
 
-    private boolean incrementPartitionedSize(int value)
+    private void incrementPartitionedSize(AtomicIntegerArray localPartitionedSize, int value)
     {
         int h = (int) Thread.currentThread().getId();
         h ^= (h >>> 18) ^ (h >>> 12);
-        h = (h ^ (h >>> 10)) & SIZE_BUCKETS;
-        if (h != 0)
+        h ^= h >>> 10;
+        while (true)
         {
-            h = (h - 1) << 4;
-            while (true)
+            int index = (h & (SIZE_BUCKETS - 1)) << 4;
+            int localSize = localPartitionedSize.get(index);
+            if (localPartitionedSize.compareAndSet(index, localSize, localSize + value))
             {
-                int localSize = this.partitionedSize.get(h);
-                if (this.partitionedSize.compareAndSet(h, localSize, localSize + value))
-                {
-                    return true;
-                }
+                return;
             }
+            h++; // the slot is contended, probe the next one
         }
-        return false;
     }
 
-    private void incrementLocalSize(int value)
+    private boolean incrementLocalSize(int value)
     {
-        while (true)
-        {
-            int localSize = this.size;
-            if (SIZE_UPDATER.compareAndSet(this, localSize, localSize + value))
-            {
-                break;
-            }
-        }
+        int localSize = this.size;
+        return SIZE_UPDATER.compareAndSet(this, localSize, localSize + value);
     }
 
     public int size()
     {
         int localSize = this.size;
-        if (this.partitionedSize != null)
+        AtomicIntegerArray localPartitionedSize = this.partitionedSize;
+        if (localPartitionedSize != null)
         {
             for (int i = 0; i < SIZE_BUCKETS; i++)
             {
-                localSize += this.partitionedSize.get(i << 4);
+                localSize += localPartitionedSize.get(i << 4);
             }
         }
         return localSize;
@@ -844,7 +808,7 @@ public final class ConcurrentHashMap<K, V>
 
     public void putAllInParallel(Map<K, V> map, int chunks, Executor executor)
     {
-        if (this.size == 0)
+        if (this.isEmpty())
         {
             int threshold = map.size();
             threshold += threshold >> 1; // threshold = length * 0.75
@@ -1610,7 +1574,7 @@ public final class ConcurrentHashMap<K, V>
         @Override
         public int size()
         {
-            return ConcurrentHashMap.this.size;
+            return ConcurrentHashMap.this.size();
         }
 
         @Override
@@ -1643,7 +1607,7 @@ public final class ConcurrentHashMap<K, V>
         @Override
         public int size()
         {
-            return ConcurrentHashMap.this.size;
+            return ConcurrentHashMap.this.size();
         }
 
         @Override
@@ -1693,7 +1657,7 @@ public final class ConcurrentHashMap<K, V>
         @Override
         public int size()
         {
-            return ConcurrentHashMap.this.size;
+            return ConcurrentHashMap.this.size();
         }
 
         @Override
@@ -86,7 +86,9 @@ public class ConcurrentHashMapUnsafe<K, V>
     private static final long INT_ARRAY_BASE;
     private static final int INT_ARRAY_SHIFT;
     private static final long SIZE_OFFSET;
-    private static final int SIZE_BUCKETS = 7;
+    private static final long PARTITIONED_SIZE_OFFSET;
+    // must be a power of two; scales with the number of processors so that heavily contended writers spread out
+    private static final int SIZE_BUCKETS = Math.max(8, Math.min(64, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() - 1) << 1));
 
     static
     {
@@ -113,6 +115,7 @@ public class ConcurrentHashMapUnsafe<K, V>
 
             Class<?> mapClass = ConcurrentHashMapUnsafe.class;
             SIZE_OFFSET = UNSAFE.objectFieldOffset(mapClass.getDeclaredField("size"));
+            PARTITIONED_SIZE_OFFSET = UNSAFE.objectFieldOffset(mapClass.getDeclaredField("partitionedSize"));
         }
         catch (NoSuchFieldException e)
         {
@@ -129,7 +132,7 @@ public class ConcurrentHashMapUnsafe<K, V>
      */
     private volatile Object[] table;
 
-    private int[] partitionedSize;
+    private volatile int[] partitionedSize;
 
     @SuppressWarnings("UnusedDeclaration")
     private volatile int size; // updated via atomic field updater
@@ -160,7 +163,7 @@ public class ConcurrentHashMapUnsafe<K, V>
         }
         if (capacity >= PARTITIONED_SIZE_THRESHOLD)
         {
-            this.partitionedSize = new int[SIZE_BUCKETS * 16]; // we want 7 extra slots and 64 bytes for each slot. int is 4 bytes, so 64 bytes is 16 ints.
+            this.partitionedSize = new int[SIZE_BUCKETS * 16]; // we want 64 bytes for each slot. int is 4 bytes, so 64 bytes is 16 ints.
         }
         this.table = new Object[capacity + 1];
     }
@@ -314,7 +317,7 @@ public class ConcurrentHashMapUnsafe<K, V>
                     ConcurrentHashMapUnsafe.setArrayAt(oldTable, end, RESIZE_SENTINEL);
                     if (this.partitionedSize == null && newSize >= PARTITIONED_SIZE_THRESHOLD)
                     {
-                        this.partitionedSize = new int[SIZE_BUCKETS * 16];
+                        UNSAFE.compareAndSwapObject(this, PARTITIONED_SIZE_OFFSET, null, new int[SIZE_BUCKETS * 16]);
                     }
                     resizeContainer = new ResizeContainer(new Object[newSize], oldTable.length - 1);
                     ConcurrentHashMapUnsafe.setArrayAt(oldTable, end, resizeContainer);
@@ -343,45 +346,12 @@ public class ConcurrentHashMapUnsafe<K, V>
     }
 
     /*
-     * Transfer all entries from src to dest tables
+     * Transfer all entries from src to dest tables. The resizing thread claims strides of the table from the same
+     * queue as the threads helping with the resize, so that no two threads ever contend on the same buckets.
      */
     private void transfer(Object[] src, ResizeContainer resizeContainer)
     {
-        Object[] dest = resizeContainer.nextArray;
-
-        for (int j = 0; j < src.length - 1; )
-        {
-            Object o = ConcurrentHashMapUnsafe.arrayAt(src, j);
-            if (o == null)
-            {
-                if (ConcurrentHashMapUnsafe.casArrayAt(src, j, null, RESIZED))
-                {
-                    j++;
-                }
-            }
-            else if (o == RESIZED || o == RESIZING)
-            {
-                j = (j & ~(ResizeContainer.QUEUE_INCREMENT - 1)) + ResizeContainer.QUEUE_INCREMENT;
-                if (resizeContainer.resizers.get() == 1)
-                {
-                    break;
-                }
-            }
-            else
-            {
-                Entry<K, V> e = (Entry<K, V>) o;
-                if (ConcurrentHashMapUnsafe.casArrayAt(src, j, o, RESIZING))
-                {
-                    while (e != null)
-                    {
-                        this.unconditionalCopy(dest, e);
-                        e = e.getNext();
-                    }
-                    ConcurrentHashMapUnsafe.setArrayAt(src, j, RESIZED);
-                    j++;
-                }
-            }
-        }
+        this.reverseTransfer(src, resizeContainer);
         resizeContainer.decrementResizerAndNotify();
         resizeContainer.waitForAllResizers();
     }
@@ -709,57 +679,51 @@ public class ConcurrentHashMapUnsafe<K, V>
 
     private void addToSize(int value)
     {
-        if (this.partitionedSize != null)
+        int[] localPartitionedSize = this.partitionedSize;
+        if (localPartitionedSize != null)
         {
-            if (this.incrementPartitionedSize(value))
-            {
-                return;
-            }
+            this.incrementPartitionedSize(localPartitionedSize, value);
+        }
+        else if (!this.incrementLocalSize(value))
+        {
+            // the single size field is contended, switch to striped counting
+            UNSAFE.compareAndSwapObject(this, PARTITIONED_SIZE_OFFSET, null, new int[SIZE_BUCKETS * 16]);
+            this.incrementPartitionedSize(this.partitionedSize, value);
         }
-        this.incrementLocalSize(value);
     }
 
-    private boolean incrementPartitionedSize(int value)
+    private void incrementPartitionedSize(int[] localPartitionedSize, int value)
     {
         int h = (int) Thread.currentThread().getId();
         h ^= (h >>> 18) ^ (h >>> 12);
-        h = (h ^ (h >>> 10)) & SIZE_BUCKETS;
-        if (h != 0)
+        h ^= h >>> 10;
+        while (true)
         {
-            h = (h - 1) << 4;
-            long address = ((long) h << INT_ARRAY_SHIFT) + INT_ARRAY_BASE;
-            while (true)
+            long address = ((long) ((h & (SIZE_BUCKETS - 1)) << 4) << INT_ARRAY_SHIFT) + INT_ARRAY_BASE;
+            int localSize = UNSAFE.getIntVolatile(localPartitionedSize, address);
+            if (UNSAFE.compareAndSwapInt(localPartitionedSize, address, localSize, localSize + value))
             {
-                int localSize = UNSAFE.getIntVolatile(this.partitionedSize, address);
-                if (UNSAFE.compareAndSwapInt(this.partitionedSize, address, localSize, localSize + value))
-                {
-                    return true;
-                }
+                return;
             }
+            h++; // the slot is contended, probe the next one
         }
-        return false;
     }
 
-    private void incrementLocalSize(int value)
+    private boolean incrementLocalSize(int value)
     {
-        while (true)
-        {
-            int localSize = this.size;
-            if (UNSAFE.compareAndSwapInt(this, SIZE_OFFSET, localSize, localSize + value))
-            {
-                break;
-            }
-        }
+        int localSize = this.size;
+        return UNSAFE.compareAndSwapInt(this, SIZE_OFFSET, localSize, localSize + value);
     }
 
     public int size()
     {
         int localSize = this.size;
-        if (this.partitionedSize != null)
+        int[] localPartitionedSize = this.partitionedSize;
+        if (localPartitionedSize != null)
         {
             for (int i = 0; i < SIZE_BUCKETS; i++)
             {
-                localSize += this.partitionedSize[i << 4];
+                localSize += UNSAFE.getIntVolatile(localPartitionedSize, ((long) (i << 4) << INT_ARRAY_SHIFT) + INT_ARRAY_BASE);
             }
         }
         return localSize;
@@ -965,7 +929,7 @@ public class ConcurrentHashMapUnsafe<K, V>
 
     public void putAllInParallel(Map<K, V> map, int chunks, Executor executor)
     {
-        if (this.size() == 0)
+        if (this.isEmpty())
         {
             int threshold = map.size();
             threshold += threshold >> 1; // threshold = length * 0.75
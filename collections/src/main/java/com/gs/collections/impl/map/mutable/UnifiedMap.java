@@ -29,10 +29,15 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
+import com.gs.collections.api.LazyIterable;
+import com.gs.collections.api.annotation.Beta;
+import com.gs.collections.api.bag.ParallelUnsortedBag;
 import com.gs.collections.api.block.function.Function;
 import com.gs.collections.api.block.function.Function0;
 import com.gs.collections.api.block.function.Function2;
+import com.gs.collections.api.block.predicate.Predicate;
 import com.gs.collections.api.block.procedure.Procedure;
 import com.gs.collections.api.block.procedure.Procedure2;
 import com.gs.collections.api.block.procedure.primitive.ObjectIntProcedure;
@@ -40,16 +45,30 @@ import com.gs.collections.api.map.ImmutableMap;
 import com.gs.collections.api.map.MapIterable;
 import com.gs.collections.api.map.MutableMap;
 import com.gs.collections.api.map.UnsortedMapIterable;
+import com.gs.collections.api.set.ParallelUnsortedSetIterable;
 import com.gs.collections.api.tuple.Pair;
 import com.gs.collections.impl.block.factory.Functions;
 import com.gs.collections.impl.block.factory.Predicates;
 import com.gs.collections.impl.block.procedure.MapCollectProcedure;
 import com.gs.collections.impl.factory.Maps;
 import com.gs.collections.impl.factory.Sets;
+import com.gs.collections.impl.lazy.AbstractLazyIterable;
+import com.gs.collections.impl.lazy.parallel.AbstractBatch;
+import com.gs.collections.impl.lazy.parallel.bag.AbstractParallelUnsortedBag;
+import com.gs.collections.impl.lazy.parallel.bag.CollectUnsortedBagBatch;
+import com.gs.collections.impl.lazy.parallel.bag.RootUnsortedBagBatch;
+import com.gs.collections.impl.lazy.parallel.bag.SelectUnsortedBagBatch;
+import com.gs.collections.impl.lazy.parallel.bag.UnsortedBagBatch;
+import com.gs.collections.impl.lazy.parallel.set.AbstractParallelUnsortedSetIterable;
+import com.gs.collections.impl.lazy.parallel.set.CollectUnsortedSetBatch;
+import com.gs.collections.impl.lazy.parallel.set.RootUnsortedSetBatch;
+import com.gs.collections.impl.lazy.parallel.set.SelectUnsortedSetBatch;
+import com.gs.collections.impl.lazy.parallel.set.UnsortedSetBatch;
 import com.gs.collections.impl.list.mutable.FastList;
 import com.gs.collections.impl.parallel.BatchIterable;
 import com.gs.collections.impl.set.mutable.UnifiedSet;
 import com.gs.collections.impl.tuple.ImmutableEntry;
+import com.gs.collections.impl.tuple.Tuples;
 import com.gs.collections.impl.utility.ArrayIterate;
 import com.gs.collections.impl.utility.Iterate;
 import net.jcip.annotations.NotThreadSafe;
@@ -116,6 +135,12 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
 
     protected static final int DEFAULT_INITIAL_CAPACITY = 8;
 
+    /**
+     * Sorted chains shorter than this many slots are still scanned linearly on lookup, which is faster than a binary
+     * search that has to call hashCode on the keys it compares.
+     */
+    protected static final int SORTED_CHAIN_SEARCH_THRESHOLD = 16;
+
     private static final long serialVersionUID = 1L;
 
     protected transient Object[] table;
@@ -126,6 +151,11 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
 
     protected int maxSize;
 
+    /**
+     * When set, every collision chain is kept sorted; see {@link #newMapWithSortedChains()}.
+     */
+    protected boolean sortedChains;
+
     public UnifiedMap()
     {
         this.allocate(DEFAULT_INITIAL_CAPACITY << 1);
@@ -182,6 +212,34 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
         return new UnifiedMap<K, V>(map);
     }
 
+    /**
+     * Creates a map which keeps every collision chain sorted by the full hashCode of its keys and then, for keys of the
+     * same {@link Comparable} class, by their natural order.  Lookups in long chains are then a binary search instead of
+     * a linear scan, which bounds the cost of keys whose hashCodes collide heavily; keys with the same hashCode are still
+     * compared with equals, unless they are all of the key's own Comparable class.  Chains are only reordered, never
+     * restructured, so iteration, batching and the externalized form are unchanged; a deserialized map does not keep
+     * the mode.
+     *
+     * @since 5.1
+     */
+    @Beta
+    public static <K, V> UnifiedMap<K, V> newMapWithSortedChains()
+    {
+        return UnifiedMap.newMapWithSortedChains(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * @see #newMapWithSortedChains()
+     * @since 5.1
+     */
+    @Beta
+    public static <K, V> UnifiedMap<K, V> newMapWithSortedChains(int size)
+    {
+        UnifiedMap<K, V> map = new UnifiedMap<K, V>(size);
+        map.sortedChains = true;
+        return map;
+    }
+
     public static <K, V> UnifiedMap<K, V> newMapWith(Pair<K, V>... pairs)
     {
         return new UnifiedMap<K, V>(pairs);
@@ -244,17 +302,31 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
     @Override
     public UnifiedMap<K, V> clone()
     {
+        if (this.sortedChains)
+        {
+            UnifiedMap<K, V> result = UnifiedMap.newMapWithSortedChains(this.size());
+            result.putAll(this);
+            return result;
+        }
         return new UnifiedMap<K, V>(this);
     }
 
     public MutableMap<K, V> newEmpty()
     {
+        if (this.sortedChains)
+        {
+            return UnifiedMap.newMapWithSortedChains();
+        }
         return new UnifiedMap<K, V>();
     }
 
     @Override
     public MutableMap<K, V> newEmpty(int capacity)
     {
+        if (this.sortedChains)
+        {
+            return UnifiedMap.newMapWithSortedChains(capacity);
+        }
         return UnifiedMap.newMap(capacity);
     }
 
@@ -352,6 +424,18 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
         if (this.table[index] == CHAINED_KEY)
         {
             Object[] chain = (Object[]) this.table[index + 1];
+            if (this.sortedChains)
+            {
+                int i = this.sortedChainIndex(chain, key);
+                if (i >= 0)
+                {
+                    V result = (V) chain[i + 1];
+                    chain[i + 1] = value;
+                    return result;
+                }
+                this.insertIntoSortedChain(index, chain, ~i, key, value);
+                return null;
+            }
             for (int i = 0; i < chain.length; i += 2)
             {
                 if (chain[i] == null)
@@ -387,6 +471,10 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
         newChain[1] = this.table[index + 1];
         newChain[2] = toSentinelIfNull(key);
         newChain[3] = value;
+        if (this.sortedChains)
+        {
+            sortNewChain(newChain);
+        }
         this.table[index] = CHAINED_KEY;
         this.table[index + 1] = newChain;
         if (++this.occupied > this.maxSize)
@@ -424,6 +512,19 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
         if (this.table[index] == CHAINED_KEY)
         {
             Object[] chain = (Object[]) this.table[index + 1];
+            if (this.sortedChains)
+            {
+                int i = this.sortedChainIndex(chain, key);
+                if (i >= 0)
+                {
+                    V result = function.valueOf((V) chain[i + 1]);
+                    chain[i + 1] = result;
+                    return result;
+                }
+                V result = function.valueOf(factory.value());
+                this.insertIntoSortedChain(index, chain, ~i, key, result);
+                return result;
+            }
             for (int i = 0; i < chain.length; i += 2)
             {
                 if (chain[i] == null)
@@ -463,6 +564,10 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
         newChain[2] = toSentinelIfNull(key);
         V result = function.valueOf(factory.value());
         newChain[3] = result;
+        if (this.sortedChains)
+        {
+            sortNewChain(newChain);
+        }
         this.table[index] = CHAINED_KEY;
         this.table[index + 1] = newChain;
         if (++this.occupied > this.maxSize)
@@ -505,6 +610,19 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
         if (this.table[index] == CHAINED_KEY)
         {
             Object[] chain = (Object[]) this.table[index + 1];
+            if (this.sortedChains)
+            {
+                int i = this.sortedChainIndex(chain, key);
+                if (i >= 0)
+                {
+                    V result = function.value((V) chain[i + 1], parameter);
+                    chain[i + 1] = result;
+                    return result;
+                }
+                V result = function.value(factory.value(), parameter);
+                this.insertIntoSortedChain(index, chain, ~i, key, result);
+                return result;
+            }
             for (int i = 0; i < chain.length; i += 2)
             {
                 if (chain[i] == null)
@@ -544,6 +662,10 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
         newChain[2] = toSentinelIfNull(key);
         V result = function.value(factory.value(), parameter);
         newChain[3] = result;
+        if (this.sortedChains)
+        {
+            sortNewChain(newChain);
+        }
         this.table[index] = CHAINED_KEY;
         this.table[index + 1] = newChain;
         if (++this.occupied > this.maxSize)
@@ -583,6 +705,17 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
         if (this.table[index] == CHAINED_KEY)
         {
             Object[] chain = (Object[]) this.table[index + 1];
+            if (this.sortedChains)
+            {
+                int i = this.sortedChainIndex(chain, key);
+                if (i >= 0)
+                {
+                    return (V) chain[i + 1];
+                }
+                result = function.value();
+                this.insertIntoSortedChain(index, chain, ~i, key, result);
+                return result;
+            }
             int i = 0;
             for (; i < chain.length; i += 2)
             {
@@ -625,6 +758,10 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
             newChain[1] = this.table[index + 1];
             newChain[2] = toSentinelIfNull(key);
             newChain[3] = result;
+            if (this.sortedChains)
+            {
+                sortNewChain(newChain);
+            }
             this.table[index] = CHAINED_KEY;
             this.table[index + 1] = newChain;
             if (++this.occupied > this.maxSize)
@@ -664,6 +801,16 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
         if (this.table[index] == CHAINED_KEY)
         {
             Object[] chain = (Object[]) this.table[index + 1];
+            if (this.sortedChains)
+            {
+                int i = this.sortedChainIndex(chain, key);
+                if (i >= 0)
+                {
+                    return (V) chain[i + 1];
+                }
+                this.insertIntoSortedChain(index, chain, ~i, key, value);
+                return value;
+            }
             int i = 0;
             for (; i < chain.length; i += 2)
             {
@@ -703,6 +850,10 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
             newChain[1] = this.table[index + 1];
             newChain[2] = toSentinelIfNull(key);
             newChain[3] = value;
+            if (this.sortedChains)
+            {
+                sortNewChain(newChain);
+            }
             this.table[index] = CHAINED_KEY;
             this.table[index + 1] = newChain;
             if (++this.occupied > this.maxSize)
@@ -743,6 +894,17 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
         if (this.table[index] == CHAINED_KEY)
         {
             Object[] chain = (Object[]) this.table[index + 1];
+            if (this.sortedChains)
+            {
+                int i = this.sortedChainIndex(chain, key);
+                if (i >= 0)
+                {
+                    return (V) chain[i + 1];
+                }
+                result = function.valueOf(parameter);
+                this.insertIntoSortedChain(index, chain, ~i, key, result);
+                return result;
+            }
             int i = 0;
             for (; i < chain.length; i += 2)
             {
@@ -785,6 +947,10 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
             newChain[1] = this.table[index + 1];
             newChain[2] = toSentinelIfNull(key);
             newChain[3] = result;
+            if (this.sortedChains)
+            {
+                sortNewChain(newChain);
+            }
             this.table[index] = CHAINED_KEY;
             this.table[index + 1] = newChain;
             if (++this.occupied > this.maxSize)
@@ -878,6 +1044,11 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
 
     private V getFromChain(Object[] chain, K key)
     {
+        if (this.sortedChains && chain.length >= SORTED_CHAIN_SEARCH_THRESHOLD)
+        {
+            int i = this.sortedChainIndex(chain, key);
+            return i >= 0 ? (V) chain[i + 1] : null;
+        }
         for (int i = 0; i < chain.length; i += 2)
         {
             Object k = chain[i];
@@ -910,6 +1081,10 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
 
     private boolean chainContainsKey(Object[] chain, K key)
     {
+        if (this.sortedChains && chain.length >= SORTED_CHAIN_SEARCH_THRESHOLD)
+        {
+            return this.sortedChainIndex(chain, key) >= 0;
+        }
         for (int i = 0; i < chain.length; i += 2)
         {
             Object k = chain[i];
@@ -1195,6 +1370,17 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
 
     private V removeFromChain(Object[] chain, K key, int index)
     {
+        if (this.sortedChains)
+        {
+            int i = this.sortedChainIndex(chain, key);
+            if (i < 0)
+            {
+                return null;
+            }
+            V val = (V) chain[i + 1];
+            this.overwriteWithLastElementFromChain(chain, index, i);
+            return val;
+        }
         for (int i = 0; i < chain.length; i += 2)
         {
             Object k = chain[i];
@@ -1214,6 +1400,11 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
 
     private void overwriteWithLastElementFromChain(Object[] chain, int index, int i)
     {
+        if (this.sortedChains)
+        {
+            this.removeFromSortedChain(chain, index, i);
+            return;
+        }
         int j = chain.length - 2;
         for (; j > i; j -= 2)
         {
@@ -1234,6 +1425,206 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
         this.occupied--;
     }
 
+    private void removeFromSortedChain(Object[] chain, int index, int i)
+    {
+        int end = occupiedChainSlots(chain);
+        System.arraycopy(chain, i + 2, chain, i, end - i - 2);
+        chain[end - 2] = null;
+        chain[end - 1] = null;
+        if (end == 2)
+        {
+            this.table[index] = null;
+            this.table[index + 1] = null;
+        }
+        this.occupied--;
+    }
+
+    /**
+     * Returns the position of the key in a sorted chain or, if the chain does not contain the key, the bitwise
+     * complement of the position at which it belongs.  Equal keys need not be of the same class, so every key with
+     * the same hashCode is tested with equals, unless that run of keys and the key itself are all of one Comparable
+     * class, in which case the natural order narrows the run first.
+     */
+    private int sortedChainIndex(Object[] chain, K key)
+    {
+        Object realKey = toSentinelIfNull(key);
+        int end = occupiedChainSlots(chain);
+        int hash = chainHash(realKey);
+        int runStart = hashRunBound(chain, end, hash, false);
+        int runEnd = hashRunBound(chain, end, hash, true);
+        Class<?> keyClass = realKey.getClass();
+        if (realKey instanceof Comparable
+                && runStart < runEnd
+                && chain[runStart].getClass() == keyClass
+                && chain[runEnd - 2].getClass() == keyClass)
+        {
+            int i = sortedChainPosition(chain, runStart, runEnd, realKey);
+            while (i < runEnd && compareChainKeys(chain[i], realKey) == 0)
+            {
+                if (this.nonNullTableObjectEquals(chain[i], key))
+                {
+                    return i;
+                }
+                i += 2;
+            }
+            return ~i;
+        }
+        for (int i = runStart; i < runEnd; i += 2)
+        {
+            if (this.nonNullTableObjectEquals(chain[i], key))
+            {
+                return i;
+            }
+        }
+        return ~sortedChainPosition(chain, runStart, runEnd, realKey);
+    }
+
+    private static int chainHash(Object key)
+    {
+        return key == NULL_KEY ? 0 : key.hashCode();
+    }
+
+    /**
+     * Returns the first slot of the keys with the given hashCode or, if {@code upper}, the slot just past them.
+     */
+    private static int hashRunBound(Object[] chain, int end, int hash, boolean upper)
+    {
+        int low = 0;
+        int high = end >> 1;
+        while (low < high)
+        {
+            int mid = low + high >>> 1;
+            int midHash = chainHash(chain[mid << 1]);
+            if (midHash < hash || upper && midHash == hash)
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+        return low << 1;
+    }
+
+    /**
+     * Returns the first slot between {@code start} and {@code end} whose key does not sort before {@code key}.
+     */
+    private static int sortedChainPosition(Object[] chain, int start, int end, Object key)
+    {
+        int low = start >> 1;
+        int high = end >> 1;
+        while (low < high)
+        {
+            int mid = low + high >>> 1;
+            if (compareChainKeys(chain[mid << 1], key) < 0)
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+        return low << 1;
+    }
+
+    private void insertIntoSortedChain(int index, Object[] chain, int position, K key, V value)
+    {
+        int end = occupiedChainSlots(chain);
+        Object[] target = chain;
+        if (end == chain.length)
+        {
+            target = new Object[chain.length + 4];
+            System.arraycopy(chain, 0, target, 0, position);
+            this.table[index + 1] = target;
+        }
+        System.arraycopy(chain, position, target, position + 2, end - position);
+        target[position] = toSentinelIfNull(key);
+        target[position + 1] = value;
+        if (++this.occupied > this.maxSize)
+        {
+            this.rehash(this.table.length);
+        }
+    }
+
+    private static void sortNewChain(Object[] chain)
+    {
+        if (compareChainKeys(chain[0], chain[2]) > 0)
+        {
+            Object key = chain[0];
+            Object value = chain[1];
+            chain[0] = chain[2];
+            chain[1] = chain[3];
+            chain[2] = key;
+            chain[3] = value;
+        }
+    }
+
+    /**
+     * Chains are packed from the front, so the number of occupied slots can be found with a binary search.
+     */
+    private static int occupiedChainSlots(Object[] chain)
+    {
+        int low = 0;
+        int high = chain.length >> 1;
+        while (low < high)
+        {
+            int mid = low + high >>> 1;
+            if (chain[mid << 1] != null)
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+        return low << 1;
+    }
+
+    /**
+     * The order of keys in sorted chains: by hashCode first (0 for the null key, which sorts first among its equals),
+     * then by class, so that keys of one class are adjacent, then by natural order for {@link Comparable} keys.  The
+     * order only places keys; lookups still test every key with the same hashCode with equals, since equal keys may be
+     * of different classes.
+     */
+    private static int compareChainKeys(Object one, Object two)
+    {
+        int hash1 = chainHash(one);
+        int hash2 = chainHash(two);
+        if (hash1 != hash2)
+        {
+            return hash1 < hash2 ? -1 : 1;
+        }
+        if (one == NULL_KEY || two == NULL_KEY)
+        {
+            if (one == two)
+            {
+                return 0;
+            }
+            return one == NULL_KEY ? -1 : 1;
+        }
+        Class<?> class1 = one.getClass();
+        Class<?> class2 = two.getClass();
+        if (class1 != class2)
+        {
+            int byName = class1.getName().compareTo(class2.getName());
+            if (byName != 0)
+            {
+                return byName;
+            }
+            int identity1 = System.identityHashCode(class1);
+            int identity2 = System.identityHashCode(class2);
+            return identity1 < identity2 ? -1 : identity1 == identity2 ? 0 : 1;
+        }
+        if (one instanceof Comparable)
+        {
+            return ((Comparable<Object>) one).compareTo(two);
+        }
+        return 0;
+    }
+
     public int size()
     {
         return this.occupied;
@@ -1787,6 +2178,16 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
         {
             Object[] chain = (Object[]) UnifiedMap.this.table[this.position + 1];
             int pos = this.chainPosition - 2;
+            if (UnifiedMap.this.sortedChains)
+            {
+                int end = occupiedChainSlots(chain);
+                System.arraycopy(chain, pos + 2, chain, pos, end - pos - 2);
+                chain[end - 2] = null;
+                chain[end - 1] = null;
+                this.chainPosition = pos;
+                this.lastReturned = false;
+                return;
+            }
             int replacePos = this.chainPosition;
             while (replacePos < chain.length - 2 && chain[replacePos + 2] != null)
             {
@@ -2601,4 +3002,472 @@ public class UnifiedMap<K, V> extends AbstractMutableMap<K, V>
     {
         return Maps.immutable.withAll(this);
     }
+
+    @Beta
+    public ParallelUnsortedSetIterable<K> parallelKeysView(ExecutorService executorService, int batchSize)
+    {
+        UnifiedMap.checkParallelArguments(executorService, batchSize);
+        return new UnifiedMapKeysParallelIterable(executorService, batchSize);
+    }
+
+    @Beta
+    public ParallelUnsortedBag<V> parallelValuesView(ExecutorService executorService, int batchSize)
+    {
+        UnifiedMap.checkParallelArguments(executorService, batchSize);
+        return new UnifiedMapValuesParallelIterable(executorService, batchSize);
+    }
+
+    @Beta
+    public ParallelUnsortedSetIterable<Pair<K, V>> parallelKeyValuesView(ExecutorService executorService, int batchSize)
+    {
+        UnifiedMap.checkParallelArguments(executorService, batchSize);
+        return new UnifiedMapKeyValuesParallelIterable(executorService, batchSize);
+    }
+
+    private static void checkParallelArguments(ExecutorService executorService, int batchSize)
+    {
+        if (executorService == null)
+        {
+            throw new NullPointerException();
+        }
+        if (batchSize < 1)
+        {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * A batch over the buckets of the table between chunkStartIndex (inclusive) and chunkEndIndex (exclusive), including
+     * any chained buckets.  Subclasses decide whether the key, the value or both are handed to the procedures.
+     */
+    private abstract class UnifiedMapBatch<E> extends AbstractBatch<E>
+    {
+        private final int chunkStartIndex;
+        private final int chunkEndIndex;
+
+        protected UnifiedMapBatch(int chunkStartIndex, int chunkEndIndex)
+        {
+            this.chunkStartIndex = chunkStartIndex;
+            this.chunkEndIndex = chunkEndIndex;
+        }
+
+        protected abstract E element(Object[] array, int keyIndex);
+
+        public void forEach(Procedure<? super E> procedure)
+        {
+            Object[] table = UnifiedMap.this.table;
+            for (int i = this.chunkStartIndex; i < this.chunkEndIndex; i += 2)
+            {
+                Object cur = table[i];
+                if (cur == CHAINED_KEY)
+                {
+                    Object[] chain = (Object[]) table[i + 1];
+                    for (int j = 0; j < chain.length && chain[j] != null; j += 2)
+                    {
+                        procedure.value(this.element(chain, j));
+                    }
+                }
+                else if (cur != null)
+                {
+                    procedure.value(this.element(table, i));
+                }
+            }
+        }
+
+        public boolean anySatisfy(Predicate<? super E> predicate)
+        {
+            Object[] table = UnifiedMap.this.table;
+            for (int i = this.chunkStartIndex; i < this.chunkEndIndex; i += 2)
+            {
+                Object cur = table[i];
+                if (cur == CHAINED_KEY)
+                {
+                    Object[] chain = (Object[]) table[i + 1];
+                    for (int j = 0; j < chain.length && chain[j] != null; j += 2)
+                    {
+                        if (predicate.accept(this.element(chain, j)))
+                        {
+                            return true;
+                        }
+                    }
+                }
+                else if (cur != null)
+                {
+                    if (predicate.accept(this.element(table, i)))
+                    {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        public boolean allSatisfy(Predicate<? super E> predicate)
+        {
+            Object[] table = UnifiedMap.this.table;
+            for (int i = this.chunkStartIndex; i < this.chunkEndIndex; i += 2)
+            {
+                Object cur = table[i];
+                if (cur == CHAINED_KEY)
+                {
+                    Object[] chain = (Object[]) table[i + 1];
+                    for (int j = 0; j < chain.length && chain[j] != null; j += 2)
+                    {
+                        if (!predicate.accept(this.element(chain, j)))
+                        {
+                            return false;
+                        }
+                    }
+                }
+                else if (cur != null)
+                {
+                    if (!predicate.accept(this.element(table, i)))
+                    {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        public E detect(Predicate<? super E> predicate)
+        {
+            Object[] table = UnifiedMap.this.table;
+            for (int i = this.chunkStartIndex; i < this.chunkEndIndex; i += 2)
+            {
+                Object cur = table[i];
+                if (cur == CHAINED_KEY)
+                {
+                    Object[] chain = (Object[]) table[i + 1];
+                    for (int j = 0; j < chain.length && chain[j] != null; j += 2)
+                    {
+                        E each = this.element(chain, j);
+                        if (predicate.accept(each))
+                        {
+                            return each;
+                        }
+                    }
+                }
+                else if (cur != null)
+                {
+                    E each = this.element(table, i);
+                    if (predicate.accept(each))
+                    {
+                        return each;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    private final class UnifiedMapKeysBatch extends UnifiedMapBatch<K> implements RootUnsortedSetBatch<K>
+    {
+        private UnifiedMapKeysBatch(int chunkStartIndex, int chunkEndIndex)
+        {
+            super(chunkStartIndex, chunkEndIndex);
+        }
+
+        @Override
+        protected K element(Object[] array, int keyIndex)
+        {
+            return UnifiedMap.this.nonSentinel(array[keyIndex]);
+        }
+
+        public UnsortedSetBatch<K> select(Predicate<? super K> predicate)
+        {
+            return new SelectUnsortedSetBatch<K>(this, predicate);
+        }
+
+        public <VV> UnsortedSetBatch<VV> collect(Function<? super K, ? extends VV> function)
+        {
+            return new CollectUnsortedSetBatch<K, VV>(this, function);
+        }
+    }
+
+    private final class UnifiedMapKeyValuesBatch extends UnifiedMapBatch<Pair<K, V>> implements RootUnsortedSetBatch<Pair<K, V>>
+    {
+        private UnifiedMapKeyValuesBatch(int chunkStartIndex, int chunkEndIndex)
+        {
+            super(chunkStartIndex, chunkEndIndex);
+        }
+
+        @Override
+        protected Pair<K, V> element(Object[] array, int keyIndex)
+        {
+            return Tuples.pair(UnifiedMap.this.nonSentinel(array[keyIndex]), (V) array[keyIndex + 1]);
+        }
+
+        public UnsortedSetBatch<Pair<K, V>> select(Predicate<? super Pair<K, V>> predicate)
+        {
+            return new SelectUnsortedSetBatch<Pair<K, V>>(this, predicate);
+        }
+
+        public <VV> UnsortedSetBatch<VV> collect(Function<? super Pair<K, V>, ? extends VV> function)
+        {
+            return new CollectUnsortedSetBatch<Pair<K, V>, VV>(this, function);
+        }
+    }
+
+    private final class UnifiedMapValuesBatch extends UnifiedMapBatch<V> implements RootUnsortedBagBatch<V>
+    {
+        private UnifiedMapValuesBatch(int chunkStartIndex, int chunkEndIndex)
+        {
+            super(chunkStartIndex, chunkEndIndex);
+        }
+
+        @Override
+        protected V element(Object[] array, int keyIndex)
+        {
+            return (V) array[keyIndex + 1];
+        }
+
+        public void forEachWithOccurrences(final ObjectIntProcedure<? super V> procedure)
+        {
+            this.forEach(new Procedure<V>()
+            {
+                public void value(V each)
+                {
+                    procedure.value(each, 1);
+                }
+            });
+        }
+
+        public UnsortedBagBatch<V> select(Predicate<? super V> predicate)
+        {
+            return new SelectUnsortedBagBatch<V>(this, predicate);
+        }
+
+        public <VV> UnsortedBagBatch<VV> collect(Function<? super V, ? extends VV> function)
+        {
+            return new CollectUnsortedBagBatch<V, VV>(this, function);
+        }
+    }
+
+    /**
+     * Splits the table into batches of batchSize buckets.  The batches are created lazily, as the executor consumes them.
+     */
+    private abstract class UnifiedMapParallelSplitLazyIterable<B> extends AbstractLazyIterable<B>
+    {
+        private final int batchSize;
+
+        protected UnifiedMapParallelSplitLazyIterable(int batchSize)
+        {
+            this.batchSize = batchSize;
+        }
+
+        protected abstract B newBatch(int chunkStartIndex, int chunkEndIndex);
+
+        public void forEach(Procedure<? super B> procedure)
+        {
+            for (B chunk : this)
+            {
+                procedure.value(chunk);
+            }
+        }
+
+        public <P> void forEachWith(Procedure2<? super B, ? super P> procedure, P parameter)
+        {
+            for (B chunk : this)
+            {
+                procedure.value(chunk, parameter);
+            }
+        }
+
+        public void forEachWithIndex(ObjectIntProcedure<? super B> objectIntProcedure)
+        {
+            throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".forEachWithIndex() not implemented yet");
+        }
+
+        public Iterator<B> iterator()
+        {
+            return new Iterator<B>()
+            {
+                private int chunkIndex;
+
+                public boolean hasNext()
+                {
+                    return this.chunkIndex * UnifiedMapParallelSplitLazyIterable.this.batchSize * 2 < UnifiedMap.this.table.length;
+                }
+
+                public B next()
+                {
+                    int chunkSize = UnifiedMapParallelSplitLazyIterable.this.batchSize * 2;
+                    int chunkStartIndex = this.chunkIndex * chunkSize;
+                    int chunkEndIndex = Math.min(chunkStartIndex + chunkSize, UnifiedMap.this.table.length);
+                    this.chunkIndex++;
+                    return UnifiedMapParallelSplitLazyIterable.this.newBatch(chunkStartIndex, chunkEndIndex);
+                }
+
+                public void remove()
+                {
+                    throw new UnsupportedOperationException("Cannot call remove() on " + this.getClass().getSimpleName());
+                }
+            };
+        }
+    }
+
+    private final class UnifiedMapKeysParallelIterable extends AbstractParallelUnsortedSetIterable<K, RootUnsortedSetBatch<K>>
+    {
+        private final ExecutorService executorService;
+        private final int batchSize;
+
+        private UnifiedMapKeysParallelIterable(ExecutorService executorService, int batchSize)
+        {
+            this.executorService = executorService;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public ExecutorService getExecutorService()
+        {
+            return this.executorService;
+        }
+
+        @Override
+        public LazyIterable<RootUnsortedSetBatch<K>> split()
+        {
+            return new UnifiedMapParallelSplitLazyIterable<RootUnsortedSetBatch<K>>(this.batchSize)
+            {
+                @Override
+                protected RootUnsortedSetBatch<K> newBatch(int chunkStartIndex, int chunkEndIndex)
+                {
+                    return new UnifiedMapKeysBatch(chunkStartIndex, chunkEndIndex);
+                }
+            };
+        }
+
+        public void forEach(Procedure<? super K> procedure)
+        {
+            forEach(this, procedure);
+        }
+
+        public boolean anySatisfy(Predicate<? super K> predicate)
+        {
+            return anySatisfy(this, predicate);
+        }
+
+        public boolean allSatisfy(Predicate<? super K> predicate)
+        {
+            return allSatisfy(this, predicate);
+        }
+
+        public K detect(Predicate<? super K> predicate)
+        {
+            return detect(this, predicate);
+        }
+    }
+
+    private final class UnifiedMapKeyValuesParallelIterable extends AbstractParallelUnsortedSetIterable<Pair<K, V>, RootUnsortedSetBatch<Pair<K, V>>>
+    {
+        private final ExecutorService executorService;
+        private final int batchSize;
+
+        private UnifiedMapKeyValuesParallelIterable(ExecutorService executorService, int batchSize)
+        {
+            this.executorService = executorService;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public ExecutorService getExecutorService()
+        {
+            return this.executorService;
+        }
+
+        @Override
+        public LazyIterable<RootUnsortedSetBatch<Pair<K, V>>> split()
+        {
+            return new UnifiedMapParallelSplitLazyIterable<RootUnsortedSetBatch<Pair<K, V>>>(this.batchSize)
+            {
+                @Override
+                protected RootUnsortedSetBatch<Pair<K, V>> newBatch(int chunkStartIndex, int chunkEndIndex)
+                {
+                    return new UnifiedMapKeyValuesBatch(chunkStartIndex, chunkEndIndex);
+                }
+            };
+        }
+
+        public void forEach(Procedure<? super Pair<K, V>> procedure)
+        {
+            forEach(this, procedure);
+        }
+
+        public boolean anySatisfy(Predicate<? super Pair<K, V>> predicate)
+        {
+            return anySatisfy(this, predicate);
+        }
+
+        public boolean allSatisfy(Predicate<? super Pair<K, V>> predicate)
+        {
+            return allSatisfy(this, predicate);
+        }
+
+        public Pair<K, V> detect(Predicate<? super Pair<K, V>> predicate)
+        {
+            return detect(this, predicate);
+        }
+    }
+
+    private final class UnifiedMapValuesParallelIterable extends AbstractParallelUnsortedBag<V, RootUnsortedBagBatch<V>>
+    {
+        private final ExecutorService executorService;
+        private final int batchSize;
+
+        private UnifiedMapValuesParallelIterable(ExecutorService executorService, int batchSize)
+        {
+            this.executorService = executorService;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public ExecutorService getExecutorService()
+        {
+            return this.executorService;
+        }
+
+        @Override
+        public LazyIterable<RootUnsortedBagBatch<V>> split()
+        {
+            return new UnifiedMapParallelSplitLazyIterable<RootUnsortedBagBatch<V>>(this.batchSize)
+            {
+                @Override
+                protected RootUnsortedBagBatch<V> newBatch(int chunkStartIndex, int chunkEndIndex)
+                {
+                    return new UnifiedMapValuesBatch(chunkStartIndex, chunkEndIndex);
+                }
+            };
+        }
+
+        public void forEach(Procedure<? super V> procedure)
+        {
+            forEach(this, procedure);
+        }
+
+        public void forEachWithOccurrences(final ObjectIntProcedure<? super V> procedure)
+        {
+            forEach(this, new Procedure<V>()
+            {
+                public void value(V each)
+                {
+                    procedure.value(each, 1);
+                }
+            });
+        }
+
+        public boolean anySatisfy(Predicate<? super V> predicate)
+        {
+            return anySatisfy(this, predicate);
+        }
+
+        public boolean allSatisfy(Predicate<? super V> predicate)
+        {
+            return allSatisfy(this, predicate);
+        }
+
+        public V detect(Predicate<? super V> predicate)
+        {
+            return detect(this, predicate);
+        }
+    }
 }
@@ -0,0 +1,1091 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.map.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.gs.collections.api.annotation.Beta;
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.function.Function0;
+import com.gs.collections.api.block.function.Function2;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.api.map.MutableMap;
+import com.gs.collections.impl.block.procedure.CollectionAddProcedure;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.parallel.BatchIterable;
+import com.gs.collections.impl.set.mutable.UnifiedSet;
+import com.gs.collections.impl.utility.Iterate;
+import net.jcip.annotations.NotThreadSafe;
+
+/**
+ * UnifiedMapWithLinearProbing is a variant of {@link UnifiedMap} which resolves collisions by open addressing instead
+ * of chaining.  Keys and values are interleaved in a single flat array exactly as in UnifiedMap, but a colliding key
+ * is stored in the next free key slot of the table rather than in a separate {@code Object[]} chain.  Every lookup is
+ * therefore a linear scan over adjacent memory with no extra pointer chase, and collisions never allocate.
+ * <p/>
+ * Removal uses backward-shift deletion, so the table never contains tombstones and probe sequences stay as short as
+ * they were before the removal.  Because probe sequences get long quickly as the table fills up, the default load
+ * factor is 0.5 rather than the 0.75 used by UnifiedMap, and at least one key slot is always kept empty regardless of
+ * the load factor.
+ * <p/>
+ * The externalized form is the same as UnifiedMap's: the size, the load factor and then each key followed by its
+ * value.
+ *
+ * @since 5.1
+ */
+@Beta
+@NotThreadSafe
+@SuppressWarnings("ObjectEquality")
+public class UnifiedMapWithLinearProbing<K, V> extends AbstractMutableMap<K, V>
+        implements Externalizable, BatchIterable<V>
+{
+    protected static final Object NULL_KEY = new Object()
+    {
+        @Override
+        public boolean equals(Object obj)
+        {
+            throw new RuntimeException("Possible corruption through unsynchronized concurrent modification.");
+        }
+
+        @Override
+        public int hashCode()
+        {
+            throw new RuntimeException("Possible corruption through unsynchronized concurrent modification.");
+        }
+
+        @Override
+        public String toString()
+        {
+            return "UnifiedMapWithLinearProbing.NULL_KEY";
+        }
+    };
+
+    protected static final float DEFAULT_LOAD_FACTOR = 0.5f;
+
+    protected static final int DEFAULT_INITIAL_CAPACITY = 8;
+
+    private static final long serialVersionUID = 1L;
+
+    protected transient Object[] table;
+
+    protected transient int occupied;
+
+    protected float loadFactor = DEFAULT_LOAD_FACTOR;
+
+    protected int maxSize;
+
+    public UnifiedMapWithLinearProbing()
+    {
+        this.allocate(DEFAULT_INITIAL_CAPACITY << 1);
+    }
+
+    public UnifiedMapWithLinearProbing(int initialCapacity)
+    {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    public UnifiedMapWithLinearProbing(int initialCapacity, float loadFactor)
+    {
+        if (initialCapacity < 0)
+        {
+            throw new IllegalArgumentException("initial capacity cannot be less than 0");
+        }
+        if (loadFactor <= 0.0f)
+        {
+            throw new IllegalArgumentException("load factor must be greater than 0");
+        }
+        this.loadFactor = loadFactor;
+        this.init((int) Math.ceil(initialCapacity / loadFactor));
+    }
+
+    public UnifiedMapWithLinearProbing(Map<? extends K, ? extends V> map)
+    {
+        this(Math.max(map.size(), DEFAULT_INITIAL_CAPACITY), DEFAULT_LOAD_FACTOR);
+
+        this.putAll(map);
+    }
+
+    public static <K, V> UnifiedMapWithLinearProbing<K, V> newMap()
+    {
+        return new UnifiedMapWithLinearProbing<K, V>();
+    }
+
+    public static <K, V> UnifiedMapWithLinearProbing<K, V> newMap(int size)
+    {
+        return new UnifiedMapWithLinearProbing<K, V>(size);
+    }
+
+    public static <K, V> UnifiedMapWithLinearProbing<K, V> newMap(int size, float loadFactor)
+    {
+        return new UnifiedMapWithLinearProbing<K, V>(size, loadFactor);
+    }
+
+    public static <K, V> UnifiedMapWithLinearProbing<K, V> newMap(Map<? extends K, ? extends V> map)
+    {
+        return new UnifiedMapWithLinearProbing<K, V>(map);
+    }
+
+    public static <K, V> UnifiedMapWithLinearProbing<K, V> newWithKeysValues(K key, V value)
+    {
+        return new UnifiedMapWithLinearProbing<K, V>(1).withKeysValues(key, value);
+    }
+
+    public static <K, V> UnifiedMapWithLinearProbing<K, V> newWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        return new UnifiedMapWithLinearProbing<K, V>(2).withKeysValues(key1, value1, key2, value2);
+    }
+
+    public static <K, V> UnifiedMapWithLinearProbing<K, V> newWithKeysValues(
+            K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return new UnifiedMapWithLinearProbing<K, V>(3).withKeysValues(key1, value1, key2, value2, key3, value3);
+    }
+
+    public static <K, V> UnifiedMapWithLinearProbing<K, V> newWithKeysValues(
+            K key1, V value1, K key2, V value2, K key3, V value3, K key4, V value4)
+    {
+        return new UnifiedMapWithLinearProbing<K, V>(4)
+                .withKeysValues(key1, value1, key2, value2, key3, value3)
+                .withKeysValues(key4, value4);
+    }
+
+    public UnifiedMapWithLinearProbing<K, V> withKeysValues(K key, V value)
+    {
+        this.put(key, value);
+        return this;
+    }
+
+    public UnifiedMapWithLinearProbing<K, V> withKeysValues(K key1, V value1, K key2, V value2)
+    {
+        this.put(key1, value1);
+        this.put(key2, value2);
+        return this;
+    }
+
+    public UnifiedMapWithLinearProbing<K, V> withKeysValues(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        this.put(key1, value1);
+        this.put(key2, value2);
+        this.put(key3, value3);
+        return this;
+    }
+
+    @Override
+    public UnifiedMapWithLinearProbing<K, V> clone()
+    {
+        UnifiedMapWithLinearProbing<K, V> result = new UnifiedMapWithLinearProbing<K, V>(0, this.loadFactor);
+        result.table = this.table.clone();
+        result.occupied = this.occupied;
+        result.maxSize = this.maxSize;
+        return result;
+    }
+
+    public MutableMap<K, V> newEmpty()
+    {
+        return new UnifiedMapWithLinearProbing<K, V>(DEFAULT_INITIAL_CAPACITY, this.loadFactor);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newEmpty(int capacity)
+    {
+        return new UnifiedMapWithLinearProbing<K, V>(capacity, this.loadFactor);
+    }
+
+    protected int init(int initialCapacity)
+    {
+        int capacity = 1;
+        while (capacity < initialCapacity)
+        {
+            capacity <<= 1;
+        }
+
+        return this.allocate(capacity);
+    }
+
+    protected int allocate(int capacity)
+    {
+        this.table = new Object[capacity << 1]; // the table size is twice the capacity to handle both keys and values
+        this.computeMaxSize(capacity);
+
+        return capacity;
+    }
+
+    protected void computeMaxSize(int capacity)
+    {
+        // leave at least one key slot empty so that every probe sequence terminates
+        this.maxSize = Math.min(capacity - 1, (int) (capacity * this.loadFactor));
+    }
+
+    protected final int index(Object key)
+    {
+        // Same spreading function as UnifiedMap, so that the two maps see the same home slots for the same keys.
+        int h = key == null ? 0 : key.hashCode();
+        h ^= h >>> 20 ^ h >>> 12;
+        h ^= h >>> 7 ^ h >>> 4;
+        return (h & (this.table.length >> 1) - 1) << 1;
+    }
+
+    /**
+     * Returns the key slot holding the given key, or the empty key slot at which the probe sequence for the key ends.
+     */
+    protected final int probe(Object key)
+    {
+        Object[] table = this.table;
+        int mask = table.length - 1;
+        int index = this.index(key);
+        while (true)
+        {
+            Object cur = table[index];
+            if (cur == null || this.nonNullTableObjectEquals(cur, key))
+            {
+                return index;
+            }
+            index = index + 2 & mask;
+        }
+    }
+
+    protected void rehash(int newCapacity)
+    {
+        Object[] old = this.table;
+        this.allocate(newCapacity);
+        for (int i = 0; i < old.length; i += 2)
+        {
+            Object cur = old[i];
+            if (cur != null)
+            {
+                int index = this.probe(this.nonSentinel(cur));
+                this.table[index] = cur;
+                this.table[index + 1] = old[i + 1];
+            }
+        }
+    }
+
+    private void addToEmptySlot(int index, K key, V value)
+    {
+        this.table[index] = toSentinelIfNull(key);
+        this.table[index + 1] = value;
+        if (++this.occupied > this.maxSize)
+        {
+            this.rehash(this.table.length);
+        }
+    }
+
+    /**
+     * Empties the key slot at the given index and shifts any later entries of the same cluster back into the hole
+     * when the hole is on their probe path, so that no tombstone is needed.  Entries are only ever moved from later
+     * slots of the cluster into earlier ones.
+     */
+    protected void removeAt(int index)
+    {
+        Object[] table = this.table;
+        int mask = table.length - 1;
+        int hole = index;
+        int next = index + 2 & mask;
+        Object cur;
+        while ((cur = table[next]) != null)
+        {
+            int home = this.index(this.nonSentinel(cur));
+            if ((next - home & mask) >= (next - hole & mask))
+            {
+                table[hole] = cur;
+                table[hole + 1] = table[next + 1];
+                hole = next;
+            }
+            next = next + 2 & mask;
+        }
+        table[hole] = null;
+        table[hole + 1] = null;
+        this.occupied--;
+    }
+
+    public void clear()
+    {
+        if (this.occupied == 0)
+        {
+            return;
+        }
+        this.occupied = 0;
+        Object[] set = this.table;
+
+        for (int i = set.length; i-- > 0; )
+        {
+            set[i] = null;
+        }
+    }
+
+    public int size()
+    {
+        return this.occupied;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.occupied == 0;
+    }
+
+    public V get(Object key)
+    {
+        Object[] table = this.table;
+        int mask = table.length - 1;
+        int index = this.index(key);
+        while (true)
+        {
+            Object cur = table[index];
+            if (cur == null)
+            {
+                return null;
+            }
+            if (this.nonNullTableObjectEquals(cur, key))
+            {
+                return (V) table[index + 1];
+            }
+            index = index + 2 & mask;
+        }
+    }
+
+    public boolean containsKey(Object key)
+    {
+        return this.table[this.probe(key)] != null;
+    }
+
+    public boolean containsValue(Object value)
+    {
+        for (int i = 0; i < this.table.length; i += 2)
+        {
+            if (this.table[i] != null && nullSafeEquals(this.table[i + 1], value))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public V put(K key, V value)
+    {
+        int index = this.probe(key);
+        if (this.table[index] != null)
+        {
+            V result = (V) this.table[index + 1];
+            this.table[index + 1] = value;
+            return result;
+        }
+        this.addToEmptySlot(index, key, value);
+        return null;
+    }
+
+    public void putAll(Map<? extends K, ? extends V> map)
+    {
+        if (map instanceof UnifiedMapWithLinearProbing<?, ?>)
+        {
+            Object[] otherTable = ((UnifiedMapWithLinearProbing<?, ?>) map).table;
+            for (int i = 0; i < otherTable.length; i += 2)
+            {
+                Object cur = otherTable[i];
+                if (cur != null)
+                {
+                    this.put(this.nonSentinel(cur), (V) otherTable[i + 1]);
+                }
+            }
+        }
+        else
+        {
+            for (Entry<? extends K, ? extends V> entry : map.entrySet())
+            {
+                this.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    public V remove(Object key)
+    {
+        int index = this.probe(key);
+        if (this.table[index] == null)
+        {
+            return null;
+        }
+        V result = (V) this.table[index + 1];
+        this.removeAt(index);
+        return result;
+    }
+
+    public V removeKey(K key)
+    {
+        return this.remove(key);
+    }
+
+    @Override
+    public V getIfAbsentPut(K key, Function0<? extends V> function)
+    {
+        int index = this.probe(key);
+        if (this.table[index] != null)
+        {
+            return (V) this.table[index + 1];
+        }
+        V result = function.value();
+        this.addToEmptySlot(index, key, result);
+        return result;
+    }
+
+    @Override
+    public V getIfAbsentPut(K key, V value)
+    {
+        int index = this.probe(key);
+        if (this.table[index] != null)
+        {
+            return (V) this.table[index + 1];
+        }
+        this.addToEmptySlot(index, key, value);
+        return value;
+    }
+
+    @Override
+    public <P> V getIfAbsentPutWith(K key, Function<? super P, ? extends V> function, P parameter)
+    {
+        int index = this.probe(key);
+        if (this.table[index] != null)
+        {
+            return (V) this.table[index + 1];
+        }
+        V result = function.valueOf(parameter);
+        this.addToEmptySlot(index, key, result);
+        return result;
+    }
+
+    @Override
+    public V updateValue(K key, Function0<? extends V> factory, Function<? super V, ? extends V> function)
+    {
+        int index = this.probe(key);
+        if (this.table[index] != null)
+        {
+            V newValue = function.valueOf((V) this.table[index + 1]);
+            this.table[index + 1] = newValue;
+            return newValue;
+        }
+        V newValue = function.valueOf(factory.value());
+        this.addToEmptySlot(index, key, newValue);
+        return newValue;
+    }
+
+    @Override
+    public <P> V updateValueWith(K key, Function0<? extends V> factory, Function2<? super V, ? super P, ? extends V> function, P parameter)
+    {
+        int index = this.probe(key);
+        if (this.table[index] != null)
+        {
+            V newValue = function.value((V) this.table[index + 1], parameter);
+            this.table[index + 1] = newValue;
+            return newValue;
+        }
+        V newValue = function.value(factory.value(), parameter);
+        this.addToEmptySlot(index, key, newValue);
+        return newValue;
+    }
+
+    public <E> MutableMap<K, V> collectKeysAndValues(
+            Iterable<E> iterable,
+            Function<? super E, ? extends K> keyFunction,
+            Function<? super E, ? extends V> valueFunction)
+    {
+        Iterate.addToMap(iterable, keyFunction, valueFunction, this);
+        return this;
+    }
+
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+    {
+        for (int i = 0; i < this.table.length; i += 2)
+        {
+            Object cur = this.table[i];
+            if (cur != null)
+            {
+                procedure.value(this.nonSentinel(cur), (V) this.table[i + 1]);
+            }
+        }
+    }
+
+    @Override
+    public void forEachKey(Procedure<? super K> procedure)
+    {
+        for (int i = 0; i < this.table.length; i += 2)
+        {
+            Object cur = this.table[i];
+            if (cur != null)
+            {
+                procedure.value(this.nonSentinel(cur));
+            }
+        }
+    }
+
+    @Override
+    public void forEachValue(Procedure<? super V> procedure)
+    {
+        for (int i = 0; i < this.table.length; i += 2)
+        {
+            if (this.table[i] != null)
+            {
+                procedure.value((V) this.table[i + 1]);
+            }
+        }
+    }
+
+    public int getBatchCount(int batchSize)
+    {
+        return Math.max(1, this.table.length / 2 / batchSize);
+    }
+
+    public void batchForEach(Procedure<? super V> procedure, int sectionIndex, int sectionCount)
+    {
+        int sectionSize = this.table.length / sectionCount;
+        int start = sectionIndex * sectionSize;
+        int end = sectionIndex == sectionCount - 1 ? this.table.length : start + sectionSize;
+        if (start % 2 != 0)
+        {
+            start++;
+        }
+        for (int i = start; i < end; i += 2)
+        {
+            if (this.table[i] != null)
+            {
+                procedure.value((V) this.table[i + 1]);
+            }
+        }
+    }
+
+    @Override
+    public Iterator<V> iterator()
+    {
+        return new ValuesIterator();
+    }
+
+    public Set<K> keySet()
+    {
+        return new KeySet();
+    }
+
+    public Collection<V> values()
+    {
+        return new ValuesCollection();
+    }
+
+    public Set<Entry<K, V>> entrySet()
+    {
+        return new EntrySet();
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        if (this == object)
+        {
+            return true;
+        }
+
+        if (!(object instanceof Map))
+        {
+            return false;
+        }
+
+        Map<?, ?> other = (Map<?, ?>) object;
+        if (this.size() != other.size())
+        {
+            return false;
+        }
+        for (Entry<?, ?> entry : other.entrySet())
+        {
+            int index = this.probe(entry.getKey());
+            if (this.table[index] == null || !nullSafeEquals(this.table[index + 1], entry.getValue()))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hashCode = 0;
+        for (int i = 0; i < this.table.length; i += 2)
+        {
+            Object cur = this.table[i];
+            if (cur != null)
+            {
+                Object value = this.table[i + 1];
+                hashCode += (cur == NULL_KEY ? 0 : cur.hashCode()) ^ (value == null ? 0 : value.hashCode());
+            }
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder buf = new StringBuilder();
+        buf.append('{');
+
+        boolean first = true;
+        for (int i = 0; i < this.table.length; i += 2)
+        {
+            Object cur = this.table[i];
+            if (cur != null)
+            {
+                if (!first)
+                {
+                    buf.append(", ");
+                }
+                first = false;
+                Object key = this.nonSentinel(cur);
+                Object value = this.table[i + 1];
+                buf.append(key == this ? "(this Map)" : key);
+                buf.append('=');
+                buf.append(value == this ? "(this Map)" : value);
+            }
+        }
+
+        buf.append('}');
+        return buf.toString();
+    }
+
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        int size = in.readInt();
+        this.loadFactor = in.readFloat();
+        this.init(Math.max((int) (size / this.loadFactor) + 1, DEFAULT_INITIAL_CAPACITY));
+        for (int i = 0; i < size; i++)
+        {
+            this.put((K) in.readObject(), (V) in.readObject());
+        }
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        out.writeInt(this.size());
+        out.writeFloat(this.loadFactor);
+        for (int i = 0; i < this.table.length; i += 2)
+        {
+            Object cur = this.table[i];
+            if (cur != null)
+            {
+                out.writeObject(this.nonSentinel(cur));
+                out.writeObject(this.table[i + 1]);
+            }
+        }
+    }
+
+    protected final boolean nonNullTableObjectEquals(Object cur, Object key)
+    {
+        return cur == key || (cur == NULL_KEY ? key == null : cur.equals(key));
+    }
+
+    protected final K nonSentinel(Object key)
+    {
+        return key == NULL_KEY ? null : (K) key;
+    }
+
+    private static Object toSentinelIfNull(Object key)
+    {
+        return key == null ? NULL_KEY : key;
+    }
+
+    private static boolean nullSafeEquals(Object value, Object other)
+    {
+        return value == other || value != null && value.equals(other);
+    }
+
+    /**
+     * Iterates the table starting just after an empty key slot.  Since {@link #removeAt(int)} only shifts entries of
+     * a cluster towards its beginning and never across an empty slot, every entry moved by a removal through the
+     * iterator lands at or after the current position, which is why remove() rewinds by one slot instead of
+     * skipping or revisiting entries.
+     */
+    protected abstract class PositionalIterator<T> implements Iterator<T>
+    {
+        protected final int start;
+        protected int offset = 2;
+        protected int current = -1;
+        protected int remaining;
+
+        protected PositionalIterator()
+        {
+            Object[] table = UnifiedMapWithLinearProbing.this.table;
+            int empty = 0;
+            while (table[empty] != null)
+            {
+                empty += 2;
+            }
+            this.start = empty;
+            this.remaining = UnifiedMapWithLinearProbing.this.occupied;
+        }
+
+        public boolean hasNext()
+        {
+            return this.remaining > 0;
+        }
+
+        protected int nextIndex()
+        {
+            if (this.remaining <= 0)
+            {
+                throw new NoSuchElementException();
+            }
+            Object[] table = UnifiedMapWithLinearProbing.this.table;
+            int mask = table.length - 1;
+            int index = this.start + this.offset & mask;
+            while (table[index] == null)
+            {
+                this.offset += 2;
+                index = this.start + this.offset & mask;
+            }
+            this.offset += 2;
+            this.remaining--;
+            this.current = index;
+            return index;
+        }
+
+        public void remove()
+        {
+            if (this.current == -1)
+            {
+                throw new IllegalStateException();
+            }
+            UnifiedMapWithLinearProbing.this.removeAt(this.current);
+            this.offset -= 2;
+            this.current = -1;
+        }
+    }
+
+    protected class KeySetIterator extends PositionalIterator<K>
+    {
+        public K next()
+        {
+            return UnifiedMapWithLinearProbing.this.nonSentinel(UnifiedMapWithLinearProbing.this.table[this.nextIndex()]);
+        }
+    }
+
+    protected class ValuesIterator extends PositionalIterator<V>
+    {
+        public V next()
+        {
+            return (V) UnifiedMapWithLinearProbing.this.table[this.nextIndex() + 1];
+        }
+    }
+
+    protected class EntrySetIterator extends PositionalIterator<Entry<K, V>>
+    {
+        public Entry<K, V> next()
+        {
+            int index = this.nextIndex();
+            Object[] table = UnifiedMapWithLinearProbing.this.table;
+            return new WriteThroughEntry(UnifiedMapWithLinearProbing.this.nonSentinel(table[index]), (V) table[index + 1]);
+        }
+    }
+
+    protected class WriteThroughEntry implements Map.Entry<K, V>
+    {
+        private final K key;
+        private V value;
+
+        protected WriteThroughEntry(K key, V value)
+        {
+            this.key = key;
+            this.value = value;
+        }
+
+        public K getKey()
+        {
+            return this.key;
+        }
+
+        public V getValue()
+        {
+            return this.value;
+        }
+
+        /**
+         * Writes through to the map only while the map still contains the key; returns null once it has been removed.
+         */
+        public V setValue(V value)
+        {
+            Object[] table = UnifiedMapWithLinearProbing.this.table;
+            int index = UnifiedMapWithLinearProbing.this.probe(this.key);
+            if (table[index] == null)
+            {
+                return null;
+            }
+            V oldValue = (V) table[index + 1];
+            table[index + 1] = value;
+            this.value = value;
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (obj instanceof Map.Entry)
+            {
+                Map.Entry<?, ?> other = (Map.Entry<?, ?>) obj;
+                return nullSafeEquals(this.key, other.getKey()) && nullSafeEquals(this.value, other.getValue());
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return (this.key == null ? 0 : this.key.hashCode()) ^ (this.value == null ? 0 : this.value.hashCode());
+        }
+
+        @Override
+        public String toString()
+        {
+            return this.key + "=" + this.value;
+        }
+    }
+
+    protected class KeySet extends AbstractSet<K> implements Serializable, BatchIterable<K>
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Iterator<K> iterator()
+        {
+            return new KeySetIterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return UnifiedMapWithLinearProbing.this.occupied;
+        }
+
+        @Override
+        public boolean contains(Object key)
+        {
+            return UnifiedMapWithLinearProbing.this.containsKey(key);
+        }
+
+        @Override
+        public boolean remove(Object key)
+        {
+            int index = UnifiedMapWithLinearProbing.this.probe(key);
+            if (UnifiedMapWithLinearProbing.this.table[index] == null)
+            {
+                return false;
+            }
+            UnifiedMapWithLinearProbing.this.removeAt(index);
+            return true;
+        }
+
+        @Override
+        public void clear()
+        {
+            UnifiedMapWithLinearProbing.this.clear();
+        }
+
+        public void forEach(Procedure<? super K> procedure)
+        {
+            UnifiedMapWithLinearProbing.this.forEachKey(procedure);
+        }
+
+        public int getBatchCount(int batchSize)
+        {
+            return UnifiedMapWithLinearProbing.this.getBatchCount(batchSize);
+        }
+
+        public void batchForEach(Procedure<? super K> procedure, int sectionIndex, int sectionCount)
+        {
+            Object[] table = UnifiedMapWithLinearProbing.this.table;
+            int sectionSize = table.length / sectionCount;
+            int start = sectionIndex * sectionSize;
+            int end = sectionIndex == sectionCount - 1 ? table.length : start + sectionSize;
+            if (start % 2 != 0)
+            {
+                start++;
+            }
+            for (int i = start; i < end; i += 2)
+            {
+                Object cur = table[i];
+                if (cur != null)
+                {
+                    procedure.value(UnifiedMapWithLinearProbing.this.nonSentinel(cur));
+                }
+            }
+        }
+
+        protected Object writeReplace()
+        {
+            UnifiedSet<K> replace = UnifiedSet.newSet(UnifiedMapWithLinearProbing.this.size());
+            UnifiedMapWithLinearProbing.this.forEachKey(CollectionAddProcedure.on(replace));
+            return replace;
+        }
+    }
+
+    protected class ValuesCollection extends AbstractCollection<V> implements Serializable, BatchIterable<V>
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Iterator<V> iterator()
+        {
+            return new ValuesIterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return UnifiedMapWithLinearProbing.this.occupied;
+        }
+
+        @Override
+        public boolean contains(Object value)
+        {
+            return UnifiedMapWithLinearProbing.this.containsValue(value);
+        }
+
+        @Override
+        public void clear()
+        {
+            UnifiedMapWithLinearProbing.this.clear();
+        }
+
+        public void forEach(Procedure<? super V> procedure)
+        {
+            UnifiedMapWithLinearProbing.this.forEachValue(procedure);
+        }
+
+        public int getBatchCount(int batchSize)
+        {
+            return UnifiedMapWithLinearProbing.this.getBatchCount(batchSize);
+        }
+
+        public void batchForEach(Procedure<? super V> procedure, int sectionIndex, int sectionCount)
+        {
+            UnifiedMapWithLinearProbing.this.batchForEach(procedure, sectionIndex, sectionCount);
+        }
+
+        protected Object writeReplace()
+        {
+            FastList<V> replace = FastList.newList(UnifiedMapWithLinearProbing.this.size());
+            UnifiedMapWithLinearProbing.this.forEachValue(CollectionAddProcedure.on(replace));
+            return replace;
+        }
+    }
+
+    protected class EntrySet extends AbstractSet<Entry<K, V>> implements Serializable, BatchIterable<Entry<K, V>>
+    {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Iterator<Entry<K, V>> iterator()
+        {
+            return new EntrySetIterator();
+        }
+
+        @Override
+        public int size()
+        {
+            return UnifiedMapWithLinearProbing.this.occupied;
+        }
+
+        @Override
+        public boolean contains(Object object)
+        {
+            return this.indexOf(object) != -1;
+        }
+
+        @Override
+        public boolean remove(Object object)
+        {
+            int index = this.indexOf(object);
+            if (index == -1)
+            {
+                return false;
+            }
+            UnifiedMapWithLinearProbing.this.removeAt(index);
+            return true;
+        }
+
+        private int indexOf(Object object)
+        {
+            if (!(object instanceof Map.Entry))
+            {
+                return -1;
+            }
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>) object;
+            Object[] table = UnifiedMapWithLinearProbing.this.table;
+            int index = UnifiedMapWithLinearProbing.this.probe(entry.getKey());
+            return table[index] != null && nullSafeEquals(table[index + 1], entry.getValue()) ? index : -1;
+        }
+
+        @Override
+        public void clear()
+        {
+            UnifiedMapWithLinearProbing.this.clear();
+        }
+
+        public void forEach(Procedure<? super Entry<K, V>> procedure)
+        {
+            Object[] table = UnifiedMapWithLinearProbing.this.table;
+            for (int i = 0; i < table.length; i += 2)
+            {
+                Object cur = table[i];
+                if (cur != null)
+                {
+                    procedure.value(new WriteThroughEntry(UnifiedMapWithLinearProbing.this.nonSentinel(cur), (V) table[i + 1]));
+                }
+            }
+        }
+
+        public int getBatchCount(int batchSize)
+        {
+            return UnifiedMapWithLinearProbing.this.getBatchCount(batchSize);
+        }
+
+        public void batchForEach(Procedure<? super Entry<K, V>> procedure, int sectionIndex, int sectionCount)
+        {
+            Object[] table = UnifiedMapWithLinearProbing.this.table;
+            int sectionSize = table.length / sectionCount;
+            int start = sectionIndex * sectionSize;
+            int end = sectionIndex == sectionCount - 1 ? table.length : start + sectionSize;
+            if (start % 2 != 0)
+            {
+                start++;
+            }
+            for (int i = start; i < end; i += 2)
+            {
+                Object cur = table[i];
+                if (cur != null)
+                {
+                    procedure.value(new WriteThroughEntry(UnifiedMapWithLinearProbing.this.nonSentinel(cur), (V) table[i + 1]));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.map.mutable.primitive;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * The storage behind the generated off-heap primitive maps. The slots of the open addressing table live in direct or
+ * memory-mapped {@link ByteBuffer}s, split into segments of at most 1GB so that tables larger than a single buffer can
+ * be addressed. Every slot is {@code slotBytes} long, and freshly allocated slots are zeroed, which is the
+ * {@code EMPTY_KEY} of the generated maps.
+ * <p>
+ * Mapped tables start with a header of {@link #HEADER_BYTES} bytes that the maps use to persist their size and sentinel
+ * values, so that a map can be reopened from the same file.
+ *
+ * @since 5.1
+ */
+final class OffHeapTable
+{
+    static final int HEADER_BYTES = 64;
+    static final int SLOT_BYTES_OFFSET = 4;
+    static final int CAPACITY_OFFSET = 8;
+    static final int OCCUPIED_WITH_DATA_OFFSET = 12;
+    static final int OCCUPIED_WITH_SENTINELS_OFFSET = 16;
+    static final int CONTAINS_ZERO_KEY_OFFSET = 20;
+    static final int CONTAINS_ONE_KEY_OFFSET = 21;
+    static final int ZERO_VALUE_OFFSET = 24;
+    static final int ONE_VALUE_OFFSET = 32;
+
+    private static final int MAGIC = 0x4753484D;
+    private static final int MAXIMUM_SEGMENT_BYTES = 1 << 30;
+
+    private final int slotBytes;
+    private final int capacity;
+    private final int segmentShift;
+    private final int segmentMask;
+    private final ByteBuffer header;
+    private final ByteBuffer[] segments;
+    private File file;
+
+    private OffHeapTable(int slotBytes, int capacity, ByteBuffer header, ByteBuffer[] segments, File file)
+    {
+        this.slotBytes = slotBytes;
+        this.capacity = capacity;
+        this.segmentShift = OffHeapTable.segmentShift(slotBytes, capacity);
+        this.segmentMask = (1 << this.segmentShift) - 1;
+        this.header = header;
+        this.segments = segments;
+        this.file = file;
+    }
+
+    private static int segmentShift(int slotBytes, int capacity)
+    {
+        int segmentSlots = Math.min(capacity, Integer.highestOneBit(MAXIMUM_SEGMENT_BYTES / slotBytes));
+        return Integer.numberOfTrailingZeros(segmentSlots);
+    }
+
+    /**
+     * Allocates a table of {@code capacity} slots in direct memory. The capacity must be a power of two.
+     */
+    static OffHeapTable allocate(int slotBytes, int capacity)
+    {
+        int segmentSlots = 1 << OffHeapTable.segmentShift(slotBytes, capacity);
+        ByteBuffer[] segments = new ByteBuffer[capacity / segmentSlots];
+        for (int i = 0; i < segments.length; i++)
+        {
+            segments[i] = ByteBuffer.allocateDirect(segmentSlots * slotBytes).order(ByteOrder.nativeOrder());
+        }
+        ByteBuffer header = ByteBuffer.allocateDirect(HEADER_BYTES).order(ByteOrder.nativeOrder());
+        OffHeapTable.initializeHeader(header, slotBytes, capacity);
+        return new OffHeapTable(slotBytes, capacity, header, segments, null);
+    }
+
+    /**
+     * Creates or truncates {@code file} and maps a table of {@code capacity} slots over it. The capacity must be a
+     * power of two.
+     */
+    static OffHeapTable map(File file, int slotBytes, int capacity)
+    {
+        long segmentBytes = (long) slotBytes << OffHeapTable.segmentShift(slotBytes, capacity);
+        long tableBytes = (long) slotBytes * capacity;
+        try
+        {
+            RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+            try
+            {
+                randomAccessFile.setLength(0L);
+                randomAccessFile.setLength(HEADER_BYTES + tableBytes);
+                FileChannel channel = randomAccessFile.getChannel();
+                ByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0L, HEADER_BYTES).order(ByteOrder.nativeOrder());
+                OffHeapTable.initializeHeader(header, slotBytes, capacity);
+                ByteBuffer[] segments = OffHeapTable.mapSegments(channel, segmentBytes, tableBytes);
+                return new OffHeapTable(slotBytes, capacity, header, segments, file);
+            }
+            finally
+            {
+                randomAccessFile.close();
+            }
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Maps the table previously written to {@code file} by {@link #map(File, int, int)}.
+     */
+    static OffHeapTable open(File file, int slotBytes)
+    {
+        try
+        {
+            RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+            try
+            {
+                FileChannel channel = randomAccessFile.getChannel();
+                if (channel.size() < HEADER_BYTES)
+                {
+                    throw new IllegalArgumentException(file + " does not contain an off-heap table");
+                }
+                ByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0L, HEADER_BYTES).order(ByteOrder.nativeOrder());
+                if (header.getInt(0) != MAGIC)
+                {
+                    throw new IllegalArgumentException(file + " does not contain an off-heap table");
+                }
+                if (header.getInt(SLOT_BYTES_OFFSET) != slotBytes)
+                {
+                    throw new IllegalArgumentException(file + " contains slots of " + header.getInt(SLOT_BYTES_OFFSET) + " bytes, expected " + slotBytes);
+                }
+                int capacity = header.getInt(CAPACITY_OFFSET);
+                long segmentBytes = (long) slotBytes << OffHeapTable.segmentShift(slotBytes, capacity);
+                long tableBytes = (long) slotBytes * capacity;
+                if (channel.size() < HEADER_BYTES + tableBytes)
+                {
+                    throw new IllegalArgumentException(file + " is truncated");
+                }
+                ByteBuffer[] segments = OffHeapTable.mapSegments(channel, segmentBytes, tableBytes);
+                return new OffHeapTable(slotBytes, capacity, header, segments, file);
+            }
+            finally
+            {
+                randomAccessFile.close();
+            }
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static ByteBuffer[] mapSegments(FileChannel channel, long segmentBytes, long tableBytes) throws IOException
+    {
+        ByteBuffer[] segments = new ByteBuffer[(int) (tableBytes / segmentBytes)];
+        for (int i = 0; i < segments.length; i++)
+        {
+            segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + i * segmentBytes, segmentBytes).order(ByteOrder.nativeOrder());
+        }
+        return segments;
+    }
+
+    private static void initializeHeader(ByteBuffer header, int slotBytes, int capacity)
+    {
+        header.putInt(0, MAGIC);
+        header.putInt(SLOT_BYTES_OFFSET, slotBytes);
+        header.putInt(CAPACITY_OFFSET, capacity);
+    }
+
+    /**
+     * Creates an empty table of the same kind with {@code newCapacity} slots. A mapped table maps the new table over a
+     * temporary file next to its own, which {@link #replaceWith(OffHeapTable)} renames once the entries are copied.
+     */
+    OffHeapTable newTable(int newCapacity)
+    {
+        if (this.file == null)
+        {
+            return OffHeapTable.allocate(this.slotBytes, newCapacity);
+        }
+        return OffHeapTable.map(new File(this.file.getPath() + ".resize"), this.slotBytes, newCapacity);
+    }
+
+    /**
+     * Frees this table and moves {@code newTable}, created by {@link #newTable(int)}, into its place. The new file is
+     * renamed over the old one, which replaces it atomically on POSIX file systems, so a crash leaves one of the two
+     * complete files in place. The old file is deleted first only where the rename cannot replace it.
+     */
+    OffHeapTable replaceWith(OffHeapTable newTable)
+    {
+        this.free();
+        if (this.file != null)
+        {
+            if (!newTable.file.renameTo(this.file) && (!this.file.delete() || !newTable.file.renameTo(this.file)))
+            {
+                throw new IllegalStateException("Could not move " + newTable.file + " to " + this.file);
+            }
+            newTable.file = this.file;
+        }
+        return newTable;
+    }
+
+    int capacity()
+    {
+        return this.capacity;
+    }
+
+    ByteBuffer header()
+    {
+        return this.header;
+    }
+
+    ByteBuffer segment(int index)
+    {
+        return this.segments[index >>> this.segmentShift];
+    }
+
+    int offset(int index)
+    {
+        return (index & this.segmentMask) * this.slotBytes;
+    }
+
+    void clear()
+    {
+        byte[] zeros = new byte[Math.min(this.segments[0].capacity(), 1 << 16)];
+        for (ByteBuffer segment : this.segments)
+        {
+            ByteBuffer target = segment.duplicate();
+            target.clear();
+            while (target.hasRemaining())
+            {
+                target.put(zeros, 0, Math.min(zeros.length, target.remaining()));
+            }
+        }
+    }
+
+    /**
+     * Writes the changes of a mapped table to its file.
+     */
+    void force()
+    {
+        if (this.file != null)
+        {
+            ((MappedByteBuffer) this.header).force();
+            for (ByteBuffer segment : this.segments)
+            {
+                ((MappedByteBuffer) segment).force();
+            }
+        }
+    }
+
+    /**
+     * Releases the memory or the mapping of this table right away instead of waiting for the buffers to be garbage
+     * collected, where the JVM allows it. Otherwise the memory is released when the buffers are collected. The table
+     * must not be accessed afterwards.
+     */
+    void free()
+    {
+        OffHeapTable.free(this.header);
+        for (ByteBuffer segment : this.segments)
+        {
+            OffHeapTable.free(segment);
+        }
+    }
+
+    /**
+     * Best effort only: the cleaner of a direct buffer is not public API, so it is looked up reflectively and any
+     * failure, for instance on a JVM that does not allow the access, is ignored.
+     */
+    private static void free(ByteBuffer buffer)
+    {
+        if (!buffer.isDirect())
+        {
+            return;
+        }
+        try
+        {
+            Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            Object cleaner = cleanerMethod.invoke(buffer);
+            if (cleaner != null)
+            {
+                Method cleanMethod = cleaner.getClass().getMethod("clean");
+                cleanMethod.setAccessible(true);
+                cleanMethod.invoke(cleaner);
+            }
+        }
+        catch (Exception ignored)
+        {
+            // the buffer will be released when it is garbage collected
+        }
+    }
+}
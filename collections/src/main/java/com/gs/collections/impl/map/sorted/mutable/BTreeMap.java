@@ -0,0 +1,1337 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.map.sorted.mutable;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+
+import com.gs.collections.api.annotation.Beta;
+
+/**
+ * BTreeMap is a {@link SortedMap} backed by a B+ tree, as a drop-in replacement for {@link java.util.TreeMap}.  Keys
+ * and values are held in arrays of up to 64 entries per leaf, and the leaves are linked in order, so a lookup touches
+ * a handful of nodes instead of one node per level of a red-black tree, and a range scan walks arrays instead of
+ * chasing a pointer per entry.  Building from a {@link SortedMap} with the same comparator takes linear time.
+ * <p/>
+ * Like TreeMap, BTreeMap is not synchronized, does not permit null keys when using natural ordering, and its views and
+ * iterators are fail-fast.  The {@link #keySet()} view is a {@link SortedSet}, and {@link #subMap(Object, Object)},
+ * {@link #headMap(Object)} and {@link #tailMap(Object)} are views whose size is counted a leaf at a time.
+ *
+ * @since 5.1
+ */
+@Beta
+public final class BTreeMap<K, V>
+        extends AbstractMap<K, V>
+        implements SortedMap<K, V>
+{
+    private static final int LEAF_CAPACITY = 64;
+    private static final int LEAF_MIN = LEAF_CAPACITY / 2;
+    private static final int BRANCH_CAPACITY = 63;
+    private static final int BRANCH_MIN = BRANCH_CAPACITY / 2;
+
+    private final Comparator<? super K> comparator;
+    private final Range fullRange = new Range(null, false, null, false);
+    private Node root = new Leaf();
+    private int size;
+    private int modCount;
+
+    // Side results of insert and delete, kept in fields so that put and remove do not allocate a result holder
+    private Object promotedKey;
+    private Object oldValue;
+    private boolean replaced;
+
+    public BTreeMap()
+    {
+        this.comparator = null;
+    }
+
+    public BTreeMap(Comparator<? super K> comparator)
+    {
+        this.comparator = comparator;
+    }
+
+    public BTreeMap(Map<? extends K, ? extends V> map)
+    {
+        this.comparator = null;
+        this.putAll(map);
+    }
+
+    public BTreeMap(SortedMap<K, ? extends V> map)
+    {
+        this.comparator = map.comparator();
+        this.buildFromSorted(map.entrySet().iterator(), null, null, map.size());
+    }
+
+    /**
+     * Creates a map from each of {@code keys} to {@code value}, in the set's order and with its comparator, in
+     * linear time.
+     */
+    public BTreeMap(SortedSet<K> keys, V value)
+    {
+        this.comparator = keys.comparator();
+        this.buildFromSorted(null, keys.iterator(), value, keys.size());
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.size == 0;
+    }
+
+    public Comparator<? super K> comparator()
+    {
+        return this.comparator;
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+        Leaf leaf = this.findLeaf(key);
+        return this.indexOf(leaf, key) >= 0;
+    }
+
+    @Override
+    public V get(Object key)
+    {
+        Leaf leaf = this.findLeaf(key);
+        int index = this.indexOf(leaf, key);
+        return index >= 0 ? (V) leaf.values[index] : null;
+    }
+
+    @Override
+    public V put(K key, V value)
+    {
+        if (this.size == 0)
+        {
+            // Type and null check, as TreeMap does
+            this.compare(key, key);
+        }
+        Node split = this.insert(this.root, key, value);
+        if (split != null)
+        {
+            Branch newRoot = new Branch();
+            newRoot.keys[0] = this.promotedKey;
+            newRoot.children[0] = this.root;
+            newRoot.children[1] = split;
+            newRoot.size = 1;
+            this.root = newRoot;
+            this.promotedKey = null;
+        }
+        if (this.replaced)
+        {
+            this.replaced = false;
+            return this.takeOldValue();
+        }
+        this.size++;
+        this.modCount++;
+        return null;
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map)
+    {
+        if (this.size == 0 && map instanceof SortedMap<?, ?> && BTreeMap.sameComparator(this.comparator, ((SortedMap<?, ?>) map).comparator()))
+        {
+            this.buildFromSorted(map.entrySet().iterator(), null, null, map.size());
+            this.modCount++;
+        }
+        else
+        {
+            super.putAll(map);
+        }
+    }
+
+    @Override
+    public V remove(Object key)
+    {
+        if (this.size == 0 || !this.delete(this.root, key))
+        {
+            return null;
+        }
+        if (this.root instanceof Branch && this.root.size == 0)
+        {
+            this.root = ((Branch) this.root).children[0];
+        }
+        this.size--;
+        this.modCount++;
+        return this.takeOldValue();
+    }
+
+    @Override
+    public void clear()
+    {
+        this.root = new Leaf();
+        this.size = 0;
+        this.modCount++;
+    }
+
+    public K firstKey()
+    {
+        return this.fullRange.firstKey();
+    }
+
+    public K lastKey()
+    {
+        return this.fullRange.lastKey();
+    }
+
+    public SortedMap<K, V> subMap(K fromKey, K toKey)
+    {
+        return new SubMap(this.fullRange.subRange(fromKey, true, toKey, true));
+    }
+
+    public SortedMap<K, V> headMap(K toKey)
+    {
+        return new SubMap(this.fullRange.subRange(null, false, toKey, true));
+    }
+
+    public SortedMap<K, V> tailMap(K fromKey)
+    {
+        return new SubMap(this.fullRange.subRange(fromKey, true, null, false));
+    }
+
+    @Override
+    public SortedSet<K> keySet()
+    {
+        return new KeySet(this.fullRange, false, null);
+    }
+
+    /**
+     * Returns a view of the keys like {@link #keySet()}, except that adding a key to it, or to one of its subsets,
+     * puts the key with {@code addedValue}.  This lets a BTreeMap back a mutable {@link SortedSet}.
+     */
+    public SortedSet<K> keySet(V addedValue)
+    {
+        return new KeySet(this.fullRange, true, addedValue);
+    }
+
+    @Override
+    public Collection<V> values()
+    {
+        return new Values(this.fullRange);
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet()
+    {
+        return new EntrySet(this.fullRange);
+    }
+
+    private V takeOldValue()
+    {
+        V result = (V) this.oldValue;
+        this.oldValue = null;
+        return result;
+    }
+
+    private int compare(Object key1, Object key2)
+    {
+        return this.comparator == null
+                ? ((Comparable<Object>) key1).compareTo(key2)
+                : this.comparator.compare((K) key1, (K) key2);
+    }
+
+    private static boolean sameComparator(Comparator<?> comparator1, Comparator<?> comparator2)
+    {
+        return comparator1 == null ? comparator2 == null : comparator1.equals(comparator2);
+    }
+
+    /**
+     * Returns the index of {@code key} in {@code node}, or {@code -(insertionPoint + 1)} if it is not there.
+     */
+    private int indexOf(Node node, Object key)
+    {
+        int low = 0;
+        int high = node.size - 1;
+        while (low <= high)
+        {
+            int mid = (low + high) >>> 1;
+            int comparison = this.compare(node.keys[mid], key);
+            if (comparison < 0)
+            {
+                low = mid + 1;
+            }
+            else if (comparison > 0)
+            {
+                high = mid - 1;
+            }
+            else
+            {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private int childIndex(Branch branch, Object key)
+    {
+        int index = this.indexOf(branch, key);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private Leaf findLeaf(Object key)
+    {
+        if (key == null && this.comparator == null)
+        {
+            throw new NullPointerException();
+        }
+        Node node = this.root;
+        while (node instanceof Branch)
+        {
+            Branch branch = (Branch) node;
+            node = branch.children[this.childIndex(branch, key)];
+        }
+        return (Leaf) node;
+    }
+
+    private Leaf firstLeaf()
+    {
+        Node node = this.root;
+        while (node instanceof Branch)
+        {
+            node = ((Branch) node).children[0];
+        }
+        return (Leaf) node;
+    }
+
+    private Leaf lastLeaf()
+    {
+        Node node = this.root;
+        while (node instanceof Branch)
+        {
+            node = ((Branch) node).children[node.size];
+        }
+        return (Leaf) node;
+    }
+
+    private static Object firstKeyOf(Node node)
+    {
+        Node current = node;
+        while (current instanceof Branch)
+        {
+            current = ((Branch) current).children[0];
+        }
+        return current.keys[0];
+    }
+
+    private Node insert(Node node, K key, V value)
+    {
+        if (node instanceof Leaf)
+        {
+            return this.insertIntoLeaf((Leaf) node, key, value);
+        }
+        Branch branch = (Branch) node;
+        int childIndex = this.childIndex(branch, key);
+        Node split = this.insert(branch.children[childIndex], key, value);
+        if (split == null)
+        {
+            return null;
+        }
+        int moved = branch.size - childIndex;
+        System.arraycopy(branch.keys, childIndex, branch.keys, childIndex + 1, moved);
+        System.arraycopy(branch.children, childIndex + 1, branch.children, childIndex + 2, moved);
+        branch.keys[childIndex] = this.promotedKey;
+        branch.children[childIndex + 1] = split;
+        branch.size++;
+        this.promotedKey = null;
+        return branch.size > BRANCH_CAPACITY ? this.splitBranch(branch) : null;
+    }
+
+    private Node insertIntoLeaf(Leaf leaf, K key, V value)
+    {
+        int index = this.indexOf(leaf, key);
+        if (index >= 0)
+        {
+            this.oldValue = leaf.values[index];
+            this.replaced = true;
+            leaf.values[index] = value;
+            return null;
+        }
+        int insertion = -index - 1;
+        int moved = leaf.size - insertion;
+        System.arraycopy(leaf.keys, insertion, leaf.keys, insertion + 1, moved);
+        System.arraycopy(leaf.values, insertion, leaf.values, insertion + 1, moved);
+        leaf.keys[insertion] = key;
+        leaf.values[insertion] = value;
+        leaf.size++;
+        return leaf.size > LEAF_CAPACITY ? this.splitLeaf(leaf) : null;
+    }
+
+    private Leaf splitLeaf(Leaf leaf)
+    {
+        int leftSize = leaf.size / 2;
+        int rightSize = leaf.size - leftSize;
+        Leaf right = new Leaf();
+        System.arraycopy(leaf.keys, leftSize, right.keys, 0, rightSize);
+        System.arraycopy(leaf.values, leftSize, right.values, 0, rightSize);
+        Arrays.fill(leaf.keys, leftSize, leaf.size, null);
+        Arrays.fill(leaf.values, leftSize, leaf.size, null);
+        leaf.size = leftSize;
+        right.size = rightSize;
+        right.next = leaf.next;
+        if (right.next != null)
+        {
+            right.next.previous = right;
+        }
+        right.previous = leaf;
+        leaf.next = right;
+        this.promotedKey = right.keys[0];
+        return right;
+    }
+
+    private Branch splitBranch(Branch branch)
+    {
+        int mid = branch.size / 2;
+        int rightSize = branch.size - mid - 1;
+        Branch right = new Branch();
+        System.arraycopy(branch.keys, mid + 1, right.keys, 0, rightSize);
+        System.arraycopy(branch.children, mid + 1, right.children, 0, rightSize + 1);
+        this.promotedKey = branch.keys[mid];
+        Arrays.fill(branch.keys, mid, branch.size, null);
+        Arrays.fill(branch.children, mid + 1, branch.size + 1, null);
+        branch.size = mid;
+        right.size = rightSize;
+        return right;
+    }
+
+    private boolean delete(Node node, Object key)
+    {
+        if (node instanceof Leaf)
+        {
+            Leaf leaf = (Leaf) node;
+            int index = this.indexOf(leaf, key);
+            if (index < 0)
+            {
+                return false;
+            }
+            this.oldValue = leaf.values[index];
+            int moved = leaf.size - index - 1;
+            System.arraycopy(leaf.keys, index + 1, leaf.keys, index, moved);
+            System.arraycopy(leaf.values, index + 1, leaf.values, index, moved);
+            leaf.size--;
+            leaf.keys[leaf.size] = null;
+            leaf.values[leaf.size] = null;
+            return true;
+        }
+        Branch branch = (Branch) node;
+        int childIndex = this.childIndex(branch, key);
+        if (!this.delete(branch.children[childIndex], key))
+        {
+            return false;
+        }
+        if (branch.children[childIndex] instanceof Leaf)
+        {
+            this.rebalanceLeaf(branch, childIndex);
+        }
+        else
+        {
+            this.rebalanceBranch(branch, childIndex);
+        }
+        return true;
+    }
+
+    private void rebalanceLeaf(Branch parent, int index)
+    {
+        Leaf leaf = (Leaf) parent.children[index];
+        if (leaf.size >= LEAF_MIN)
+        {
+            return;
+        }
+        Leaf left = index > 0 ? (Leaf) parent.children[index - 1] : null;
+        Leaf right = index < parent.size ? (Leaf) parent.children[index + 1] : null;
+        if (left != null && left.size > LEAF_MIN)
+        {
+            System.arraycopy(leaf.keys, 0, leaf.keys, 1, leaf.size);
+            System.arraycopy(leaf.values, 0, leaf.values, 1, leaf.size);
+            left.size--;
+            leaf.keys[0] = left.keys[left.size];
+            leaf.values[0] = left.values[left.size];
+            left.keys[left.size] = null;
+            left.values[left.size] = null;
+            leaf.size++;
+            parent.keys[index - 1] = leaf.keys[0];
+        }
+        else if (right != null && right.size > LEAF_MIN)
+        {
+            leaf.keys[leaf.size] = right.keys[0];
+            leaf.values[leaf.size] = right.values[0];
+            leaf.size++;
+            right.size--;
+            System.arraycopy(right.keys, 1, right.keys, 0, right.size);
+            System.arraycopy(right.values, 1, right.values, 0, right.size);
+            right.keys[right.size] = null;
+            right.values[right.size] = null;
+            parent.keys[index] = right.keys[0];
+        }
+        else if (left != null)
+        {
+            BTreeMap.mergeLeaves(left, leaf);
+            BTreeMap.removeChild(parent, index - 1);
+        }
+        else
+        {
+            BTreeMap.mergeLeaves(leaf, right);
+            BTreeMap.removeChild(parent, index);
+        }
+    }
+
+    private static void mergeLeaves(Leaf left, Leaf right)
+    {
+        System.arraycopy(right.keys, 0, left.keys, left.size, right.size);
+        System.arraycopy(right.values, 0, left.values, left.size, right.size);
+        left.size += right.size;
+        left.next = right.next;
+        if (left.next != null)
+        {
+            left.next.previous = left;
+        }
+    }
+
+    private void rebalanceBranch(Branch parent, int index)
+    {
+        Branch branch = (Branch) parent.children[index];
+        if (branch.size >= BRANCH_MIN)
+        {
+            return;
+        }
+        Branch left = index > 0 ? (Branch) parent.children[index - 1] : null;
+        Branch right = index < parent.size ? (Branch) parent.children[index + 1] : null;
+        if (left != null && left.size > BRANCH_MIN)
+        {
+            System.arraycopy(branch.keys, 0, branch.keys, 1, branch.size);
+            System.arraycopy(branch.children, 0, branch.children, 1, branch.size + 1);
+            branch.keys[0] = parent.keys[index - 1];
+            branch.children[0] = left.children[left.size];
+            branch.size++;
+            parent.keys[index - 1] = left.keys[left.size - 1];
+            left.keys[left.size - 1] = null;
+            left.children[left.size] = null;
+            left.size--;
+        }
+        else if (right != null && right.size > BRANCH_MIN)
+        {
+            branch.keys[branch.size] = parent.keys[index];
+            branch.children[branch.size + 1] = right.children[0];
+            branch.size++;
+            parent.keys[index] = right.keys[0];
+            System.arraycopy(right.keys, 1, right.keys, 0, right.size - 1);
+            System.arraycopy(right.children, 1, right.children, 0, right.size);
+            right.size--;
+            right.keys[right.size] = null;
+            right.children[right.size + 1] = null;
+        }
+        else if (left != null)
+        {
+            BTreeMap.mergeBranches(left, parent.keys[index - 1], branch);
+            BTreeMap.removeChild(parent, index - 1);
+        }
+        else
+        {
+            BTreeMap.mergeBranches(branch, parent.keys[index], right);
+            BTreeMap.removeChild(parent, index);
+        }
+    }
+
+    private static void mergeBranches(Branch left, Object separator, Branch right)
+    {
+        left.keys[left.size] = separator;
+        System.arraycopy(right.keys, 0, left.keys, left.size + 1, right.size);
+        System.arraycopy(right.children, 0, left.children, left.size + 1, right.size + 1);
+        left.size += right.size + 1;
+    }
+
+    /**
+     * Removes the key at {@code keyIndex} and the child to its right.
+     */
+    private static void removeChild(Branch branch, int keyIndex)
+    {
+        int moved = branch.size - keyIndex - 1;
+        System.arraycopy(branch.keys, keyIndex + 1, branch.keys, keyIndex, moved);
+        System.arraycopy(branch.children, keyIndex + 2, branch.children, keyIndex + 1, moved);
+        branch.size--;
+        branch.keys[branch.size] = null;
+        branch.children[branch.size + 1] = null;
+    }
+
+    /**
+     * Replaces the contents of this map with {@code count} entries, given either as {@code entries} or as
+     * {@code keys} that all map to {@code value}, which must already be in order and distinct.  Leaves and branches
+     * are filled as evenly as possible, so all of them are at least half full.
+     */
+    private void buildFromSorted(
+            Iterator<? extends Entry<? extends K, ? extends V>> entries,
+            Iterator<? extends K> keys,
+            V value,
+            int count)
+    {
+        this.root = new Leaf();
+        this.size = 0;
+        if (count == 0)
+        {
+            return;
+        }
+        int levelSize = (count + LEAF_CAPACITY - 1) / LEAF_CAPACITY;
+        Node[] level = new Node[levelSize];
+        Leaf previous = null;
+        for (int i = 0; i < levelSize; i++)
+        {
+            Leaf leaf = new Leaf();
+            leaf.size = count / levelSize + (i < count % levelSize ? 1 : 0);
+            for (int j = 0; j < leaf.size; j++)
+            {
+                if (entries == null)
+                {
+                    leaf.keys[j] = keys.next();
+                    leaf.values[j] = value;
+                }
+                else
+                {
+                    Entry<? extends K, ? extends V> entry = entries.next();
+                    leaf.keys[j] = entry.getKey();
+                    leaf.values[j] = entry.getValue();
+                }
+            }
+            leaf.previous = previous;
+            if (previous != null)
+            {
+                previous.next = leaf;
+            }
+            previous = leaf;
+            level[i] = leaf;
+        }
+        while (levelSize > 1)
+        {
+            int parentCount = (levelSize + BRANCH_CAPACITY) / (BRANCH_CAPACITY + 1);
+            Node[] parents = new Node[parentCount];
+            int childIndex = 0;
+            for (int i = 0; i < parentCount; i++)
+            {
+                Branch branch = new Branch();
+                int children = levelSize / parentCount + (i < levelSize % parentCount ? 1 : 0);
+                for (int j = 0; j < children; j++)
+                {
+                    Node child = level[childIndex++];
+                    branch.children[j] = child;
+                    if (j > 0)
+                    {
+                        branch.keys[j - 1] = BTreeMap.firstKeyOf(child);
+                    }
+                }
+                branch.size = children - 1;
+                parents[i] = branch;
+            }
+            level = parents;
+            levelSize = parentCount;
+        }
+        this.root = level[0];
+        this.size = count;
+    }
+
+    private abstract static class Node
+    {
+        protected Object[] keys;
+        protected int size;
+    }
+
+    private static final class Leaf extends Node
+    {
+        private final Object[] values = new Object[LEAF_CAPACITY + 1];
+        private Leaf previous;
+        private Leaf next;
+
+        private Leaf()
+        {
+            this.keys = new Object[LEAF_CAPACITY + 1];
+        }
+    }
+
+    private static final class Branch extends Node
+    {
+        private final Node[] children = new Node[BRANCH_CAPACITY + 2];
+
+        private Branch()
+        {
+            this.keys = new Object[BRANCH_CAPACITY + 1];
+        }
+    }
+
+    /**
+     * A range of keys from {@code low} inclusive to {@code high} exclusive, either of which may be absent.
+     */
+    private final class Range
+    {
+        private final Object low;
+        private final boolean hasLow;
+        private final Object high;
+        private final boolean hasHigh;
+
+        private Range(Object low, boolean hasLow, Object high, boolean hasHigh)
+        {
+            this.low = low;
+            this.hasLow = hasLow;
+            this.high = high;
+            this.hasHigh = hasHigh;
+        }
+
+        private boolean isTooLow(Object key)
+        {
+            return this.hasLow && BTreeMap.this.compare(key, this.low) < 0;
+        }
+
+        private boolean isTooHigh(Object key)
+        {
+            return this.hasHigh && BTreeMap.this.compare(key, this.high) >= 0;
+        }
+
+        private boolean contains(Object key)
+        {
+            return !this.isTooLow(key) && !this.isTooHigh(key);
+        }
+
+        private boolean isUnbounded()
+        {
+            return !this.hasLow && !this.hasHigh;
+        }
+
+        private Range subRange(Object newLow, boolean hasNewLow, Object newHigh, boolean hasNewHigh)
+        {
+            if (hasNewLow && hasNewHigh && BTreeMap.this.compare(newLow, newHigh) > 0)
+            {
+                throw new IllegalArgumentException("fromKey > toKey");
+            }
+            if (hasNewLow)
+            {
+                this.checkBound(newLow, "fromKey");
+            }
+            if (hasNewHigh)
+            {
+                this.checkBound(newHigh, "toKey");
+            }
+            return new Range(
+                    hasNewLow ? newLow : this.low,
+                    hasNewLow || this.hasLow,
+                    hasNewHigh ? newHigh : this.high,
+                    hasNewHigh || this.hasHigh);
+        }
+
+        private void checkBound(Object key, String name)
+        {
+            BTreeMap.this.compare(key, key);
+            if (this.isTooLow(key) || this.hasHigh && BTreeMap.this.compare(key, this.high) > 0)
+            {
+                throw new IllegalArgumentException(name + " out of range");
+            }
+        }
+
+        /**
+         * Returns the leaf holding the first key of this range, with the key's index stored in {@code index[0]}, or
+         * null if the range is empty.
+         */
+        private Leaf firstPosition(int[] index)
+        {
+            Leaf leaf;
+            int position;
+            if (this.hasLow)
+            {
+                leaf = BTreeMap.this.findLeaf(this.low);
+                int found = BTreeMap.this.indexOf(leaf, this.low);
+                position = found >= 0 ? found : -found - 1;
+            }
+            else
+            {
+                leaf = BTreeMap.this.firstLeaf();
+                position = 0;
+            }
+            if (position == leaf.size)
+            {
+                leaf = leaf.next;
+                position = 0;
+            }
+            if (leaf == null || leaf.size == 0 || this.isTooHigh(leaf.keys[position]))
+            {
+                return null;
+            }
+            index[0] = position;
+            return leaf;
+        }
+
+        private K firstKey()
+        {
+            int[] index = new int[1];
+            Leaf leaf = this.firstPosition(index);
+            if (leaf == null)
+            {
+                throw new NoSuchElementException();
+            }
+            return (K) leaf.keys[index[0]];
+        }
+
+        private K lastKey()
+        {
+            Leaf leaf;
+            int position;
+            if (this.hasHigh)
+            {
+                leaf = BTreeMap.this.findLeaf(this.high);
+                int found = BTreeMap.this.indexOf(leaf, this.high);
+                position = (found >= 0 ? found : -found - 1) - 1;
+                if (position < 0)
+                {
+                    leaf = leaf.previous;
+                    position = leaf == null ? -1 : leaf.size - 1;
+                }
+            }
+            else
+            {
+                leaf = BTreeMap.this.lastLeaf();
+                position = leaf.size - 1;
+            }
+            if (position < 0 || this.isTooLow(leaf.keys[position]))
+            {
+                throw new NoSuchElementException();
+            }
+            return (K) leaf.keys[position];
+        }
+
+        /**
+         * Counts the keys in this range a leaf at a time.
+         */
+        private int size()
+        {
+            if (this.isUnbounded())
+            {
+                return BTreeMap.this.size;
+            }
+            int[] index = new int[1];
+            Leaf leaf = this.firstPosition(index);
+            int count = 0;
+            int position = index[0];
+            while (leaf != null)
+            {
+                if (this.isTooHigh(leaf.keys[leaf.size - 1]))
+                {
+                    int found = BTreeMap.this.indexOf(leaf, this.high);
+                    return count + (found >= 0 ? found : -found - 1) - position;
+                }
+                count += leaf.size - position;
+                leaf = leaf.next;
+                position = 0;
+            }
+            return count;
+        }
+    }
+
+    private abstract class BTreeIterator<E> implements Iterator<E>
+    {
+        private final Range range;
+        private Leaf leaf;
+        private int index;
+        private Object lastKey;
+        private boolean canRemove;
+        private int expectedModCount = BTreeMap.this.modCount;
+
+        protected BTreeIterator(Range range)
+        {
+            this.range = range;
+            int[] position = new int[1];
+            this.leaf = range.firstPosition(position);
+            this.index = position[0];
+        }
+
+        protected abstract E element(Leaf currentLeaf, int currentIndex);
+
+        public boolean hasNext()
+        {
+            return this.leaf != null && !this.range.isTooHigh(this.leaf.keys[this.index]);
+        }
+
+        public E next()
+        {
+            if (this.expectedModCount != BTreeMap.this.modCount)
+            {
+                throw new ConcurrentModificationException();
+            }
+            if (!this.hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            E result = this.element(this.leaf, this.index);
+            this.lastKey = this.leaf.keys[this.index];
+            this.canRemove = true;
+            this.index++;
+            if (this.index == this.leaf.size)
+            {
+                this.leaf = this.leaf.next;
+                this.index = 0;
+            }
+            return result;
+        }
+
+        public void remove()
+        {
+            if (!this.canRemove)
+            {
+                throw new IllegalStateException();
+            }
+            if (this.expectedModCount != BTreeMap.this.modCount)
+            {
+                throw new ConcurrentModificationException();
+            }
+            BTreeMap.this.remove(this.lastKey);
+            this.canRemove = false;
+            this.expectedModCount = BTreeMap.this.modCount;
+            // Removal may have merged or rebalanced leaves, so find the next key again
+            int[] position = new int[1];
+            this.leaf = new Range(this.lastKey, true, this.range.high, this.range.hasHigh).firstPosition(position);
+            this.index = position[0];
+        }
+    }
+
+    private final class KeyIterator extends BTreeIterator<K>
+    {
+        private KeyIterator(Range range)
+        {
+            super(range);
+        }
+
+        @Override
+        protected K element(Leaf currentLeaf, int currentIndex)
+        {
+            return (K) currentLeaf.keys[currentIndex];
+        }
+    }
+
+    private final class ValueIterator extends BTreeIterator<V>
+    {
+        private ValueIterator(Range range)
+        {
+            super(range);
+        }
+
+        @Override
+        protected V element(Leaf currentLeaf, int currentIndex)
+        {
+            return (V) currentLeaf.values[currentIndex];
+        }
+    }
+
+    private final class EntryIterator extends BTreeIterator<Entry<K, V>>
+    {
+        private EntryIterator(Range range)
+        {
+            super(range);
+        }
+
+        @Override
+        protected Entry<K, V> element(Leaf currentLeaf, int currentIndex)
+        {
+            return new BTreeEntry((K) currentLeaf.keys[currentIndex], (V) currentLeaf.values[currentIndex]);
+        }
+    }
+
+    private final class BTreeEntry implements Entry<K, V>
+    {
+        private final K key;
+        private V value;
+
+        private BTreeEntry(K key, V value)
+        {
+            this.key = key;
+            this.value = value;
+        }
+
+        public K getKey()
+        {
+            return this.key;
+        }
+
+        public V getValue()
+        {
+            return this.value;
+        }
+
+        public V setValue(V newValue)
+        {
+            this.value = newValue;
+            return BTreeMap.this.put(this.key, newValue);
+        }
+
+        @Override
+        public boolean equals(Object object)
+        {
+            if (!(object instanceof Entry<?, ?>))
+            {
+                return false;
+            }
+            Entry<?, ?> other = (Entry<?, ?>) object;
+            return BTreeMap.nullSafeEquals(this.key, other.getKey()) && BTreeMap.nullSafeEquals(this.value, other.getValue());
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return (this.key == null ? 0 : this.key.hashCode()) ^ (this.value == null ? 0 : this.value.hashCode());
+        }
+
+        @Override
+        public String toString()
+        {
+            return this.key + "=" + this.value;
+        }
+    }
+
+    private static boolean nullSafeEquals(Object value1, Object value2)
+    {
+        return value1 == null ? value2 == null : value1.equals(value2);
+    }
+
+    private final class SubMap
+            extends AbstractMap<K, V>
+            implements SortedMap<K, V>
+    {
+        private final Range range;
+
+        private SubMap(Range range)
+        {
+            this.range = range;
+        }
+
+        @Override
+        public int size()
+        {
+            return this.range.size();
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return this.range.firstPosition(new int[1]) == null;
+        }
+
+        @Override
+        public boolean containsKey(Object key)
+        {
+            return this.range.contains(key) && BTreeMap.this.containsKey(key);
+        }
+
+        @Override
+        public V get(Object key)
+        {
+            return this.range.contains(key) ? BTreeMap.this.get(key) : null;
+        }
+
+        @Override
+        public V put(K key, V value)
+        {
+            if (!this.range.contains(key))
+            {
+                throw new IllegalArgumentException("key out of range");
+            }
+            return BTreeMap.this.put(key, value);
+        }
+
+        @Override
+        public V remove(Object key)
+        {
+            return this.range.contains(key) ? BTreeMap.this.remove(key) : null;
+        }
+
+        public Comparator<? super K> comparator()
+        {
+            return BTreeMap.this.comparator;
+        }
+
+        public K firstKey()
+        {
+            return this.range.firstKey();
+        }
+
+        public K lastKey()
+        {
+            return this.range.lastKey();
+        }
+
+        public SortedMap<K, V> subMap(K fromKey, K toKey)
+        {
+            return new SubMap(this.range.subRange(fromKey, true, toKey, true));
+        }
+
+        public SortedMap<K, V> headMap(K toKey)
+        {
+            return new SubMap(this.range.subRange(null, false, toKey, true));
+        }
+
+        public SortedMap<K, V> tailMap(K fromKey)
+        {
+            return new SubMap(this.range.subRange(fromKey, true, null, false));
+        }
+
+        @Override
+        public SortedSet<K> keySet()
+        {
+            return new KeySet(this.range, false, null);
+        }
+
+        @Override
+        public Collection<V> values()
+        {
+            return new Values(this.range);
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet()
+        {
+            return new EntrySet(this.range);
+        }
+    }
+
+    private final class KeySet
+            extends AbstractSet<K>
+            implements SortedSet<K>
+    {
+        private final Range range;
+        private final boolean canAdd;
+        private final V addedValue;
+
+        private KeySet(Range range, boolean canAdd, V addedValue)
+        {
+            this.range = range;
+            this.canAdd = canAdd;
+            this.addedValue = addedValue;
+        }
+
+        @Override
+        public boolean add(K key)
+        {
+            if (!this.canAdd)
+            {
+                throw new UnsupportedOperationException("Cannot add to the key set of a map");
+            }
+            if (!this.range.contains(key))
+            {
+                throw new IllegalArgumentException("key out of range");
+            }
+            return BTreeMap.this.put(key, this.addedValue) == null;
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends K> keys)
+        {
+            if (this.canAdd
+                    && this.range.isUnbounded()
+                    && BTreeMap.this.size == 0
+                    && keys instanceof SortedSet<?>
+                    && BTreeMap.sameComparator(BTreeMap.this.comparator, ((SortedSet<?>) keys).comparator()))
+            {
+                BTreeMap.this.buildFromSorted(null, keys.iterator(), this.addedValue, keys.size());
+                BTreeMap.this.modCount++;
+                return !keys.isEmpty();
+            }
+            return super.addAll(keys);
+        }
+
+        @Override
+        public Iterator<K> iterator()
+        {
+            return new KeyIterator(this.range);
+        }
+
+        @Override
+        public int size()
+        {
+            return this.range.size();
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return this.range.firstPosition(new int[1]) == null;
+        }
+
+        @Override
+        public boolean contains(Object key)
+        {
+            return this.range.contains(key) && BTreeMap.this.containsKey(key);
+        }
+
+        @Override
+        public boolean remove(Object key)
+        {
+            if (this.contains(key))
+            {
+                BTreeMap.this.remove(key);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void clear()
+        {
+            if (this.range.isUnbounded())
+            {
+                BTreeMap.this.clear();
+            }
+            else
+            {
+                super.clear();
+            }
+        }
+
+        public Comparator<? super K> comparator()
+        {
+            return BTreeMap.this.comparator;
+        }
+
+        public K first()
+        {
+            return this.range.firstKey();
+        }
+
+        public K last()
+        {
+            return this.range.lastKey();
+        }
+
+        public SortedSet<K> subSet(K fromElement, K toElement)
+        {
+            return new KeySet(this.range.subRange(fromElement, true, toElement, true), this.canAdd, this.addedValue);
+        }
+
+        public SortedSet<K> headSet(K toElement)
+        {
+            return new KeySet(this.range.subRange(null, false, toElement, true), this.canAdd, this.addedValue);
+        }
+
+        public SortedSet<K> tailSet(K fromElement)
+        {
+            return new KeySet(this.range.subRange(fromElement, true, null, false), this.canAdd, this.addedValue);
+        }
+    }
+
+    private final class Values extends AbstractCollection<V>
+    {
+        private final Range range;
+
+        private Values(Range range)
+        {
+            this.range = range;
+        }
+
+        @Override
+        public Iterator<V> iterator()
+        {
+            return new ValueIterator(this.range);
+        }
+
+        @Override
+        public int size()
+        {
+            return this.range.size();
+        }
+
+        @Override
+        public void clear()
+        {
+            if (this.range.isUnbounded())
+            {
+                BTreeMap.this.clear();
+            }
+            else
+            {
+                super.clear();
+            }
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>>
+    {
+        private final Range range;
+
+        private EntrySet(Range range)
+        {
+            this.range = range;
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator()
+        {
+            return new EntryIterator(this.range);
+        }
+
+        @Override
+        public int size()
+        {
+            return this.range.size();
+        }
+
+        @Override
+        public boolean contains(Object object)
+        {
+            if (!(object instanceof Entry<?, ?>))
+            {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) object;
+            Object key = entry.getKey();
+            return this.range.contains(key)
+                    && BTreeMap.this.containsKey(key)
+                    && BTreeMap.nullSafeEquals(BTreeMap.this.get(key), entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object object)
+        {
+            if (this.contains(object))
+            {
+                BTreeMap.this.remove(((Entry<?, ?>) object).getKey());
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void clear()
+        {
+            if (this.range.isUnbounded())
+            {
+                BTreeMap.this.clear();
+            }
+            else
+            {
+                super.clear();
+            }
+        }
+    }
+}
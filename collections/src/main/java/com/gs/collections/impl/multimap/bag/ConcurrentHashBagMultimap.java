@@ -0,0 +1,446 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.multimap.bag;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+import com.gs.collections.api.RichIterable;
+import com.gs.collections.api.annotation.Beta;
+import com.gs.collections.api.bag.ImmutableBag;
+import com.gs.collections.api.bag.MutableBag;
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.function.Function0;
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import com.gs.collections.api.map.MapIterable;
+import com.gs.collections.api.map.MutableMap;
+import com.gs.collections.api.multimap.ConcurrentMutableMultimap;
+import com.gs.collections.api.multimap.Multimap;
+import com.gs.collections.api.multimap.bag.ImmutableBagMultimap;
+import com.gs.collections.api.multimap.bag.MutableBagMultimap;
+import com.gs.collections.api.tuple.Pair;
+import com.gs.collections.impl.bag.mutable.ConcurrentHashBag;
+import com.gs.collections.impl.bag.mutable.HashBag;
+import com.gs.collections.impl.block.procedure.checked.CheckedObjectIntProcedure;
+import com.gs.collections.impl.block.procedure.checked.CheckedProcedure2;
+import com.gs.collections.impl.map.mutable.ConcurrentHashMap;
+import com.gs.collections.impl.map.mutable.UnifiedMap;
+import com.gs.collections.impl.multimap.AbstractMultimap;
+import com.gs.collections.impl.tuple.Tuples;
+import com.gs.collections.impl.utility.Iterate;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A {@link ConcurrentMutableMultimap} with bag semantics, safe for concurrent reads and writes.  Each key's values are
+ * held in a {@link ConcurrentHashBag} in a {@link ConcurrentHashMap}, so a write to a key that is already present is an
+ * update of that key's bag, and writers of different values of the same key do not contend.  Writes never lock, and
+ * there is no shared size counter.
+ * <p/>
+ * A key is removed from the map once its last value is removed.  A writer that added to a bag just as it was removed
+ * notices that the bag is no longer mapped and moves what is left in it to the key's current bag, as does the remover
+ * if it finds the removed bag no longer empty, so no value is lost.  Values are taken out of a removed bag one
+ * occurrence at a time, so each is moved exactly once.  As with {@link #clear()}, values of a key that is written to
+ * while {@link #removeAll(Object)} or {@link #replaceValues(Object, Iterable)} runs may end up either in the result or
+ * in the multimap.
+ * <p/>
+ * Unlike {@link SynchronizedPutHashBagMultimap}, reads are safe while other threads write.  {@link #get(Object)},
+ * {@link #multiValuesView()} and {@link #keyMultiValuePairsView()} return a copy of each key's values, while
+ * {@link #valuesView()} and the other iteration methods are weakly consistent.  {@link #size()} adds up the size of
+ * every key's values, so it is O(keys) rather than O(1), and only approximate while writes are in flight.  Null keys
+ * and values are not supported.
+ *
+ * @since 5.1
+ */
+@Beta
+@ThreadSafe
+public final class ConcurrentHashBagMultimap<K, V>
+        extends AbstractMultimap<K, V, ConcurrentHashBag<V>>
+        implements MutableBagMultimap<K, V>, ConcurrentMutableMultimap<K, V>, Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final Function0<ConcurrentHashBag<?>> NEW_BAG = new Function0<ConcurrentHashBag<?>>()
+    {
+        public ConcurrentHashBag<?> value()
+        {
+            return ConcurrentHashBag.newBag();
+        }
+    };
+
+    private final ConcurrentHashMap<K, ConcurrentHashBag<V>> map;
+
+    public ConcurrentHashBagMultimap()
+    {
+        this.map = ConcurrentHashMap.newMap();
+    }
+
+    public ConcurrentHashBagMultimap(int distinctKeys)
+    {
+        if (distinctKeys < 0)
+        {
+            throw new IllegalArgumentException("distinctKeys must be positive.");
+        }
+        this.map = ConcurrentHashMap.newMap(distinctKeys);
+    }
+
+    public ConcurrentHashBagMultimap(Multimap<? extends K, ? extends V> multimap)
+    {
+        this(multimap.sizeDistinct());
+        this.putAll(multimap);
+    }
+
+    public ConcurrentHashBagMultimap(Pair<K, V>... pairs)
+    {
+        this();
+        this.putAllPairs(pairs);
+    }
+
+    public static <K, V> ConcurrentHashBagMultimap<K, V> newMultimap()
+    {
+        return new ConcurrentHashBagMultimap<K, V>();
+    }
+
+    public static <K, V> ConcurrentHashBagMultimap<K, V> newMultimap(Multimap<? extends K, ? extends V> multimap)
+    {
+        return new ConcurrentHashBagMultimap<K, V>(multimap);
+    }
+
+    public static <K, V> ConcurrentHashBagMultimap<K, V> newMultimap(Pair<K, V>... pairs)
+    {
+        return new ConcurrentHashBagMultimap<K, V>(pairs);
+    }
+
+    @Override
+    protected MapIterable<K, ConcurrentHashBag<V>> getMap()
+    {
+        return this.map;
+    }
+
+    @Override
+    protected ConcurrentHashBag<V> createCollection()
+    {
+        return ConcurrentHashBag.newBag();
+    }
+
+    public ConcurrentHashBagMultimap<K, V> newEmpty()
+    {
+        return new ConcurrentHashBagMultimap<K, V>();
+    }
+
+    // Query Operations
+
+    public int size()
+    {
+        int size = 0;
+        for (ConcurrentHashBag<V> bag : this.map.values())
+        {
+            size += bag.size();
+        }
+        return size;
+    }
+
+    public int sizeDistinct()
+    {
+        return this.map.size();
+    }
+
+    public boolean isEmpty()
+    {
+        return this.map.isEmpty();
+    }
+
+    // Modification Operations
+
+    public boolean put(K key, V value)
+    {
+        ConcurrentHashBag<V> bag = this.getIfAbsentPutBag(key);
+        bag.add(value);
+        this.moveIfRemoved(key, bag);
+        return true;
+    }
+
+    public boolean remove(Object key, Object value)
+    {
+        while (true)
+        {
+            ConcurrentHashBag<V> bag = this.map.get(key);
+            if (bag == null)
+            {
+                return false;
+            }
+            if (bag.remove(value))
+            {
+                if (bag.isEmpty())
+                {
+                    this.removeIfEmpty((K) key);
+                }
+                return true;
+            }
+            if (this.map.get(key) == bag)
+            {
+                return false;
+            }
+            // The bag was removed and its values moved before value could be removed from it, so try the new bag
+        }
+    }
+
+    private ConcurrentHashBag<V> getIfAbsentPutBag(K key)
+    {
+        return this.map.getIfAbsentPut(key, (Function0<ConcurrentHashBag<V>>) (Function0<?>) NEW_BAG);
+    }
+
+    /**
+     * Removes {@code key} after the last of its values was removed.  If a value was added to its bag in the meantime,
+     * moves it to a new bag, so that it is not lost.
+     */
+    private void removeIfEmpty(K key)
+    {
+        ConcurrentHashBag<V> removed = this.map.remove(key);
+        if (removed != null && !removed.isEmpty())
+        {
+            this.moveValues(key, removed);
+        }
+    }
+
+    /**
+     * Called after adding to {@code bag}.  If {@code bag} is no longer mapped to {@code key}, because a concurrent
+     * removal of its last value removed it, moves what is left in it to the current bag for {@code key}.
+     */
+    private void moveIfRemoved(K key, ConcurrentHashBag<V> bag)
+    {
+        if (this.map.get(key) != bag)
+        {
+            this.moveValues(key, bag);
+        }
+    }
+
+    private void moveValues(K key, ConcurrentHashBag<V> removed)
+    {
+        MutableBag<V> values = ConcurrentHashBagMultimap.takeAll(removed);
+        while (values.notEmpty())
+        {
+            final ConcurrentHashBag<V> bag = this.getIfAbsentPutBag(key);
+            values.forEachWithOccurrences(new ObjectIntProcedure<V>()
+            {
+                public void value(V each, int occurrences)
+                {
+                    bag.addOccurrences(each, occurrences);
+                }
+            });
+            values = this.map.get(key) == bag ? HashBag.<V>newBag() : ConcurrentHashBagMultimap.takeAll(bag);
+        }
+    }
+
+    /**
+     * Removes the values of a bag that is no longer mapped, one occurrence at a time, so that threads racing to empty
+     * it each take different occurrences.
+     */
+    private static <V> MutableBag<V> takeAll(ConcurrentHashBag<V> removed)
+    {
+        MutableBag<V> values = HashBag.newBag();
+        if (removed != null)
+        {
+            for (V each : removed.toSet())
+            {
+                while (removed.remove(each))
+                {
+                    values.add(each);
+                }
+            }
+        }
+        return values;
+    }
+
+    // Bulk Operations
+
+    public boolean putAllPairs(Pair<K, V>... pairs)
+    {
+        boolean changed = false;
+        for (Pair<K, V> pair : pairs)
+        {
+            changed |= this.put(pair.getOne(), pair.getTwo());
+        }
+        return changed;
+    }
+
+    public boolean putAll(K key, Iterable<? extends V> values)
+    {
+        if (Iterate.isEmpty(values))
+        {
+            return false;
+        }
+        ConcurrentHashBag<V> bag = this.getIfAbsentPutBag(key);
+        bag.addAllIterable(values);
+        this.moveIfRemoved(key, bag);
+        return true;
+    }
+
+    public <KK extends K, VV extends V> boolean putAll(Multimap<KK, VV> multimap)
+    {
+        boolean changed = false;
+        for (Pair<KK, RichIterable<VV>> pair : multimap.keyMultiValuePairsView())
+        {
+            changed |= this.putAll(pair.getOne(), pair.getTwo());
+        }
+        return changed;
+    }
+
+    public MutableBag<V> replaceValues(K key, Iterable<? extends V> values)
+    {
+        ConcurrentHashBag<V> newBag = ConcurrentHashBag.newBag(values);
+        ConcurrentHashBag<V> oldBag = newBag.isEmpty() ? this.map.remove(key) : this.map.put(key, newBag);
+        return ConcurrentHashBagMultimap.takeAll(oldBag).asUnmodifiable();
+    }
+
+    public MutableBag<V> removeAll(Object key)
+    {
+        return ConcurrentHashBagMultimap.takeAll(this.map.remove(key)).asUnmodifiable();
+    }
+
+    /**
+     * Removes every key.  Values of keys that are written to while clear is running may or may not be removed.
+     */
+    public void clear()
+    {
+        for (K key : this.map.keySet())
+        {
+            ConcurrentHashBagMultimap.takeAll(this.map.remove(key));
+        }
+    }
+
+    // Views
+
+    /**
+     * Returns an unmodifiable copy of the values for {@code key} at the time of the call, or an empty bag if there are
+     * none.  Unlike other mutable multimaps, later writes to {@code key} are not reflected in the returned bag.
+     */
+    public MutableBag<V> get(K key)
+    {
+        ConcurrentHashBag<V> bag = this.map.get(key);
+        return bag == null ? HashBag.<V>newBag().asUnmodifiable() : bag.toBag().asUnmodifiable();
+    }
+
+    @Override
+    public RichIterable<RichIterable<V>> multiValuesView()
+    {
+        return this.map.valuesView().collect(new Function<ConcurrentHashBag<V>, RichIterable<V>>()
+        {
+            public RichIterable<V> valueOf(ConcurrentHashBag<V> bag)
+            {
+                return bag.toImmutable();
+            }
+        });
+    }
+
+    @Override
+    public RichIterable<Pair<K, RichIterable<V>>> keyMultiValuePairsView()
+    {
+        return this.map.keyValuesView().collect(new Function<Pair<K, ConcurrentHashBag<V>>, Pair<K, RichIterable<V>>>()
+        {
+            public Pair<K, RichIterable<V>> valueOf(Pair<K, ConcurrentHashBag<V>> pair)
+            {
+                return Tuples.<K, RichIterable<V>>pair(pair.getOne(), pair.getTwo().toImmutable());
+            }
+        });
+    }
+
+    public MutableMap<K, RichIterable<V>> toMap()
+    {
+        final MutableMap<K, RichIterable<V>> result = UnifiedMap.newMap(this.map.size());
+        this.map.forEachKeyValue(new Procedure2<K, ConcurrentHashBag<V>>()
+        {
+            public void value(K key, ConcurrentHashBag<V> bag)
+            {
+                result.put(key, bag.toImmutable());
+            }
+        });
+        return result;
+    }
+
+    public ConcurrentHashBagMultimap<K, V> toMutable()
+    {
+        return new ConcurrentHashBagMultimap<K, V>(this);
+    }
+
+    public ImmutableBagMultimap<K, V> toImmutable()
+    {
+        return new ImmutableBagMultimapImpl<K, V>(this.snapshot());
+    }
+
+    private MutableMap<K, ImmutableBag<V>> snapshot()
+    {
+        final MutableMap<K, ImmutableBag<V>> snapshot = UnifiedMap.newMap(this.map.size());
+        this.map.forEachKeyValue(new Procedure2<K, ConcurrentHashBag<V>>()
+        {
+            public void value(K key, ConcurrentHashBag<V> bag)
+            {
+                ImmutableBag<V> values = bag.toImmutable();
+                if (values.notEmpty())
+                {
+                    snapshot.put(key, values);
+                }
+            }
+        });
+        return snapshot;
+    }
+
+    public void writeExternal(final ObjectOutput out) throws IOException
+    {
+        // Snapshot first, so the key count written matches the keys that follow
+        MutableMap<K, ImmutableBag<V>> snapshot = this.snapshot();
+        out.writeInt(snapshot.size());
+        snapshot.forEachKeyValue(new CheckedProcedure2<K, ImmutableBag<V>>()
+        {
+            @Override
+            public void safeValue(K key, ImmutableBag<V> bag) throws IOException
+            {
+                out.writeObject(key);
+                out.writeInt(bag.sizeDistinct());
+                bag.forEachWithOccurrences(new CheckedObjectIntProcedure<V>()
+                {
+                    @Override
+                    public void safeValue(V value, int count) throws IOException
+                    {
+                        out.writeObject(value);
+                        out.writeInt(count);
+                    }
+                });
+            }
+        });
+    }
+
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        int keyCount = in.readInt();
+        for (int i = 0; i < keyCount; i++)
+        {
+            K key = (K) in.readObject();
+            int valuesSize = in.readInt();
+            ConcurrentHashBag<V> bag = ConcurrentHashBag.newBag(valuesSize);
+            for (int j = 0; j < valuesSize; j++)
+            {
+                V value = (V) in.readObject();
+                int count = in.readInt();
+                bag.addOccurrences(value, count);
+            }
+            this.map.put(key, bag);
+        }
+    }
+}
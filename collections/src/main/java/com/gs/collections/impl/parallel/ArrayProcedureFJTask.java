@@ -48,6 +48,10 @@ public final class ArrayProcedureFJTask<T, BT extends Procedure<? super T>> impl
         try
         {
             this.procedure = this.procedureFactory.create();
+            if (this.taskRunner.isFailed())
+            {
+                return;
+            }
             ArrayIterate.forEach(this.array, this.start, this.end - 1, this.procedure);
         }
         catch (Throwable newError)
@@ -29,7 +29,7 @@ public final class ArrayProcedureFJTaskRunner<T, BT extends Procedure<? super T>
 {
     private final Function<ArrayProcedureFJTask<T, BT>, BT> procedureFunction = new ProcedureExtractor();
     private ArrayProcedureFJTask<T, BT>[] procedures;
-    private Throwable error;
+    private volatile Throwable error;
     private final CountDownLatch latch;
     private final Combiner<BT> combiner;
     private final BlockingQueue<BT> outputQueue;
@@ -118,7 +118,15 @@ public final class ArrayProcedureFJTaskRunner<T, BT extends Procedure<? super T>
 
     public void setFailed(Throwable newError)
     {
-        this.error = newError;
+        if (this.error == null)
+        {
+            this.error = newError;
+        }
+    }
+
+    public boolean isFailed()
+    {
+        return this.error != null;
     }
 
     private void combineTasks()
@@ -49,6 +49,10 @@ public final class BatchIterableProcedureFJTask<T, BT extends Procedure<? super
         try
         {
             this.procedure = this.procedureFactory.create();
+            if (this.taskRunner.isFailed())
+            {
+                return;
+            }
             this.iterable.batchForEach(this.procedure, this.sectionIndex, this.sectionCount);
         }
         catch (Throwable newError)
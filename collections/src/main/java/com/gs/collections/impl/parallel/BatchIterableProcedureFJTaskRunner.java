@@ -29,7 +29,7 @@ public final class BatchIterableProcedureFJTaskRunner<T, BT extends Procedure<?
 {
     private final Function<BatchIterableProcedureFJTask<T, BT>, BT> procedureFunction = new ProcedureExtractor();
     private BatchIterableProcedureFJTask<T, BT>[] procedures;
-    private Throwable error;
+    private volatile Throwable error;
     private final Combiner<BT> combiner;
     private final int taskCount;
     private final BlockingQueue<BT> outputQueue;
@@ -66,7 +66,15 @@ public final class BatchIterableProcedureFJTaskRunner<T, BT extends Procedure<?
 
     public void setFailed(Throwable newError)
     {
-        this.error = newError;
+        if (this.error == null)
+        {
+            this.error = newError;
+        }
+    }
+
+    public boolean isFailed()
+    {
+        return this.error != null;
     }
 
     public void taskCompleted(BatchIterableProcedureFJTask<T, BT> task)
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.gs.collections.api.annotation.Beta;
+
+/**
+ * An Executor which runs at most {@code maxParallelism} of the tasks submitted to it at the same time on a shared
+ * delegate Executor. Additional tasks are queued instead of being rejected, and are started as running tasks finish, so
+ * a single heavy parallel call cannot occupy every thread of a pool which is shared with other callers.
+ * <p/>
+ * e.g.
+ * <pre>
+ * ParallelIterate.<b>groupBy</b>(collection, function, batchSize, ParallelIterate.newBoundedExecutor(4));
+ * </pre>
+ *
+ * @since 5.1
+ */
+@Beta
+public final class BoundedExecutor implements Executor
+{
+    private final Executor delegate;
+    private final int maxParallelism;
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<Runnable>();
+    private final AtomicInteger active = new AtomicInteger();
+
+    public BoundedExecutor(Executor delegate, int maxParallelism)
+    {
+        if (maxParallelism < 1)
+        {
+            throw new IllegalArgumentException("maxParallelism must be at least 1 but was " + maxParallelism);
+        }
+        this.delegate = delegate;
+        this.maxParallelism = maxParallelism;
+    }
+
+    public int getMaxParallelism()
+    {
+        return this.maxParallelism;
+    }
+
+    public void execute(Runnable command)
+    {
+        if (command == null)
+        {
+            throw new NullPointerException();
+        }
+        this.pending.add(command);
+        this.startWorkers();
+    }
+
+    private void startWorkers()
+    {
+        while (!this.pending.isEmpty())
+        {
+            int current = this.active.get();
+            if (current >= this.maxParallelism)
+            {
+                return;
+            }
+            if (this.active.compareAndSet(current, current + 1))
+            {
+                try
+                {
+                    this.delegate.execute(new Worker());
+                }
+                catch (RejectedExecutionException e)
+                {
+                    this.active.decrementAndGet();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs queued tasks until the queue is empty, so that each permit is handed to the next task without going through
+     * the delegate again.
+     */
+    private final class Worker implements Runnable
+    {
+        public void run()
+        {
+            try
+            {
+                Runnable task = BoundedExecutor.this.pending.poll();
+                while (task != null)
+                {
+                    task.run();
+                    task = BoundedExecutor.this.pending.poll();
+                }
+            }
+            finally
+            {
+                BoundedExecutor.this.active.decrementAndGet();
+                BoundedExecutor.this.startWorkers();
+            }
+        }
+    }
+}
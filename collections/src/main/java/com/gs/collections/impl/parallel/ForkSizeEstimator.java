@@ -0,0 +1,92 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.impl.map.mutable.ConcurrentHashMap;
+
+/**
+ * Keeps a moving average of the measured cost per element for each class of block passed to {@link ParallelIterate},
+ * and derives batch sizes from it so that every batch takes roughly {@link #TARGET_BATCH_NANOS}. Cheap blocks are run
+ * in larger batches, or serially, and expensive blocks are split more finely than the fixed default batch size allows.
+ */
+final class ForkSizeEstimator
+{
+    static final long TARGET_BATCH_NANOS = 1000000L;
+
+    private static final int MAXIMUM_BATCH_SIZE = 1 << 20;
+
+    private static final Function<Class<?>, AtomicLong> NEW_ESTIMATE = new Function<Class<?>, AtomicLong>()
+    {
+        private static final long serialVersionUID = 1L;
+
+        public AtomicLong valueOf(Class<?> each)
+        {
+            return new AtomicLong(-1L);
+        }
+    };
+
+    private final ConcurrentHashMap<Class<?>, AtomicLong> nanosPerElement = ConcurrentHashMap.newMap();
+    private final int defaultBatchSize;
+    private final int parallelism;
+
+    ForkSizeEstimator(int defaultBatchSize, int parallelism)
+    {
+        this.defaultBatchSize = defaultBatchSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the batch size for {@code block}, or the default batch size until a cost has been measured.
+     */
+    int batchSize(Object block)
+    {
+        AtomicLong estimate = this.nanosPerElement.get(block.getClass());
+        long nanos = estimate == null ? -1L : estimate.get();
+        if (nanos < 0L)
+        {
+            return this.defaultBatchSize;
+        }
+        return (int) Math.max(1L, Math.min(MAXIMUM_BATCH_SIZE, TARGET_BATCH_NANOS / Math.max(1L, nanos)));
+    }
+
+    /**
+     * Records that {@code size} elements were processed by {@code block} in {@code elapsedNanos} of wall clock time
+     * using the given batch size.
+     */
+    void record(Object block, int size, int batchSize, long elapsedNanos)
+    {
+        if (size == 0)
+        {
+            return;
+        }
+        int tasks = size < batchSize ? 1 : Math.min(this.parallelism, Math.max(2, size / batchSize));
+        long sample = elapsedNanos * tasks / size;
+        AtomicLong estimate = this.nanosPerElement.getIfAbsentPut(block.getClass(), NEW_ESTIMATE);
+        while (true)
+        {
+            long current = estimate.get();
+            long next = current < 0L ? sample : (current * 3L + sample) >> 2;
+            if (estimate.compareAndSet(current, next))
+            {
+                return;
+            }
+        }
+    }
+}
@@ -56,6 +56,10 @@ public final class ObjectIntProcedureFJTask<T, BT extends ObjectIntProcedure<? s
         try
         {
             this.procedure = this.procedureFactory.create();
+            if (this.taskRunner.isFailed())
+            {
+                return;
+            }
             int stop = this.end - 1;
             if (this.list instanceof MutableList)
             {
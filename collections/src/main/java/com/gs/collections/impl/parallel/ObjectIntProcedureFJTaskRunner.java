@@ -30,7 +30,7 @@ public final class ObjectIntProcedureFJTaskRunner<T, BT extends ObjectIntProcedu
 {
     private final Function<ObjectIntProcedureFJTask<T, BT>, BT> procedureFunction = new ObjectIntProcedureExtractor();
     private ObjectIntProcedureFJTask<T, BT>[] procedures;
-    private Throwable error;
+    private volatile Throwable error;
     private final Combiner<BT> combiner;
     private final int taskCount;
     private final BlockingQueue<BT> outputQueue;
@@ -78,7 +78,15 @@ public final class ObjectIntProcedureFJTaskRunner<T, BT extends ObjectIntProcedu
 
     public void setFailed(Throwable newError)
     {
-        this.error = newError;
+        if (this.error == null)
+        {
+            this.error = newError;
+        }
+    }
+
+    public boolean isFailed()
+    {
+        return this.error != null;
     }
 
     public void taskCompleted(ObjectIntProcedureFJTask<T, BT> task)
@@ -40,8 +40,10 @@ public final class ParallelArrayIterate
             ProcedureFactory<BT> procedureFactory,
             Combiner<BT> combiner)
     {
-        int taskCount = Math.max(ParallelIterate.DEFAULT_PARALLEL_TASK_COUNT, array.length / ParallelIterate.DEFAULT_MIN_FORK_SIZE);
-        ParallelArrayIterate.forEach(array, procedureFactory, combiner, ParallelIterate.DEFAULT_MIN_FORK_SIZE, taskCount);
+        ParallelExecutionEngine engine = ParallelIterate.getDefaultEngine();
+        int minForkSize = engine.getMinForkSize();
+        int taskCount = Math.max(engine.getTaskCount(), array.length / minForkSize);
+        ParallelArrayIterate.forEachOn(array, procedureFactory, combiner, minForkSize, taskCount, engine.getExecutor());
     }
 
     public static <T, BT extends Procedure<? super T>> void forEach(
@@ -51,7 +53,7 @@ public final class ParallelArrayIterate
             int minForkSize,
             int taskCount)
     {
-        ParallelArrayIterate.forEachOn(array, procedureFactory, combiner, minForkSize, taskCount, ParallelIterate.EXECUTOR_SERVICE);
+        ParallelArrayIterate.forEachOn(array, procedureFactory, combiner, minForkSize, taskCount, ParallelIterate.getDefaultEngine().getExecutor());
     }
 
     public static <T, BT extends Procedure<? super T>> void forEachOn(
@@ -0,0 +1,596 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+
+import com.gs.collections.api.annotation.Beta;
+import com.gs.collections.api.list.MutableList;
+import com.gs.collections.impl.block.factory.Comparators;
+import com.gs.collections.impl.list.mutable.FastList;
+
+/**
+ * Sorts ranges of arrays in parallel. The range is cut into one run per task, the runs are sorted concurrently with
+ * {@link Arrays#sort}, and then adjacent runs are merged pairwise into a buffer of the same length and back. Each
+ * merge is itself split into independent pieces by binary searching the split points, so that the last rounds, which
+ * only have one or two merges, still keep every task busy.
+ * <p/>
+ * Ranges shorter than twice the minimum fork size are sorted serially. The sort of object arrays is stable, like
+ * {@link Arrays#sort(Object[], int, int, Comparator)}, and double arrays are ordered as by {@link Double#compare}.
+ *
+ * @since 5.1
+ */
+@Beta
+public final class ParallelArraySort
+{
+    private ParallelArraySort()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    /**
+     * Sorts the range {@code [from, to)} of the array using the comparator, or the natural order if it is null, with
+     * the default {@link ParallelExecutionEngine}.
+     */
+    public static <T> void sort(T[] array, int from, int to, Comparator<? super T> comparator)
+    {
+        ParallelExecutionEngine engine = ParallelIterate.getDefaultEngine();
+        ParallelArraySort.sort(array, from, to, comparator, engine.getMinForkSize(), engine.getTaskCount(), engine.getExecutor());
+    }
+
+    public static <T> void sort(
+            T[] array,
+            int from,
+            int to,
+            Comparator<? super T> comparator,
+            int minForkSize,
+            int taskCount,
+            Executor executor)
+    {
+        ParallelArraySort.checkRange(array.length, from, to);
+        new ObjectSorter<T>(array, from, comparator).sort(to - from, minForkSize, taskCount, executor);
+    }
+
+    public static void sort(int[] array, int from, int to)
+    {
+        ParallelExecutionEngine engine = ParallelIterate.getDefaultEngine();
+        ParallelArraySort.sort(array, from, to, engine.getMinForkSize(), engine.getTaskCount(), engine.getExecutor());
+    }
+
+    public static void sort(int[] array, int from, int to, int minForkSize, int taskCount, Executor executor)
+    {
+        ParallelArraySort.checkRange(array.length, from, to);
+        new IntSorter(array, from).sort(to - from, minForkSize, taskCount, executor);
+    }
+
+    public static void sort(long[] array, int from, int to)
+    {
+        ParallelExecutionEngine engine = ParallelIterate.getDefaultEngine();
+        ParallelArraySort.sort(array, from, to, engine.getMinForkSize(), engine.getTaskCount(), engine.getExecutor());
+    }
+
+    public static void sort(long[] array, int from, int to, int minForkSize, int taskCount, Executor executor)
+    {
+        ParallelArraySort.checkRange(array.length, from, to);
+        new LongSorter(array, from).sort(to - from, minForkSize, taskCount, executor);
+    }
+
+    public static void sort(double[] array, int from, int to)
+    {
+        ParallelExecutionEngine engine = ParallelIterate.getDefaultEngine();
+        ParallelArraySort.sort(array, from, to, engine.getMinForkSize(), engine.getTaskCount(), engine.getExecutor());
+    }
+
+    public static void sort(double[] array, int from, int to, int minForkSize, int taskCount, Executor executor)
+    {
+        ParallelArraySort.checkRange(array.length, from, to);
+        new DoubleSorter(array, from).sort(to - from, minForkSize, taskCount, executor);
+    }
+
+    private static void checkRange(int length, int from, int to)
+    {
+        if (from > to)
+        {
+            throw new IllegalArgumentException("from(" + from + ") > to(" + to + ')');
+        }
+        if (from < 0)
+        {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        if (to > length)
+        {
+            throw new ArrayIndexOutOfBoundsException(to);
+        }
+    }
+
+    /**
+     * Drives the sort of a range which starts at {@code offset} in the array. All indexes passed to the abstract
+     * methods are relative to the start of the range, which is also the start of the buffer.
+     */
+    private abstract static class Sorter
+    {
+        protected final int offset;
+        private volatile Throwable error;
+
+        protected Sorter(int offset)
+        {
+            this.offset = offset;
+        }
+
+        protected abstract void sortRange(int from, int to);
+
+        protected abstract void allocateBuffer(int size);
+
+        /**
+         * Merges the sorted ranges {@code [aFrom, aTo)} and {@code [bFrom, bTo)} of the array into the buffer, or of
+         * the buffer into the array, starting at {@code targetFrom}. Equal elements of the first range come first.
+         */
+        protected abstract void merge(boolean fromArray, int aFrom, int aTo, int bFrom, int bTo, int targetFrom);
+
+        /**
+         * Returns the first index in {@code [from, to)} of the array, or of the buffer, whose element is not less than
+         * the element at {@code pivotIndex}.
+         */
+        protected abstract int lowerBound(boolean inArray, int from, int to, int pivotIndex);
+
+        protected abstract void copyToArray(int size);
+
+        public void sort(int size, int minForkSize, int taskCount, Executor executor)
+        {
+            int runCount = Math.min(taskCount, size / Math.max(1, minForkSize));
+            if (runCount < 2)
+            {
+                this.sortRange(0, size);
+                return;
+            }
+
+            int[] runs = new int[runCount + 1];
+            MutableList<Runnable> sortTasks = FastList.newList(runCount);
+            for (int i = 0; i < runCount; i++)
+            {
+                final int from = (int) ((long) size * i / runCount);
+                final int to = (int) ((long) size * (i + 1) / runCount);
+                runs[i] = from;
+                sortTasks.add(new Runnable()
+                {
+                    public void run()
+                    {
+                        Sorter.this.sortRange(from, to);
+                    }
+                });
+            }
+            runs[runCount] = size;
+            this.runAll(sortTasks, executor);
+
+            this.allocateBuffer(size);
+            boolean inArray = true;
+            while (runs.length > 2)
+            {
+                runs = this.mergeRuns(runs, inArray, minForkSize, taskCount, executor);
+                inArray = !inArray;
+            }
+            if (!inArray)
+            {
+                this.copyToArray(size);
+            }
+        }
+
+        private int[] mergeRuns(int[] runs, final boolean inArray, int minForkSize, int taskCount, Executor executor)
+        {
+            int runCount = runs.length - 1;
+            int pairCount = runCount / 2;
+            int[] mergedRuns = new int[runCount - pairCount + 1];
+            MutableList<Runnable> mergeTasks = FastList.newList(taskCount + 1);
+            for (int pair = 0; pair < pairCount; pair++)
+            {
+                int aFrom = runs[2 * pair];
+                int mid = runs[2 * pair + 1];
+                int bTo = runs[2 * pair + 2];
+                mergedRuns[pair] = aFrom;
+                int pieces = Math.max(1, Math.min(taskCount / pairCount, (bTo - aFrom) / Math.max(1, minForkSize)));
+                int previousA = aFrom;
+                int previousB = mid;
+                for (int piece = 1; piece <= pieces; piece++)
+                {
+                    int nextA = piece == pieces ? mid : aFrom + (int) ((long) (mid - aFrom) * piece / pieces);
+                    int nextB = piece == pieces ? bTo : this.lowerBound(inArray, mid, bTo, nextA);
+                    mergeTasks.add(this.newMergeTask(inArray, previousA, nextA, previousB, nextB, previousA + previousB - mid));
+                    previousA = nextA;
+                    previousB = nextB;
+                }
+            }
+            if (runCount % 2 == 1)
+            {
+                int from = runs[runCount - 1];
+                int to = runs[runCount];
+                mergedRuns[pairCount] = from;
+                mergeTasks.add(this.newMergeTask(inArray, from, to, to, to, from));
+            }
+            mergedRuns[mergedRuns.length - 1] = runs[runCount];
+            this.runAll(mergeTasks, executor);
+            return mergedRuns;
+        }
+
+        private Runnable newMergeTask(
+                final boolean fromArray,
+                final int aFrom,
+                final int aTo,
+                final int bFrom,
+                final int bTo,
+                final int targetFrom)
+        {
+            return new Runnable()
+            {
+                public void run()
+                {
+                    Sorter.this.merge(fromArray, aFrom, aTo, bFrom, bTo, targetFrom);
+                }
+            };
+        }
+
+        private void runAll(MutableList<Runnable> tasks, Executor executor)
+        {
+            final CountDownLatch latch = new CountDownLatch(tasks.size());
+            for (final Runnable task : tasks)
+            {
+                executor.execute(new Runnable()
+                {
+                    public void run()
+                    {
+                        try
+                        {
+                            if (Sorter.this.error == null)
+                            {
+                                task.run();
+                            }
+                        }
+                        catch (Throwable newError)
+                        {
+                            Sorter.this.error = newError;
+                        }
+                        finally
+                        {
+                            latch.countDown();
+                        }
+                    }
+                });
+            }
+            try
+            {
+                latch.await();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            if (this.error != null)
+            {
+                throw new RuntimeException("One or more parallel tasks failed", this.error);
+            }
+        }
+    }
+
+    private static final class ObjectSorter<T> extends Sorter
+    {
+        private final T[] array;
+        private final Comparator<? super T> comparator;
+        private final Comparator<? super T> order;
+        private T[] buffer;
+
+        private ObjectSorter(T[] array, int offset, Comparator<? super T> comparator)
+        {
+            super(offset);
+            this.array = array;
+            this.comparator = comparator;
+            if (comparator == null)
+            {
+                this.order = Comparators.naturalOrder();
+            }
+            else
+            {
+                this.order = comparator;
+            }
+        }
+
+        @Override
+        protected void sortRange(int from, int to)
+        {
+            if (this.comparator == null)
+            {
+                Arrays.sort(this.array, this.offset + from, this.offset + to);
+            }
+            else
+            {
+                Arrays.sort(this.array, this.offset + from, this.offset + to, this.comparator);
+            }
+        }
+
+        @Override
+        protected void allocateBuffer(int size)
+        {
+            this.buffer = (T[]) new Object[size];
+        }
+
+        @Override
+        protected void merge(boolean fromArray, int aFrom, int aTo, int bFrom, int bTo, int targetFrom)
+        {
+            T[] source = fromArray ? this.array : this.buffer;
+            T[] target = fromArray ? this.buffer : this.array;
+            int sourceOffset = fromArray ? this.offset : 0;
+            int i = sourceOffset + aFrom;
+            int aEnd = sourceOffset + aTo;
+            int j = sourceOffset + bFrom;
+            int bEnd = sourceOffset + bTo;
+            int k = (fromArray ? 0 : this.offset) + targetFrom;
+            while (i < aEnd && j < bEnd)
+            {
+                target[k++] = this.order.compare(source[j], source[i]) < 0 ? source[j++] : source[i++];
+            }
+            System.arraycopy(source, i, target, k, aEnd - i);
+            System.arraycopy(source, j, target, k + aEnd - i, bEnd - j);
+        }
+
+        @Override
+        protected int lowerBound(boolean inArray, int from, int to, int pivotIndex)
+        {
+            T[] source = inArray ? this.array : this.buffer;
+            int sourceOffset = inArray ? this.offset : 0;
+            T pivot = source[sourceOffset + pivotIndex];
+            int low = from;
+            int high = to;
+            while (low < high)
+            {
+                int middle = (low + high) >>> 1;
+                if (this.order.compare(source[sourceOffset + middle], pivot) < 0)
+                {
+                    low = middle + 1;
+                }
+                else
+                {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        @Override
+        protected void copyToArray(int size)
+        {
+            System.arraycopy(this.buffer, 0, this.array, this.offset, size);
+        }
+    }
+
+    private static final class IntSorter extends Sorter
+    {
+        private final int[] array;
+        private int[] buffer;
+
+        private IntSorter(int[] array, int offset)
+        {
+            super(offset);
+            this.array = array;
+        }
+
+        @Override
+        protected void sortRange(int from, int to)
+        {
+            Arrays.sort(this.array, this.offset + from, this.offset + to);
+        }
+
+        @Override
+        protected void allocateBuffer(int size)
+        {
+            this.buffer = new int[size];
+        }
+
+        @Override
+        protected void merge(boolean fromArray, int aFrom, int aTo, int bFrom, int bTo, int targetFrom)
+        {
+            int[] source = fromArray ? this.array : this.buffer;
+            int[] target = fromArray ? this.buffer : this.array;
+            int sourceOffset = fromArray ? this.offset : 0;
+            int i = sourceOffset + aFrom;
+            int aEnd = sourceOffset + aTo;
+            int j = sourceOffset + bFrom;
+            int bEnd = sourceOffset + bTo;
+            int k = (fromArray ? 0 : this.offset) + targetFrom;
+            while (i < aEnd && j < bEnd)
+            {
+                target[k++] = source[j] < source[i] ? source[j++] : source[i++];
+            }
+            System.arraycopy(source, i, target, k, aEnd - i);
+            System.arraycopy(source, j, target, k + aEnd - i, bEnd - j);
+        }
+
+        @Override
+        protected int lowerBound(boolean inArray, int from, int to, int pivotIndex)
+        {
+            int[] source = inArray ? this.array : this.buffer;
+            int sourceOffset = inArray ? this.offset : 0;
+            int pivot = source[sourceOffset + pivotIndex];
+            int low = from;
+            int high = to;
+            while (low < high)
+            {
+                int middle = (low + high) >>> 1;
+                if (source[sourceOffset + middle] < pivot)
+                {
+                    low = middle + 1;
+                }
+                else
+                {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        @Override
+        protected void copyToArray(int size)
+        {
+            System.arraycopy(this.buffer, 0, this.array, this.offset, size);
+        }
+    }
+
+    private static final class LongSorter extends Sorter
+    {
+        private final long[] array;
+        private long[] buffer;
+
+        private LongSorter(long[] array, int offset)
+        {
+            super(offset);
+            this.array = array;
+        }
+
+        @Override
+        protected void sortRange(int from, int to)
+        {
+            Arrays.sort(this.array, this.offset + from, this.offset + to);
+        }
+
+        @Override
+        protected void allocateBuffer(int size)
+        {
+            this.buffer = new long[size];
+        }
+
+        @Override
+        protected void merge(boolean fromArray, int aFrom, int aTo, int bFrom, int bTo, int targetFrom)
+        {
+            long[] source = fromArray ? this.array : this.buffer;
+            long[] target = fromArray ? this.buffer : this.array;
+            int sourceOffset = fromArray ? this.offset : 0;
+            int i = sourceOffset + aFrom;
+            int aEnd = sourceOffset + aTo;
+            int j = sourceOffset + bFrom;
+            int bEnd = sourceOffset + bTo;
+            int k = (fromArray ? 0 : this.offset) + targetFrom;
+            while (i < aEnd && j < bEnd)
+            {
+                target[k++] = source[j] < source[i] ? source[j++] : source[i++];
+            }
+            System.arraycopy(source, i, target, k, aEnd - i);
+            System.arraycopy(source, j, target, k + aEnd - i, bEnd - j);
+        }
+
+        @Override
+        protected int lowerBound(boolean inArray, int from, int to, int pivotIndex)
+        {
+            long[] source = inArray ? this.array : this.buffer;
+            int sourceOffset = inArray ? this.offset : 0;
+            long pivot = source[sourceOffset + pivotIndex];
+            int low = from;
+            int high = to;
+            while (low < high)
+            {
+                int middle = (low + high) >>> 1;
+                if (source[sourceOffset + middle] < pivot)
+                {
+                    low = middle + 1;
+                }
+                else
+                {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        @Override
+        protected void copyToArray(int size)
+        {
+            System.arraycopy(this.buffer, 0, this.array, this.offset, size);
+        }
+    }
+
+    private static final class DoubleSorter extends Sorter
+    {
+        private final double[] array;
+        private double[] buffer;
+
+        private DoubleSorter(double[] array, int offset)
+        {
+            super(offset);
+            this.array = array;
+        }
+
+        @Override
+        protected void sortRange(int from, int to)
+        {
+            Arrays.sort(this.array, this.offset + from, this.offset + to);
+        }
+
+        @Override
+        protected void allocateBuffer(int size)
+        {
+            this.buffer = new double[size];
+        }
+
+        @Override
+        protected void merge(boolean fromArray, int aFrom, int aTo, int bFrom, int bTo, int targetFrom)
+        {
+            double[] source = fromArray ? this.array : this.buffer;
+            double[] target = fromArray ? this.buffer : this.array;
+            int sourceOffset = fromArray ? this.offset : 0;
+            int i = sourceOffset + aFrom;
+            int aEnd = sourceOffset + aTo;
+            int j = sourceOffset + bFrom;
+            int bEnd = sourceOffset + bTo;
+            int k = (fromArray ? 0 : this.offset) + targetFrom;
+            while (i < aEnd && j < bEnd)
+            {
+                target[k++] = Double.compare(source[j], source[i]) < 0 ? source[j++] : source[i++];
+            }
+            System.arraycopy(source, i, target, k, aEnd - i);
+            System.arraycopy(source, j, target, k + aEnd - i, bEnd - j);
+        }
+
+        @Override
+        protected int lowerBound(boolean inArray, int from, int to, int pivotIndex)
+        {
+            double[] source = inArray ? this.array : this.buffer;
+            int sourceOffset = inArray ? this.offset : 0;
+            double pivot = source[sourceOffset + pivotIndex];
+            int low = from;
+            int high = to;
+            while (low < high)
+            {
+                int middle = (low + high) >>> 1;
+                if (Double.compare(source[sourceOffset + middle], pivot) < 0)
+                {
+                    low = middle + 1;
+                }
+                else
+                {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        @Override
+        protected void copyToArray(int size)
+        {
+            System.arraycopy(this.buffer, 0, this.array, this.offset, size);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import com.gs.collections.api.annotation.Beta;
+import com.gs.collections.impl.utility.Iterate;
+
+/**
+ * The Executor and sizing parameters used by {@link ParallelIterate}, {@link ParallelArrayIterate} and
+ * {@link ParallelMapIterate} whenever no Executor or batch size is passed explicitly.
+ * <p/>
+ * The initial engine is created from system properties:
+ * <ul>
+ * <li>{@value #EXECUTOR_PROPERTY}: {@code pooled} (default) for a fixed thread pool which runs tasks on the caller
+ * when all threads are busy, or {@code forkJoin} for a work-stealing {@code java.util.concurrent.ForkJoinPool}
+ * (Java 7 and later)</li>
+ * <li>{@value #POOL_SIZE_PROPERTY}: the number of threads, by default {@link ParallelIterate#getDefaultMaxThreadPoolSize()}</li>
+ * <li>{@value #MAX_PARALLELISM_PROPERTY}: the maximum number of tasks of all parallel calls running at the same time,
+ * by default unbounded</li>
+ * <li>{@value #MIN_FORK_SIZE_PROPERTY}: the default batch size, below which iteration is serial (default 10000)</li>
+ * <li>{@value #TASK_RATIO_PROPERTY}: the number of tasks per thread (default 2)</li>
+ * <li>{@value #ADAPTIVE_FORK_SIZE_PROPERTY}: {@code true} to derive default batch sizes from the measured cost per
+ * element of each block instead of using the fixed minimum fork size</li>
+ * </ul>
+ * It can be replaced programmatically with {@link ParallelIterate#setDefaultEngine(ParallelExecutionEngine)}. Each
+ * engine is immutable; the {@code with} methods return a new engine.
+ *
+ * @since 5.1
+ */
+@Beta
+public final class ParallelExecutionEngine
+{
+    public static final String EXECUTOR_PROPERTY = "gscollections.parallel.executor";
+    public static final String POOL_SIZE_PROPERTY = "gscollections.parallel.poolSize";
+    public static final String MAX_PARALLELISM_PROPERTY = "gscollections.parallel.maxParallelism";
+    public static final String MIN_FORK_SIZE_PROPERTY = "gscollections.parallel.minForkSize";
+    public static final String TASK_RATIO_PROPERTY = "gscollections.parallel.taskRatio";
+    public static final String ADAPTIVE_FORK_SIZE_PROPERTY = "gscollections.parallel.adaptiveForkSize";
+
+    private static final String FORK_JOIN_POOL_CLASS_NAME = "java.util.concurrent.ForkJoinPool";
+
+    private final Executor executor;
+    private final int parallelism;
+    private final int minForkSize;
+    private final int taskRatio;
+    private final ForkSizeEstimator forkSizeEstimator;
+
+    private ParallelExecutionEngine(Executor executor, int parallelism, int minForkSize, int taskRatio, boolean adaptiveForkSize)
+    {
+        if (parallelism < 1)
+        {
+            throw new IllegalArgumentException("parallelism must be at least 1 but was " + parallelism);
+        }
+        if (minForkSize < 1)
+        {
+            throw new IllegalArgumentException("minForkSize must be at least 1 but was " + minForkSize);
+        }
+        if (taskRatio < 1)
+        {
+            throw new IllegalArgumentException("taskRatio must be at least 1 but was " + taskRatio);
+        }
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.minForkSize = minForkSize;
+        this.taskRatio = taskRatio;
+        this.forkSizeEstimator = adaptiveForkSize ? new ForkSizeEstimator(minForkSize, parallelism) : null;
+    }
+
+    /**
+     * Creates an engine which runs tasks on {@code executor}, which is expected to run up to {@code parallelism} tasks
+     * at the same time.
+     */
+    public static ParallelExecutionEngine on(Executor executor, int parallelism)
+    {
+        return new ParallelExecutionEngine(
+                executor,
+                parallelism,
+                ParallelIterate.DEFAULT_MIN_FORK_SIZE,
+                ParallelIterate.TASK_RATIO,
+                false);
+    }
+
+    /**
+     * Creates an engine with a new pool of {@code poolSize} daemon threads, as created by
+     * {@link ParallelIterate#newPooledExecutor(int, String, boolean)}.
+     */
+    public static ParallelExecutionEngine pooled(int poolSize, String poolName)
+    {
+        return ParallelExecutionEngine.on(ParallelIterate.newPooledExecutor(poolSize, poolName, true), poolSize);
+    }
+
+    /**
+     * Creates an engine with a new work-stealing {@code ForkJoinPool} of the given parallelism.
+     *
+     * @throws UnsupportedOperationException if ForkJoinPool is not available in this JVM
+     */
+    public static ParallelExecutionEngine forkJoin(int parallelism)
+    {
+        try
+        {
+            Class<?> forkJoinPoolClass = Class.forName(FORK_JOIN_POOL_CLASS_NAME);
+            Executor forkJoinPool = (Executor) forkJoinPoolClass.getConstructor(int.class).newInstance(parallelism);
+            return ParallelExecutionEngine.on(forkJoinPool, parallelism);
+        }
+        catch (ClassNotFoundException e)
+        {
+            throw new UnsupportedOperationException(FORK_JOIN_POOL_CLASS_NAME + " requires Java 7 or later", e);
+        }
+        catch (Exception e)
+        {
+            throw new IllegalStateException("Could not create a " + FORK_JOIN_POOL_CLASS_NAME, e);
+        }
+    }
+
+    static ParallelExecutionEngine fromSystemProperties(String poolName)
+    {
+        int poolSize = Integer.getInteger(POOL_SIZE_PROPERTY, ParallelIterate.getDefaultMaxThreadPoolSize());
+        String executorType = System.getProperty(EXECUTOR_PROPERTY, "pooled");
+        ParallelExecutionEngine engine;
+        if ("forkJoin".equalsIgnoreCase(executorType))
+        {
+            engine = ParallelExecutionEngine.forkJoin(poolSize);
+        }
+        else if ("pooled".equalsIgnoreCase(executorType))
+        {
+            engine = ParallelExecutionEngine.pooled(poolSize, poolName);
+        }
+        else
+        {
+            throw new IllegalArgumentException("Unknown value '" + executorType + "' for " + EXECUTOR_PROPERTY + ", expected pooled or forkJoin");
+        }
+        engine = engine
+                .withMinForkSize(Integer.getInteger(MIN_FORK_SIZE_PROPERTY, ParallelIterate.DEFAULT_MIN_FORK_SIZE))
+                .withTaskRatio(Integer.getInteger(TASK_RATIO_PROPERTY, ParallelIterate.TASK_RATIO))
+                .withAdaptiveForkSize(Boolean.getBoolean(ADAPTIVE_FORK_SIZE_PROPERTY));
+        Integer maxParallelism = Integer.getInteger(MAX_PARALLELISM_PROPERTY);
+        return maxParallelism == null ? engine : engine.withMaxParallelism(maxParallelism);
+    }
+
+    public ParallelExecutionEngine withMinForkSize(int newMinForkSize)
+    {
+        return new ParallelExecutionEngine(this.executor, this.parallelism, newMinForkSize, this.taskRatio, this.isAdaptiveForkSize());
+    }
+
+    public ParallelExecutionEngine withTaskRatio(int newTaskRatio)
+    {
+        return new ParallelExecutionEngine(this.executor, this.parallelism, this.minForkSize, newTaskRatio, this.isAdaptiveForkSize());
+    }
+
+    public ParallelExecutionEngine withAdaptiveForkSize(boolean adaptiveForkSize)
+    {
+        return new ParallelExecutionEngine(this.executor, this.parallelism, this.minForkSize, this.taskRatio, adaptiveForkSize);
+    }
+
+    /**
+     * Returns an engine which shares the Executor of this engine, but runs at most {@code maxParallelism} tasks at the
+     * same time. Use it for calls which must not take over a pool which is shared with latency sensitive work.
+     */
+    public ParallelExecutionEngine withMaxParallelism(int maxParallelism)
+    {
+        return new ParallelExecutionEngine(
+                new BoundedExecutor(this.executor, maxParallelism),
+                Math.min(this.parallelism, maxParallelism),
+                this.minForkSize,
+                this.taskRatio,
+                this.isAdaptiveForkSize());
+    }
+
+    public Executor getExecutor()
+    {
+        return this.executor;
+    }
+
+    public int getParallelism()
+    {
+        return this.parallelism;
+    }
+
+    public int getMinForkSize()
+    {
+        return this.minForkSize;
+    }
+
+    public int getTaskRatio()
+    {
+        return this.taskRatio;
+    }
+
+    public int getTaskCount()
+    {
+        return this.parallelism * this.taskRatio;
+    }
+
+    public boolean isAdaptiveForkSize()
+    {
+        return this.forkSizeEstimator != null;
+    }
+
+    /**
+     * Returns the batch size to use for {@code block} when the caller did not specify one.
+     */
+    int batchSize(Object block)
+    {
+        return this.forkSizeEstimator == null ? this.minForkSize : this.forkSizeEstimator.batchSize(block);
+    }
+
+    long startTiming()
+    {
+        return this.forkSizeEstimator == null ? 0L : System.nanoTime();
+    }
+
+    void stopTiming(Object block, Iterable<?> iterable, int batchSize, long startNanos)
+    {
+        if (this.forkSizeEstimator != null)
+        {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            this.forkSizeEstimator.record(block, Iterate.sizeOf(iterable), batchSize, elapsedNanos);
+        }
+    }
+
+    boolean isShutdown()
+    {
+        return this.executor instanceof ExecutorService && ((ExecutorService) this.executor).isShutdown();
+    }
+
+    void shutdown()
+    {
+        if (this.executor instanceof ExecutorService)
+        {
+            ((ExecutorService) this.executor).shutdown();
+        }
+    }
+}
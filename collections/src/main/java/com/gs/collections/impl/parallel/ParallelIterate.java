@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.RandomAccess;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -60,8 +61,9 @@ public final class ParallelIterate
     static final int DEFAULT_MIN_FORK_SIZE = 10000;
     static final int AVAILABLE_PROCESSORS = Runtime.getRuntime().availableProcessors();
     static final int TASK_RATIO = 2;
-    static final int DEFAULT_PARALLEL_TASK_COUNT = ParallelIterate.getDefaultTaskCount();
-    static final ExecutorService EXECUTOR_SERVICE = ParallelIterate.newPooledExecutor(ParallelIterate.class.getSimpleName(), true);
+
+    private static volatile ParallelExecutionEngine defaultEngine =
+            ParallelExecutionEngine.fromSystemProperties(ParallelIterate.class.getSimpleName());
 
     private ParallelIterate()
     {
@@ -70,12 +72,49 @@ public final class ParallelIterate
 
     static boolean isExecutorShutdown()
     {
-        return ParallelIterate.EXECUTOR_SERVICE.isShutdown();
+        return ParallelIterate.defaultEngine.isShutdown();
     }
 
     static void shutdownExecutor()
     {
-        ParallelIterate.EXECUTOR_SERVICE.shutdown();
+        ParallelIterate.defaultEngine.shutdown();
+    }
+
+    /**
+     * Returns the engine used by all methods which are not passed an Executor or a batch size.
+     *
+     * @since 5.1
+     */
+    public static ParallelExecutionEngine getDefaultEngine()
+    {
+        return ParallelIterate.defaultEngine;
+    }
+
+    /**
+     * Replaces the engine used by all methods which are not passed an Executor or a batch size. The previous engine
+     * is not shut down, since its Executor may be shared with other code.
+     *
+     * @since 5.1
+     */
+    public static void setDefaultEngine(ParallelExecutionEngine engine)
+    {
+        if (engine == null)
+        {
+            throw new IllegalArgumentException("engine must not be null");
+        }
+        ParallelIterate.defaultEngine = engine;
+    }
+
+    /**
+     * Returns an Executor which runs at most {@code maxParallelism} tasks at the same time on the Executor of the
+     * default engine, and queues the remaining tasks. Passing it to the methods which take an Executor keeps a single
+     * large call from occupying all threads of the shared pool.
+     *
+     * @since 5.1
+     */
+    public static Executor newBoundedExecutor(int maxParallelism)
+    {
+        return new BoundedExecutor(ParallelIterate.defaultEngine.getExecutor(), maxParallelism);
     }
 
     /**
@@ -98,7 +137,7 @@ public final class ParallelIterate
             Iterable<T> iterable,
             ObjectIntProcedure<? super T> objectIntProcedure)
     {
-        ParallelIterate.forEachWithIndex(iterable, objectIntProcedure, ParallelIterate.EXECUTOR_SERVICE);
+        ParallelIterate.forEachWithIndex(iterable, objectIntProcedure, ParallelIterate.defaultEngine.getExecutor());
     }
 
     /**
@@ -160,13 +199,13 @@ public final class ParallelIterate
             Executor executor)
     {
         int taskCount = Math.max(
-                ParallelIterate.DEFAULT_PARALLEL_TASK_COUNT,
-                Iterate.sizeOf(iterable) / ParallelIterate.DEFAULT_MIN_FORK_SIZE);
+                ParallelIterate.defaultEngine.getTaskCount(),
+                Iterate.sizeOf(iterable) / ParallelIterate.defaultEngine.getMinForkSize());
         ParallelIterate.forEachWithIndex(
                 iterable,
                 procedureFactory,
                 combiner,
-                ParallelIterate.DEFAULT_MIN_FORK_SIZE,
+                ParallelIterate.defaultEngine.getMinForkSize(),
                 taskCount,
                 executor);
     }
@@ -178,7 +217,7 @@ public final class ParallelIterate
             int minForkSize,
             int taskCount)
     {
-        ParallelIterate.forEachWithIndex(iterable, procedureFactory, combiner, minForkSize, taskCount, ParallelIterate.EXECUTOR_SERVICE);
+        ParallelIterate.forEachWithIndex(iterable, procedureFactory, combiner, minForkSize, taskCount, ParallelIterate.defaultEngine.getExecutor());
     }
 
     public static <T, BT extends ObjectIntProcedure<? super T>> void forEachWithIndex(
@@ -264,7 +303,11 @@ public final class ParallelIterate
      */
     public static <T> void forEach(Iterable<T> iterable, Procedure<? super T> procedure)
     {
-        ParallelIterate.forEach(iterable, procedure, ParallelIterate.EXECUTOR_SERVICE);
+        ParallelExecutionEngine engine = ParallelIterate.defaultEngine;
+        int batchSize = engine.batchSize(procedure);
+        long start = engine.startTiming();
+        ParallelIterate.forEach(iterable, procedure, batchSize, engine.getExecutor());
+        engine.stopTiming(procedure, iterable, batchSize, start);
     }
 
     /**
@@ -285,7 +328,7 @@ public final class ParallelIterate
      */
     public static <T> void forEach(Iterable<T> iterable, Procedure<? super T> procedure, int batchSize)
     {
-        ParallelIterate.forEach(iterable, procedure, batchSize, ParallelIterate.EXECUTOR_SERVICE);
+        ParallelIterate.forEach(iterable, procedure, batchSize, ParallelIterate.defaultEngine.getExecutor());
     }
 
     public static <T> void forEach(Iterable<T> iterable, Procedure<? super T> procedure, int batchSize, Executor executor)
@@ -328,7 +371,7 @@ public final class ParallelIterate
             int minForkSize,
             int taskCount)
     {
-        ParallelIterate.forEach(iterable, procedure, minForkSize, taskCount, ParallelIterate.EXECUTOR_SERVICE);
+        ParallelIterate.forEach(iterable, procedure, minForkSize, taskCount, ParallelIterate.defaultEngine.getExecutor());
     }
 
     public static <T, BT extends Procedure<? super T>> void forEach(
@@ -353,7 +396,7 @@ public final class ParallelIterate
             Combiner<BT> combiner,
             Executor executor)
     {
-        ParallelIterate.forEach(iterable, procedureFactory, combiner, ParallelIterate.DEFAULT_MIN_FORK_SIZE, executor);
+        ParallelIterate.forEach(iterable, procedureFactory, combiner, ParallelIterate.defaultEngine.getMinForkSize(), executor);
     }
 
     public static <T, BT extends Procedure<? super T>> void forEach(
@@ -361,7 +404,7 @@ public final class ParallelIterate
             ProcedureFactory<BT> procedureFactory,
             Combiner<BT> combiner)
     {
-        ParallelIterate.forEach(iterable, procedureFactory, combiner, ParallelIterate.EXECUTOR_SERVICE);
+        ParallelIterate.forEach(iterable, procedureFactory, combiner, ParallelIterate.defaultEngine.getExecutor());
     }
 
     /**
@@ -381,7 +424,7 @@ public final class ParallelIterate
             Combiner<BT> combiner,
             int batchSize)
     {
-        ParallelIterate.forEach(iterable, procedureFactory, combiner, batchSize, ParallelIterate.EXECUTOR_SERVICE);
+        ParallelIterate.forEach(iterable, procedureFactory, combiner, batchSize, ParallelIterate.defaultEngine.getExecutor());
     }
 
     public static <T, BT extends Procedure<? super T>> void forEach(
@@ -400,7 +443,7 @@ public final class ParallelIterate
      * <p/>
      * <pre>e.g. The <b>ParallelIterate.select()</b> implementation
      * <p/>
-     * int taskCount = Math.max(DEFAULT_PARALLEL_TASK_COUNT, collection.size() / DEFAULT_MIN_FORK_SIZE);
+     * int taskCount = Math.max(ParallelIterate.getDefaultEngine().getTaskCount(), collection.size() / DEFAULT_MIN_FORK_SIZE);
      * final int taskSize = collection.size() / taskCount / 2;
      * {@code CollectionCombiner<T, SelectProcedure<T>> combiner = CollectionCombiner.forSelect(collection);}
      * ParallelIterate.<b>forEach</b>(collection,{@code new SelectProcedureFactory<T>(predicate, taskSize), combiner, DEFAULT_MIN_FORK_SIZE, taskCount);}
@@ -414,7 +457,7 @@ public final class ParallelIterate
             int minForkSize,
             int taskCount)
     {
-        ParallelIterate.forEach(iterable, procedureFactory, combiner, minForkSize, taskCount, ParallelIterate.EXECUTOR_SERVICE);
+        ParallelIterate.forEach(iterable, procedureFactory, combiner, minForkSize, taskCount, ParallelIterate.defaultEngine.getExecutor());
     }
 
     public static <T, BT extends Procedure<? super T>> void forEach(
@@ -523,6 +566,64 @@ public final class ParallelIterate
         }
     }
 
+    /**
+     * Iterate over the collection specified running each element as its own task on a shared thread-per-task
+     * executor, with at most {@code maxInFlight} elements being processed at the same time. This is meant for
+     * procedures which spend most of their time blocked on I/O, where a pool sized to the number of processors would
+     * leave the CPUs idle.
+     * <p/>
+     * e.g.
+     * <pre>
+     * ParallelIterate.<b>forEachBlocking</b>(accountIds, new Procedure()
+     * {
+     *     public void value(Object accountId)
+     *     {
+     *         balances.put(accountId, accountDao.loadBalance(accountId));
+     *     }
+     * }, 256);
+     * </pre>
+     *
+     * @see #newThreadPerTaskExecutor(String)
+     * @since 5.1
+     */
+    public static <T, BT extends Procedure<? super T>> void forEachBlocking(
+            Iterable<T> iterable,
+            BT procedure,
+            int maxInFlight)
+    {
+        ParallelIterate.forEachBlocking(
+                iterable,
+                new PassThruProcedureFactory<BT>(procedure),
+                new PassThruCombiner<BT>(),
+                1,
+                maxInFlight);
+    }
+
+    /**
+     * Iterate over the collection specified in batches of {@code batchSize}, running each batch as its own task on a
+     * shared thread-per-task executor, with at most {@code maxInFlight} batches running at the same time. As with
+     * {@link #forEach(Iterable, ProcedureFactory, Combiner, int, Executor)}, a procedure is created for each batch and
+     * passed to the combiner when the batch completes.
+     *
+     * @see #forEachBlocking(Iterable, Procedure, int)
+     * @since 5.1
+     */
+    public static <T, BT extends Procedure<? super T>> void forEachBlocking(
+            Iterable<T> iterable,
+            ProcedureFactory<BT> procedureFactory,
+            Combiner<BT> combiner,
+            int batchSize,
+            int maxInFlight)
+    {
+        ParallelIterate.forEach(
+                iterable,
+                procedureFactory,
+                combiner,
+                batchSize,
+                ParallelIterate.calculateTaskCount(iterable, batchSize),
+                new BoundedExecutor(BlockingExecutorHolder.EXECUTOR, maxInFlight));
+    }
+
     /**
      * Same effect as {@link Iterate#select(Iterable, Predicate)}, but executed in parallel batches.
      *
@@ -568,13 +669,12 @@ public final class ParallelIterate
             R target,
             boolean allowReorderedResult)
     {
-        return ParallelIterate.select(
-                iterable,
-                predicate,
-                target,
-                ParallelIterate.DEFAULT_MIN_FORK_SIZE,
-                ParallelIterate.EXECUTOR_SERVICE,
-                allowReorderedResult);
+        ParallelExecutionEngine engine = ParallelIterate.defaultEngine;
+        int batchSize = engine.batchSize(predicate);
+        long start = engine.startTiming();
+        R result = ParallelIterate.select(iterable, predicate, target, batchSize, engine.getExecutor(), allowReorderedResult);
+        engine.stopTiming(predicate, iterable, batchSize, start);
+        return result;
     }
 
     /**
@@ -670,13 +770,12 @@ public final class ParallelIterate
             R target,
             boolean allowReorderedResult)
     {
-        return ParallelIterate.reject(
-                iterable,
-                predicate,
-                target,
-                ParallelIterate.DEFAULT_MIN_FORK_SIZE,
-                ParallelIterate.EXECUTOR_SERVICE,
-                allowReorderedResult);
+        ParallelExecutionEngine engine = ParallelIterate.defaultEngine;
+        int batchSize = engine.batchSize(predicate);
+        long start = engine.startTiming();
+        R result = ParallelIterate.reject(iterable, predicate, target, batchSize, engine.getExecutor(), allowReorderedResult);
+        engine.stopTiming(predicate, iterable, batchSize, start);
+        return result;
     }
 
     public static <T, R extends Collection<T>> R reject(
@@ -706,7 +805,12 @@ public final class ParallelIterate
      */
     public static <T> int count(Iterable<T> iterable, Predicate<? super T> predicate)
     {
-        return ParallelIterate.count(iterable, predicate, ParallelIterate.DEFAULT_MIN_FORK_SIZE, ParallelIterate.EXECUTOR_SERVICE);
+        ParallelExecutionEngine engine = ParallelIterate.defaultEngine;
+        int batchSize = engine.batchSize(predicate);
+        long start = engine.startTiming();
+        int result = ParallelIterate.count(iterable, predicate, batchSize, engine.getExecutor());
+        engine.stopTiming(predicate, iterable, batchSize, start);
+        return result;
     }
 
     /**
@@ -774,13 +878,12 @@ public final class ParallelIterate
             R target,
             boolean allowReorderedResult)
     {
-        return ParallelIterate.collect(
-                iterable,
-                function,
-                target,
-                ParallelIterate.DEFAULT_MIN_FORK_SIZE,
-                ParallelIterate.EXECUTOR_SERVICE,
-                allowReorderedResult);
+        ParallelExecutionEngine engine = ParallelIterate.defaultEngine;
+        int batchSize = engine.batchSize(function);
+        long start = engine.startTiming();
+        R result = ParallelIterate.collect(iterable, function, target, batchSize, engine.getExecutor(), allowReorderedResult);
+        engine.stopTiming(function, iterable, batchSize, start);
+        return result;
     }
 
     public static <T, V, R extends Collection<V>> R collect(
@@ -826,13 +929,12 @@ public final class ParallelIterate
             R target,
             boolean allowReorderedResult)
     {
-        return ParallelIterate.flatCollect(
-                iterable,
-                function,
-                target,
-                ParallelIterate.DEFAULT_MIN_FORK_SIZE,
-                ParallelIterate.EXECUTOR_SERVICE,
-                allowReorderedResult);
+        ParallelExecutionEngine engine = ParallelIterate.defaultEngine;
+        int batchSize = engine.batchSize(function);
+        long start = engine.startTiming();
+        R result = ParallelIterate.flatCollect(iterable, function, target, batchSize, engine.getExecutor(), allowReorderedResult);
+        engine.stopTiming(function, iterable, batchSize, start);
+        return result;
     }
 
     public static <T, V, R extends Collection<V>> R flatCollect(
@@ -844,7 +946,7 @@ public final class ParallelIterate
             boolean allowReorderedResult)
     {
         int size = Iterate.sizeOf(iterable);
-        int taskSize = size / ParallelIterate.DEFAULT_PARALLEL_TASK_COUNT;
+        int taskSize = size / ParallelIterate.defaultEngine.getTaskCount();
         FlatCollectProcedureCombiner<T, V> combiner =
                 new FlatCollectProcedureCombiner<T, V>(iterable, target, size, allowReorderedResult);
         FlatCollectProcedureFactory<T, V> procedureFactory = new FlatCollectProcedureFactory<T, V>(function, taskSize);
@@ -908,14 +1010,12 @@ public final class ParallelIterate
             R target,
             boolean allowReorderedResult)
     {
-        return ParallelIterate.collectIf(
-                iterable,
-                predicate,
-                function,
-                target,
-                ParallelIterate.DEFAULT_MIN_FORK_SIZE,
-                ParallelIterate.EXECUTOR_SERVICE,
-                allowReorderedResult);
+        ParallelExecutionEngine engine = ParallelIterate.defaultEngine;
+        int batchSize = engine.batchSize(function);
+        long start = engine.startTiming();
+        R result = ParallelIterate.collectIf(iterable, predicate, function, target, batchSize, engine.getExecutor(), allowReorderedResult);
+        engine.stopTiming(function, iterable, batchSize, start);
+        return result;
     }
 
     public static <T, V, R extends Collection<V>> R collectIf(
@@ -947,7 +1047,12 @@ public final class ParallelIterate
             Iterable<V> iterable,
             Function<? super V, ? extends K> function)
     {
-        return ParallelIterate.groupBy(iterable, function, ParallelIterate.DEFAULT_MIN_FORK_SIZE, ParallelIterate.EXECUTOR_SERVICE);
+        ParallelExecutionEngine engine = ParallelIterate.defaultEngine;
+        int batchSize = engine.batchSize(function);
+        long start = engine.startTiming();
+        MutableMultimap<K, V> result = ParallelIterate.groupBy(iterable, function, batchSize, engine.getExecutor());
+        engine.stopTiming(function, iterable, batchSize, start);
+        return result;
     }
 
     public static <T, K, V> MutableMap<K, V> aggregateBy(
@@ -961,7 +1066,7 @@ public final class ParallelIterate
                 groupBy,
                 zeroValueFactory,
                 nonMutatingAggregator,
-                ParallelIterate.DEFAULT_MIN_FORK_SIZE);
+                ParallelIterate.defaultEngine.getMinForkSize());
     }
 
     public static <T, K, V, R extends MutableMap<K, V>> R aggregateBy(
@@ -977,7 +1082,7 @@ public final class ParallelIterate
                 zeroValueFactory,
                 nonMutatingAggregator,
                 mutableMap,
-                ParallelIterate.DEFAULT_MIN_FORK_SIZE);
+                ParallelIterate.defaultEngine.getMinForkSize());
     }
 
     public static <T, K, V> MutableMap<K, V> aggregateBy(
@@ -993,7 +1098,7 @@ public final class ParallelIterate
                 zeroValueFactory,
                 nonMutatingAggregator,
                 batchSize,
-                ParallelIterate.EXECUTOR_SERVICE);
+                ParallelIterate.defaultEngine.getExecutor());
     }
 
     public static <T, K, V, R extends MutableMap<K, V>> R aggregateBy(
@@ -1011,7 +1116,7 @@ public final class ParallelIterate
                 nonMutatingAggregator,
                 mutableMap,
                 batchSize,
-                ParallelIterate.EXECUTOR_SERVICE);
+                ParallelIterate.defaultEngine.getExecutor());
     }
 
     public static <T, K, V> MutableMap<K, V> aggregateBy(
@@ -1063,7 +1168,7 @@ public final class ParallelIterate
                 groupBy,
                 zeroValueFactory,
                 mutatingAggregator,
-                ParallelIterate.DEFAULT_MIN_FORK_SIZE);
+                ParallelIterate.defaultEngine.getMinForkSize());
     }
 
     public static <T, K, V, R extends MutableMap<K, V>> R aggregateInPlaceBy(
@@ -1079,7 +1184,7 @@ public final class ParallelIterate
                 zeroValueFactory,
                 mutatingAggregator,
                 mutableMap,
-                ParallelIterate.DEFAULT_MIN_FORK_SIZE);
+                ParallelIterate.defaultEngine.getMinForkSize());
     }
 
     public static <T, K, V> MutableMap<K, V> aggregateInPlaceBy(
@@ -1095,7 +1200,7 @@ public final class ParallelIterate
                 zeroValueFactory,
                 mutatingAggregator,
                 batchSize,
-                ParallelIterate.EXECUTOR_SERVICE);
+                ParallelIterate.defaultEngine.getExecutor());
     }
 
     public static <T, K, V, R extends MutableMap<K, V>> R aggregateInPlaceBy(
@@ -1113,7 +1218,7 @@ public final class ParallelIterate
                 mutatingAggregator,
                 mutableMap,
                 batchSize,
-                ParallelIterate.EXECUTOR_SERVICE);
+                ParallelIterate.defaultEngine.getExecutor());
     }
 
     public static <T, K, V> MutableMap<K, V> aggregateInPlaceBy(
@@ -1165,7 +1270,7 @@ public final class ParallelIterate
             Function<? super V, ? extends K> function,
             R concurrentMultimap)
     {
-        return ParallelIterate.groupBy(iterable, function, concurrentMultimap, ParallelIterate.DEFAULT_MIN_FORK_SIZE);
+        return ParallelIterate.groupBy(iterable, function, concurrentMultimap, ParallelIterate.defaultEngine.getMinForkSize());
     }
 
     /**
@@ -1178,7 +1283,7 @@ public final class ParallelIterate
             R concurrentMultimap,
             int batchSize)
     {
-        return ParallelIterate.groupBy(iterable, function, concurrentMultimap, batchSize, ParallelIterate.EXECUTOR_SERVICE);
+        return ParallelIterate.groupBy(iterable, function, concurrentMultimap, batchSize, ParallelIterate.defaultEngine.getExecutor());
     }
 
     /**
@@ -1190,7 +1295,7 @@ public final class ParallelIterate
             Function<? super V, ? extends K> function,
             int batchSize)
     {
-        return ParallelIterate.groupBy(iterable, function, batchSize, ParallelIterate.EXECUTOR_SERVICE);
+        return ParallelIterate.groupBy(iterable, function, batchSize, ParallelIterate.defaultEngine.getExecutor());
     }
 
     /**
@@ -1255,6 +1360,27 @@ public final class ParallelIterate
         return ParallelIterate.newPooledExecutor(ParallelIterate.getDefaultMaxThreadPoolSize(), poolName, useDaemonThreads);
     }
 
+    /**
+     * Returns a brand new ExecutorService which starts a new thread for each task. On Java 21 and later these are
+     * virtual threads, which are cheap to block; on earlier versions they are daemon threads from an unbounded cached
+     * pool using the specified poolName. The number of tasks running at the same time is not limited, so the result is
+     * meant to be wrapped in a {@link BoundedExecutor}.
+     *
+     * @since 5.1
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String poolName)
+    {
+        try
+        {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        catch (Exception ignored)
+        {
+            // Virtual threads are not available on this JVM
+            return Executors.newCachedThreadPool(new CollectionsThreadFactory(poolName, true));
+        }
+    }
+
     public static int getDefaultTaskCount()
     {
         return ParallelIterate.getDefaultMaxThreadPoolSize() * ParallelIterate.getTaskRatio();
@@ -1269,4 +1395,15 @@ public final class ParallelIterate
     {
         return TASK_RATIO;
     }
+
+    private static final class BlockingExecutorHolder
+    {
+        private static final ExecutorService EXECUTOR =
+                ParallelIterate.newThreadPerTaskExecutor(ParallelIterate.class.getSimpleName() + " blocking");
+
+        private BlockingExecutorHolder()
+        {
+            throw new AssertionError("Suppress default constructor for noninstantiability");
+        }
+    }
 }
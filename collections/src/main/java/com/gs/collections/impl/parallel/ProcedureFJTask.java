@@ -56,6 +56,10 @@ public final class ProcedureFJTask<T, BT extends Procedure<? super T>> implement
         try
         {
             this.procedure = this.procedureFactory.create();
+            if (this.taskRunner.isFailed())
+            {
+                return;
+            }
             int stop = this.end - 1;
             if (this.list instanceof ListIterable)
             {
@@ -30,7 +30,7 @@ public final class ProcedureFJTaskRunner<T, BT extends Procedure<? super T>>
 {
     private final Function<ProcedureFJTask<T, BT>, BT> procedureFunction = new ProcedureExtractor();
     private ProcedureFJTask<T, BT>[] procedures;
-    private Throwable error;
+    private volatile Throwable error;
     private final Combiner<BT> combiner;
     private final int taskCount;
     private final BlockingQueue<BT> outputQueue;
@@ -68,7 +68,15 @@ public final class ProcedureFJTaskRunner<T, BT extends Procedure<? super T>>
 
     public void setFailed(Throwable newError)
     {
-        this.error = newError;
+        if (this.error == null)
+        {
+            this.error = newError;
+        }
+    }
+
+    public boolean isFailed()
+    {
+        return this.error != null;
     }
 
     public void taskCompleted(ProcedureFJTask<T, BT> task)
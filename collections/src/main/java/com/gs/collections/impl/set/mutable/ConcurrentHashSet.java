@@ -0,0 +1,1003 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.set.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import com.gs.collections.api.annotation.Beta;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import com.gs.collections.api.set.MutableSet;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.utility.Iterate;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A ConcurrentHashSet is a MutableSet that is safe for concurrent reads and writes without locking.  It uses the same
+ * table as {@link com.gs.collections.impl.map.mutable.ConcurrentHashMap}: {@link #add(Object)} and
+ * {@link #remove(Object)} are a compare-and-set on a single bucket, {@link #contains(Object)} never blocks, and a
+ * resize is shared by every thread that runs into it.  A bucket with one element holds the element itself, so unlike
+ * a {@code ConcurrentHashMap<T, Boolean>} an add that does not collide allocates nothing.
+ * <p/>
+ * Iteration is weakly consistent, as with ConcurrentHashMap.  Null elements are not supported.
+ *
+ * @since 5.1
+ */
+@Beta
+@ThreadSafe
+@SuppressWarnings({ "rawtypes", "ObjectEquality" })
+public final class ConcurrentHashSet<T>
+        extends AbstractMutableSet<T>
+        implements Externalizable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final Object RESIZE_SENTINEL = new Object();
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /**
+     * The maximum capacity, used if a higher value is implicitly specified
+     * by either of the constructors with arguments.
+     * MUST be a power of two <= 1<<30.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private static final AtomicReferenceFieldUpdater<ConcurrentHashSet, AtomicReferenceArray> TABLE_UPDATER = AtomicReferenceFieldUpdater.newUpdater(ConcurrentHashSet.class, AtomicReferenceArray.class, "table");
+    private static final AtomicIntegerFieldUpdater<ConcurrentHashSet> SIZE_UPDATER = AtomicIntegerFieldUpdater.newUpdater(ConcurrentHashSet.class, "size");
+    private static final Object RESIZED = new Object();
+    private static final Object RESIZING = new Object();
+    private static final int PARTITIONED_SIZE_THRESHOLD = 4096; // chosen to keep size below 1% of the total size of the set
+    // must be a power of two; scales with the number of processors so that heavily contended writers spread out
+    private static final int SIZE_BUCKETS = Math.max(8, Math.min(64, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() - 1) << 1));
+    private static final AtomicReferenceFieldUpdater<ConcurrentHashSet, AtomicIntegerArray> PARTITIONED_SIZE_UPDATER = AtomicReferenceFieldUpdater.newUpdater(ConcurrentHashSet.class, AtomicIntegerArray.class, "partitionedSize");
+
+    /**
+     * The table, resized as necessary. Length MUST Always be a power of two, plus one slot for the resize container.
+     * Each bucket is null, RESIZED, RESIZING, a single element, or a chain of {@link Node}s.
+     */
+    private volatile AtomicReferenceArray table;
+
+    private volatile AtomicIntegerArray partitionedSize;
+
+    @SuppressWarnings("UnusedDeclaration")
+    private volatile int size; // updated via atomic field updater
+
+    public ConcurrentHashSet()
+    {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public ConcurrentHashSet(int initialCapacity)
+    {
+        if (initialCapacity < 0)
+        {
+            throw new IllegalArgumentException("Illegal Initial Capacity: " + initialCapacity);
+        }
+        if (initialCapacity > MAXIMUM_CAPACITY)
+        {
+            initialCapacity = MAXIMUM_CAPACITY;
+        }
+
+        int threshold = initialCapacity;
+        threshold += threshold >> 1; // threshold = length * 0.75
+
+        int capacity = 1;
+        while (capacity < threshold)
+        {
+            capacity <<= 1;
+        }
+        if (capacity >= PARTITIONED_SIZE_THRESHOLD)
+        {
+            this.partitionedSize = new AtomicIntegerArray(SIZE_BUCKETS * 16); // we want 64 bytes for each slot. int is 4 bytes, so 64 bytes is 16 ints.
+        }
+        this.table = new AtomicReferenceArray(capacity + 1);
+    }
+
+    public static <T> ConcurrentHashSet<T> newSet()
+    {
+        return new ConcurrentHashSet<T>();
+    }
+
+    public static <T> ConcurrentHashSet<T> newSet(int initialCapacity)
+    {
+        return new ConcurrentHashSet<T>(initialCapacity);
+    }
+
+    public static <T> ConcurrentHashSet<T> newSet(Iterable<? extends T> source)
+    {
+        ConcurrentHashSet<T> result = new ConcurrentHashSet<T>(Iterate.sizeOf(source));
+        Iterate.addAllIterable(source, result);
+        return result;
+    }
+
+    public static <T> ConcurrentHashSet<T> newSetWith(T... elements)
+    {
+        ConcurrentHashSet<T> result = new ConcurrentHashSet<T>(elements.length);
+        for (T element : elements)
+        {
+            result.add(element);
+        }
+        return result;
+    }
+
+    private static int indexFor(int h, int length)
+    {
+        return h & length - 2;
+    }
+
+    /**
+     * A set that contains itself would need its own hashCode while it is being resized, and computing that iterates
+     * the table being resized.  The set is therefore hashed by identity when it is an element of itself.
+     */
+    private int hash(Object key)
+    {
+        int h = key == this ? System.identityHashCode(this) : key.hashCode();
+        h ^= h >>> 20 ^ h >>> 12;
+        h ^= h >>> 7 ^ h >>> 4;
+        return h;
+    }
+
+    private static boolean bucketContains(Object bucket, Object key)
+    {
+        if (bucket instanceof Node)
+        {
+            for (Node e = (Node) bucket; e != null; e = e.next)
+            {
+                Object k;
+                if ((k = e.key) == key || key.equals(k))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return bucket == key || bucket != null && key.equals(bucket);
+    }
+
+    private static <T> Object prepend(T key, Object bucket)
+    {
+        if (bucket == null)
+        {
+            return key;
+        }
+        Node<T> tail = bucket instanceof Node ? (Node<T>) bucket : new Node<T>((T) bucket, null);
+        return new Node<T>(key, tail);
+    }
+
+    @Override
+    public boolean add(T key)
+    {
+        int hash = this.hash(key);
+        AtomicReferenceArray currentArray = this.table;
+        while (true)
+        {
+            int length = currentArray.length();
+            int index = ConcurrentHashSet.indexFor(hash, length);
+            Object o = currentArray.get(index);
+            if (o == RESIZED || o == RESIZING)
+            {
+                currentArray = this.helpWithResizeWhileCurrentIndex(currentArray, index);
+            }
+            else
+            {
+                if (ConcurrentHashSet.bucketContains(o, key))
+                {
+                    return false;
+                }
+                if (currentArray.compareAndSet(index, o, ConcurrentHashSet.prepend(key, o)))
+                {
+                    this.incrementSizeAndPossiblyResize(currentArray, length, o);
+                    return true;
+                }
+            }
+        }
+    }
+
+    private void incrementSizeAndPossiblyResize(AtomicReferenceArray currentArray, int length, Object prev)
+    {
+        this.addToSize(1);
+        if (prev != null)
+        {
+            int localSize = this.size();
+            int threshold = (length >> 1) + (length >> 2); // threshold = length * 0.75
+            if (localSize + 1 > threshold)
+            {
+                this.resize(currentArray);
+            }
+        }
+    }
+
+    private AtomicReferenceArray helpWithResizeWhileCurrentIndex(AtomicReferenceArray currentArray, int index)
+    {
+        AtomicReferenceArray newArray = this.helpWithResize(currentArray);
+        int helpCount = 0;
+        while (currentArray.get(index) != RESIZED)
+        {
+            helpCount++;
+            newArray = this.helpWithResize(currentArray);
+            if ((helpCount & 7) == 0)
+            {
+                Thread.yield();
+            }
+        }
+        return newArray;
+    }
+
+    private AtomicReferenceArray helpWithResize(AtomicReferenceArray currentArray)
+    {
+        ResizeContainer resizeContainer = (ResizeContainer) currentArray.get(currentArray.length() - 1);
+        AtomicReferenceArray newTable = resizeContainer.nextArray;
+        if (resizeContainer.getQueuePosition() > ResizeContainer.QUEUE_INCREMENT)
+        {
+            resizeContainer.incrementResizer();
+            this.reverseTransfer(currentArray, resizeContainer);
+            resizeContainer.decrementResizerAndNotify();
+        }
+        return newTable;
+    }
+
+    private void resize(AtomicReferenceArray oldTable)
+    {
+        this.resize(oldTable, (oldTable.length() - 1 << 1) + 1);
+    }
+
+    // newSize must be a power of 2 + 1
+    @SuppressWarnings("JLM_JSR166_UTILCONCURRENT_MONITORENTER")
+    private void resize(AtomicReferenceArray oldTable, int newSize)
+    {
+        int oldCapacity = oldTable.length();
+        int end = oldCapacity - 1;
+        Object last = oldTable.get(end);
+        if (this.size() < end && last == RESIZE_SENTINEL)
+        {
+            return;
+        }
+        if (oldCapacity >= MAXIMUM_CAPACITY)
+        {
+            throw new RuntimeException("index is too large!");
+        }
+        ResizeContainer resizeContainer = null;
+        boolean ownResize = false;
+        if (last == null || last == RESIZE_SENTINEL)
+        {
+            synchronized (oldTable) // allocating a new array is too expensive to make this an atomic operation
+            {
+                if (oldTable.get(end) == null)
+                {
+                    oldTable.set(end, RESIZE_SENTINEL);
+                    if (this.partitionedSize == null && newSize >= PARTITIONED_SIZE_THRESHOLD)
+                    {
+                        PARTITIONED_SIZE_UPDATER.compareAndSet(this, null, new AtomicIntegerArray(SIZE_BUCKETS * 16));
+                    }
+                    resizeContainer = new ResizeContainer(new AtomicReferenceArray(newSize), oldTable.length() - 1);
+                    oldTable.set(end, resizeContainer);
+                    ownResize = true;
+                }
+            }
+        }
+        if (ownResize)
+        {
+            this.transfer(oldTable, resizeContainer);
+            AtomicReferenceArray src = this.table;
+            while (!TABLE_UPDATER.compareAndSet(this, oldTable, resizeContainer.nextArray))
+            {
+                // we're in a double resize situation; we'll have to go help until it's our turn to set the table
+                if (src != oldTable)
+                {
+                    this.helpWithResize(src);
+                }
+            }
+        }
+        else
+        {
+            this.helpWithResize(oldTable);
+        }
+    }
+
+    /*
+     * Transfer all elements from src to dest tables. The resizing thread claims strides of the table from the same
+     * queue as the threads helping with the resize, so that no two threads ever contend on the same buckets.
+     */
+    private void transfer(AtomicReferenceArray src, ResizeContainer resizeContainer)
+    {
+        this.reverseTransfer(src, resizeContainer);
+        resizeContainer.decrementResizerAndNotify();
+        resizeContainer.waitForAllResizers();
+    }
+
+    private void reverseTransfer(AtomicReferenceArray src, ResizeContainer resizeContainer)
+    {
+        AtomicReferenceArray dest = resizeContainer.nextArray;
+        while (resizeContainer.getQueuePosition() > 0)
+        {
+            int start = resizeContainer.subtractAndGetQueuePosition();
+            int end = start + ResizeContainer.QUEUE_INCREMENT;
+            if (end > 0)
+            {
+                if (start < 0)
+                {
+                    start = 0;
+                }
+                for (int j = end - 1; j >= start; )
+                {
+                    Object o = src.get(j);
+                    if (o == null)
+                    {
+                        if (src.compareAndSet(j, null, RESIZED))
+                        {
+                            j--;
+                        }
+                    }
+                    else if (o == RESIZED || o == RESIZING)
+                    {
+                        resizeContainer.zeroOutQueuePosition();
+                        return;
+                    }
+                    else if (src.compareAndSet(j, o, RESIZING))
+                    {
+                        if (o instanceof Node)
+                        {
+                            for (Node<T> e = (Node<T>) o; e != null; e = e.next)
+                            {
+                                this.unconditionalCopy(dest, e.key);
+                            }
+                        }
+                        else
+                        {
+                            this.unconditionalCopy(dest, (T) o);
+                        }
+                        src.set(j, RESIZED);
+                        j--;
+                    }
+                }
+            }
+        }
+    }
+
+    private void unconditionalCopy(AtomicReferenceArray dest, T key)
+    {
+        int hash = this.hash(key);
+        AtomicReferenceArray currentArray = dest;
+        while (true)
+        {
+            int length = currentArray.length();
+            int index = ConcurrentHashSet.indexFor(hash, length);
+            Object o = currentArray.get(index);
+            if (o == RESIZED || o == RESIZING)
+            {
+                currentArray = ((ResizeContainer) currentArray.get(length - 1)).nextArray;
+            }
+            else if (currentArray.compareAndSet(index, o, ConcurrentHashSet.prepend(key, o)))
+            {
+                return;
+            }
+        }
+    }
+
+    private void addToSize(int value)
+    {
+        AtomicIntegerArray localPartitionedSize = this.partitionedSize;
+        if (localPartitionedSize != null)
+        {
+            this.incrementPartitionedSize(localPartitionedSize, value);
+        }
+        else if (!this.incrementLocalSize(value))
+        {
+            // the single size field is contended, switch to striped counting
+            PARTITIONED_SIZE_UPDATER.compareAndSet(this, null, new AtomicIntegerArray(SIZE_BUCKETS * 16));
+            this.incrementPartitionedSize(this.partitionedSize, value);
+        }
+    }
+
+    private void incrementPartitionedSize(AtomicIntegerArray localPartitionedSize, int value)
+    {
+        int h = (int) Thread.currentThread().getId();
+        h ^= (h >>> 18) ^ (h >>> 12);
+        h ^= h >>> 10;
+        while (true)
+        {
+            int index = (h & (SIZE_BUCKETS - 1)) << 4;
+            int localSize = localPartitionedSize.get(index);
+            if (localPartitionedSize.compareAndSet(index, localSize, localSize + value))
+            {
+                return;
+            }
+            h++; // the slot is contended, probe the next one
+        }
+    }
+
+    private boolean incrementLocalSize(int value)
+    {
+        int localSize = this.size;
+        return SIZE_UPDATER.compareAndSet(this, localSize, localSize + value);
+    }
+
+    public int size()
+    {
+        int localSize = this.size;
+        AtomicIntegerArray localPartitionedSize = this.partitionedSize;
+        if (localPartitionedSize != null)
+        {
+            for (int i = 0; i < SIZE_BUCKETS; i++)
+            {
+                localSize += localPartitionedSize.get(i << 4);
+            }
+        }
+        return localSize;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.size() == 0;
+    }
+
+    @Override
+    public boolean notEmpty()
+    {
+        return !this.isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object key)
+    {
+        if (key == null)
+        {
+            return false;
+        }
+        int hash = this.hash(key);
+        AtomicReferenceArray currentArray = this.table;
+        int index = ConcurrentHashSet.indexFor(hash, currentArray.length());
+        Object o = currentArray.get(index);
+        if (o == RESIZED || o == RESIZING)
+        {
+            return this.slowContains(key, hash, currentArray);
+        }
+        return ConcurrentHashSet.bucketContains(o, key);
+    }
+
+    private boolean slowContains(Object key, int hash, AtomicReferenceArray currentArray)
+    {
+        while (true)
+        {
+            int length = currentArray.length();
+            int index = ConcurrentHashSet.indexFor(hash, length);
+            Object o = currentArray.get(index);
+            if (o == RESIZED || o == RESIZING)
+            {
+                currentArray = this.helpWithResizeWhileCurrentIndex(currentArray, index);
+            }
+            else
+            {
+                return ConcurrentHashSet.bucketContains(o, key);
+            }
+        }
+    }
+
+    @Override
+    public boolean remove(Object key)
+    {
+        if (key == null)
+        {
+            return false;
+        }
+        int hash = this.hash(key);
+        AtomicReferenceArray currentArray = this.table;
+        while (true)
+        {
+            int length = currentArray.length();
+            int index = ConcurrentHashSet.indexFor(hash, length);
+            Object o = currentArray.get(index);
+            if (o == RESIZED || o == RESIZING)
+            {
+                currentArray = this.helpWithResizeWhileCurrentIndex(currentArray, index);
+            }
+            else
+            {
+                if (!ConcurrentHashSet.bucketContains(o, key))
+                {
+                    return false;
+                }
+                if (currentArray.compareAndSet(index, o, this.createReplacementBucketForRemoval(o, key)))
+                {
+                    this.addToSize(-1);
+                    return true;
+                }
+            }
+        }
+    }
+
+    private Object createReplacementBucketForRemoval(Object original, Object toRemove)
+    {
+        if (!(original instanceof Node))
+        {
+            return null;
+        }
+        Node<T> replacement = null;
+        for (Node<T> e = (Node<T>) original; e != null; e = e.next)
+        {
+            Object k = e.key;
+            if (k != toRemove && !toRemove.equals(k))
+            {
+                replacement = new Node<T>(e.key, replacement);
+            }
+        }
+        if (replacement != null && replacement.next == null)
+        {
+            return replacement.key;
+        }
+        return replacement;
+    }
+
+    @Override
+    public void clear()
+    {
+        AtomicReferenceArray currentArray = this.table;
+        ResizeContainer resizeContainer;
+        do
+        {
+            resizeContainer = null;
+            for (int i = 0; i < currentArray.length() - 1; i++)
+            {
+                Object o = currentArray.get(i);
+                if (o == RESIZED || o == RESIZING)
+                {
+                    resizeContainer = (ResizeContainer) currentArray.get(currentArray.length() - 1);
+                }
+                else if (o != null)
+                {
+                    if (currentArray.compareAndSet(i, o, null))
+                    {
+                        this.addToSize(-ConcurrentHashSet.bucketSize(o));
+                    }
+                }
+            }
+            if (resizeContainer != null)
+            {
+                if (resizeContainer.isNotDone())
+                {
+                    this.helpWithResize(currentArray);
+                    resizeContainer.waitForAllResizers();
+                }
+                currentArray = resizeContainer.nextArray;
+            }
+        }
+        while (resizeContainer != null);
+    }
+
+    private static int bucketSize(Object bucket)
+    {
+        if (!(bucket instanceof Node))
+        {
+            return 1;
+        }
+        int count = 0;
+        for (Node e = (Node) bucket; e != null; e = e.next)
+        {
+            count++;
+        }
+        return count;
+    }
+
+    public Iterator<T> iterator()
+    {
+        return new HashIterator();
+    }
+
+    public void forEach(Procedure<? super T> procedure)
+    {
+        for (Iterator<T> iterator = this.iterator(); iterator.hasNext(); )
+        {
+            procedure.value(iterator.next());
+        }
+    }
+
+    @Override
+    public void forEachWithIndex(ObjectIntProcedure<? super T> objectIntProcedure)
+    {
+        int index = 0;
+        for (Iterator<T> iterator = this.iterator(); iterator.hasNext(); )
+        {
+            objectIntProcedure.value(iterator.next(), index++);
+        }
+    }
+
+    public <P> void forEachWith(Procedure2<? super T, ? super P> procedure, P parameter)
+    {
+        for (Iterator<T> iterator = this.iterator(); iterator.hasNext(); )
+        {
+            procedure.value(iterator.next(), parameter);
+        }
+    }
+
+    public T getFirst()
+    {
+        Iterator<T> iterator = this.iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    public T getLast()
+    {
+        T last = null;
+        for (Iterator<T> iterator = this.iterator(); iterator.hasNext(); )
+        {
+            last = iterator.next();
+        }
+        return last;
+    }
+
+    public ConcurrentHashSet<T> with(T element)
+    {
+        this.add(element);
+        return this;
+    }
+
+    public ConcurrentHashSet<T> without(T element)
+    {
+        this.remove(element);
+        return this;
+    }
+
+    public ConcurrentHashSet<T> withAll(Iterable<? extends T> elements)
+    {
+        this.addAllIterable(elements);
+        return this;
+    }
+
+    public ConcurrentHashSet<T> withoutAll(Iterable<? extends T> elements)
+    {
+        this.removeAllIterable(elements);
+        return this;
+    }
+
+    @Override
+    public MutableSet<T> newEmpty()
+    {
+        return ConcurrentHashSet.newSet();
+    }
+
+    @Override
+    public ConcurrentHashSet<T> clone()
+    {
+        return ConcurrentHashSet.newSet(this);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int h = 0;
+        for (Iterator<T> iterator = this.iterator(); iterator.hasNext(); )
+        {
+            h += iterator.next().hashCode();
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (o == this)
+        {
+            return true;
+        }
+        if (!(o instanceof Set))
+        {
+            return false;
+        }
+        Set<?> other = (Set<?>) o;
+        return other.size() == this.size() && this.containsAll(other);
+    }
+
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        int size = in.readInt();
+        int capacity = 1;
+        while (capacity < size)
+        {
+            capacity <<= 1;
+        }
+        this.table = new AtomicReferenceArray(capacity + 1);
+        for (int i = 0; i < size; i++)
+        {
+            this.add((T) in.readObject());
+        }
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException
+    {
+        int size = this.size();
+        out.writeInt(size);
+        int count = 0;
+        for (int i = 0; i < this.table.length() - 1; i++)
+        {
+            Object o = this.table.get(i);
+            if (o == RESIZED || o == RESIZING)
+            {
+                throw new ConcurrentModificationException("Can't serialize while resizing!");
+            }
+            if (o instanceof Node)
+            {
+                for (Node<T> e = (Node<T>) o; e != null; e = e.next)
+                {
+                    count++;
+                    out.writeObject(e.key);
+                }
+            }
+            else if (o != null)
+            {
+                count++;
+                out.writeObject(o);
+            }
+        }
+        if (count != size)
+        {
+            throw new ConcurrentModificationException("Set changed while serializing");
+        }
+    }
+
+    private static final class IteratorState
+    {
+        private AtomicReferenceArray currentTable;
+        private int start;
+        private int end;
+
+        private IteratorState(AtomicReferenceArray currentTable)
+        {
+            this.currentTable = currentTable;
+            this.end = this.currentTable.length() - 1;
+        }
+
+        private IteratorState(AtomicReferenceArray currentTable, int start, int end)
+        {
+            this.currentTable = currentTable;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private final class HashIterator implements Iterator<T>
+    {
+        private List<IteratorState> todo = null;
+        private IteratorState currentState;
+        private T next;
+        private Node<T> nextInBucket;
+        private int index = 0;
+        private T current;
+
+        private HashIterator()
+        {
+            if (!ConcurrentHashSet.this.isEmpty())
+            {
+                this.currentState = new IteratorState(ConcurrentHashSet.this.table);
+                this.findNext();
+            }
+        }
+
+        private void findNext()
+        {
+            while (this.index < this.currentState.end)
+            {
+                Object o = this.currentState.currentTable.get(this.index);
+                if (o == RESIZED || o == RESIZING)
+                {
+                    AtomicReferenceArray nextArray = ConcurrentHashSet.this.helpWithResizeWhileCurrentIndex(this.currentState.currentTable, this.index);
+                    int endResized = this.index + 1;
+                    while (endResized < this.currentState.end)
+                    {
+                        if (this.currentState.currentTable.get(endResized) != RESIZED)
+                        {
+                            break;
+                        }
+                        endResized++;
+                    }
+                    if (this.todo == null)
+                    {
+                        this.todo = new FastList<IteratorState>(4);
+                    }
+                    if (endResized < this.currentState.end)
+                    {
+                        this.todo.add(new IteratorState(this.currentState.currentTable, endResized, this.currentState.end));
+                    }
+                    int powerTwoLength = this.currentState.currentTable.length() - 1;
+                    this.todo.add(new IteratorState(nextArray, this.index + powerTwoLength, endResized + powerTwoLength));
+                    this.currentState.currentTable = nextArray;
+                    this.currentState.end = endResized;
+                    this.currentState.start = this.index;
+                }
+                else if (o instanceof Node)
+                {
+                    Node<T> e = (Node<T>) o;
+                    this.next = e.key;
+                    this.nextInBucket = e.next;
+                    this.index++;
+                    break;
+                }
+                else if (o != null)
+                {
+                    this.next = (T) o;
+                    this.index++;
+                    break;
+                }
+                else
+                {
+                    this.index++;
+                }
+            }
+            if (this.next == null && this.index == this.currentState.end && this.todo != null && !this.todo.isEmpty())
+            {
+                this.currentState = this.todo.remove(this.todo.size() - 1);
+                this.index = this.currentState.start;
+                this.findNext();
+            }
+        }
+
+        public boolean hasNext()
+        {
+            return this.next != null;
+        }
+
+        public T next()
+        {
+            T result = this.next;
+            if (result == null)
+            {
+                throw new NoSuchElementException();
+            }
+            Node<T> e = this.nextInBucket;
+            if (e == null)
+            {
+                this.next = null;
+                this.findNext();
+            }
+            else
+            {
+                this.next = e.key;
+                this.nextInBucket = e.next;
+            }
+            this.current = result;
+            return result;
+        }
+
+        public void remove()
+        {
+            if (this.current == null)
+            {
+                throw new IllegalStateException();
+            }
+            T key = this.current;
+            this.current = null;
+            ConcurrentHashSet.this.remove(key);
+        }
+    }
+
+    private static final class Node<T>
+    {
+        private final T key;
+        private final Node<T> next;
+
+        private Node(T key, Node<T> next)
+        {
+            this.key = key;
+            this.next = next;
+        }
+    }
+
+    private static final class ResizeContainer
+    {
+        private static final int QUEUE_INCREMENT = Math.min(1 << 10, Integer.highestOneBit(Runtime.getRuntime().availableProcessors()) << 4);
+        private final AtomicInteger resizers = new AtomicInteger(1);
+        private final AtomicReferenceArray nextArray;
+        private final AtomicInteger queuePosition;
+
+        private ResizeContainer(AtomicReferenceArray nextArray, int oldSize)
+        {
+            this.nextArray = nextArray;
+            this.queuePosition = new AtomicInteger(oldSize);
+        }
+
+        public void incrementResizer()
+        {
+            this.resizers.incrementAndGet();
+        }
+
+        public void decrementResizerAndNotify()
+        {
+            int remaining = this.resizers.decrementAndGet();
+            if (remaining == 0)
+            {
+                synchronized (this)
+                {
+                    this.notifyAll();
+                }
+            }
+        }
+
+        public int getQueuePosition()
+        {
+            return this.queuePosition.get();
+        }
+
+        public int subtractAndGetQueuePosition()
+        {
+            return this.queuePosition.addAndGet(-QUEUE_INCREMENT);
+        }
+
+        public void waitForAllResizers()
+        {
+            if (this.resizers.get() > 0)
+            {
+                for (int i = 0; i < 16; i++)
+                {
+                    if (this.resizers.get() == 0)
+                    {
+                        break;
+                    }
+                }
+                for (int i = 0; i < 16; i++)
+                {
+                    if (this.resizers.get() == 0)
+                    {
+                        break;
+                    }
+                    Thread.yield();
+                }
+            }
+            if (this.resizers.get() > 0)
+            {
+                synchronized (this)
+                {
+                    while (this.resizers.get() > 0)
+                    {
+                        try
+                        {
+                            this.wait();
+                        }
+                        catch (InterruptedException e)
+                        {
+                            // ignore
+                        }
+                    }
+                }
+            }
+        }
+
+        public boolean isNotDone()
+        {
+            return this.resizers.get() > 0;
+        }
+
+        public void zeroOutQueuePosition()
+        {
+            this.queuePosition.set(0);
+        }
+    }
+}
@@ -0,0 +1,404 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.set.mutable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+
+import com.gs.collections.api.annotation.Beta;
+import com.gs.collections.api.set.Pool;
+import com.gs.collections.impl.map.mutable.ConcurrentHashMap;
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * A thread-safe {@link Pool} for interning values from many threads.  Pools created by {@link #newPool()} keep their
+ * values in a {@link ConcurrentHashMap} from each value to itself, so looking up a pooled value takes no lock and a new
+ * value is added with {@link ConcurrentHashMap#putIfAbsent(Object, Object)}.
+ * <p/>
+ * Pools created by {@link #newWeakPool()} or {@link #newSoftPool()} hold their values through weak or soft references,
+ * so values no longer used anywhere else can be garbage collected.  Cleared references are removed from a stripe the
+ * next time it is written to, which is why these pools are split into independently locked stripes instead, each of
+ * which is a {@link UnifiedSet} with its own reference queue.  Threads interning values that fall in different stripes
+ * never contend.  The stripe is chosen from the high bits of the mixed hashCode, leaving the low bits UnifiedSet
+ * indexes by evenly spread within each stripe.  Reference pools do not pool {@code null}.
+ *
+ * @since 5.1
+ */
+@Beta
+@ThreadSafe
+public final class ConcurrentPool<V> implements Pool<V>
+{
+    private static final int DEFAULT_CONCURRENCY_LEVEL = Runtime.getRuntime().availableProcessors() * 4;
+    private static final int MAXIMUM_STRIPES = 1 << 16;
+    private static final Object NULL_VALUE = new Object();
+
+    private final ConcurrentHashMap<Object, Object> strongValues;
+    private final Stripe[] stripes;
+    private final int stripeShift;
+    private final ReferenceType referenceType;
+
+    private ConcurrentPool(int concurrencyLevel, ReferenceType referenceType)
+    {
+        if (concurrencyLevel <= 0)
+        {
+            throw new IllegalArgumentException("concurrency level must be greater than 0: " + concurrencyLevel);
+        }
+        this.referenceType = referenceType;
+        if (referenceType == ReferenceType.STRONG)
+        {
+            this.strongValues = ConcurrentHashMap.newMap();
+            this.stripes = null;
+            this.stripeShift = 0;
+            return;
+        }
+        int stripeBits = 0;
+        while (1 << stripeBits < concurrencyLevel && 1 << stripeBits < MAXIMUM_STRIPES)
+        {
+            stripeBits++;
+        }
+        this.strongValues = null;
+        this.stripes = new Stripe[1 << stripeBits];
+        for (int i = 0; i < this.stripes.length; i++)
+        {
+            this.stripes[i] = new Stripe();
+        }
+        this.stripeShift = 32 - stripeBits;
+    }
+
+    public static <V> ConcurrentPool<V> newPool()
+    {
+        return new ConcurrentPool<V>(DEFAULT_CONCURRENCY_LEVEL, ReferenceType.STRONG);
+    }
+
+    /**
+     * @param concurrencyLevel the expected number of threads using the pool at the same time; only checked, since a
+     * pool of strong references takes no locks
+     */
+    public static <V> ConcurrentPool<V> newPool(int concurrencyLevel)
+    {
+        return new ConcurrentPool<V>(concurrencyLevel, ReferenceType.STRONG);
+    }
+
+    public static <V> ConcurrentPool<V> newWeakPool()
+    {
+        return new ConcurrentPool<V>(DEFAULT_CONCURRENCY_LEVEL, ReferenceType.WEAK);
+    }
+
+    public static <V> ConcurrentPool<V> newWeakPool(int concurrencyLevel)
+    {
+        return new ConcurrentPool<V>(concurrencyLevel, ReferenceType.WEAK);
+    }
+
+    public static <V> ConcurrentPool<V> newSoftPool()
+    {
+        return new ConcurrentPool<V>(DEFAULT_CONCURRENCY_LEVEL, ReferenceType.SOFT);
+    }
+
+    public static <V> ConcurrentPool<V> newSoftPool(int concurrencyLevel)
+    {
+        return new ConcurrentPool<V>(concurrencyLevel, ReferenceType.SOFT);
+    }
+
+    private Stripe stripeFor(int hash)
+    {
+        // Fibonacci hashing: the top bits of the product depend on all the bits of the hash.  The mask only matters
+        // for a single stripe, where the shift distance of 32 is taken as 0.
+        return this.stripes[hash * 0x9E3779B9 >>> this.stripeShift & this.stripes.length - 1];
+    }
+
+    private static Object toSentinelIfNull(Object key)
+    {
+        return key == null ? NULL_VALUE : key;
+    }
+
+    private static <V> V nonSentinel(Object value)
+    {
+        return value == NULL_VALUE ? null : (V) value;
+    }
+
+    public V get(V key)
+    {
+        if (this.strongValues != null)
+        {
+            return ConcurrentPool.<V>nonSentinel(this.strongValues.get(toSentinelIfNull(key)));
+        }
+        if (key == null)
+        {
+            return null;
+        }
+        int hash = key.hashCode();
+        Stripe stripe = this.stripeFor(hash);
+        synchronized (stripe)
+        {
+            Object pooled = stripe.set.get(new LookupKey(key, hash));
+            return pooled == null ? null : (V) ((Referent) pooled).referent();
+        }
+    }
+
+    public V put(V key)
+    {
+        if (this.strongValues != null)
+        {
+            Object value = toSentinelIfNull(key);
+            Object pooled = this.strongValues.get(value);
+            if (pooled == null)
+            {
+                pooled = this.strongValues.putIfAbsent(value, value);
+                if (pooled == null)
+                {
+                    return key;
+                }
+            }
+            return ConcurrentPool.<V>nonSentinel(pooled);
+        }
+        if (key == null)
+        {
+            return null;
+        }
+        int hash = key.hashCode();
+        Stripe stripe = this.stripeFor(hash);
+        synchronized (stripe)
+        {
+            stripe.expungeStaleEntries();
+            LookupKey lookupKey = new LookupKey(key, hash);
+            Object pooled = stripe.set.get(lookupKey);
+            if (pooled != null)
+            {
+                Object referent = ((Referent) pooled).referent();
+                if (referent != null)
+                {
+                    return (V) referent;
+                }
+                stripe.set.remove(pooled);
+            }
+            stripe.set.add(this.referenceType.newReference(key, hash, stripe.queue));
+            return key;
+        }
+    }
+
+    public V removeFromPool(V key)
+    {
+        if (this.strongValues != null)
+        {
+            return ConcurrentPool.<V>nonSentinel(this.strongValues.remove(toSentinelIfNull(key)));
+        }
+        if (key == null)
+        {
+            return null;
+        }
+        int hash = key.hashCode();
+        Stripe stripe = this.stripeFor(hash);
+        synchronized (stripe)
+        {
+            stripe.expungeStaleEntries();
+            Object pooled = stripe.set.removeFromPool(new LookupKey(key, hash));
+            return pooled == null ? null : (V) ((Referent) pooled).referent();
+        }
+    }
+
+    /**
+     * Returns the number of values in the pool.  A reference pool sums it stripe by stripe, so concurrent updates to
+     * stripes already counted are not reflected.
+     */
+    public int size()
+    {
+        if (this.strongValues != null)
+        {
+            return this.strongValues.size();
+        }
+        int size = 0;
+        for (Stripe stripe : this.stripes)
+        {
+            synchronized (stripe)
+            {
+                stripe.expungeStaleEntries();
+                size += stripe.set.size();
+            }
+        }
+        return size;
+    }
+
+    public void clear()
+    {
+        if (this.strongValues != null)
+        {
+            this.strongValues.clear();
+            return;
+        }
+        for (Stripe stripe : this.stripes)
+        {
+            synchronized (stripe)
+            {
+                stripe.set.clear();
+                stripe.expungeStaleEntries();
+            }
+        }
+    }
+
+    private enum ReferenceType
+    {
+        STRONG
+                {
+                    @Override
+                    Object newReference(Object value, int hash, ReferenceQueue<Object> queue)
+                    {
+                        throw new AssertionError("strong pools store their values in a ConcurrentHashMap");
+                    }
+                },
+        WEAK
+                {
+                    @Override
+                    Object newReference(Object value, int hash, ReferenceQueue<Object> queue)
+                    {
+                        return new WeakEntry(value, hash, queue);
+                    }
+                },
+        SOFT
+                {
+                    @Override
+                    Object newReference(Object value, int hash, ReferenceQueue<Object> queue)
+                    {
+                        return new SoftEntry(value, hash, queue);
+                    }
+                };
+
+        abstract Object newReference(Object value, int hash, ReferenceQueue<Object> queue);
+    }
+
+    private static final class Stripe
+    {
+        private final UnifiedSet<Object> set = UnifiedSet.newSet();
+
+        private final ReferenceQueue<Object> queue = new ReferenceQueue<Object>();
+
+        private void expungeStaleEntries()
+        {
+            Reference<?> reference;
+            while ((reference = this.queue.poll()) != null)
+            {
+                this.set.remove(reference);
+            }
+        }
+    }
+
+    /**
+     * Pool entries in reference pools, and the keys used to look them up, are equal when their referents are equal.
+     * A cleared entry is only equal to itself, which is how it is found again to be expunged.
+     */
+    private interface Referent
+    {
+        Object referent();
+    }
+
+    private static boolean referentsEqual(Referent referent, Object other)
+    {
+        if (!(other instanceof Referent))
+        {
+            return false;
+        }
+        Object value = referent.referent();
+        return value != null && value.equals(((Referent) other).referent());
+    }
+
+    private static final class LookupKey implements Referent
+    {
+        private final Object value;
+        private final int hash;
+
+        private LookupKey(Object value, int hash)
+        {
+            this.value = value;
+            this.hash = hash;
+        }
+
+        public Object referent()
+        {
+            return this.value;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            return this == obj || referentsEqual(this, obj);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.hash;
+        }
+    }
+
+    private static final class WeakEntry extends WeakReference<Object> implements Referent
+    {
+        private final int hash;
+
+        private WeakEntry(Object value, int hash, ReferenceQueue<Object> queue)
+        {
+            super(value, queue);
+            this.hash = hash;
+        }
+
+        public Object referent()
+        {
+            return this.get();
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            return this == obj || referentsEqual(this, obj);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.hash;
+        }
+    }
+
+    private static final class SoftEntry extends SoftReference<Object> implements Referent
+    {
+        private final int hash;
+
+        private SoftEntry(Object value, int hash, ReferenceQueue<Object> queue)
+        {
+            super(value, queue);
+            this.hash = hash;
+        }
+
+        public Object referent()
+        {
+            return this.get();
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            return this == obj || referentsEqual(this, obj);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.hash;
+        }
+    }
+}
@@ -173,6 +173,12 @@ public class UnifiedSet<T>
 
     protected static final int DEFAULT_INITIAL_CAPACITY = 8;
 
+    /**
+     * In a set with sorted chains, a chain that grows to this many elements gets a sorted index; shorter chains are
+     * still scanned linearly, which is faster than a binary search that has to call hashCode on the keys it compares.
+     */
+    protected static final int SORTED_CHAIN_THRESHOLD = 8;
+
     private static final long serialVersionUID = 1L;
 
     protected transient Object[] table;
@@ -183,6 +189,11 @@ public class UnifiedSet<T>
 
     protected int maxSize;
 
+    /**
+     * When set, long collision chains are indexed in sorted order; see {@link #newSetWithSortedChains()}.
+     */
+    protected boolean sortedChains;
+
     public UnifiedSet()
     {
         this.allocate(DEFAULT_INITIAL_CAPACITY << 1);
@@ -214,6 +225,7 @@ public class UnifiedSet<T>
         this.maxSize = set.maxSize;
         this.loadFactor = set.loadFactor;
         this.occupied = set.occupied;
+        this.sortedChains = set.sortedChains;
         this.allocateTable(set.table.length);
 
         for (int i = 0; i < set.table.length; i++)
@@ -266,6 +278,33 @@ public class UnifiedSet<T>
         return new UnifiedSet<K>(size, loadFactor);
     }
 
+    /**
+     * Creates a set which gives every collision chain of {@value #SORTED_CHAIN_THRESHOLD} or more elements an index
+     * sorted by the full hashCode of its elements and then, for elements of the same {@link Comparable} class, by
+     * their natural order.  Lookups in long chains are then a binary search instead of a linear scan, which bounds the
+     * cost of elements whose hashCodes collide heavily.  The chains themselves are unchanged, so iteration, batching
+     * and the externalized form are too; a deserialized set does not keep the mode.
+     *
+     * @since 5.1
+     */
+    @Beta
+    public static <K> UnifiedSet<K> newSetWithSortedChains()
+    {
+        return UnifiedSet.newSetWithSortedChains(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * @see #newSetWithSortedChains()
+     * @since 5.1
+     */
+    @Beta
+    public static <K> UnifiedSet<K> newSetWithSortedChains(int size)
+    {
+        UnifiedSet<K> set = new UnifiedSet<K>(size);
+        set.sortedChains = true;
+        return set;
+    }
+
     public static <K> UnifiedSet<K> newSetWith(K... elements)
     {
         return UnifiedSet.<K>newSet(elements.length).with(elements);
@@ -352,6 +391,10 @@ public class UnifiedSet<T>
         }
         if (cur instanceof ChainedBucket || !this.nonNullTableObjectEquals(cur, key))
         {
+            if (this.sortedChains && this.sortedChainAt(index) != null)
+            {
+                return this.sortedChainPut(key, index) == null;
+            }
             return this.chainedAdd(key, index);
         }
         return false;
@@ -493,6 +536,10 @@ public class UnifiedSet<T>
         {
             return false;
         }
+        if (cur instanceof SortedChainedBucket)
+        {
+            return this.sortedChainIndex((SortedChainedBucket) cur, (T) key) >= 0;
+        }
         if (cur instanceof ChainedBucket)
         {
             return this.chainContains((ChainedBucket) cur, (T) key);
@@ -710,6 +757,10 @@ public class UnifiedSet<T>
 
     public UnifiedSet<T> newEmpty()
     {
+        if (this.sortedChains)
+        {
+            return UnifiedSet.newSetWithSortedChains();
+        }
         return UnifiedSet.newSet();
     }
 
@@ -1559,6 +1610,10 @@ public class UnifiedSet<T>
         {
             return false;
         }
+        if (cur instanceof SortedChainedBucket)
+        {
+            return this.removeFromSortedChain((SortedChainedBucket) cur, (T) key, index) != null;
+        }
         if (cur instanceof ChainedBucket)
         {
             return this.removeFromChain((ChainedBucket) cur, (T) key, index);
@@ -1855,6 +1910,16 @@ public class UnifiedSet<T>
         {
             return;
         }
+        if (cur instanceof SortedChainedBucket)
+        {
+            SortedChainedBucket bucket = (SortedChainedBucket) cur;
+            int i = this.sortedChainIndex(bucket, key);
+            if (i >= 0)
+            {
+                other.add(this.nonSentinel(bucket.sorted[i]));
+            }
+            return;
+        }
         if (cur instanceof ChainedBucket)
         {
             this.addIfFoundFromChain((ChainedBucket) cur, key, other);
@@ -1930,6 +1995,7 @@ public class UnifiedSet<T>
     {
         int retainedSize = Iterate.sizeOf(iterable);
         UnifiedSet<T> retainedCopy = new UnifiedSet<T>(retainedSize, this.loadFactor);
+        retainedCopy.sortedChains = this.sortedChains;
         for (Object key : iterable)
         {
             this.addIfFound((T) key, retainedCopy);
@@ -2088,12 +2154,22 @@ public class UnifiedSet<T>
         protected void removeFromChain()
         {
             ChainedBucket chain = (ChainedBucket) UnifiedSet.this.table[this.position];
-            chain.remove(--this.chainPosition);
+            this.chainPosition--;
+            if (chain instanceof SortedChainedBucket)
+            {
+                ((SortedChainedBucket) chain).unindex(chain.get(this.chainPosition));
+            }
+            chain.remove(this.chainPosition);
             this.lastReturned = false;
         }
 
         protected void removeLastFromChain(ChainedBucket bucket, int tableIndex)
         {
+            if (bucket instanceof SortedChainedBucket)
+            {
+                SortedChainedBucket sortedBucket = (SortedChainedBucket) bucket;
+                sortedBucket.unindex(bucket.get(sortedBucket.sortedSize - 1));
+            }
             bucket.removeLast(0);
             if (bucket.zero == null)
             {
@@ -2143,7 +2219,7 @@ public class UnifiedSet<T>
         }
     }
 
-    private static final class ChainedBucket
+    private static class ChainedBucket
     {
         private Object zero;
         private Object one;
@@ -2154,6 +2230,14 @@ public class UnifiedSet<T>
         {
         }
 
+        private ChainedBucket(ChainedBucket head)
+        {
+            this.zero = head.zero;
+            this.one = head.one;
+            this.two = head.two;
+            this.three = head.three;
+        }
+
         private ChainedBucket(Object first, Object second)
         {
             this.zero = first;
@@ -2198,6 +2282,12 @@ public class UnifiedSet<T>
             do
             {
                 ChainedBucket bucket = (ChainedBucket) oldBucket.three;
+                if (i > 3)
+                {
+                    i -= 3;
+                    oldBucket = bucket;
+                    continue;
+                }
                 switch (i)
                 {
                     case 0:
@@ -2323,6 +2413,93 @@ public class UnifiedSet<T>
             while (true);
         }
 
+        public int size()
+        {
+            ChainedBucket bucket = this;
+            int size = 0;
+            while (bucket.three instanceof ChainedBucket)
+            {
+                bucket = (ChainedBucket) bucket.three;
+                size += 3;
+            }
+            if (bucket.zero == null)
+            {
+                return size;
+            }
+            if (bucket.one == null)
+            {
+                return size + 1;
+            }
+            if (bucket.two == null)
+            {
+                return size + 2;
+            }
+            return bucket.three == null ? size + 3 : size + 4;
+        }
+
+        /**
+         * Removes that very instance, which this chain must contain, and moves the last element of the chain into its
+         * place.
+         */
+        public void removeElement(Object element)
+        {
+            Object last = this.removeLast(-1);
+            if (last == null || last == element)
+            {
+                return;
+            }
+            ChainedBucket bucket = this;
+            while (true)
+            {
+                if (bucket.zero == element)
+                {
+                    bucket.zero = last;
+                    return;
+                }
+                if (bucket.one == element)
+                {
+                    bucket.one = last;
+                    return;
+                }
+                if (bucket.two == element)
+                {
+                    bucket.two = last;
+                    return;
+                }
+                if (bucket.three == element)
+                {
+                    bucket.three = last;
+                    return;
+                }
+                bucket = (ChainedBucket) bucket.three;
+            }
+        }
+
+        public void append(Object element)
+        {
+            ChainedBucket bucket = this;
+            while (bucket.three instanceof ChainedBucket)
+            {
+                bucket = (ChainedBucket) bucket.three;
+            }
+            if (bucket.one == null)
+            {
+                bucket.one = element;
+            }
+            else if (bucket.two == null)
+            {
+                bucket.two = element;
+            }
+            else if (bucket.three == null)
+            {
+                bucket.three = element;
+            }
+            else
+            {
+                bucket.three = new ChainedBucket(bucket.three, element);
+            }
+        }
+
         public ChainedBucket copy()
         {
             ChainedBucket result = new ChainedBucket();
@@ -2347,6 +2524,54 @@ public class UnifiedSet<T>
         }
     }
 
+    /**
+     * The head of a long chain in a set with sorted chains.  The chain itself is unchanged; the head also keeps its
+     * elements in an array sorted by {@link #compareChainElements(Object, Object)}, which every change to the chain
+     * has to keep up to date.
+     */
+    private static final class SortedChainedBucket extends ChainedBucket
+    {
+        private Object[] sorted;
+        private int sortedSize;
+
+        private SortedChainedBucket(ChainedBucket head)
+        {
+            super(head);
+            int chainSize = this.size();
+            this.sorted = new Object[Math.max(SORTED_CHAIN_THRESHOLD, chainSize) << 1];
+            for (int i = 0; i < chainSize; i++)
+            {
+                Object element = this.get(i);
+                this.insert(sortedChainPosition(this.sorted, 0, this.sortedSize, element), element);
+            }
+        }
+
+        private void insert(int position, Object element)
+        {
+            if (this.sortedSize == this.sorted.length)
+            {
+                Object[] newSorted = new Object[this.sortedSize << 1];
+                System.arraycopy(this.sorted, 0, newSorted, 0, this.sortedSize);
+                this.sorted = newSorted;
+            }
+            System.arraycopy(this.sorted, position, this.sorted, position + 1, this.sortedSize - position);
+            this.sorted[position] = element;
+            this.sortedSize++;
+        }
+
+        private void unindex(Object element)
+        {
+            int position = hashRunBound(this.sorted, this.sortedSize, chainHash(element), false);
+            while (this.sorted[position] != element)
+            {
+                position++;
+            }
+            this.sortedSize--;
+            System.arraycopy(this.sorted, position + 1, this.sorted, position, this.sortedSize - position);
+            this.sorted[this.sortedSize] = null;
+        }
+    }
+
     public String makeString()
     {
         return this.makeString(", ");
@@ -2507,6 +2732,12 @@ public class UnifiedSet<T>
         {
             return null;
         }
+        if (cur instanceof SortedChainedBucket)
+        {
+            SortedChainedBucket bucket = (SortedChainedBucket) cur;
+            int i = this.sortedChainIndex(bucket, key);
+            return i >= 0 ? this.nonSentinel(bucket.sorted[i]) : null;
+        }
         if (cur instanceof ChainedBucket)
         {
             return this.chainedGet(key, (ChainedBucket) cur);
@@ -2577,6 +2808,11 @@ public class UnifiedSet<T>
 
         if (cur instanceof ChainedBucket || !this.nonNullTableObjectEquals(cur, key))
         {
+            if (this.sortedChains && this.sortedChainAt(index) != null)
+            {
+                Object existing = this.sortedChainPut(key, index);
+                return existing == null ? key : this.nonSentinel(existing);
+            }
             return this.chainedPut(key, index);
         }
         return this.nonSentinel(cur);
@@ -2663,6 +2899,10 @@ public class UnifiedSet<T>
         {
             return null;
         }
+        if (cur instanceof SortedChainedBucket)
+        {
+            return this.nonSentinel(this.removeFromSortedChain((SortedChainedBucket) cur, key, index));
+        }
         if (cur instanceof ChainedBucket)
         {
             return this.removeFromChainForPool((ChainedBucket) cur, key, index);
@@ -2807,6 +3047,204 @@ public class UnifiedSet<T>
         return cur == key || (cur == NULL_KEY ? key == null : cur.equals(key));
     }
 
+    /**
+     * Returns the sorted head of the chain at {@code index}, first replacing the head of a plain chain that has grown
+     * to {@link #SORTED_CHAIN_THRESHOLD} elements, or null if the chain is still short.
+     */
+    private SortedChainedBucket sortedChainAt(int index)
+    {
+        Object cur = this.table[index];
+        if (cur instanceof SortedChainedBucket)
+        {
+            return (SortedChainedBucket) cur;
+        }
+        if (cur instanceof ChainedBucket && ((ChainedBucket) cur).size() >= SORTED_CHAIN_THRESHOLD)
+        {
+            SortedChainedBucket bucket = new SortedChainedBucket((ChainedBucket) cur);
+            this.table[index] = bucket;
+            return bucket;
+        }
+        return null;
+    }
+
+    /**
+     * Adds the key to the sorted chain at {@code index} unless the chain already holds an equal element, which is
+     * returned instead.  Returns null if the key was added.
+     */
+    private Object sortedChainPut(T key, int index)
+    {
+        SortedChainedBucket bucket = (SortedChainedBucket) this.table[index];
+        int i = this.sortedChainIndex(bucket, key);
+        if (i >= 0)
+        {
+            return bucket.sorted[i];
+        }
+        Object realKey = toSentinelIfNull(key);
+        bucket.insert(~i, realKey);
+        bucket.append(realKey);
+        if (++this.occupied > this.maxSize)
+        {
+            this.rehash();
+        }
+        return null;
+    }
+
+    /**
+     * Removes the element equal to the key from the sorted chain at {@code index} and returns it, as stored, or
+     * returns null if the chain holds no such element.
+     */
+    private Object removeFromSortedChain(SortedChainedBucket bucket, T key, int index)
+    {
+        int i = this.sortedChainIndex(bucket, key);
+        if (i < 0)
+        {
+            return null;
+        }
+        Object removed = bucket.sorted[i];
+        bucket.unindex(removed);
+        ChainedBucket chain = bucket;
+        chain.removeElement(removed);
+        if (chain.zero == null)
+        {
+            this.table[index] = null;
+        }
+        this.occupied--;
+        return removed;
+    }
+
+    /**
+     * Returns the position of the key in the index of a sorted chain or, if the chain does not contain the key, the
+     * bitwise complement of the position at which it belongs.  Equal elements need not be of the same class, so every
+     * element with the same hashCode is tested with equals, unless those elements and the key are all of one
+     * Comparable class, in which case the natural order narrows them down first.
+     */
+    private int sortedChainIndex(SortedChainedBucket bucket, T key)
+    {
+        Object[] sorted = bucket.sorted;
+        Object realKey = toSentinelIfNull(key);
+        int hash = chainHash(realKey);
+        int runStart = hashRunBound(sorted, bucket.sortedSize, hash, false);
+        int runEnd = hashRunBound(sorted, bucket.sortedSize, hash, true);
+        Class<?> keyClass = realKey.getClass();
+        if (realKey instanceof Comparable
+                && runStart < runEnd
+                && sorted[runStart].getClass() == keyClass
+                && sorted[runEnd - 1].getClass() == keyClass)
+        {
+            int i = sortedChainPosition(sorted, runStart, runEnd, realKey);
+            while (i < runEnd && compareChainElements(sorted[i], realKey) == 0)
+            {
+                if (this.nonNullTableObjectEquals(sorted[i], key))
+                {
+                    return i;
+                }
+                i++;
+            }
+            return ~i;
+        }
+        for (int i = runStart; i < runEnd; i++)
+        {
+            if (this.nonNullTableObjectEquals(sorted[i], key))
+            {
+                return i;
+            }
+        }
+        return ~sortedChainPosition(sorted, runStart, runEnd, realKey);
+    }
+
+    private static int chainHash(Object element)
+    {
+        return element == NULL_KEY ? 0 : element.hashCode();
+    }
+
+    /**
+     * Returns the position of the first element with the given hashCode or, if {@code upper}, the position just past
+     * them.
+     */
+    private static int hashRunBound(Object[] sorted, int size, int hash, boolean upper)
+    {
+        int low = 0;
+        int high = size;
+        while (low < high)
+        {
+            int mid = low + high >>> 1;
+            int midHash = chainHash(sorted[mid]);
+            if (midHash < hash || upper && midHash == hash)
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the first position between {@code start} and {@code end} whose element does not sort before
+     * {@code element}.
+     */
+    private static int sortedChainPosition(Object[] sorted, int start, int end, Object element)
+    {
+        int low = start;
+        int high = end;
+        while (low < high)
+        {
+            int mid = low + high >>> 1;
+            if (compareChainElements(sorted[mid], element) < 0)
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * The order of the index of a sorted chain: by hashCode first (0 for null, which sorts first among its equals),
+     * then by class, so that elements of one class are adjacent, then by natural order for {@link Comparable}
+     * elements.  The order only places elements; lookups still test every element with the same hashCode with equals.
+     */
+    private static int compareChainElements(Object one, Object two)
+    {
+        int hash1 = chainHash(one);
+        int hash2 = chainHash(two);
+        if (hash1 != hash2)
+        {
+            return hash1 < hash2 ? -1 : 1;
+        }
+        if (one == NULL_KEY || two == NULL_KEY)
+        {
+            if (one == two)
+            {
+                return 0;
+            }
+            return one == NULL_KEY ? -1 : 1;
+        }
+        Class<?> class1 = one.getClass();
+        Class<?> class2 = two.getClass();
+        if (class1 != class2)
+        {
+            int byName = class1.getName().compareTo(class2.getName());
+            if (byName != 0)
+            {
+                return byName;
+            }
+            int identity1 = System.identityHashCode(class1);
+            int identity2 = System.identityHashCode(class2);
+            return identity1 < identity2 ? -1 : identity1 == identity2 ? 0 : 1;
+        }
+        if (one instanceof Comparable)
+        {
+            return ((Comparable<Object>) one).compareTo(two);
+        }
+        return 0;
+    }
+
     public <K2, V> MutableMap<K2, V> aggregateInPlaceBy(
             Function<? super T, ? extends K2> groupBy,
             Function0<? extends V> zeroValueFactory,
@@ -23,9 +23,13 @@ import java.io.ObjectOutput;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
 
 import com.gs.collections.api.ByteIterable;
 import com.gs.collections.api.LazyByteIterable;
+import com.gs.collections.api.LazyIterable;
+import com.gs.collections.api.ParallelByteIterable;
+import com.gs.collections.api.annotation.Beta;
 import com.gs.collections.api.bag.primitive.MutableByteBag;
 import com.gs.collections.api.block.function.primitive.ByteToObjectFunction;
 import com.gs.collections.api.block.function.primitive.ObjectByteToObjectFunction;
@@ -41,7 +45,11 @@ import com.gs.collections.api.set.primitive.MutableByteSet;
 import com.gs.collections.impl.bag.mutable.primitive.ByteHashBag;
 import com.gs.collections.impl.block.procedure.checked.primitive.CheckedByteProcedure;
 import com.gs.collections.impl.factory.primitive.ByteSets;
+import com.gs.collections.impl.lazy.parallel.primitive.AbstractParallelByteIterable;
+import com.gs.collections.impl.lazy.parallel.primitive.ByteBatch;
+import com.gs.collections.impl.lazy.parallel.primitive.SelectByteBatch;
 import com.gs.collections.impl.lazy.primitive.LazyByteIterableAdapter;
+import com.gs.collections.impl.list.mutable.FastList;
 import com.gs.collections.impl.list.mutable.primitive.ByteArrayList;
 import com.gs.collections.impl.set.immutable.primitive.ImmutableByteSetSerializationProxy;
 import com.gs.collections.impl.set.mutable.UnifiedSet;
@@ -454,6 +462,16 @@ public final class ByteHashSet implements MutableByteSet, Externalizable
         this.bitGroup2 = 0L;
     }
 
+    /**
+     * Provided for symmetry with the other primitive hash sets. The elements are held in four fixed bit groups, so
+     * there is never any spare capacity to release.
+     *
+     * @since 5.1
+     */
+    public void compact()
+    {
+    }
+
     public ByteHashSet with(byte element)
     {
         this.add(element);
@@ -733,6 +751,26 @@ public final class ByteHashSet implements MutableByteSet, Externalizable
         return new LazyByteIterableAdapter(this);
     }
 
+    /**
+     * Since a ByteHashSet holds at most 256 values, it is split into one batch per 64-value bit group and the
+     * batchSize is only validated.
+     *
+     * @since 5.1
+     */
+    @Beta
+    public ParallelByteIterable asParallel(ExecutorService executorService, int batchSize)
+    {
+        if (executorService == null)
+        {
+            throw new NullPointerException();
+        }
+        if (batchSize < 1)
+        {
+            throw new IllegalArgumentException();
+        }
+        return new ByteHashSetParallelIterable(executorService);
+    }
+
     public long sum()
     {
         long result = 0L;
@@ -915,6 +953,103 @@ public final class ByteHashSet implements MutableByteSet, Externalizable
         return result;
     }
 
+    private final class ByteHashSetBatch implements ByteBatch
+    {
+        private final int bitGroupIndex;
+
+        private ByteHashSetBatch(int bitGroupIndex)
+        {
+            this.bitGroupIndex = bitGroupIndex;
+        }
+
+        private long bitGroup()
+        {
+            switch (this.bitGroupIndex)
+            {
+                case 1:
+                    return ByteHashSet.this.bitGroup1;
+                case 2:
+                    return ByteHashSet.this.bitGroup2;
+                case 3:
+                    return ByteHashSet.this.bitGroup3;
+                default:
+                    return ByteHashSet.this.bitGroup4;
+            }
+        }
+
+        private byte valueOf(int bit)
+        {
+            switch (this.bitGroupIndex)
+            {
+                case 1:
+                    return (byte) ((bit + 65) * -1);
+                case 2:
+                    return (byte) ((bit + 1) * -1);
+                case 3:
+                    return (byte) bit;
+                default:
+                    return (byte) (bit + 64);
+            }
+        }
+
+        public void forEach(ByteProcedure procedure)
+        {
+            long bitGroup = this.bitGroup();
+            while (bitGroup != 0L)
+            {
+                int bit = Long.numberOfTrailingZeros(bitGroup);
+                procedure.value(this.valueOf(bit));
+                bitGroup &= ~(1L << bit);
+            }
+        }
+
+        public boolean anySatisfy(BytePredicate predicate)
+        {
+            long bitGroup = this.bitGroup();
+            while (bitGroup != 0L)
+            {
+                int bit = Long.numberOfTrailingZeros(bitGroup);
+                if (predicate.accept(this.valueOf(bit)))
+                {
+                    return true;
+                }
+                bitGroup &= ~(1L << bit);
+            }
+            return false;
+        }
+
+        public ByteBatch select(BytePredicate predicate)
+        {
+            return new SelectByteBatch(this, predicate);
+        }
+    }
+
+    private final class ByteHashSetParallelIterable extends AbstractParallelByteIterable
+    {
+        private final ExecutorService executorService;
+
+        private ByteHashSetParallelIterable(ExecutorService executorService)
+        {
+            this.executorService = executorService;
+        }
+
+        @Override
+        public ExecutorService getExecutorService()
+        {
+            return this.executorService;
+        }
+
+        @Override
+        public LazyIterable<ByteBatch> split()
+        {
+            return FastList.<ByteBatch>newListWith(
+                    new ByteHashSetBatch(1),
+                    new ByteHashSetBatch(2),
+                    new ByteHashSetBatch(3),
+                    new ByteHashSetBatch(4)).asLazy();
+        }
+    }
+
     private static final class ImmutableByteHashSet implements ImmutableByteSet, Serializable
     {
         private static final long serialVersionUID = 1L;
@@ -0,0 +1,873 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.set.sorted.mutable;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.ExecutorService;
+
+import com.gs.collections.api.LazyIterable;
+import com.gs.collections.api.annotation.Beta;
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.function.Function2;
+import com.gs.collections.api.block.function.primitive.BooleanFunction;
+import com.gs.collections.api.block.function.primitive.ByteFunction;
+import com.gs.collections.api.block.function.primitive.CharFunction;
+import com.gs.collections.api.block.function.primitive.DoubleFunction;
+import com.gs.collections.api.block.function.primitive.FloatFunction;
+import com.gs.collections.api.block.function.primitive.IntFunction;
+import com.gs.collections.api.block.function.primitive.LongFunction;
+import com.gs.collections.api.block.function.primitive.ShortFunction;
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.api.block.predicate.Predicate2;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.block.procedure.Procedure2;
+import com.gs.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import com.gs.collections.api.list.MutableList;
+import com.gs.collections.api.list.primitive.MutableBooleanList;
+import com.gs.collections.api.list.primitive.MutableByteList;
+import com.gs.collections.api.list.primitive.MutableCharList;
+import com.gs.collections.api.list.primitive.MutableDoubleList;
+import com.gs.collections.api.list.primitive.MutableFloatList;
+import com.gs.collections.api.list.primitive.MutableIntList;
+import com.gs.collections.api.list.primitive.MutableLongList;
+import com.gs.collections.api.list.primitive.MutableShortList;
+import com.gs.collections.api.map.MutableMap;
+import com.gs.collections.api.partition.set.sorted.PartitionMutableSortedSet;
+import com.gs.collections.api.set.SetIterable;
+import com.gs.collections.api.set.sorted.ImmutableSortedSet;
+import com.gs.collections.api.set.sorted.MutableSortedSet;
+import com.gs.collections.api.set.sorted.ParallelSortedSetIterable;
+import com.gs.collections.api.set.sorted.SortedSetIterable;
+import com.gs.collections.api.stack.MutableStack;
+import com.gs.collections.api.tuple.Pair;
+import com.gs.collections.impl.block.factory.Comparators;
+import com.gs.collections.impl.block.factory.Functions;
+import com.gs.collections.impl.block.procedure.CollectIfProcedure;
+import com.gs.collections.impl.block.procedure.CollectProcedure;
+import com.gs.collections.impl.block.procedure.CollectionAddProcedure;
+import com.gs.collections.impl.block.procedure.FlatCollectProcedure;
+import com.gs.collections.impl.block.procedure.PartitionPredicate2Procedure;
+import com.gs.collections.impl.block.procedure.PartitionProcedure;
+import com.gs.collections.impl.block.procedure.RejectProcedure;
+import com.gs.collections.impl.block.procedure.SelectInstancesOfProcedure;
+import com.gs.collections.impl.block.procedure.SelectProcedure;
+import com.gs.collections.impl.block.procedure.checked.CheckedProcedure;
+import com.gs.collections.impl.block.procedure.primitive.CollectBooleanProcedure;
+import com.gs.collections.impl.block.procedure.primitive.CollectByteProcedure;
+import com.gs.collections.impl.block.procedure.primitive.CollectCharProcedure;
+import com.gs.collections.impl.block.procedure.primitive.CollectDoubleProcedure;
+import com.gs.collections.impl.block.procedure.primitive.CollectFloatProcedure;
+import com.gs.collections.impl.block.procedure.primitive.CollectIntProcedure;
+import com.gs.collections.impl.block.procedure.primitive.CollectLongProcedure;
+import com.gs.collections.impl.block.procedure.primitive.CollectShortProcedure;
+import com.gs.collections.impl.collection.mutable.AbstractMutableCollection;
+import com.gs.collections.impl.factory.SortedSets;
+import com.gs.collections.impl.lazy.AbstractLazyIterable;
+import com.gs.collections.impl.lazy.parallel.AbstractBatch;
+import com.gs.collections.impl.lazy.parallel.list.ListBatch;
+import com.gs.collections.impl.lazy.parallel.set.sorted.AbstractParallelSortedSetIterable;
+import com.gs.collections.impl.lazy.parallel.set.sorted.CollectSortedSetBatch;
+import com.gs.collections.impl.lazy.parallel.set.sorted.RootSortedSetBatch;
+import com.gs.collections.impl.lazy.parallel.set.sorted.SelectSortedSetBatch;
+import com.gs.collections.impl.lazy.parallel.set.sorted.SortedSetBatch;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.list.mutable.primitive.BooleanArrayList;
+import com.gs.collections.impl.list.mutable.primitive.ByteArrayList;
+import com.gs.collections.impl.list.mutable.primitive.CharArrayList;
+import com.gs.collections.impl.list.mutable.primitive.DoubleArrayList;
+import com.gs.collections.impl.list.mutable.primitive.FloatArrayList;
+import com.gs.collections.impl.list.mutable.primitive.IntArrayList;
+import com.gs.collections.impl.list.mutable.primitive.LongArrayList;
+import com.gs.collections.impl.list.mutable.primitive.ShortArrayList;
+import com.gs.collections.impl.map.sorted.mutable.BTreeMap;
+import com.gs.collections.impl.multimap.set.sorted.TreeSortedSetMultimap;
+import com.gs.collections.impl.partition.set.sorted.PartitionTreeSortedSet;
+import com.gs.collections.impl.stack.mutable.ArrayStack;
+import com.gs.collections.impl.utility.ArrayIterate;
+import com.gs.collections.impl.utility.Iterate;
+import com.gs.collections.impl.utility.internal.IterableIterate;
+import com.gs.collections.impl.utility.internal.SetIterables;
+import com.gs.collections.impl.utility.internal.SetIterate;
+import com.gs.collections.impl.utility.internal.SortedSetIterables;
+
+/**
+ * BTreeSortedSet is a MutableSortedSet backed by the keys of a {@link BTreeMap} rather than a
+ * {@link java.util.TreeSet}.  Elements are kept in arrays held by the B-tree's linked leaves, so lookups touch a few
+ * wide nodes, ordered iteration and range views walk arrays instead of following a pointer per element, and creating
+ * it from another sorted set with the same comparator takes linear time.  It serializes in the same form as
+ * {@link TreeSortedSet}.
+ *
+ * @since 5.1
+ */
+@Beta
+public final class BTreeSortedSet<T>
+        extends AbstractMutableCollection<T>
+        implements Externalizable, MutableSortedSet<T>
+{
+    private static final long serialVersionUID = 1L;
+    private SortedSet<T> keys;
+
+    public BTreeSortedSet()
+    {
+        this(new BTreeMap<T, Boolean>());
+    }
+
+    public BTreeSortedSet(Iterable<? extends T> iterable)
+    {
+        this();
+        this.addAllIterable(iterable);
+    }
+
+    public BTreeSortedSet(Comparator<? super T> comparator)
+    {
+        this(new BTreeMap<T, Boolean>(comparator));
+    }
+
+    public BTreeSortedSet(SortedSet<T> set)
+    {
+        this(new BTreeMap<T, Boolean>(set, Boolean.TRUE));
+    }
+
+    private BTreeSortedSet(BTreeMap<T, Boolean> bTree)
+    {
+        this.keys = bTree.keySet(Boolean.TRUE);
+    }
+
+    public BTreeSortedSet(Comparator<? super T> comparator, Iterable<? extends T> iterable)
+    {
+        this(comparator);
+        this.addAllIterable(iterable);
+    }
+
+    public static <T> BTreeSortedSet<T> newSet()
+    {
+        return new BTreeSortedSet<T>();
+    }
+
+    public static <T> BTreeSortedSet<T> newSet(Comparator<? super T> comparator)
+    {
+        return new BTreeSortedSet<T>(comparator);
+    }
+
+    public static <T> BTreeSortedSet<T> newSet(Iterable<? extends T> source)
+    {
+        if (source instanceof SortedSet<?>)
+        {
+            return new BTreeSortedSet<T>((SortedSet<T>) source);
+        }
+        BTreeSortedSet<T> sortedSet = BTreeSortedSet.newSet();
+        Iterate.forEach(source, CollectionAddProcedure.on(sortedSet));
+        return sortedSet;
+    }
+
+    public static <T> BTreeSortedSet<T> newSet(Comparator<? super T> comparator, Iterable<? extends T> iterable)
+    {
+        return new BTreeSortedSet<T>(comparator, iterable);
+    }
+
+    public static <T> BTreeSortedSet<T> newSetWith(T... elements)
+    {
+        return new BTreeSortedSet<T>().with(elements);
+    }
+
+    public static <T> BTreeSortedSet<T> newSetWith(Comparator<? super T> comparator, T... elements)
+    {
+        return new BTreeSortedSet<T>(comparator).with(elements);
+    }
+
+    public MutableSortedSet<T> asUnmodifiable()
+    {
+        return UnmodifiableSortedSet.of(this);
+    }
+
+    public MutableSortedSet<T> asSynchronized()
+    {
+        return SynchronizedSortedSet.of(this);
+    }
+
+    @Beta
+    public ParallelSortedSetIterable<T> asParallel(ExecutorService executorService, int batchSize)
+    {
+        if (executorService == null)
+        {
+            throw new NullPointerException();
+        }
+        if (batchSize < 1)
+        {
+            throw new IllegalArgumentException();
+        }
+        return new TreeSortedSetParallelIterable(executorService, batchSize);
+    }
+
+    public ImmutableSortedSet<T> toImmutable()
+    {
+        return SortedSets.immutable.ofSortedSet(this);
+    }
+
+    public MutableStack<T> toStack()
+    {
+        return ArrayStack.newStack(this);
+    }
+
+    @Override
+    public boolean add(T element)
+    {
+        return this.keys.add(element);
+    }
+
+    @Override
+    public boolean remove(Object element)
+    {
+        return this.keys.remove(element);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> collection)
+    {
+        return this.keys.addAll(collection);
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        return this.keys.contains(o);
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> collection)
+    {
+        return this.keys.containsAll(collection);
+    }
+
+    public void clear()
+    {
+        this.keys.clear();
+    }
+
+    @Override
+    public BTreeSortedSet<T> clone()
+    {
+        try
+        {
+            BTreeSortedSet<T> clone = (BTreeSortedSet<T>) super.clone();
+            clone.keys = new BTreeMap<T, Boolean>(this.keys, Boolean.TRUE).keySet(Boolean.TRUE);
+            return clone;
+        }
+        catch (CloneNotSupportedException e)
+        {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object object)
+    {
+        return this.keys.equals(object);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.keys.hashCode();
+    }
+
+    public BTreeSortedSet<T> with(T element)
+    {
+        this.add(element);
+        return this;
+    }
+
+    public BTreeSortedSet<T> with(T element1, T element2)
+    {
+        this.add(element1);
+        this.add(element2);
+        return this;
+    }
+
+    public BTreeSortedSet<T> with(T element1, T element2, T element3)
+    {
+        this.add(element1);
+        this.add(element2);
+        this.add(element3);
+        return this;
+    }
+
+    public BTreeSortedSet<T> with(T... elements)
+    {
+        ArrayIterate.forEach(elements, CollectionAddProcedure.on(this));
+        return this;
+    }
+
+    public BTreeSortedSet<T> without(T element)
+    {
+        this.remove(element);
+        return this;
+    }
+
+    public BTreeSortedSet<T> withAll(Iterable<? extends T> elements)
+    {
+        this.addAllIterable(elements);
+        return this;
+    }
+
+    public BTreeSortedSet<T> withoutAll(Iterable<? extends T> elements)
+    {
+        this.removeAllIterable(elements);
+        return this;
+    }
+
+    public BTreeSortedSet<T> newEmpty()
+    {
+        return BTreeSortedSet.newSet(this.keys.comparator());
+    }
+
+    public void forEach(Procedure<? super T> procedure)
+    {
+        IterableIterate.forEach(this, procedure);
+    }
+
+    public BTreeSortedSet<T> select(Predicate<? super T> predicate)
+    {
+        BTreeSortedSet<T> result = this.newEmpty();
+        this.forEach(new SelectProcedure<T>(predicate, result));
+        return result;
+    }
+
+    public BTreeSortedSet<T> reject(Predicate<? super T> predicate)
+    {
+        BTreeSortedSet<T> result = this.newEmpty();
+        this.forEach(new RejectProcedure<T>(predicate, result));
+        return result;
+    }
+
+    public PartitionMutableSortedSet<T> partition(Predicate<? super T> predicate)
+    {
+        PartitionTreeSortedSet<T> partitionTreeSortedSet = new PartitionTreeSortedSet<T>(this.comparator());
+        this.forEach(new PartitionProcedure<T>(predicate, partitionTreeSortedSet));
+        return partitionTreeSortedSet;
+    }
+
+    public <P> PartitionMutableSortedSet<T> partitionWith(Predicate2<? super T, ? super P> predicate, P parameter)
+    {
+        PartitionTreeSortedSet<T> partitionTreeSortedSet = new PartitionTreeSortedSet<T>(this.comparator());
+        this.forEach(new PartitionPredicate2Procedure<T, P>(predicate, parameter, partitionTreeSortedSet));
+        return partitionTreeSortedSet;
+    }
+
+    public PartitionMutableSortedSet<T> partitionWhile(Predicate<? super T> predicate)
+    {
+        PartitionTreeSortedSet<T> result = new PartitionTreeSortedSet<T>(this.comparator());
+        return IterableIterate.partitionWhile(this, predicate, result);
+    }
+
+    public <S> BTreeSortedSet<S> selectInstancesOf(Class<S> clazz)
+    {
+        BTreeSortedSet<S> result = (BTreeSortedSet<S>) this.newEmpty();
+        this.forEach(new SelectInstancesOfProcedure<S>(clazz, result));
+        return result;
+    }
+
+    public <V> MutableList<V> collect(Function<? super T, ? extends V> function)
+    {
+        MutableList<V> result = FastList.newList();
+        this.forEach(new CollectProcedure<T, V>(function, result));
+        return result;
+    }
+
+    public MutableBooleanList collectBoolean(BooleanFunction<? super T> booleanFunction)
+    {
+        BooleanArrayList result = new BooleanArrayList(this.size());
+        this.forEach(new CollectBooleanProcedure<T>(booleanFunction, result));
+        return result;
+    }
+
+    public MutableByteList collectByte(ByteFunction<? super T> byteFunction)
+    {
+        ByteArrayList result = new ByteArrayList(this.size());
+        this.forEach(new CollectByteProcedure<T>(byteFunction, result));
+        return result;
+    }
+
+    public MutableCharList collectChar(CharFunction<? super T> charFunction)
+    {
+        CharArrayList result = new CharArrayList(this.size());
+        this.forEach(new CollectCharProcedure<T>(charFunction, result));
+        return result;
+    }
+
+    public MutableDoubleList collectDouble(DoubleFunction<? super T> doubleFunction)
+    {
+        DoubleArrayList result = new DoubleArrayList(this.size());
+        this.forEach(new CollectDoubleProcedure<T>(doubleFunction, result));
+        return result;
+    }
+
+    public MutableFloatList collectFloat(FloatFunction<? super T> floatFunction)
+    {
+        FloatArrayList result = new FloatArrayList(this.size());
+        this.forEach(new CollectFloatProcedure<T>(floatFunction, result));
+        return result;
+    }
+
+    public MutableIntList collectInt(IntFunction<? super T> intFunction)
+    {
+        IntArrayList result = new IntArrayList(this.size());
+        this.forEach(new CollectIntProcedure<T>(intFunction, result));
+        return result;
+    }
+
+    public MutableLongList collectLong(LongFunction<? super T> longFunction)
+    {
+        LongArrayList result = new LongArrayList(this.size());
+        this.forEach(new CollectLongProcedure<T>(longFunction, result));
+        return result;
+    }
+
+    public MutableShortList collectShort(ShortFunction<? super T> shortFunction)
+    {
+        ShortArrayList result = new ShortArrayList(this.size());
+        this.forEach(new CollectShortProcedure<T>(shortFunction, result));
+        return result;
+    }
+
+    public <V> MutableList<V> flatCollect(Function<? super T, ? extends Iterable<V>> function)
+    {
+        MutableList<V> result = FastList.newList();
+        this.forEach(new FlatCollectProcedure<T, V>(function, result));
+        return result;
+    }
+
+    public <V> MutableList<V> collectIf(
+            Predicate<? super T> predicate,
+            Function<? super T, ? extends V> function)
+    {
+        MutableList<V> result = FastList.newList();
+        this.forEach(new CollectIfProcedure<T, V>(result, function, predicate));
+        return result;
+    }
+
+    public <V> TreeSortedSetMultimap<V, T> groupBy(Function<? super T, ? extends V> function)
+    {
+        return Iterate.groupBy(this.keys, function, TreeSortedSetMultimap.<V, T>newMultimap(this.comparator()));
+    }
+
+    public <V> TreeSortedSetMultimap<V, T> groupByEach(Function<? super T, ? extends Iterable<V>> function)
+    {
+        return Iterate.groupByEach(this.keys, function, TreeSortedSetMultimap.<V, T>newMultimap(this.comparator()));
+    }
+
+    public <V> MutableMap<V, T> groupByUniqueKey(Function<? super T, ? extends V> function)
+    {
+        throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".groupByUniqueKey() not implemented yet");
+    }
+
+    public <P> BTreeSortedSet<T> selectWith(Predicate2<? super T, ? super P> predicate, P parameter)
+    {
+        return Iterate.selectWith(this.keys, predicate, parameter, this.newEmpty());
+    }
+
+    public <P> BTreeSortedSet<T> rejectWith(Predicate2<? super T, ? super P> predicate, P parameter)
+    {
+        return Iterate.rejectWith(this.keys, predicate, parameter, this.newEmpty());
+    }
+
+    public <P, V> MutableList<V> collectWith(Function2<? super T, ? super P, ? extends V> function, P parameter)
+    {
+        return Iterate.collectWith(this.keys, function, parameter, FastList.<V>newList());
+    }
+
+    public <S> MutableList<Pair<T, S>> zip(Iterable<S> that)
+    {
+        return Iterate.zip(this, that, FastList.<Pair<T, S>>newList());
+    }
+
+    public BTreeSortedSet<Pair<T, Integer>> zipWithIndex()
+    {
+        Comparator<? super T> comparator = this.comparator();
+        if (comparator == null)
+        {
+            BTreeSortedSet<Pair<T, Integer>> pairs = BTreeSortedSet.newSet(Comparators.<Pair<T, Integer>, T>byFunction(Functions.<T>firstOfPair(), Comparators.<T>naturalOrder()));
+            return Iterate.zipWithIndex(this, pairs);
+        }
+        return Iterate.zipWithIndex(this, BTreeSortedSet.<Pair<T, Integer>>newSet(Comparators.byFirstOfPair(comparator)));
+    }
+
+    public MutableSortedSet<T> takeWhile(Predicate<? super T> predicate)
+    {
+        MutableSortedSet<T> result = BTreeSortedSet.newSet(this.comparator());
+        return IterableIterate.takeWhile(this, predicate, result);
+    }
+
+    public MutableSortedSet<T> dropWhile(Predicate<? super T> predicate)
+    {
+        MutableSortedSet<T> result = BTreeSortedSet.newSet(this.comparator());
+        return IterableIterate.dropWhile(this, predicate, result);
+    }
+
+    public MutableSortedSet<T> distinct()
+    {
+        return BTreeSortedSet.newSet(this);
+    }
+
+    @Override
+    public boolean removeAllIterable(Iterable<?> iterable)
+    {
+        return SetIterate.removeAllIterable(this.keys, iterable);
+    }
+
+    public Comparator<? super T> comparator()
+    {
+        return this.keys.comparator();
+    }
+
+    public MutableSortedSet<T> subSet(T fromElement, T toElement)
+    {
+        return SortedSetAdapter.adapt(this.keys.subSet(fromElement, toElement));
+    }
+
+    public MutableSortedSet<T> headSet(T toElement)
+    {
+        return SortedSetAdapter.adapt(this.keys.headSet(toElement));
+    }
+
+    public MutableSortedSet<T> tailSet(T fromElement)
+    {
+        return SortedSetAdapter.adapt(this.keys.tailSet(fromElement));
+    }
+
+    public T first()
+    {
+        return this.keys.first();
+    }
+
+    public T last()
+    {
+        return this.keys.last();
+    }
+
+    public T getFirst()
+    {
+        return this.first();
+    }
+
+    public T getLast()
+    {
+        return this.last();
+    }
+
+    public MutableSortedSet<SortedSetIterable<T>> powerSet()
+    {
+        return (MutableSortedSet<SortedSetIterable<T>>) (MutableSortedSet<?>) SortedSetIterables.powerSet(this);
+    }
+
+    public <B> LazyIterable<Pair<T, B>> cartesianProduct(SetIterable<B> set)
+    {
+        return SetIterables.cartesianProduct(this, set);
+    }
+
+    public BTreeSortedSet<T> union(SetIterable<? extends T> set)
+    {
+        return SetIterables.unionInto(this, set, this.newEmpty());
+    }
+
+    public BTreeSortedSet<T> intersect(SetIterable<? extends T> set)
+    {
+        return SetIterables.intersectInto(this, set, this.newEmpty());
+    }
+
+    public BTreeSortedSet<T> difference(SetIterable<? extends T> subtrahendSet)
+    {
+        return SetIterables.differenceInto(this, subtrahendSet, this.newEmpty());
+    }
+
+    public MutableSortedSet<T> symmetricDifference(SetIterable<? extends T> setB)
+    {
+        return SetIterables.symmetricDifferenceInto(this, setB, this.newEmpty());
+    }
+
+    public <R extends Set<T>> R unionInto(SetIterable<? extends T> set, R targetSet)
+    {
+        return SetIterables.unionInto(this, set, targetSet);
+    }
+
+    public <R extends Set<T>> R intersectInto(SetIterable<? extends T> set, R targetSet)
+    {
+        return SetIterables.intersectInto(this, set, targetSet);
+    }
+
+    public <R extends Set<T>> R differenceInto(SetIterable<? extends T> subtrahendSet, R targetSet)
+    {
+        return SetIterables.differenceInto(this, subtrahendSet, targetSet);
+    }
+
+    public <R extends Set<T>> R symmetricDifferenceInto(SetIterable<? extends T> set, R targetSet)
+    {
+        return SetIterables.symmetricDifferenceInto(this, set, targetSet);
+    }
+
+    public boolean isSubsetOf(SetIterable<? extends T> candidateSuperset)
+    {
+        return SetIterables.isSubsetOf(this, candidateSuperset);
+    }
+
+    public boolean isProperSubsetOf(SetIterable<? extends T> candidateSuperset)
+    {
+        return SetIterables.isProperSubsetOf(this, candidateSuperset);
+    }
+
+    public Iterator<T> iterator()
+    {
+        return this.keys.iterator();
+    }
+
+    public int size()
+    {
+        return this.keys.size();
+    }
+
+    public void writeExternal(final ObjectOutput out) throws IOException
+    {
+        out.writeObject(this.comparator());
+        out.writeInt(this.size());
+        this.forEach(new CheckedProcedure<T>()
+        {
+            @Override
+            public void safeValue(T each) throws Exception
+            {
+                out.writeObject(each);
+            }
+        });
+    }
+
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        this.keys = new BTreeMap<T, Boolean>((Comparator<T>) in.readObject()).keySet(Boolean.TRUE);
+        int size = in.readInt();
+        for (int i = 0; i < size; i++)
+        {
+            this.add((T) in.readObject());
+        }
+    }
+
+    public int compareTo(SortedSetIterable<T> otherSet)
+    {
+        return SortedSetIterables.compare(this, otherSet);
+    }
+
+    private final class TreeSortedSetBatch extends AbstractBatch<T> implements RootSortedSetBatch<T>
+    {
+        private final SortedSet<T> chunk;
+
+        private TreeSortedSetBatch(SortedSet<T> chunk)
+        {
+            this.chunk = chunk;
+        }
+
+        public void forEach(Procedure<? super T> procedure)
+        {
+            for (T each : this.chunk)
+            {
+                procedure.value(each);
+            }
+        }
+
+        public boolean anySatisfy(Predicate<? super T> predicate)
+        {
+            for (T each : this.chunk)
+            {
+                if (predicate.accept(each))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public boolean allSatisfy(Predicate<? super T> predicate)
+        {
+            for (T each : this.chunk)
+            {
+                if (!predicate.accept(each))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public T detect(Predicate<? super T> predicate)
+        {
+            for (T each : this.chunk)
+            {
+                if (predicate.accept(each))
+                {
+                    return each;
+                }
+            }
+            return null;
+        }
+
+        public SortedSetBatch<T> select(Predicate<? super T> predicate)
+        {
+            return new SelectSortedSetBatch<T>(this, predicate);
+        }
+
+        public <V> ListBatch<V> collect(Function<? super T, ? extends V> function)
+        {
+            return new CollectSortedSetBatch<T, V>(this, function);
+        }
+    }
+
+    private final class TreeSortedSetParallelIterable extends AbstractParallelSortedSetIterable<T, RootSortedSetBatch<T>>
+    {
+        private final ExecutorService executorService;
+        private final int batchSize;
+
+        private TreeSortedSetParallelIterable(ExecutorService executorService, int batchSize)
+        {
+            this.executorService = executorService;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public Comparator<? super T> comparator()
+        {
+            return BTreeSortedSet.this.comparator();
+        }
+
+        @Override
+        public ExecutorService getExecutorService()
+        {
+            return this.executorService;
+        }
+
+        @Override
+        public LazyIterable<RootSortedSetBatch<T>> split()
+        {
+            return new TreeSortedSetParallelBatchLazyIterable();
+        }
+
+        public void forEach(Procedure<? super T> procedure)
+        {
+            forEach(this, procedure);
+        }
+
+        public boolean anySatisfy(Predicate<? super T> predicate)
+        {
+            return anySatisfy(this, predicate);
+        }
+
+        public boolean allSatisfy(Predicate<? super T> predicate)
+        {
+            return allSatisfy(this, predicate);
+        }
+
+        public T detect(Predicate<? super T> predicate)
+        {
+            return detect(this, predicate);
+        }
+
+        /**
+         * Walks the tree once to find the first element of each batch. Each batch is a subSet view between two
+         * consecutive boundaries, so batches can be handed to the executor while the walk is still in progress.
+         */
+        private class TreeSortedSetParallelBatchIterator implements Iterator<RootSortedSetBatch<T>>
+        {
+            private final Iterator<T> iterator = BTreeSortedSet.this.keys.iterator();
+            private T chunkStart;
+            private boolean hasChunkStart;
+
+            private TreeSortedSetParallelBatchIterator()
+            {
+                this.advanceChunkStart();
+            }
+
+            private void advanceChunkStart()
+            {
+                this.hasChunkStart = this.iterator.hasNext();
+                this.chunkStart = this.hasChunkStart ? this.iterator.next() : null;
+            }
+
+            public boolean hasNext()
+            {
+                return this.hasChunkStart;
+            }
+
+            public RootSortedSetBatch<T> next()
+            {
+                if (!this.hasChunkStart)
+                {
+                    throw new NoSuchElementException();
+                }
+                T currentChunkStart = this.chunkStart;
+                for (int i = 1; i < TreeSortedSetParallelIterable.this.batchSize && this.iterator.hasNext(); i++)
+                {
+                    this.iterator.next();
+                }
+                this.advanceChunkStart();
+                SortedSet<T> chunk = this.hasChunkStart
+                        ? BTreeSortedSet.this.keys.subSet(currentChunkStart, this.chunkStart)
+                        : BTreeSortedSet.this.keys.tailSet(currentChunkStart);
+                return new TreeSortedSetBatch(chunk);
+            }
+
+            public void remove()
+            {
+                throw new UnsupportedOperationException("Cannot call remove() on " + this.getClass().getSimpleName());
+            }
+        }
+
+        private class TreeSortedSetParallelBatchLazyIterable
+                extends AbstractLazyIterable<RootSortedSetBatch<T>>
+        {
+            public void forEach(Procedure<? super RootSortedSetBatch<T>> procedure)
+            {
+                for (RootSortedSetBatch<T> chunk : this)
+                {
+                    procedure.value(chunk);
+                }
+            }
+
+            public <P> void forEachWith(Procedure2<? super RootSortedSetBatch<T>, ? super P> procedure, P parameter)
+            {
+                for (RootSortedSetBatch<T> chunk : this)
+                {
+                    procedure.value(chunk, parameter);
+                }
+            }
+
+            public void forEachWithIndex(ObjectIntProcedure<? super RootSortedSetBatch<T>> objectIntProcedure)
+            {
+                throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".forEachWithIndex() not implemented yet");
+            }
+
+            public Iterator<RootSortedSetBatch<T>> iterator()
+            {
+                return new TreeSortedSetParallelBatchIterator();
+            }
+        }
+    }
+}
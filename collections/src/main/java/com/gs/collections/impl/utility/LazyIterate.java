@@ -16,6 +16,9 @@
 
 package com.gs.collections.impl.utility;
 
+import java.util.List;
+import java.util.RandomAccess;
+
 import com.gs.collections.api.LazyIterable;
 import com.gs.collections.api.RichIterable;
 import com.gs.collections.api.block.function.Function;
@@ -29,6 +32,7 @@ import com.gs.collections.impl.lazy.DistinctIterable;
 import com.gs.collections.impl.lazy.DropIterable;
 import com.gs.collections.impl.lazy.FlatCollectIterable;
 import com.gs.collections.impl.lazy.LazyIterableAdapter;
+import com.gs.collections.impl.lazy.ListRangeIterable;
 import com.gs.collections.impl.lazy.RejectIterable;
 import com.gs.collections.impl.lazy.SelectInstancesOfIterable;
 import com.gs.collections.impl.lazy.SelectIterable;
@@ -118,6 +122,10 @@ public final class LazyIterate
      */
     public static <T> LazyIterable<T> take(Iterable<T> iterable, int count)
     {
+        if (iterable instanceof List && iterable instanceof RandomAccess)
+        {
+            return new ListRangeIterable<T>((List<T>) iterable, 0, count);
+        }
         return new TakeIterable<T>(iterable, count);
     }
 
@@ -126,6 +134,10 @@ public final class LazyIterate
      */
     public static <T> LazyIterable<T> drop(Iterable<T> iterable, int count)
     {
+        if (iterable instanceof List && iterable instanceof RandomAccess)
+        {
+            return new ListRangeIterable<T>((List<T>) iterable, count, Integer.MAX_VALUE);
+        }
         return new DropIterable<T>(iterable, count);
     }
 
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.utility.primitive;
+
+import java.nio.ByteBuffer;
+
+import com.gs.collections.api.annotation.Beta;
+
+/**
+ * The ways the primitive binary codecs, such as {@link IntBinaryCodec}, may lay out a column of elements. The code of
+ * each constant is recorded in the encoded header, so constants may be added but never renumbered.
+ *
+ * @since 5.1
+ */
+@Beta
+public enum BinaryEncoding
+{
+    /**
+     * Fixed width elements in the byte order of the target buffer, copied in bulk.
+     */
+    RAW((byte) 0),
+
+    /**
+     * Zig-zag varints, so that values of small magnitude take one or two bytes. Not available for float and double.
+     */
+    VARINT((byte) 1),
+
+    /**
+     * Zig-zag varints of the difference between each element and the one before it, which suits sorted or slowly
+     * changing sequences such as ids and timestamps. Not available for float and double.
+     */
+    DELTA_VARINT((byte) 2);
+
+    static final int MAX_VARLONG_BYTES = 10;
+
+    private final byte code;
+
+    BinaryEncoding(byte code)
+    {
+        this.code = code;
+    }
+
+    byte getCode()
+    {
+        return this.code;
+    }
+
+    static BinaryEncoding fromCode(byte code)
+    {
+        for (BinaryEncoding encoding : BinaryEncoding.values())
+        {
+            if (encoding.code == code)
+            {
+                return encoding;
+            }
+        }
+        throw new IllegalArgumentException("Unknown binary encoding: " + code);
+    }
+
+    static long zigZag(long value)
+    {
+        return value << 1 ^ value >> 63;
+    }
+
+    static long unZigZag(long value)
+    {
+        return value >>> 1 ^ -(value & 1L);
+    }
+
+    static int varLongSize(long value)
+    {
+        int size = 1;
+        long remaining = value >>> 7;
+        while (remaining != 0L)
+        {
+            size++;
+            remaining >>>= 7;
+        }
+        return size;
+    }
+
+    static void putVarLong(ByteBuffer buffer, long value)
+    {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0L)
+        {
+            buffer.put((byte) (remaining & 0x7FL | 0x80L));
+            remaining >>>= 7;
+        }
+        buffer.put((byte) remaining);
+    }
+
+    static long getVarLong(ByteBuffer buffer)
+    {
+        long value = 0L;
+        for (int shift = 0; shift < 64; shift += 7)
+        {
+            byte next = buffer.get();
+            value |= (long) (next & 0x7F) << shift;
+            if (next >= 0)
+            {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.utility.primitive;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * The header shared by the primitive binary codecs, and the channel plumbing they use.
+ * <p>
+ * Layout, version 1: magic "GSCB" (4 bytes, big-endian), version (1), flags (1), key type (1), key encoding (1),
+ * value type (1), value encoding (1), element count (4), then the key column followed by the value column, if any.
+ * Flag {@link #LITTLE_ENDIAN} gives the byte order of the fields after the flags and of the elements, and flag
+ * {@link #SORTED_KEYS} marks a key column holding distinct elements in ascending order.
+ */
+final class BinaryFormat
+{
+    static final int MAGIC = 0x47534342;
+    static final byte VERSION = 1;
+    static final int HEADER_BYTES = 14;
+    static final byte NO_TYPE = 0;
+    static final byte LITTLE_ENDIAN = 1;
+    static final byte SORTED_KEYS = 2;
+
+    private static final int CHUNK_BYTES = 1 << 16;
+    private static final int SEGMENT_BYTES = 1 << 30;
+
+    private BinaryFormat()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    static void checkEncoding(BinaryEncoding encoding, boolean floatingPoint)
+    {
+        if (encoding == null)
+        {
+            throw new NullPointerException("encoding");
+        }
+        if (floatingPoint && encoding != BinaryEncoding.RAW)
+        {
+            throw new IllegalArgumentException(encoding + " is not supported for floating point values");
+        }
+    }
+
+    static void writeHeader(
+            ByteBuffer buffer,
+            byte keyType,
+            BinaryEncoding keyEncoding,
+            byte valueType,
+            BinaryEncoding valueEncoding,
+            int size,
+            boolean sortedKeys)
+    {
+        if (buffer.remaining() < HEADER_BYTES)
+        {
+            throw new BufferOverflowException();
+        }
+        ByteOrder order = buffer.order();
+        buffer.order(ByteOrder.BIG_ENDIAN).putInt(MAGIC);
+        buffer.order(order);
+        buffer.put(VERSION);
+        int flags = order == ByteOrder.BIG_ENDIAN ? 0 : LITTLE_ENDIAN;
+        buffer.put((byte) (sortedKeys ? flags | SORTED_KEYS : flags));
+        buffer.put(keyType);
+        buffer.put(keyEncoding.getCode());
+        buffer.put(valueType);
+        buffer.put(valueEncoding.getCode());
+        buffer.putInt(size);
+    }
+
+    /**
+     * Reads and validates a header, leaving {@code buffer} in the byte order the data was written in.
+     */
+    static Header readHeader(ByteBuffer buffer, byte keyType, byte valueType)
+    {
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        int magic = buffer.getInt();
+        if (magic != MAGIC)
+        {
+            throw new IllegalArgumentException("Not a binary codec stream, magic was 0x" + Integer.toHexString(magic));
+        }
+        byte version = buffer.get();
+        if (version != VERSION)
+        {
+            throw new IllegalArgumentException("Unsupported binary codec version: " + version);
+        }
+        byte flags = buffer.get();
+        buffer.order((flags & LITTLE_ENDIAN) == 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+        BinaryFormat.checkType(keyType, buffer.get());
+        BinaryEncoding keyEncoding = BinaryEncoding.fromCode(buffer.get());
+        BinaryFormat.checkType(valueType, buffer.get());
+        BinaryEncoding valueEncoding = BinaryEncoding.fromCode(buffer.get());
+        int size = buffer.getInt();
+        if (size < 0)
+        {
+            throw new IllegalArgumentException("Negative element count: " + size);
+        }
+        return new Header(buffer.order(), keyEncoding, valueEncoding, size, (flags & SORTED_KEYS) != 0);
+    }
+
+    private static void checkType(byte expected, byte actual)
+    {
+        if (expected != actual)
+        {
+            throw new IllegalArgumentException("Expected element type " + expected + " but was " + actual);
+        }
+    }
+
+    static ByteBuffer newChunk()
+    {
+        return ByteBuffer.allocateDirect(CHUNK_BYTES).order(ByteOrder.nativeOrder());
+    }
+
+    static void flush(ByteBuffer chunk, WritableByteChannel channel) throws IOException
+    {
+        chunk.flip();
+        while (chunk.hasRemaining())
+        {
+            channel.write(chunk);
+        }
+        chunk.clear();
+    }
+
+    /**
+     * Maps the channel from {@code position} to its end, or to at most 1GB past {@code position}. Encoded columns of
+     * unknown length are read through a succession of such windows.
+     */
+    static ByteBuffer mapWindow(FileChannel channel, long position, ByteOrder order) throws IOException
+    {
+        long length = Math.min(channel.size() - position, SEGMENT_BYTES);
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, length).order(order);
+    }
+
+    /**
+     * Reads the header at the channel's current position through a mapping of just the header, and leaves the channel
+     * positioned after it.
+     */
+    static Header readHeader(FileChannel channel, byte keyType, byte valueType) throws IOException
+    {
+        long position = channel.position();
+        if (channel.size() - position < HEADER_BYTES)
+        {
+            throw new BufferUnderflowException();
+        }
+        Header header = BinaryFormat.readHeader(channel.map(FileChannel.MapMode.READ_ONLY, position, HEADER_BYTES), keyType, valueType);
+        channel.position(position + HEADER_BYTES);
+        return header;
+    }
+
+    /**
+     * Reads the header like {@link #readHeader(FileChannel, byte, byte)}, checking that its columns can be mapped by
+     * {@link #mapColumn(FileChannel, Header, int)}.
+     */
+    static Header mapHeader(FileChannel channel, byte keyType, byte valueType, boolean sortedKeys) throws IOException
+    {
+        Header header = BinaryFormat.readHeader(channel, keyType, valueType);
+        if (header.getKeyEncoding() != BinaryEncoding.RAW || header.getValueEncoding() != BinaryEncoding.RAW)
+        {
+            throw new IllegalArgumentException("Only RAW columns can be mapped, but was " + header.getKeyEncoding() + '/' + header.getValueEncoding());
+        }
+        if (sortedKeys && !header.isSortedKeys())
+        {
+            throw new IllegalArgumentException("Column is not marked as sorted");
+        }
+        return header;
+    }
+
+    /**
+     * Maps the raw column of {@code elementBytes} wide elements at the channel's current position, and leaves the
+     * channel positioned after it. The column is mapped in segments of 1GB, the last one possibly shorter, since a
+     * single buffer can address only 2GB. Nothing is read, so the column is paged in as it is used.
+     */
+    static ByteBuffer[] mapColumn(FileChannel channel, Header header, int elementBytes) throws IOException
+    {
+        long length = (long) header.getSize() * elementBytes;
+        long position = channel.position();
+        if (channel.size() - position < length)
+        {
+            throw new BufferUnderflowException();
+        }
+        ByteBuffer[] segments = new ByteBuffer[(int) ((length + SEGMENT_BYTES - 1) / SEGMENT_BYTES)];
+        for (int i = 0; i < segments.length; i++)
+        {
+            long segmentPosition = position + (long) i * SEGMENT_BYTES;
+            long segmentLength = Math.min(length - (long) i * SEGMENT_BYTES, SEGMENT_BYTES);
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, segmentPosition, segmentLength).order(header.getOrder());
+        }
+        channel.position(position + length);
+        return segments;
+    }
+
+    static final class Header
+    {
+        private final ByteOrder order;
+        private final BinaryEncoding keyEncoding;
+        private final BinaryEncoding valueEncoding;
+        private final int size;
+        private final boolean sortedKeys;
+
+        private Header(ByteOrder order, BinaryEncoding keyEncoding, BinaryEncoding valueEncoding, int size, boolean sortedKeys)
+        {
+            this.order = order;
+            this.keyEncoding = keyEncoding;
+            this.valueEncoding = valueEncoding;
+            this.size = size;
+            this.sortedKeys = sortedKeys;
+        }
+
+        ByteOrder getOrder()
+        {
+            return this.order;
+        }
+
+        BinaryEncoding getKeyEncoding()
+        {
+            return this.keyEncoding;
+        }
+
+        BinaryEncoding getValueEncoding()
+        {
+            return this.valueEncoding;
+        }
+
+        int getSize()
+        {
+            return this.size;
+        }
+
+        boolean isSortedKeys()
+        {
+            return this.sortedKeys;
+        }
+    }
+}
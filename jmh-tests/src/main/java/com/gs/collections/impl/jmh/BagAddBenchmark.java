@@ -0,0 +1,91 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.jmh;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.gs.collections.impl.bag.mutable.HashBag;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class BagAddBenchmark
+{
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"10", "1000"})
+    public int distinct;
+
+    private Integer[] elements;
+
+    @Setup
+    public void setUp()
+    {
+        this.elements = BenchmarkData.integersWithDuplicates(this.size, this.distinct);
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> jdkHashMapMerge()
+    {
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (Integer each : this.elements)
+        {
+            counts.merge(each, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public TObjectIntHashMap<Integer> troveObjectIntHashMap()
+    {
+        TObjectIntHashMap<Integer> counts = new TObjectIntHashMap<>();
+        for (Integer each : this.elements)
+        {
+            counts.adjustOrPutValue(each, 1, 1);
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public HashBag<Integer> gscHashBag()
+    {
+        HashBag<Integer> bag = HashBag.newBag();
+        for (Integer each : this.elements)
+        {
+            bag.add(each);
+        }
+        return bag;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.jmh;
+
+import java.util.Random;
+
+/**
+ * Input data shared by the benchmarks. A fixed seed keeps the data, and therefore the hash collisions, identical
+ * between runs and JVMs.
+ */
+final class BenchmarkData
+{
+    private static final long SEED = 123412123L;
+
+    private BenchmarkData()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    static int[] ints(int size)
+    {
+        Random random = new Random(SEED);
+        int[] ints = new int[size];
+        for (int i = 0; i < size; i++)
+        {
+            ints[i] = random.nextInt();
+        }
+        return ints;
+    }
+
+    static Integer[] integers(int size)
+    {
+        int[] ints = BenchmarkData.ints(size);
+        Integer[] integers = new Integer[size];
+        for (int i = 0; i < size; i++)
+        {
+            integers[i] = ints[i];
+        }
+        return integers;
+    }
+
+    /**
+     * Returns {@code size} values drawn from {@code distinct} different values, for the benchmarks that count
+     * occurrences.
+     */
+    static Integer[] integersWithDuplicates(int size, int distinct)
+    {
+        Random random = new Random(SEED);
+        Integer[] integers = new Integer[size];
+        for (int i = 0; i < size; i++)
+        {
+            integers[i] = random.nextInt(distinct);
+        }
+        return integers;
+    }
+}
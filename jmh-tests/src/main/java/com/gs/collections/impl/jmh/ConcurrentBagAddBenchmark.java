@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.jmh;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.gs.collections.api.bag.MutableBag;
+import com.gs.collections.impl.bag.mutable.ConcurrentHashBag;
+import com.gs.collections.impl.bag.mutable.MultiReaderHashBag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Adds occurrences of random items to a shared bag on all available processors. To measure scalability, run once per
+ * thread count with -t, for example -t 1, 2, 4, 8, 16, 32 and 64. A small number of items measures contention on the
+ * same counts; a large number measures contention on the bag as a whole.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Threads(Threads.MAX)
+public class ConcurrentBagAddBenchmark
+{
+    @Param({"16", "1024", "65536"})
+    public int items;
+
+    @Param({"multiReader", "concurrent"})
+    public String implementation;
+
+    private MutableBag<Integer> bag;
+
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        if ("multiReader".equals(this.implementation))
+        {
+            this.bag = MultiReaderHashBag.newBag();
+        }
+        else if ("concurrent".equals(this.implementation))
+        {
+            this.bag = ConcurrentHashBag.newBag();
+        }
+        else
+        {
+            throw new IllegalArgumentException("Unknown implementation " + this.implementation);
+        }
+    }
+
+    @Benchmark
+    public void addOccurrences()
+    {
+        this.bag.addOccurrences(ThreadLocalRandom.current().nextInt(this.items), 1);
+    }
+
+    @Benchmark
+    public int occurrencesOf()
+    {
+        return this.bag.occurrencesOf(ThreadLocalRandom.current().nextInt(this.items));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.jmh;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.gs.collections.impl.map.mutable.ConcurrentHashMap;
+import com.gs.collections.impl.map.mutable.ConcurrentHashMapUnsafe;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Puts, gets and removes random keys from a shared map on all available processors. Run with -t to change the number
+ * of threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Threads(Threads.MAX)
+public class ConcurrentMapPutBenchmark
+{
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"jdk", "gsc", "gscUnsafe"})
+    public String implementation;
+
+    private ConcurrentMap<Integer, Integer> map;
+
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        if ("jdk".equals(this.implementation))
+        {
+            this.map = new java.util.concurrent.ConcurrentHashMap<>();
+        }
+        else if ("gsc".equals(this.implementation))
+        {
+            this.map = ConcurrentHashMap.newMap();
+        }
+        else if ("gscUnsafe".equals(this.implementation))
+        {
+            this.map = ConcurrentHashMapUnsafe.newMap();
+        }
+        else
+        {
+            throw new IllegalArgumentException("Unknown implementation " + this.implementation);
+        }
+    }
+
+    @Benchmark
+    public Integer put()
+    {
+        Integer key = ThreadLocalRandom.current().nextInt(this.size);
+        return this.map.put(key, key);
+    }
+
+    @Benchmark
+    public Integer get()
+    {
+        return this.map.get(ThreadLocalRandom.current().nextInt(this.size));
+    }
+
+    @Benchmark
+    public Integer putIfAbsentThenRemove()
+    {
+        Integer key = ThreadLocalRandom.current().nextInt(this.size);
+        this.map.putIfAbsent(key, key);
+        return this.map.remove(key);
+    }
+}
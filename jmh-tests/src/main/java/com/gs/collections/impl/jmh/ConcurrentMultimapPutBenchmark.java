@@ -0,0 +1,86 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.jmh;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.gs.collections.api.multimap.MutableMultimap;
+import com.gs.collections.impl.multimap.bag.ConcurrentHashBagMultimap;
+import com.gs.collections.impl.multimap.bag.SynchronizedPutHashBagMultimap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Puts random values under random keys of a shared bag multimap on all available processors. To measure scalability,
+ * run once per thread count with -t, for example -t 1, 2, 4, 8, 16, 32 and 64. Values are drawn from a fixed range so
+ * that the number of distinct values per key, and so the size of each key's bag, stays bounded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Threads(Threads.MAX)
+public class ConcurrentMultimapPutBenchmark
+{
+    private static final int DISTINCT_VALUES = 64;
+
+    @Param({"16", "1024", "65536"})
+    public int keys;
+
+    @Param({"synchronizedPut", "concurrent"})
+    public String implementation;
+
+    private MutableMultimap<Integer, Integer> multimap;
+
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        if ("synchronizedPut".equals(this.implementation))
+        {
+            this.multimap = SynchronizedPutHashBagMultimap.newMultimap();
+        }
+        else if ("concurrent".equals(this.implementation))
+        {
+            this.multimap = ConcurrentHashBagMultimap.newMultimap();
+        }
+        else
+        {
+            throw new IllegalArgumentException("Unknown implementation " + this.implementation);
+        }
+    }
+
+    @Benchmark
+    public boolean put()
+    {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return this.multimap.put(random.nextInt(this.keys), random.nextInt(DISTINCT_VALUES));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.jmh;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.gs.collections.impl.map.mutable.primitive.IntIntHashMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The generated primitive maps have a fixed load factor of 0.5, so only the Trove and JDK baselines vary with the
+ * loadFactor parameter.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class IntIntMapPutBenchmark
+{
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"0.50", "0.75"})
+    public float loadFactor;
+
+    private int[] elements;
+    private HashMap<Integer, Integer> hashMap;
+    private TIntIntHashMap troveMap;
+    private IntIntHashMap gscMap;
+
+    @Setup
+    public void setUp()
+    {
+        this.elements = BenchmarkData.ints(this.size);
+        this.hashMap = this.jdkHashMapPut();
+        this.troveMap = this.troveIntIntHashMapPut();
+        this.gscMap = this.gscIntIntHashMapPut();
+    }
+
+    @Benchmark
+    public HashMap<Integer, Integer> jdkHashMapPut()
+    {
+        HashMap<Integer, Integer> map = new HashMap<>(16, this.loadFactor);
+        for (int each : this.elements)
+        {
+            map.put(each, each);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public TIntIntHashMap troveIntIntHashMapPut()
+    {
+        TIntIntHashMap map = new TIntIntHashMap(16, this.loadFactor);
+        for (int each : this.elements)
+        {
+            map.put(each, each);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public IntIntHashMap gscIntIntHashMapPut()
+    {
+        IntIntHashMap map = new IntIntHashMap();
+        for (int each : this.elements)
+        {
+            map.put(each, each);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public int jdkHashMapGet()
+    {
+        Map<Integer, Integer> map = this.hashMap;
+        int result = 0;
+        for (int each : this.elements)
+        {
+            result ^= map.get(each);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int troveIntIntHashMapGet()
+    {
+        TIntIntHashMap map = this.troveMap;
+        int result = 0;
+        for (int each : this.elements)
+        {
+            result ^= map.get(each);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int gscIntIntHashMapGet()
+    {
+        IntIntHashMap map = this.gscMap;
+        int result = 0;
+        for (int each : this.elements)
+        {
+            result ^= map.get(each);
+        }
+        return result;
+    }
+}
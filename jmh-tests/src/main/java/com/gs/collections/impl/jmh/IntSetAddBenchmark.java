@@ -0,0 +1,146 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.jmh;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.gs.collections.impl.set.mutable.primitive.IntHashSet;
+import gnu.trove.set.hash.TIntHashSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The generated primitive sets have a fixed load factor of 0.5, so only the Trove and JDK baselines vary with the
+ * loadFactor parameter.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class IntSetAddBenchmark
+{
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"0.50", "0.75"})
+    public float loadFactor;
+
+    private int[] elements;
+    private HashSet<Integer> hashSet;
+    private TIntHashSet troveSet;
+    private IntHashSet gscSet;
+
+    @Setup
+    public void setUp()
+    {
+        this.elements = BenchmarkData.ints(this.size);
+        this.hashSet = this.jdkHashSetAdd();
+        this.troveSet = this.troveIntHashSetAdd();
+        this.gscSet = this.gscIntHashSetAdd();
+    }
+
+    @Benchmark
+    public HashSet<Integer> jdkHashSetAdd()
+    {
+        HashSet<Integer> set = new HashSet<>(16, this.loadFactor);
+        for (int each : this.elements)
+        {
+            set.add(each);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public TIntHashSet troveIntHashSetAdd()
+    {
+        TIntHashSet set = new TIntHashSet(16, this.loadFactor);
+        for (int each : this.elements)
+        {
+            set.add(each);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public IntHashSet gscIntHashSetAdd()
+    {
+        IntHashSet set = new IntHashSet();
+        for (int each : this.elements)
+        {
+            set.add(each);
+        }
+        return set;
+    }
+
+    @Benchmark
+    public int jdkHashSetContains()
+    {
+        Set<Integer> set = this.hashSet;
+        int count = 0;
+        for (int each : this.elements)
+        {
+            if (set.contains(each))
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int troveIntHashSetContains()
+    {
+        TIntHashSet set = this.troveSet;
+        int count = 0;
+        for (int each : this.elements)
+        {
+            if (set.contains(each))
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int gscIntHashSetContains()
+    {
+        IntHashSet set = this.gscSet;
+        int count = 0;
+        for (int each : this.elements)
+        {
+            if (set.contains(each))
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+}
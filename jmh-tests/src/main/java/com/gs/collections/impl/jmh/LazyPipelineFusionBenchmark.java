@@ -0,0 +1,141 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import com.gs.collections.api.LazyIterable;
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.block.predicate.Predicate;
+import com.gs.collections.impl.lazy.CollectIterable;
+import com.gs.collections.impl.lazy.RejectIterable;
+import com.gs.collections.impl.lazy.SelectIterable;
+import com.gs.collections.impl.list.mutable.FastList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares fused select/reject/collect chains with the same chains built from nested SelectIterable, RejectIterable
+ * and CollectIterable wrappers. Setup runs every pipeline first, so the shared forEach and procedure call sites have
+ * seen several receiver types, as they would in an application with more than one lazy pipeline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class LazyPipelineFusionBenchmark
+{
+    @Param({"1000", "1000000"})
+    public int size;
+
+    @Param({"true", "false"})
+    public boolean fused;
+
+    private FastList<Integer> integers;
+
+    @Setup
+    public void setUp()
+    {
+        // run every pipeline over a small list first, so that no single pipeline owns the type profiles
+        this.integers = FastList.newListWith(BenchmarkData.integers(1000));
+        for (int i = 0; i < 1000; i++)
+        {
+            this.selectCollectSum();
+            this.selectCollectSelectSum();
+            this.rejectCollectCollectSum();
+            this.collectSelectCollectCount();
+            this.selectRejectCollectSelectSum();
+            this.collectCollectCollectSum();
+        }
+        this.integers = FastList.newListWith(BenchmarkData.integers(this.size));
+    }
+
+    private <T> LazyIterable<T> select(LazyIterable<T> iterable, Predicate<? super T> predicate)
+    {
+        return this.fused ? iterable.select(predicate) : new SelectIterable<T>(iterable, predicate);
+    }
+
+    private <T> LazyIterable<T> reject(LazyIterable<T> iterable, Predicate<? super T> predicate)
+    {
+        return this.fused ? iterable.reject(predicate) : new RejectIterable<T>(iterable, predicate);
+    }
+
+    private <T, V> LazyIterable<V> collect(LazyIterable<T> iterable, Function<? super T, ? extends V> function)
+    {
+        return this.fused ? iterable.collect(function) : new CollectIterable<T, V>(iterable, function);
+    }
+
+    @Benchmark
+    public long selectCollectSum()
+    {
+        LazyIterable<Integer> selected = this.select(this.integers.asLazy(), each -> (each & 1) == 0);
+        return this.collect(selected, each -> each * 3).collectInt(Integer::intValue).sum();
+    }
+
+    @Benchmark
+    public long selectCollectSelectSum()
+    {
+        LazyIterable<Integer> selected = this.select(this.integers.asLazy(), each -> each > 0);
+        LazyIterable<Long> collected = this.collect(selected, Integer::longValue);
+        return this.select(collected, each -> each % 3 != 0).collectLong(Long::longValue).sum();
+    }
+
+    @Benchmark
+    public long rejectCollectCollectSum()
+    {
+        LazyIterable<Integer> rejected = this.reject(this.integers.asLazy(), each -> each % 5 == 0);
+        LazyIterable<Integer> doubled = this.collect(rejected, each -> each << 1);
+        return this.collect(doubled, each -> each + 7).collectInt(Integer::intValue).sum();
+    }
+
+    @Benchmark
+    public int collectSelectCollectCount()
+    {
+        LazyIterable<Integer> collected = this.collect(this.integers.asLazy(), each -> each ^ 0x5555);
+        LazyIterable<Integer> selected = this.select(collected, each -> (each & 3) != 0);
+        return this.<Integer, String>collect(selected, String::valueOf).count(each -> each.length() > 3);
+    }
+
+    @Benchmark
+    public long selectRejectCollectSelectSum()
+    {
+        LazyIterable<Integer> selected = this.select(this.integers.asLazy(), each -> each > 10);
+        LazyIterable<Integer> rejected = this.reject(selected, each -> (each & 7) == 0);
+        LazyIterable<Double> collected = this.collect(rejected, Integer::doubleValue);
+        return (long) this.select(collected, each -> each < 1.0e9).collectDouble(Double::doubleValue).sum();
+    }
+
+    @Benchmark
+    public long collectCollectCollectSum()
+    {
+        LazyIterable<Integer> first = this.collect(this.integers.asLazy(), each -> each + 1);
+        LazyIterable<Integer> second = this.collect(first, each -> each * 31);
+        return this.collect(second, each -> each >>> 2).collectInt(Integer::intValue).sum();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.gs.collections.impl.list.mutable.FastList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class ListAddBenchmark
+{
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private Integer[] elements;
+    private ArrayList<Integer> arrayList;
+    private FastList<Integer> fastList;
+
+    @Setup
+    public void setUp()
+    {
+        this.elements = BenchmarkData.integers(this.size);
+        this.fastList = FastList.newListWith(this.elements);
+        this.arrayList = new ArrayList<>(this.fastList);
+    }
+
+    @Benchmark
+    public List<Integer> jdkArrayList()
+    {
+        List<Integer> list = new ArrayList<>();
+        for (Integer each : this.elements)
+        {
+            list.add(each);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public List<Integer> gscFastList()
+    {
+        List<Integer> list = FastList.newList();
+        for (Integer each : this.elements)
+        {
+            list.add(each);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public long jdkArrayListIterate()
+    {
+        return this.sum(this.arrayList);
+    }
+
+    @Benchmark
+    public long gscFastListIterate()
+    {
+        return this.sum(this.fastList);
+    }
+
+    private long sum(List<Integer> list)
+    {
+        long sum = 0L;
+        for (Integer each : list)
+        {
+            sum += each;
+        }
+        return sum;
+    }
+}
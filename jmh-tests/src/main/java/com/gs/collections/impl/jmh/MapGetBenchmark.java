@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.jmh;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.gs.collections.impl.map.mutable.UnifiedMap;
+import com.gs.collections.impl.map.mutable.UnifiedMapWithLinearProbing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares lookups in {@link UnifiedMap} (chained collisions) with {@link UnifiedMapWithLinearProbing} (open
+ * addressing).  The "ticks" keys are evenly spaced longs, like timestamps on a fixed tick size, whose hashCodes share
+ * their low bits and collide far more than random keys.  Run with {@code -prof perfnorm} to see cache misses per
+ * operation next to the throughput.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class MapGetBenchmark
+{
+    private static final long TICK_ORIGIN = 1400000000000L;
+    private static final long TICK_SIZE = 4096L;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"random", "ticks"})
+    public String keys;
+
+    private Long[] elements;
+    private UnifiedMap<Long, Long> unifiedMap;
+    private UnifiedMapWithLinearProbing<Long, Long> linearProbingMap;
+
+    @Setup
+    public void setUp()
+    {
+        this.elements = new Long[this.size];
+        int[] ints = BenchmarkData.ints(this.size);
+        for (int i = 0; i < this.size; i++)
+        {
+            this.elements[i] = "ticks".equals(this.keys) ? TICK_ORIGIN + i * TICK_SIZE : (long) ints[i];
+        }
+        this.unifiedMap = UnifiedMap.newMap();
+        this.linearProbingMap = UnifiedMapWithLinearProbing.newMap();
+        for (Long each : this.elements)
+        {
+            this.unifiedMap.put(each, each);
+            this.linearProbingMap.put(each, each);
+        }
+    }
+
+    @Benchmark
+    public long gscUnifiedMapGet()
+    {
+        return this.get(this.unifiedMap);
+    }
+
+    @Benchmark
+    public long gscLinearProbingMapGet()
+    {
+        return this.get(this.linearProbingMap);
+    }
+
+    @Benchmark
+    public long gscUnifiedMapReadMostly()
+    {
+        return this.readMostly(this.unifiedMap);
+    }
+
+    @Benchmark
+    public long gscLinearProbingMapReadMostly()
+    {
+        return this.readMostly(this.linearProbingMap);
+    }
+
+    private long get(Map<Long, Long> map)
+    {
+        long result = 0L;
+        for (Long each : this.elements)
+        {
+            result ^= map.get(each);
+        }
+        return result;
+    }
+
+    /**
+     * Seven lookups for every three overwrites of an existing key, so the map size and layout stay constant.
+     */
+    private long readMostly(Map<Long, Long> map)
+    {
+        long result = 0L;
+        Long[] elements = this.elements;
+        for (int i = 0; i < elements.length; i++)
+        {
+            Long each = elements[i];
+            if (i % 10 < 7)
+            {
+                result ^= map.get(each);
+            }
+            else
+            {
+                map.put(each, each);
+            }
+        }
+        return result;
+    }
+}
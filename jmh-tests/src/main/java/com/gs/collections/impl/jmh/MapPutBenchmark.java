@@ -0,0 +1,104 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.jmh;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.gs.collections.impl.map.mutable.UnifiedMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class MapPutBenchmark
+{
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"0.50", "0.75", "1.00"})
+    public float loadFactor;
+
+    private Integer[] elements;
+    private HashMap<Integer, Integer> hashMap;
+    private UnifiedMap<Integer, Integer> unifiedMap;
+
+    @Setup
+    public void setUp()
+    {
+        this.elements = BenchmarkData.integers(this.size);
+        this.hashMap = this.put(new HashMap<>(16, this.loadFactor));
+        this.unifiedMap = this.put(UnifiedMap.newMap(16, this.loadFactor));
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> jdkHashMapPut()
+    {
+        return this.put(new HashMap<>(16, this.loadFactor));
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> gscUnifiedMapPut()
+    {
+        return this.put(UnifiedMap.newMap(16, this.loadFactor));
+    }
+
+    @Benchmark
+    public int jdkHashMapGet()
+    {
+        return this.get(this.hashMap);
+    }
+
+    @Benchmark
+    public int gscUnifiedMapGet()
+    {
+        return this.get(this.unifiedMap);
+    }
+
+    private <M extends Map<Integer, Integer>> M put(M map)
+    {
+        for (Integer each : this.elements)
+        {
+            map.put(each, each);
+        }
+        return map;
+    }
+
+    private int get(Map<Integer, Integer> map)
+    {
+        int result = 0;
+        for (Integer each : this.elements)
+        {
+            result ^= map.get(each);
+        }
+        return result;
+    }
+}
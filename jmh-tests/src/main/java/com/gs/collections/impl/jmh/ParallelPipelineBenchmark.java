@@ -0,0 +1,120 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.jmh;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.gs.collections.api.list.MutableList;
+import com.gs.collections.impl.list.mutable.FastList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the lazy.parallel pipelines with the serial lazy pipelines and with parallel streams.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class ParallelPipelineBenchmark
+{
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"1000", "10000"})
+    public int batchSize;
+
+    private FastList<Integer> integers;
+    private ExecutorService executorService;
+
+    @Setup
+    public void setUp()
+    {
+        this.integers = FastList.newListWith(BenchmarkData.integers(this.size));
+        this.executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        this.executorService.shutdownNow();
+    }
+
+    @Benchmark
+    public MutableList<String> serialLazySelectCollect()
+    {
+        return this.integers.asLazy().select(each -> (each & 1) == 0).collect(String::valueOf).toList();
+    }
+
+    @Benchmark
+    public MutableList<String> parallelSelectCollect()
+    {
+        return this.integers.asParallel(this.executorService, this.batchSize).select(each -> (each & 1) == 0).collect(String::valueOf).toList();
+    }
+
+    @Benchmark
+    public List<String> parallelStreamSelectCollect()
+    {
+        return this.integers.parallelStream().filter(each -> (each & 1) == 0).map(String::valueOf).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public long serialLazySum()
+    {
+        return this.integers.asLazy().sumOfLong(Integer::longValue);
+    }
+
+    @Benchmark
+    public long parallelSum()
+    {
+        return this.integers.asParallel(this.executorService, this.batchSize).sumOfLong(Integer::longValue);
+    }
+
+    @Benchmark
+    public long parallelStreamSum()
+    {
+        return this.integers.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public int parallelCount()
+    {
+        return this.integers.asParallel(this.executorService, this.batchSize).count(each -> each > 0);
+    }
+
+    @Benchmark
+    public long parallelStreamCount()
+    {
+        return this.integers.parallelStream().filter(each -> each > 0).count();
+    }
+}
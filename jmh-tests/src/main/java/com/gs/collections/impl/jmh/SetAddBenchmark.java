@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.jmh;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.gs.collections.impl.set.mutable.UnifiedSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class SetAddBenchmark
+{
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"0.50", "0.75", "1.00"})
+    public float loadFactor;
+
+    private Integer[] elements;
+    private HashSet<Integer> hashSet;
+    private UnifiedSet<Integer> unifiedSet;
+
+    @Setup
+    public void setUp()
+    {
+        this.elements = BenchmarkData.integers(this.size);
+        this.hashSet = this.add(new HashSet<>(16, this.loadFactor));
+        this.unifiedSet = this.add(UnifiedSet.newSet(16, this.loadFactor));
+    }
+
+    @Benchmark
+    public Set<Integer> jdkHashSetAdd()
+    {
+        return this.add(new HashSet<>(16, this.loadFactor));
+    }
+
+    @Benchmark
+    public Set<Integer> gscUnifiedSetAdd()
+    {
+        return this.add(UnifiedSet.newSet(16, this.loadFactor));
+    }
+
+    @Benchmark
+    public int jdkHashSetContains()
+    {
+        return this.contains(this.hashSet);
+    }
+
+    @Benchmark
+    public int gscUnifiedSetContains()
+    {
+        return this.contains(this.unifiedSet);
+    }
+
+    private <S extends Set<Integer>> S add(S set)
+    {
+        for (Integer each : this.elements)
+        {
+            set.add(each);
+        }
+        return set;
+    }
+
+    private int contains(Set<Integer> set)
+    {
+        int count = 0;
+        for (Integer each : this.elements)
+        {
+            if (set.contains(each))
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.jmh;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+import com.gs.collections.impl.map.sorted.mutable.BTreeSortedMap;
+import com.gs.collections.impl.map.sorted.mutable.TreeSortedMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link TreeSortedMap} (a red-black tree) with {@link BTreeSortedMap} (a B+ tree with linked leaves) on
+ * point lookups and on scans of a window of {@code range} consecutive keys, like reading a few levels either side of
+ * the touch on a price ladder.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(2)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class SortedMapRangeScanBenchmark
+{
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"10", "100"})
+    public int range;
+
+    private Integer[] keys;
+    private TreeSortedMap<Integer, Integer> treeSortedMap;
+    private BTreeSortedMap<Integer, Integer> bTreeSortedMap;
+    private int index;
+
+    @Setup
+    public void setUp()
+    {
+        int[] ints = BenchmarkData.ints(this.size);
+        this.keys = new Integer[this.size];
+        this.treeSortedMap = TreeSortedMap.newMap();
+        this.bTreeSortedMap = BTreeSortedMap.newMap();
+        for (int i = 0; i < this.size; i++)
+        {
+            this.keys[i] = ints[i];
+            this.treeSortedMap.put(ints[i], i);
+            this.bTreeSortedMap.put(ints[i], i);
+        }
+    }
+
+    @Benchmark
+    public int treeSortedMapGet()
+    {
+        return this.treeSortedMap.get(this.nextKey());
+    }
+
+    @Benchmark
+    public int bTreeSortedMapGet()
+    {
+        return this.bTreeSortedMap.get(this.nextKey());
+    }
+
+    @Benchmark
+    public long treeSortedMapScan()
+    {
+        return this.scan(this.treeSortedMap.tailMap(this.nextKey()));
+    }
+
+    @Benchmark
+    public long bTreeSortedMapScan()
+    {
+        return this.scan(this.bTreeSortedMap.tailMap(this.nextKey()));
+    }
+
+    private Integer nextKey()
+    {
+        this.index = this.index + 1 == this.size ? 0 : this.index + 1;
+        return this.keys[this.index];
+    }
+
+    private long scan(SortedMap<Integer, Integer> tail)
+    {
+        long sum = 0L;
+        int count = 0;
+        for (Map.Entry<Integer, Integer> entry : tail.entrySet())
+        {
+            if (count++ == this.range)
+            {
+                break;
+            }
+            sum += entry.getValue();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+
+import com.gs.collections.impl.map.mutable.ConcurrentHashMap;
+import com.gs.collections.impl.map.mutable.ConcurrentHashMapUnsafe;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Multi-threaded put throughput of the GS Collections concurrent maps against {@link java.util.concurrent.ConcurrentHashMap}.
+ * Every map starts at its default capacity so the measurement includes all the resizes needed to reach the final size.
+ */
+public class ConcurrentHashMapPutTest
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentHashMapPutTest.class);
+    private static final int SIZE = 1000000;
+
+    private final Integer[] keys = new Integer[SIZE];
+
+    public ConcurrentHashMapPutTest()
+    {
+        for (int i = 0; i < SIZE; i++)
+        {
+            this.keys[i] = i;
+        }
+    }
+
+    @Test
+    @Category(ParallelTests.class)
+    public void putAvailableProcessors()
+    {
+        this.runPuts(Runtime.getRuntime().availableProcessors());
+    }
+
+    @Test
+    @Category(ParallelTests.class)
+    public void put64Threads()
+    {
+        this.runPuts(64);
+    }
+
+    private void runPuts(int threads)
+    {
+        for (int i = 0; i < 10; i++)
+        {
+            this.timePuts(new java.util.concurrent.ConcurrentHashMap<Integer, Integer>(), threads);
+            this.timePuts(new ConcurrentHashMap<Integer, Integer>(), threads);
+            this.timePuts(new ConcurrentHashMapUnsafe<Integer, Integer>(), threads);
+        }
+        this.logPuts("java.util.concurrent.ConcurrentHashMap", threads, new java.util.concurrent.ConcurrentHashMap<Integer, Integer>());
+        this.logPuts("ConcurrentHashMap", threads, new ConcurrentHashMap<Integer, Integer>());
+        this.logPuts("ConcurrentHashMapUnsafe", threads, new ConcurrentHashMapUnsafe<Integer, Integer>());
+    }
+
+    private void logPuts(String name, int threads, ConcurrentMap<Integer, Integer> map)
+    {
+        long nanos = this.timePuts(map, threads);
+        LOGGER.info("{}, map size 1,000,000, {} threads, puts/msec: {}", name, threads, SIZE * 1000000L / nanos);
+    }
+
+    private long timePuts(final ConcurrentMap<Integer, Integer> map, int threads)
+    {
+        final CountDownLatch startGate = new CountDownLatch(1);
+        final CountDownLatch endGate = new CountDownLatch(threads);
+        int chunkSize = (SIZE + threads - 1) / threads;
+        for (int i = 0; i < threads; i++)
+        {
+            final int start = Math.min(SIZE, i * chunkSize);
+            final int end = Math.min(SIZE, start + chunkSize);
+            new Thread(new Runnable()
+            {
+                public void run()
+                {
+                    try
+                    {
+                        startGate.await();
+                        for (int j = start; j < end; j++)
+                        {
+                            Integer key = ConcurrentHashMapPutTest.this.keys[j];
+                            map.put(key, key);
+                        }
+                    }
+                    catch (InterruptedException e)
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                    finally
+                    {
+                        endGate.countDown();
+                    }
+                }
+            }).start();
+        }
+        long start = System.nanoTime();
+        startGate.countDown();
+        try
+        {
+            endGate.await();
+        }
+        catch (InterruptedException e)
+        {
+            throw new RuntimeException(e);
+        }
+        long time = System.nanoTime() - start;
+        Assert.assertEquals(SIZE, map.size());
+        return time;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl;
+
+import java.util.concurrent.CountDownLatch;
+
+import com.gs.collections.api.set.Pool;
+import com.gs.collections.impl.set.mutable.ConcurrentPool;
+import com.gs.collections.impl.set.mutable.UnifiedSet;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Multi-threaded interning throughput of {@link ConcurrentPool} against a {@link UnifiedSet} behind one global lock
+ * and {@link String#intern()}.  Every thread interns its own copies of the same symbols, so most calls find the value
+ * already pooled, as they do when interning feed data.
+ */
+public class PoolInternTest
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(PoolInternTest.class);
+    private static final int SYMBOLS = 100000;
+    private static final int ROUNDS = 10;
+
+    @Test
+    @Category(ParallelTests.class)
+    public void internAvailableProcessors()
+    {
+        this.runInterns(Runtime.getRuntime().availableProcessors());
+    }
+
+    @Test
+    @Category(ParallelTests.class)
+    public void intern32Threads()
+    {
+        this.runInterns(32);
+    }
+
+    private void runInterns(int threads)
+    {
+        String[][] symbols = PoolInternTest.newSymbols(threads);
+        for (int i = 0; i < 5; i++)
+        {
+            this.timeInterns(new GlobalLockPool(), symbols);
+            this.timeInterns(new StringInternPool(), symbols);
+            this.timeInterns(ConcurrentPool.<String>newPool(), symbols);
+            this.timeInterns(ConcurrentPool.<String>newWeakPool(), symbols);
+        }
+        this.logInterns("synchronized UnifiedSet", new GlobalLockPool(), symbols);
+        this.logInterns("String.intern", new StringInternPool(), symbols);
+        this.logInterns("ConcurrentPool", ConcurrentPool.<String>newPool(), symbols);
+        this.logInterns("ConcurrentPool (weak)", ConcurrentPool.<String>newWeakPool(), symbols);
+    }
+
+    private static String[][] newSymbols(int threads)
+    {
+        String[][] symbols = new String[threads][SYMBOLS];
+        for (int i = 0; i < threads; i++)
+        {
+            for (int j = 0; j < SYMBOLS; j++)
+            {
+                // a distinct instance per thread, as if each thread had decoded it from its own feed
+                symbols[i][(j + i * 7919) % SYMBOLS] = new StringBuilder("SYM").append(j).append(".N").toString();
+            }
+        }
+        return symbols;
+    }
+
+    private void logInterns(String name, Pool<String> pool, String[][] symbols)
+    {
+        long nanos = this.timeInterns(pool, symbols);
+        long interns = (long) symbols.length * SYMBOLS * ROUNDS;
+        LOGGER.info("{}, {} symbols, {} threads, interns/msec: {}", name, SYMBOLS, symbols.length, interns * 1000000L / nanos);
+    }
+
+    private long timeInterns(final Pool<String> pool, final String[][] symbols)
+    {
+        final CountDownLatch startGate = new CountDownLatch(1);
+        final CountDownLatch endGate = new CountDownLatch(symbols.length);
+        for (int i = 0; i < symbols.length; i++)
+        {
+            final String[] threadSymbols = symbols[i];
+            new Thread(new Runnable()
+            {
+                public void run()
+                {
+                    try
+                    {
+                        startGate.await();
+                        for (int round = 0; round < ROUNDS; round++)
+                        {
+                            for (String symbol : threadSymbols)
+                            {
+                                pool.put(symbol);
+                            }
+                        }
+                    }
+                    catch (InterruptedException e)
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+                    finally
+                    {
+                        endGate.countDown();
+                    }
+                }
+            }).start();
+        }
+        long start = System.nanoTime();
+        startGate.countDown();
+        try
+        {
+            endGate.await();
+        }
+        catch (InterruptedException e)
+        {
+            throw new RuntimeException(e);
+        }
+        long time = System.nanoTime() - start;
+        Assert.assertEquals(SYMBOLS, pool.size());
+        return time;
+    }
+
+    private static final class GlobalLockPool implements Pool<String>
+    {
+        private final UnifiedSet<String> set = UnifiedSet.newSet();
+
+        public synchronized String get(String key)
+        {
+            return this.set.get(key);
+        }
+
+        public synchronized void clear()
+        {
+            this.set.clear();
+        }
+
+        public synchronized String put(String key)
+        {
+            return this.set.put(key);
+        }
+
+        public synchronized int size()
+        {
+            return this.set.size();
+        }
+
+        public synchronized String removeFromPool(String key)
+        {
+            return this.set.removeFromPool(key);
+        }
+    }
+
+    /**
+     * Adapts {@link String#intern()}, whose pool is global and cannot be sized or cleared, to the Pool interface.
+     */
+    private static final class StringInternPool implements Pool<String>
+    {
+        public String get(String key)
+        {
+            throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".get() not implemented yet");
+        }
+
+        public void clear()
+        {
+            throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".clear() not implemented yet");
+        }
+
+        public String put(String key)
+        {
+            return key.intern();
+        }
+
+        public int size()
+        {
+            return SYMBOLS;
+        }
+
+        public String removeFromPool(String key)
+        {
+            throw new UnsupportedOperationException(this.getClass().getSimpleName() + ".removeFromPool() not implemented yet");
+        }
+    }
+}
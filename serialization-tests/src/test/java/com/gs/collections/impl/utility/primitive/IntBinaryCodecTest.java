@@ -0,0 +1,61 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.utility.primitive;
+
+import java.nio.ByteBuffer;
+
+import com.gs.collections.impl.list.mutable.primitive.IntArrayList;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IntBinaryCodecTest
+{
+    private static final byte[] HEADER = {0x47, 0x53, 0x43, 0x42, 1, 0};
+
+    @Test
+    public void encodedForm()
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        IntBinaryCodec.write(IntArrayList.newListWith(1, 2, 300), BinaryEncoding.DELTA_VARINT, buffer);
+        Assert.assertArrayEquals(
+                IntBinaryCodecTest.withHeader(4, 2, 0, 0, 0, 0, 0, 3, 2, 2, 0xD4, 0x04),
+                IntBinaryCodecTest.written(buffer));
+        buffer.flip();
+        Assert.assertEquals(IntArrayList.newListWith(1, 2, 300), IntBinaryCodec.readList(buffer));
+    }
+
+    static byte[] withHeader(int... bytes)
+    {
+        byte[] result = new byte[HEADER.length + bytes.length];
+        System.arraycopy(HEADER, 0, result, 0, HEADER.length);
+        for (int i = 0; i < bytes.length; i++)
+        {
+            result[HEADER.length + i] = (byte) bytes[i];
+        }
+        return result;
+    }
+
+    static byte[] written(ByteBuffer buffer)
+    {
+        byte[] result = new byte[buffer.position()];
+        ByteBuffer copy = buffer.duplicate();
+        copy.flip();
+        copy.get(result);
+        return result;
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.utility.primitive;
+
+import java.nio.ByteBuffer;
+
+import com.gs.collections.impl.map.mutable.primitive.IntLongHashMap;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IntLongMapBinaryCodecTest
+{
+    @Test
+    public void encodedForm()
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        IntLongMapBinaryCodec.write(IntLongHashMap.newWithKeysValues(1, 2L), buffer);
+        Assert.assertArrayEquals(
+                IntBinaryCodecTest.withHeader(4, 0, 5, 0, 0, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 2),
+                IntBinaryCodecTest.written(buffer));
+        buffer.flip();
+        Assert.assertEquals(IntLongHashMap.newWithKeysValues(1, 2L), IntLongMapBinaryCodec.readMap(buffer));
+    }
+}
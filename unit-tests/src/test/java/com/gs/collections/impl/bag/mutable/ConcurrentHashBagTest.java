@@ -0,0 +1,96 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.bag.mutable;
+
+import com.gs.collections.api.bag.MutableBag;
+import com.gs.collections.impl.block.factory.Predicates;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.parallel.ParallelIterate;
+import com.gs.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ConcurrentHashBagTest extends MutableBagTestCase
+{
+    @Override
+    protected <T> ConcurrentHashBag<T> newWith(T... littleElements)
+    {
+        return ConcurrentHashBag.newBagWith(littleElements);
+    }
+
+    @Override
+    @Test
+    public void equalsAndHashCode()
+    {
+        Verify.assertEqualsAndHashCode(this.newWith(1, 2, 3), this.newWith(1, 2, 3));
+        Assert.assertNotEquals(this.newWith(1, 2, 3), this.newWith(1, 2));
+        Assert.assertNotEquals(this.newWith(1, 1, 2, 3), this.newWith(1, 2, 2, 3));
+        Verify.assertEqualsAndHashCode(HashBag.newBagWith(1, 1, 2, 3), this.newWith(1, 2, 1, 3));
+        Assert.assertEquals(this.newWith(1, 1, 2, 3).toMapOfItemToCount().hashCode(), this.newWith(1, 1, 2, 3).hashCode());
+    }
+
+    @Override
+    @Test
+    public void remove()
+    {
+        MutableBag<Integer> objects = this.newWith(1, 2, 3, 4);
+        objects.removeIf(Predicates.equal(4));
+        Verify.assertSize(3, objects);
+        Verify.assertContainsAll(objects, 1, 2, 3);
+
+        MutableBag<String> bag = this.newWith("dakimakura", "dakimakura");
+        Assert.assertFalse(bag.remove("Mr. T"));
+        Assert.assertTrue(bag.remove("dakimakura"));
+        Assert.assertTrue(bag.remove("dakimakura"));
+        Assert.assertFalse(bag.remove("dakimakura"));
+        Verify.assertEmpty(bag);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void add_null_throws()
+    {
+        this.newWith().add(null);
+    }
+
+    @Test
+    public void readdAfterRemovingLastOccurrence()
+    {
+        MutableBag<String> bag = this.newWith("a");
+        Assert.assertTrue(bag.remove("a"));
+        Assert.assertEquals(0, bag.sizeDistinct());
+        bag.addOccurrences("a", 2);
+        Assert.assertEquals(2, bag.occurrencesOf("a"));
+        Verify.assertSize(2, bag);
+    }
+
+    @Test
+    public void concurrentAddAndRemoveOccurrences()
+    {
+        ConcurrentHashBag<Integer> bag = ConcurrentHashBag.newBag();
+        ParallelIterate.forEach(Interval.oneTo(1000), each -> {
+            bag.addOccurrences(each % 10, 3);
+            Assert.assertTrue(bag.removeOccurrences(each % 10, 2));
+        }, 1);
+
+        Verify.assertSize(1000, bag);
+        Assert.assertEquals(10, bag.sizeDistinct());
+        for (int item = 0; item < 10; item++)
+        {
+            Assert.assertEquals(100, bag.occurrencesOf(item));
+        }
+    }
+}
@@ -24,7 +24,6 @@ import com.gs.collections.impl.list.mutable.FastList;
 import com.gs.collections.impl.math.IntegerSum;
 import com.gs.collections.impl.math.Sum;
 import com.gs.collections.impl.math.SumProcedure;
-import com.gs.collections.impl.utility.LazyIterate;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -218,7 +217,7 @@ public class DropIterableTest extends AbstractLazyIterableTestCase
     @Override
     protected <T> LazyIterable<T> newWith(T... elements)
     {
-        return LazyIterate.drop(FastList.newListWith(elements), 0);
+        return new DropIterable<T>(FastList.newListWith(elements), 0);
     }
 
     @Override
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.lazy;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.gs.collections.api.LazyIterable;
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.impl.block.factory.Functions;
+import com.gs.collections.impl.block.factory.Predicates;
+import com.gs.collections.impl.lazy.primitive.CollectIntIterable;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.list.mutable.primitive.BooleanArrayList;
+import com.gs.collections.impl.list.mutable.primitive.CharArrayList;
+import com.gs.collections.impl.list.mutable.primitive.IntArrayList;
+import com.gs.collections.impl.test.Verify;
+import com.gs.collections.impl.utility.LazyIterate;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FusedIterableTest extends AbstractLazyIterableTestCase
+{
+    private static final FastList<Integer> SOURCE = FastList.newList(Interval.oneTo(10));
+
+    @Override
+    protected <T> LazyIterable<T> newWith(T... elements)
+    {
+        return LazyIterate.select(FastList.newListWith(elements), Predicates.alwaysTrue()).collect(Functions.<T>getPassThru());
+    }
+
+    private static LazyIterable<String> newPipeline()
+    {
+        return SOURCE.asLazy()
+                .select(each -> each > 1)
+                .reject(each -> each % 3 == 0)
+                .collect(each -> each * 10)
+                .select(each -> each < 90)
+                .collect(String::valueOf);
+    }
+
+    @Test
+    public void fusesAdjacentStages()
+    {
+        Verify.assertInstanceOf(SelectIterable.class, SOURCE.asLazy().select(each -> each > 1));
+        Verify.assertInstanceOf(FusedIterable.class, SOURCE.asLazy().select(each -> each > 1).collect(String::valueOf));
+        Verify.assertInstanceOf(FusedIterable.class, SOURCE.asLazy().reject(each -> each > 1).select(each -> each > 0));
+        Verify.assertInstanceOf(FusedIterable.class, SOURCE.asLazy().collect(each -> each + 1).collectIf(each -> each > 1, String::valueOf));
+        Verify.assertInstanceOf(FusedIterable.class, FusedIterableTest.newPipeline());
+    }
+
+    @Test
+    public void forEach()
+    {
+        StringBuilder builder = new StringBuilder();
+        FusedIterableTest.newPipeline().forEach((Procedure<String>) builder::append);
+        Assert.assertEquals("2040507080", builder.toString());
+    }
+
+    @Test
+    public void forEachWithIndex()
+    {
+        StringBuilder builder = new StringBuilder();
+        FusedIterableTest.newPipeline().forEachWithIndex((each, index) -> builder.append(each).append(index));
+        Assert.assertEquals("200401502703804", builder.toString());
+    }
+
+    @Test
+    public void forEachWith()
+    {
+        StringBuilder builder = new StringBuilder();
+        FusedIterableTest.newPipeline().forEachWith((each, separator) -> builder.append(each).append(separator), ",");
+        Assert.assertEquals("20,40,50,70,80,", builder.toString());
+    }
+
+    @Override
+    @Test
+    public void iterator()
+    {
+        Iterator<String> iterator = FusedIterableTest.newPipeline().iterator();
+        StringBuilder builder = new StringBuilder();
+        while (iterator.hasNext())
+        {
+            Assert.assertTrue(iterator.hasNext());
+            builder.append(iterator.next());
+        }
+        Assert.assertEquals("2040507080", builder.toString());
+        Verify.assertThrows(NoSuchElementException.class, (Runnable) iterator::next);
+        Verify.assertThrows(UnsupportedOperationException.class, iterator::remove);
+    }
+
+    @Test
+    public void matchesUnfusedEvaluation()
+    {
+        Assert.assertEquals(
+                SOURCE.select(each -> each > 1).reject(each -> each % 3 == 0).collect(each -> each * 10).select(each -> each < 90).collect(String::valueOf),
+                FusedIterableTest.newPipeline().toList());
+        Assert.assertEquals(
+                SOURCE.select(each -> each > 1).reject(each -> each % 3 == 0).collect(each -> each * 10).select(each -> each < 90).collectInt(Integer::intValue).sum(),
+                SOURCE.asLazy().select(each -> each > 1).reject(each -> each % 3 == 0).collect(each -> each * 10).select(each -> each < 90).collectInt(Integer::intValue).sum());
+    }
+
+    @Test
+    public void primitiveCollectIsFused()
+    {
+        LazyIterable<Integer> pipeline = SOURCE.asLazy().select(each -> each > 1).reject(each -> each % 3 == 0);
+        Assert.assertEquals("FusedIntIterable", pipeline.collectInt(Integer::intValue).getClass().getSimpleName());
+        Assert.assertEquals("FusedIntIterable", SOURCE.asLazy().select(each -> each > 1).collectInt(Integer::intValue).getClass().getSimpleName());
+        Verify.assertInstanceOf(CollectIntIterable.class, SOURCE.asLazy().collectInt(Integer::intValue));
+
+        Assert.assertEquals(IntArrayList.newListWith(2, 4, 5, 7, 8, 10), pipeline.collectInt(Integer::intValue).toList());
+        Assert.assertEquals(36L, pipeline.collectInt(Integer::intValue).sum());
+        Assert.assertEquals(36L, pipeline.collectLong(Integer::longValue).sum());
+        Assert.assertEquals(36.0, pipeline.collectDouble(Integer::doubleValue).sum(), 0.0);
+        Assert.assertEquals(36.0, pipeline.collectFloat(Integer::floatValue).sum(), 0.0);
+        Assert.assertEquals(36L, pipeline.collectShort(Integer::shortValue).sum());
+        Assert.assertEquals(36L, pipeline.collectByte(Integer::byteValue).sum());
+        Assert.assertEquals(CharArrayList.newListWith('2', '4', '5', '7', '8', ':'), pipeline.collectChar(each -> (char) ('0' + each)).toList());
+        Assert.assertEquals(BooleanArrayList.newListWith(true, true, false, false, true, true), pipeline.collectBoolean(each -> each % 2 == 0 || each > 7).toList());
+        Assert.assertEquals(4, pipeline.collectInt(Integer::intValue).count(each -> each > 4));
+        Assert.assertEquals(10, pipeline.collectInt(Integer::intValue).max());
+    }
+
+    @Test
+    public void size()
+    {
+        Assert.assertEquals(5, FusedIterableTest.newPipeline().size());
+        Assert.assertEquals(10, SOURCE.asLazy().collect(each -> each + 1).collect(String::valueOf).size());
+        Assert.assertTrue(SOURCE.asLazy().select(each -> each > 10).collect(String::valueOf).isEmpty());
+        Assert.assertTrue(SOURCE.asLazy().collect(each -> each + 1).collect(String::valueOf).notEmpty());
+    }
+}
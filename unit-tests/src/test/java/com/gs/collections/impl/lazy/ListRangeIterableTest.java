@@ -0,0 +1,154 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.lazy;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.gs.collections.api.LazyIterable;
+import com.gs.collections.impl.block.factory.Predicates;
+import com.gs.collections.impl.factory.Lists;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.list.mutable.ArrayListAdapter;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.test.Verify;
+import com.gs.collections.impl.utility.LazyIterate;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ListRangeIterableTest extends AbstractLazyIterableTestCase
+{
+    private static final FastList<Integer> ONE_TO_TEN = FastList.newList(Interval.oneTo(10));
+
+    @Override
+    protected <T> LazyIterable<T> newWith(T... elements)
+    {
+        return FastList.newListWith(elements).asLazy().drop(0).take(elements.length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeTake_throws()
+    {
+        ONE_TO_TEN.asLazy().take(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeDrop_throws()
+    {
+        ONE_TO_TEN.asLazy().drop(2).drop(-1);
+    }
+
+    @Test
+    public void randomAccessListsUseRanges()
+    {
+        Verify.assertInstanceOf(ListRangeIterable.class, ONE_TO_TEN.asLazy().drop(3));
+        Verify.assertInstanceOf(ListRangeIterable.class, ONE_TO_TEN.asLazy().take(3));
+        Verify.assertInstanceOf(ListRangeIterable.class, ArrayListAdapter.adapt(new ArrayList<Integer>(ONE_TO_TEN)).asLazy().drop(3).take(2));
+        Verify.assertInstanceOf(ListRangeIterable.class, Lists.immutable.ofAll(Interval.oneTo(20)).asLazy().drop(3).take(2));
+        Verify.assertInstanceOf(DropIterable.class, LazyIterate.drop(ONE_TO_TEN.asLazy().select(Predicates.alwaysTrue()), 3));
+    }
+
+    @Test
+    public void dropTake()
+    {
+        LazyIterable<Integer> page = ONE_TO_TEN.asLazy().drop(3).take(4);
+        Assert.assertEquals(FastList.newListWith(4, 5, 6, 7), page.toList());
+        Assert.assertEquals(4, page.size());
+        Assert.assertEquals(Integer.valueOf(4), page.getFirst());
+        Assert.assertEquals(Integer.valueOf(7), page.getLast());
+        Assert.assertArrayEquals(new Object[]{4, 5, 6, 7}, page.toArray());
+
+        Assert.assertEquals(FastList.newListWith(6, 7), page.drop(2).toList());
+        Assert.assertEquals(FastList.newListWith(4, 5), page.take(2).toList());
+        Assert.assertEquals(FastList.newListWith(5, 6), page.drop(1).take(2).toList());
+        Assert.assertEquals(FastList.newListWith(9, 10), ONE_TO_TEN.asLazy().drop(8).take(5).toList());
+        Assert.assertEquals(FastList.newListWith(4, 5, 6), ONE_TO_TEN.asLazy().take(6).drop(3).toList());
+    }
+
+    @Test
+    public void emptyRanges()
+    {
+        Verify.assertIterableEmpty(ONE_TO_TEN.asLazy().drop(10));
+        Verify.assertIterableEmpty(ONE_TO_TEN.asLazy().drop(20).take(5));
+        Verify.assertIterableEmpty(ONE_TO_TEN.asLazy().take(0));
+        Verify.assertIterableEmpty(ONE_TO_TEN.asLazy().drop(Integer.MAX_VALUE).drop(Integer.MAX_VALUE));
+        Assert.assertEquals(0, ONE_TO_TEN.asLazy().drop(3).take(4).drop(4).size());
+        Assert.assertNull(ONE_TO_TEN.asLazy().drop(10).getFirst());
+        Assert.assertNull(ONE_TO_TEN.asLazy().drop(10).getLast());
+        Assert.assertEquals(0, ONE_TO_TEN.asLazy().drop(10).toArray().length);
+    }
+
+    @Test
+    public void forEachWithIndex()
+    {
+        StringBuilder builder = new StringBuilder();
+        ONE_TO_TEN.asLazy().drop(4).take(3).forEachWithIndex((each, index) -> builder.append(each).append(index));
+        Assert.assertEquals("506172", builder.toString());
+    }
+
+    @Test
+    public void forEachWith()
+    {
+        StringBuilder builder = new StringBuilder();
+        ONE_TO_TEN.asLazy().drop(4).take(3).forEachWith((each, separator) -> builder.append(each).append(separator), ",");
+        Assert.assertEquals("5,6,7,", builder.toString());
+    }
+
+    @Override
+    @Test
+    public void iterator()
+    {
+        Iterator<Integer> iterator = ONE_TO_TEN.asLazy().drop(7).iterator();
+        Assert.assertEquals(Integer.valueOf(8), iterator.next());
+        Assert.assertEquals(Integer.valueOf(9), iterator.next());
+        Assert.assertEquals(Integer.valueOf(10), iterator.next());
+        Assert.assertFalse(iterator.hasNext());
+        Verify.assertThrows(NoSuchElementException.class, (Runnable) iterator::next);
+        Verify.assertThrows(UnsupportedOperationException.class, iterator::remove);
+    }
+
+    @Test
+    public void shortCircuits()
+    {
+        AtomicInteger evaluations = new AtomicInteger();
+        LazyIterable<Integer> range = ONE_TO_TEN.asLazy().drop(2);
+        Assert.assertEquals(Integer.valueOf(5), range.detect(each -> evaluations.incrementAndGet() > 0 && each > 4));
+        Assert.assertEquals(3, evaluations.getAndSet(0));
+        Assert.assertTrue(range.anySatisfy(each -> evaluations.incrementAndGet() > 0 && each == 4));
+        Assert.assertEquals(2, evaluations.getAndSet(0));
+        Assert.assertFalse(range.allSatisfy(each -> evaluations.incrementAndGet() > 0 && each < 4));
+        Assert.assertEquals(2, evaluations.getAndSet(0));
+        Assert.assertFalse(range.noneSatisfy(each -> evaluations.incrementAndGet() > 0 && each == 3));
+        Assert.assertEquals(1, evaluations.get());
+        Assert.assertNull(range.take(2).detect(each -> each > 4));
+        Assert.assertTrue(range.take(2).allSatisfy(each -> each < 5));
+    }
+
+    @Test
+    public void seesChangesToTheList()
+    {
+        FastList<Integer> integers = FastList.newListWith(1, 2, 3);
+        LazyIterable<Integer> range = integers.asLazy().drop(1).take(3);
+        Assert.assertEquals(FastList.newListWith(2, 3), range.toList());
+        integers.addAll(FastList.newListWith(4, 5, 6));
+        Assert.assertEquals(FastList.newListWith(2, 3, 4), range.toList());
+        Assert.assertEquals(3, range.size());
+    }
+}
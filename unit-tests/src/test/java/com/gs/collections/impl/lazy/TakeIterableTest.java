@@ -25,7 +25,6 @@ import com.gs.collections.impl.list.mutable.FastList;
 import com.gs.collections.impl.math.IntegerSum;
 import com.gs.collections.impl.math.Sum;
 import com.gs.collections.impl.test.Verify;
-import com.gs.collections.impl.utility.LazyIterate;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -185,7 +184,7 @@ public class TakeIterableTest extends AbstractLazyIterableTestCase
     @Override
     protected <T> LazyIterable<T> newWith(T... elements)
     {
-        return LazyIterate.take(FastList.newListWith(elements), elements.length);
+        return new TakeIterable<T>(FastList.newListWith(elements), elements.length);
     }
 
     @Override
@@ -17,6 +17,7 @@
 package com.gs.collections.impl.lazy.parallel;
 
 import java.io.IOException;
+import java.util.NoSuchElementException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -89,20 +90,32 @@ public abstract class AbstractParallelIterableTestCase
 
     protected abstract boolean isOrdered();
 
-    @Test(expected = UnsupportedOperationException.class)
+    @Test
     public void toArray()
     {
-        Assert.assertArrayEquals(
-                this.getExpected().toArray(),
-                this.classUnderTest().toArray());
+        Assert.assertEquals(
+                HashBag.newBagWith(this.getExpected().toArray()),
+                HashBag.newBagWith(this.classUnderTest().toArray()));
+        if (this.isOrdered())
+        {
+            Assert.assertArrayEquals(
+                    this.getExpected().toArray(),
+                    this.classUnderTest().toArray());
+        }
     }
 
-    @Test(expected = UnsupportedOperationException.class)
+    @Test
     public void toArray_array()
     {
-        Assert.assertArrayEquals(
-                this.getExpected().toArray(new Object[10]),
-                this.classUnderTest().toArray(new Object[10]));
+        Assert.assertEquals(
+                HashBag.newBagWith(this.getExpected().toArray(new Object[10])),
+                HashBag.newBagWith(this.classUnderTest().toArray(new Object[10])));
+        if (this.isOrdered())
+        {
+            Assert.assertArrayEquals(
+                    this.getExpected().toArray(new Object[10]),
+                    this.classUnderTest().toArray(new Object[10]));
+        }
     }
 
     @Test
@@ -273,7 +286,7 @@ public abstract class AbstractParallelIterableTestCase
                 this.classUnderTest().collectIf(predicate, Functions.getToString()).toBag());
     }
 
-    @Test(expected = UnsupportedOperationException.class)
+    @Test
     public void flatCollect()
     {
         Function<Integer, Iterable<Integer>> intervalFunction = Interval::oneTo;
@@ -282,11 +295,11 @@ public abstract class AbstractParallelIterableTestCase
                 this.getActual(this.classUnderTest().flatCollect(intervalFunction)));
 
         Assert.assertEquals(
-                this.getExpected().flatCollect(intervalFunction).toList().toBag(),
+                this.getExpected().toList().flatCollect(intervalFunction).toBag(),
                 this.classUnderTest().flatCollect(intervalFunction).toList().toBag());
 
         Assert.assertEquals(
-                this.getExpected().flatCollect(intervalFunction).toBag(),
+                this.getExpected().toList().flatCollect(intervalFunction).toBag(),
                 this.classUnderTest().flatCollect(intervalFunction).toBag());
     }
 
@@ -319,65 +332,61 @@ public abstract class AbstractParallelIterableTestCase
         Assert.assertEquals(Integer.valueOf(1000), this.classUnderTest().detectWithIfNone(Predicates2.equal(), Integer.valueOf(8), function));
     }
 
-    // @Test(expected = NoSuchElementException.class)
-    @Test(expected = UnsupportedOperationException.class)
+    @Test(expected = NoSuchElementException.class)
     public void min_empty_throws()
     {
         this.classUnderTest().select(Predicates.alwaysFalse()).min(Comparators.naturalOrder());
     }
 
-    // @Test(expected = NoSuchElementException.class)
-    @Test(expected = UnsupportedOperationException.class)
+    @Test(expected = NoSuchElementException.class)
     public void max_empty_throws()
     {
         this.classUnderTest().select(Predicates.alwaysFalse()).max(Comparators.naturalOrder());
     }
 
-    @Test(expected = UnsupportedOperationException.class)
+    @Test
     public void min()
     {
         Assert.assertEquals(Integer.valueOf(1), this.classUnderTest().min(Comparators.naturalOrder()));
     }
 
-    @Test(expected = UnsupportedOperationException.class)
+    @Test
     public void max()
     {
         Assert.assertEquals(Integer.valueOf(4), this.classUnderTest().max(Comparators.naturalOrder()));
     }
 
-    @Test(expected = UnsupportedOperationException.class)
+    @Test
     public void minBy()
     {
         Assert.assertEquals(Integer.valueOf(1), this.classUnderTest().minBy(Functions.getToString()));
     }
 
-    @Test(expected = UnsupportedOperationException.class)
+    @Test
     public void maxBy()
     {
         Assert.assertEquals(Integer.valueOf(4), this.classUnderTest().maxBy(Functions.getToString()));
     }
 
-    // @Test(expected = NoSuchElementException.class)
-    @Test(expected = UnsupportedOperationException.class)
+    @Test(expected = NoSuchElementException.class)
     public void min_empty_throws_without_comparator()
     {
         this.classUnderTest().select(Predicates.alwaysFalse()).min();
     }
 
-    // @Test(expected = NoSuchElementException.class)
-    @Test(expected = UnsupportedOperationException.class)
+    @Test(expected = NoSuchElementException.class)
     public void max_empty_throws_without_comparator()
     {
         this.classUnderTest().select(Predicates.alwaysFalse()).max();
     }
 
-    @Test(expected = UnsupportedOperationException.class)
+    @Test
     public void min_without_comparator()
     {
         Assert.assertEquals(Integer.valueOf(1), this.classUnderTest().min());
     }
 
-    @Test(expected = UnsupportedOperationException.class)
+    @Test
     public void max_without_comparator()
     {
         Assert.assertEquals(Integer.valueOf(4), this.classUnderTest().max());
@@ -470,7 +479,7 @@ public abstract class AbstractParallelIterableTestCase
         }
     }
 
-    @Test(expected = UnsupportedOperationException.class)
+    @Test
     public void toSortedList()
     {
         Assert.assertEquals(
@@ -478,7 +487,7 @@ public abstract class AbstractParallelIterableTestCase
                 this.classUnderTest().toSortedList());
     }
 
-    @Test(expected = UnsupportedOperationException.class)
+    @Test
     public void toSortedList_comparator()
     {
         Assert.assertEquals(
@@ -486,7 +495,7 @@ public abstract class AbstractParallelIterableTestCase
                 this.classUnderTest().toSortedList(Comparators.reverseNaturalOrder()));
     }
 
-    @Test(expected = UnsupportedOperationException.class)
+    @Test
     public void toSortedListBy()
     {
         Assert.assertEquals(
@@ -711,7 +720,28 @@ public abstract class AbstractParallelIterableTestCase
                 this.classUnderTest().aggregateInPlaceBy(isOddFunction, Functions0.zeroAtomicInteger(), AtomicInteger::addAndGet).collect(atomicIntToInt));
     }
 
-    @Test(expected = UnsupportedOperationException.class)
+    @Test
+    public void aggregateBy_null_key()
+    {
+        Function<Integer, String> oddOrNull = each -> each % 2 == 0 ? null : "odd";
+
+        Assert.assertEquals(
+                this.getExpected().aggregateBy(oddOrNull, Functions0.value(0), Functions2.integerAddition()),
+                this.classUnderTest().aggregateBy(oddOrNull, Functions0.value(0), Functions2.integerAddition()));
+    }
+
+    @Test
+    public void aggregateInPlaceBy_null_key()
+    {
+        Function<Integer, String> oddOrNull = each -> each % 2 == 0 ? null : "odd";
+        Function2<String, AtomicInteger, Pair<String, Integer>> atomicIntToInt = (argument1, argument2) -> Tuples.pair(argument1, argument2.get());
+
+        Assert.assertEquals(
+                this.getExpected().aggregateInPlaceBy(oddOrNull, Functions0.zeroAtomicInteger(), AtomicInteger::addAndGet).collect(atomicIntToInt),
+                this.classUnderTest().aggregateInPlaceBy(oddOrNull, Functions0.zeroAtomicInteger(), AtomicInteger::addAndGet).collect(atomicIntToInt));
+    }
+
+    @Test
     public void sumOfInt()
     {
         Assert.assertEquals(
@@ -719,7 +749,7 @@ public abstract class AbstractParallelIterableTestCase
                 this.classUnderTest().sumOfInt(Integer::intValue));
     }
 
-    @Test(expected = UnsupportedOperationException.class)
+    @Test
     public void sumOfLong()
     {
         Assert.assertEquals(
@@ -727,7 +757,7 @@ public abstract class AbstractParallelIterableTestCase
                 this.classUnderTest().sumOfLong(Integer::longValue));
     }
 
-    @Test(expected = UnsupportedOperationException.class)
+    @Test
     public void sumOfFloat()
     {
         Assert.assertEquals(
@@ -736,7 +766,7 @@ public abstract class AbstractParallelIterableTestCase
                 0.0);
     }
 
-    @Test(expected = UnsupportedOperationException.class)
+    @Test
     public void sumOfDouble()
     {
         Assert.assertEquals(
@@ -745,6 +775,20 @@ public abstract class AbstractParallelIterableTestCase
                 0.0);
     }
 
+    @Test
+    public void groupByUniqueKey()
+    {
+        Assert.assertEquals(
+                UnifiedMap.newWithKeysValues("1", 1, "2", 2, "3", 3, "4", 4),
+                this.classUnderTest().asUnique().groupByUniqueKey(Functions.getToString()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void groupByUniqueKey_throws()
+    {
+        this.classUnderTest().groupByUniqueKey(each -> each % 2);
+    }
+
     @Test
     public void asUnique()
     {
@@ -58,6 +58,13 @@ public abstract class AbstractParallelBagTestCase extends AbstractParallelIterab
         super.toArray();
     }
 
+    @Test(expected = UnsupportedOperationException.class)
+    @Override
+    public void toArray_array()
+    {
+        super.toArray_array();
+    }
+
     @Test(expected = UnsupportedOperationException.class)
     @Override
     public void forEach()
@@ -261,6 +268,13 @@ public abstract class AbstractParallelBagTestCase extends AbstractParallelIterab
         super.toSortedMap_comparator();
     }
 
+    @Test(expected = UnsupportedOperationException.class)
+    @Override
+    public void flatCollect()
+    {
+        super.flatCollect();
+    }
+
     @Test(expected = UnsupportedOperationException.class)
     @Override
     public void detect()
@@ -317,6 +331,20 @@ public abstract class AbstractParallelBagTestCase extends AbstractParallelIterab
         super.max();
     }
 
+    @Test(expected = UnsupportedOperationException.class)
+    @Override
+    public void minBy()
+    {
+        super.minBy();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    @Override
+    public void maxBy()
+    {
+        super.maxBy();
+    }
+
     @Test(expected = UnsupportedOperationException.class)
     @Override
     public void min_empty_throws_without_comparator()
@@ -422,6 +450,34 @@ public abstract class AbstractParallelBagTestCase extends AbstractParallelIterab
         super.aggregateInPlaceBy();
     }
 
+    @Test(expected = UnsupportedOperationException.class)
+    @Override
+    public void aggregateBy_null_key()
+    {
+        super.aggregateBy_null_key();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    @Override
+    public void aggregateInPlaceBy_null_key()
+    {
+        super.aggregateInPlaceBy_null_key();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    @Override
+    public void groupByUniqueKey()
+    {
+        super.groupByUniqueKey();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    @Override
+    public void groupByUniqueKey_throws()
+    {
+        super.groupByUniqueKey_throws();
+    }
+
     @Test(expected = UnsupportedOperationException.class)
     @Override
     public void asUnique()
@@ -544,4 +600,32 @@ public abstract class AbstractParallelBagTestCase extends AbstractParallelIterab
             Assert.assertFalse(Thread.interrupted());
         }
     }
+
+    @Test(expected = UnsupportedOperationException.class)
+    @Override
+    public void sumOfInt()
+    {
+        super.sumOfInt();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    @Override
+    public void sumOfLong()
+    {
+        super.sumOfLong();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    @Override
+    public void sumOfFloat()
+    {
+        super.sumOfFloat();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    @Override
+    public void sumOfDouble()
+    {
+        super.sumOfDouble();
+    }
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.lazy.parallel.bag.sorted;
+
+import com.gs.collections.api.ParallelIterable;
+import com.gs.collections.api.RichIterable;
+import com.gs.collections.api.bag.sorted.MutableSortedBag;
+import com.gs.collections.api.bag.sorted.ParallelSortedBag;
+import com.gs.collections.api.block.function.Function;
+import com.gs.collections.api.list.ParallelListIterable;
+import com.gs.collections.impl.bag.sorted.mutable.TreeBag;
+import com.gs.collections.impl.lazy.parallel.AbstractParallelIterableTestCase;
+import com.gs.collections.impl.list.Interval;
+import org.junit.Assert;
+import org.junit.Test;
+
+public abstract class AbstractParallelSortedBagTestCase extends AbstractParallelIterableTestCase
+{
+    @Override
+    protected abstract ParallelSortedBag<Integer> classUnderTest();
+
+    @Override
+    protected MutableSortedBag<Integer> getExpected()
+    {
+        return TreeBag.newBagWith(1, 2, 2, 3, 3, 3, 4, 4, 4, 4);
+    }
+
+    @Override
+    protected <T> RichIterable<T> getActual(ParallelIterable<T> actual)
+    {
+        if (actual instanceof ParallelListIterable)
+        {
+            return actual.toList();
+        }
+        return TreeBag.newBag(actual.toList());
+    }
+
+    /**
+     * TreeBag.flatCollect() groups the results of each distinct element, but the parallel version is a
+     * ParallelListIterable and flattens in encounter order, one occurrence at a time, like collect().
+     */
+    @Override
+    @Test
+    public void flatCollect()
+    {
+        Function<Integer, Iterable<Integer>> intervalFunction = Interval::oneTo;
+        Assert.assertEquals(
+                this.getExpected().toList().flatCollect(intervalFunction),
+                this.classUnderTest().flatCollect(intervalFunction).toList());
+
+        Assert.assertEquals(
+                this.getExpected().flatCollect(intervalFunction).toBag(),
+                this.classUnderTest().flatCollect(intervalFunction).toBag());
+    }
+
+    @Override
+    protected boolean isOrdered()
+    {
+        return true;
+    }
+}
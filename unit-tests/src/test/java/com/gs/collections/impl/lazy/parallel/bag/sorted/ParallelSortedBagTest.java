@@ -0,0 +1,54 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.lazy.parallel.bag.sorted;
+
+import com.gs.collections.api.bag.sorted.ParallelSortedBag;
+import com.gs.collections.impl.bag.sorted.mutable.TreeBag;
+import com.gs.collections.impl.block.factory.Comparators;
+import com.gs.collections.impl.list.mutable.FastList;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParallelSortedBagTest extends AbstractParallelSortedBagTestCase
+{
+    @Override
+    protected ParallelSortedBag<Integer> classUnderTest()
+    {
+        return TreeBag.newBagWith(1, 2, 2, 3, 3, 3, 4, 4, 4, 4).asParallel(this.executorService, 2);
+    }
+
+    @Test
+    public void asParallel_comparator()
+    {
+        ParallelSortedBag<Integer> reversed = TreeBag.newBagWith(Comparators.<Integer>reverseNaturalOrder(), 1, 2, 2, 3, 3, 3)
+                .asParallel(this.executorService, 1);
+        Assert.assertEquals(FastList.newListWith(3, 3, 3, 2, 2, 1), reversed.toList());
+        Assert.assertEquals(FastList.newListWith(3, 2, 1), reversed.asUnique().toList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void asParallel_small_batch()
+    {
+        TreeBag.newBagWith(1, 2, 2, 3, 3, 3, 4, 4, 4, 4).asParallel(this.executorService, 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void asParallel_null_executorService()
+    {
+        TreeBag.newBagWith(1, 2, 2, 3, 3, 3, 4, 4, 4, 4).asParallel(null, 2);
+    }
+}
@@ -22,7 +22,6 @@ import com.gs.collections.api.list.MutableList;
 import com.gs.collections.api.list.ParallelListIterable;
 import com.gs.collections.impl.lazy.parallel.AbstractParallelIterableTestCase;
 import com.gs.collections.impl.list.mutable.FastList;
-import org.junit.Test;
 
 public abstract class AbstractParallelListIterableTestCase extends AbstractParallelIterableTestCase
 {
@@ -46,18 +45,4 @@ public abstract class AbstractParallelListIterableTestCase extends AbstractParal
     {
         return true;
     }
-
-    @Test(expected = UnsupportedOperationException.class)
-    @Override
-    public void groupBy()
-    {
-        super.groupBy();
-    }
-
-    @Test(expected = UnsupportedOperationException.class)
-    @Override
-    public void groupByEach()
-    {
-        super.groupByEach();
-    }
 }
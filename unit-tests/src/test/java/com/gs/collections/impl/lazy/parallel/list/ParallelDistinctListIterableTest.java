@@ -19,6 +19,8 @@ package com.gs.collections.impl.lazy.parallel.list;
 import com.gs.collections.api.set.ParallelSetIterable;
 import com.gs.collections.impl.lazy.parallel.set.AbstractParallelUnsortedSetIterableTestCase;
 import com.gs.collections.impl.list.mutable.FastList;
+import org.junit.Assert;
+import org.junit.Test;
 
 public class ParallelDistinctListIterableTest extends AbstractParallelUnsortedSetIterableTestCase
 {
@@ -29,4 +31,11 @@ public class ParallelDistinctListIterableTest extends AbstractParallelUnsortedSe
                 .asParallel(this.executorService, 2)
                 .asUnique();
     }
+
+    @Test
+    public void allSatisfy_tests_elements_that_occur_once()
+    {
+        Assert.assertFalse(this.classUnderTest().allSatisfy(each -> each > 1));
+        Assert.assertTrue(this.classUnderTest().allSatisfy(each -> each > 0));
+    }
 }
@@ -16,8 +16,16 @@
 
 package com.gs.collections.impl.lazy.parallel.list;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.gs.collections.api.block.function.Function;
 import com.gs.collections.api.list.ParallelListIterable;
+import com.gs.collections.api.map.MapIterable;
+import com.gs.collections.impl.block.factory.Functions0;
+import com.gs.collections.impl.block.factory.Functions2;
+import com.gs.collections.impl.list.Interval;
 import com.gs.collections.impl.list.mutable.FastList;
+import org.junit.Assert;
 import org.junit.Test;
 
 public class ParallelListIterableTest extends AbstractParallelListIterableTestCase
@@ -39,4 +47,21 @@ public class ParallelListIterableTest extends AbstractParallelListIterableTestCa
     {
         FastList.newListWith(1, 2, 2, 3, 3, 3, 4, 4, 4, 4).asParallel(null, 2);
     }
+
+    @Test
+    public void aggregateBy_concurrent()
+    {
+        FastList<Integer> integers = FastList.newList(Interval.oneTo(100000));
+        Function<Integer, Integer> mod7 = each -> each % 7;
+
+        Assert.assertEquals(
+                integers.aggregateBy(mod7, Functions0.value(0), Functions2.integerAddition()),
+                integers.asParallel(this.executorService, 100).aggregateBy(mod7, Functions0.value(0), Functions2.integerAddition()));
+
+        MapIterable<Integer, AtomicInteger> counts = integers.asParallel(this.executorService, 100)
+                .aggregateInPlaceBy(mod7, Functions0.zeroAtomicInteger(), (count, each) -> count.incrementAndGet());
+        Assert.assertEquals(
+                integers.collect(mod7).toBag().toMapOfItemToCount(),
+                counts.collectValues((key, count) -> count.get()));
+    }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.lazy.parallel.list;
+
+import com.gs.collections.api.list.MutableList;
+import com.gs.collections.api.list.ParallelListIterable;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.set.mutable.UnifiedSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParallelOrderedDistinctListIterableTest extends AbstractParallelListIterableTestCase
+{
+    private static final FastList<Integer> SOURCE = FastList.newListWith(3, 1, 3, 2, 1, 4, 2, 4, 3, 4);
+
+    @Override
+    protected ParallelListIterable<Integer> classUnderTest()
+    {
+        return SOURCE.asParallel(this.executorService, 2).distinct();
+    }
+
+    @Override
+    protected MutableList<Integer> getExpected()
+    {
+        return SOURCE.distinct();
+    }
+
+    @Test
+    public void keepsFirstOccurrenceInEncounterOrder()
+    {
+        Assert.assertEquals(FastList.newListWith(3, 1, 2, 4), this.classUnderTest().toList());
+        Assert.assertEquals(
+                FastList.newListWith(4, 1, 2),
+                SOURCE.asParallel(this.executorService, 3).select(each -> each < 4).distinct().collect(each -> each == 3 ? 4 : each).distinct().toList());
+    }
+
+    @Test
+    public void matchesSerialDistinct()
+    {
+        FastList<Integer> integers = FastList.newList(Interval.oneTo(20000).collect(each -> (each * 7919) % 1009));
+        MutableList<Integer> expected = integers.distinct();
+        for (int i = 0; i < 10; i++)
+        {
+            Assert.assertEquals(expected, integers.asParallel(this.executorService, 97).distinct().toList());
+        }
+    }
+
+    @Test
+    public void nullElements()
+    {
+        FastList<Integer> withNulls = FastList.newListWith(null, 1, null, 2, 1, null, 3);
+        Assert.assertEquals(FastList.newListWith(null, 1, 2, 3), withNulls.asParallel(this.executorService, 2).distinct().toList());
+        Assert.assertEquals(UnifiedSet.newSetWith(null, 1, 2, 3), withNulls.asParallel(this.executorService, 2).distinct().toSet());
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.lazy.parallel.set;
+
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.set.ParallelUnsortedSetIterable;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.map.mutable.UnifiedMap;
+import com.gs.collections.impl.set.mutable.UnifiedSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParallelUnifiedMapKeysViewTest extends AbstractParallelUnsortedSetIterableTestCase
+{
+    @Override
+    protected ParallelUnsortedSetIterable<Integer> classUnderTest()
+    {
+        return UnifiedMap.newWithKeysValues(1, "1", 2, "2", 3, "3", 4, "4").parallelKeysView(this.executorService, 2);
+    }
+
+    @Test
+    public void parallelKeysView_chained_buckets()
+    {
+        UnifiedMap<Integer, Integer> map = UnifiedMap.newMap();
+        Interval.oneTo(20000).forEach((Procedure<Integer>) each -> map.put(each, each));
+        Assert.assertEquals(UnifiedSet.newSet(Interval.oneTo(20000)), map.parallelKeysView(this.executorService, 100).toSet());
+        Assert.assertEquals(10000, map.parallelKeysView(this.executorService, 3).select(each -> each % 2 == 0).toList().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parallelKeysView_small_batch()
+    {
+        UnifiedMap.newWithKeysValues(1, "1", 2, "2").parallelKeysView(this.executorService, 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void parallelKeysView_null_executorService()
+    {
+        UnifiedMap.newWithKeysValues(1, "1", 2, "2").parallelKeysView(null, 2);
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.lazy.parallel.set.sorted;
+
+import com.gs.collections.api.list.ParallelListIterable;
+import com.gs.collections.impl.lazy.parallel.list.AbstractParallelListIterableTestCase;
+import com.gs.collections.impl.set.sorted.mutable.TreeSortedSet;
+
+public class ParallelCollectSortedSetIterableTest extends AbstractParallelListIterableTestCase
+{
+    @Override
+    protected ParallelListIterable<Integer> classUnderTest()
+    {
+        return TreeSortedSet.newSetWith(1.1, 2.1, 2.2, 3.1, 3.2, 3.3, 4.1, 4.2, 4.3, 4.4)
+                .asParallel(this.executorService, 2)
+                .collect(Double::intValue);
+    }
+}
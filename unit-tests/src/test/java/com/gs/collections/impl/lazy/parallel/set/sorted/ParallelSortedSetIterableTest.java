@@ -0,0 +1,54 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.lazy.parallel.set.sorted;
+
+import com.gs.collections.api.set.sorted.ParallelSortedSetIterable;
+import com.gs.collections.impl.block.factory.Comparators;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.set.sorted.mutable.TreeSortedSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParallelSortedSetIterableTest extends AbstractParallelSortedSetIterableTestCase
+{
+    @Override
+    protected ParallelSortedSetIterable<Integer> classUnderTest()
+    {
+        return TreeSortedSet.newSetWith(1, 2, 3, 4).asParallel(this.executorService, 2);
+    }
+
+    @Test
+    public void asParallel_comparator()
+    {
+        ParallelSortedSetIterable<Integer> reversed = TreeSortedSet.newSetWith(Comparators.<Integer>reverseNaturalOrder(), 1, 2, 3, 4, 5)
+                .asParallel(this.executorService, 2);
+        Assert.assertEquals(FastList.newListWith(5, 4, 3, 2, 1), reversed.toList());
+        Assert.assertEquals(FastList.newListWith(5, 3, 1), reversed.select(each -> each % 2 == 1).toList());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void asParallel_small_batch()
+    {
+        TreeSortedSet.newSetWith(1, 2, 3, 4).asParallel(this.executorService, 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void asParallel_null_executorService()
+    {
+        TreeSortedSet.newSetWith(1, 2, 3, 4).asParallel(null, 2);
+    }
+}
@@ -25,6 +25,8 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import com.gs.collections.api.LazyIterable;
 import com.gs.collections.api.block.function.Function0;
@@ -1091,6 +1093,27 @@ public class FastListTest extends AbstractListTestCase
         }
     }
 
+    @Test
+    public void sortThisInParallel()
+    {
+        FastList<Integer> integers = FastList.newList(Interval.oneTo(50000));
+        Collections.shuffle(integers);
+        Assert.assertSame(integers, integers.sortThisInParallel());
+        Assert.assertEquals(Interval.oneTo(50000), integers);
+        Assert.assertEquals(Interval.fromTo(50000, 1), integers.sortThisInParallel(Collections.<Integer>reverseOrder()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try
+        {
+            Collections.shuffle(integers);
+            Assert.assertEquals(Interval.oneTo(50000), integers.sortThisInParallel(null, executor, 100));
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
     @Test
     public void testNewListWithCollection()
     {
@@ -122,4 +122,24 @@ public abstract class ConcurrentHashMapTestCase extends MutableMapTestCase
                 FastList.newList(Collections.nCopies(100, 2)),
                 FastList.newList(map.values()));
     }
+
+    @Test
+    public void concurrentPutAndRemove_resizes()
+    {
+        ConcurrentMutableMap<Integer, Integer> map = this.newMap();
+        ParallelIterate.forEach(Interval.oneTo(100000), each -> {
+            map.put(each, each);
+        }, 1000, this.executor);
+        Assert.assertEquals(100000, map.size());
+        Assert.assertEquals(Interval.oneTo(100000).toSet(), map.keySet());
+
+        ParallelIterate.forEach(Interval.oneTo(100000), each -> {
+            if (each % 2 == 0)
+            {
+                map.remove(each);
+            }
+        }, 1000, this.executor);
+        Assert.assertEquals(50000, map.size());
+        Assert.assertEquals(Interval.oneTo(100000).reject(each -> each % 2 == 0).toSet(), map.keySet());
+    }
 }
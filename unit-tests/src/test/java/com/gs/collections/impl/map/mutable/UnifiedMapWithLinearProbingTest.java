@@ -0,0 +1,211 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.map.mutable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.gs.collections.api.map.MutableMap;
+import com.gs.collections.impl.math.IntegerSum;
+import com.gs.collections.impl.math.Sum;
+import com.gs.collections.impl.set.mutable.UnifiedSet;
+import com.gs.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class UnifiedMapWithLinearProbingTest extends UnifiedMapTestCase
+{
+    @Override
+    public <K, V> MutableMap<K, V> newMap()
+    {
+        return UnifiedMapWithLinearProbing.newMap();
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeyValue(K key, V value)
+    {
+        return UnifiedMapWithLinearProbing.newWithKeysValues(key, value);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        return UnifiedMapWithLinearProbing.newWithKeysValues(key1, value1, key2, value2);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return UnifiedMapWithLinearProbing.newWithKeysValues(key1, value1, key2, value2, key3, value3);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeysValues(
+            K key1, V value1, K key2, V value2, K key3, V value3, K key4, V value4)
+    {
+        return UnifiedMapWithLinearProbing.newWithKeysValues(key1, value1, key2, value2, key3, value3, key4, value4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void newMapWithNegativeInitialCapacity()
+    {
+        new UnifiedMapWithLinearProbing<Integer, Integer>(-1, 0.5f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void newMapWithZeroLoadFactor()
+    {
+        new UnifiedMapWithLinearProbing<Integer, Integer>(8, 0.0f);
+    }
+
+    /**
+     * Colliding keys are not kept in insertion order once the table grows, as they are in a UnifiedMap chain.
+     */
+    @Override
+    @Test
+    public void iterator_many_collisions()
+    {
+        MutableMap<Integer, Integer> map = this.mapWithCollisionsOfSize(9);
+        UnifiedSet<Integer> visited = UnifiedSet.newSet();
+        for (Iterator<Integer> iterator = map.iterator(); iterator.hasNext(); )
+        {
+            Assert.assertTrue(visited.add(iterator.next()));
+        }
+        Assert.assertEquals(UnifiedSet.newSet(MORE_COLLISIONS), visited);
+    }
+
+    @Test
+    public void removeFromClusters()
+    {
+        for (float loadFactor : new float[]{0.5f, 0.75f, 1.0f})
+        {
+            UnifiedMapWithLinearProbing<Integer, Integer> map = UnifiedMapWithLinearProbing.newMap(0, loadFactor);
+            UnifiedMap<Integer, Integer> expected = UnifiedMap.newMap();
+            for (int i = 0; i < 1000; i++)
+            {
+                Integer key = i * 17;
+                map.put(key, i);
+                expected.put(key, i);
+            }
+            for (int i = 0; i < 1000; i += 3)
+            {
+                Integer key = i * 17;
+                Assert.assertEquals(Integer.valueOf(i), map.remove(key));
+                expected.remove(key);
+            }
+            Assert.assertEquals(expected, map);
+            for (Integer key : expected.keySet())
+            {
+                Assert.assertEquals(expected.get(key), map.get(key));
+            }
+            Assert.assertNull(map.get(3 * 17));
+        }
+    }
+
+    @Test
+    public void iteratorRemoveVisitsEveryEntryOnce()
+    {
+        UnifiedMapWithLinearProbing<Integer, Integer> map = UnifiedMapWithLinearProbing.newMap(0, 1.0f);
+        for (int i = 0; i < 64; i++)
+        {
+            map.put(i * 16, i);
+        }
+        map.put(null, -1);
+
+        Sum visited = new IntegerSum(0);
+        int count = 0;
+        for (Iterator<Integer> iterator = map.keySet().iterator(); iterator.hasNext(); )
+        {
+            Integer key = iterator.next();
+            count++;
+            if (key == null)
+            {
+                continue;
+            }
+            visited.add(key);
+            if (key % 32 == 0)
+            {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(65, count);
+        Assert.assertEquals(16 * 63 * 64 / 2, visited.getValue());
+        Verify.assertSize(33, map);
+        Assert.assertEquals(Integer.valueOf(-1), map.get(null));
+        for (int i = 0; i < 64; i++)
+        {
+            Assert.assertEquals(i % 2 == 0 ? null : Integer.valueOf(i), map.get(i * 16));
+        }
+    }
+
+    @Test
+    public void externalizedFormIsCompatibleWithUnifiedMap() throws IOException, ClassNotFoundException
+    {
+        UnifiedMap<Integer, String> unifiedMap = UnifiedMap.newWithKeysValues(COLLISION_1, "1", COLLISION_2, "2", null, "3", 4, null);
+        UnifiedMapWithLinearProbing<Integer, String> probingMap = new UnifiedMapWithLinearProbing<Integer, String>();
+        probingMap.readExternal(this.externalize(unifiedMap));
+        Assert.assertEquals(unifiedMap, probingMap);
+
+        UnifiedMap<Integer, String> roundTrip = UnifiedMap.newMap();
+        roundTrip.readExternal(this.externalize(probingMap));
+        Assert.assertEquals(probingMap, roundTrip);
+    }
+
+    private ObjectInputStream externalize(Externalizable externalizable) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        externalizable.writeExternal(out);
+        out.flush();
+        return new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    @Test
+    public void batchForEach()
+    {
+        UnifiedMapWithLinearProbing<Integer, Integer> map = UnifiedMapWithLinearProbing.<Integer, Integer>newMap(5).withKeysValues(COLLISION_1, 1, COLLISION_2, 2, COLLISION_3, 3).withKeysValues(null, 4, 1, null);
+        for (int sectionCount = 1; sectionCount <= 16; ++sectionCount)
+        {
+            Sum sum = new IntegerSum(0);
+            for (int sectionIndex = 0; sectionIndex < sectionCount; ++sectionIndex)
+            {
+                map.batchForEach(each -> { sum.add(each == null ? 100 : each); }, sectionIndex, sectionCount);
+                ((UnifiedMapWithLinearProbing<Integer, Integer>.KeySet) map.keySet()).batchForEach(each -> { sum.add(each == null ? 100 : each); }, sectionIndex, sectionCount);
+            }
+            Assert.assertEquals(1 + 2 + 3 + 4 + 100 + COLLISION_1 + COLLISION_2 + COLLISION_3 + 100 + 1, sum.getValue());
+        }
+        Assert.assertEquals(1, map.getBatchCount(100000));
+    }
+
+    @Test
+    public void entrySetValueWritesThrough()
+    {
+        MutableMap<Integer, String> map = this.newMapWithKeysValues(COLLISION_1, "1", COLLISION_2, "2");
+        for (Map.Entry<Integer, String> entry : map.entrySet())
+        {
+            entry.setValue(entry.getValue() + "!");
+        }
+        Assert.assertEquals(UnifiedMap.newWithKeysValues(COLLISION_1, "1!", COLLISION_2, "2!"), map);
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.map.mutable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import com.gs.collections.api.map.MutableMap;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Runs the UnifiedMap tests against {@link UnifiedMap#newMapWithSortedChains()}.
+ */
+public class UnifiedMapWithSortedChainsTest extends UnifiedMapTestCase
+{
+    @Override
+    public <K, V> MutableMap<K, V> newMap()
+    {
+        return UnifiedMap.newMapWithSortedChains();
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeyValue(K key, V value)
+    {
+        return UnifiedMap.<K, V>newMapWithSortedChains().withKeysValues(key, value);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        return UnifiedMap.<K, V>newMapWithSortedChains().withKeysValues(key1, value1, key2, value2);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeysValues(K key1, V value1, K key2, V value2, K key3, V value3)
+    {
+        return UnifiedMap.<K, V>newMapWithSortedChains().withKeysValues(key1, value1, key2, value2, key3, value3);
+    }
+
+    @Override
+    public <K, V> MutableMap<K, V> newMapWithKeysValues(
+            K key1, V value1, K key2, V value2, K key3, V value3, K key4, V value4)
+    {
+        return UnifiedMap.<K, V>newMapWithSortedChains().withKeysValues(key1, value1, key2, value2, key3, value3, key4, value4);
+    }
+
+    @Test
+    public void sameHashCodeKeysAreKeptInNaturalOrder()
+    {
+        List<Integer> values = FastList.newList(Interval.zeroTo(999));
+        Collections.shuffle(values, new Random(42L));
+
+        UnifiedMap<SameHashCode, Integer> map = UnifiedMap.newMapWithSortedChains();
+        for (Integer each : values)
+        {
+            map.put(new SameHashCode(each), each);
+        }
+        Verify.assertSize(1000, map);
+        Assert.assertEquals(Interval.zeroTo(999), map.valuesView().toList());
+        for (int i = 0; i < 1000; i++)
+        {
+            Assert.assertEquals(Integer.valueOf(i), map.get(new SameHashCode(i)));
+        }
+
+        for (int i = 0; i < 1000; i += 2)
+        {
+            Assert.assertEquals(Integer.valueOf(i), map.remove(new SameHashCode(i)));
+        }
+        for (Iterator<SameHashCode> iterator = map.keySet().iterator(); iterator.hasNext(); )
+        {
+            if (iterator.next().value % 3 == 0)
+            {
+                iterator.remove();
+            }
+        }
+        for (int i = 0; i < 1000; i++)
+        {
+            boolean present = i % 2 != 0 && i % 3 != 0;
+            Assert.assertEquals(present ? Integer.valueOf(i) : null, map.get(new SameHashCode(i)));
+            Assert.assertEquals(present, map.containsKey(new SameHashCode(i)));
+        }
+        Assert.assertEquals(Interval.zeroTo(999).select(each -> each % 2 != 0 && each % 3 != 0).toList(), map.valuesView().toList());
+        Assert.assertEquals(map, map.clone());
+    }
+
+    @Test
+    public void sameHashCodeMixedWithOtherKeys()
+    {
+        UnifiedMap<Object, String> map = UnifiedMap.newMapWithSortedChains();
+        Object first = new Object()
+        {
+            @Override
+            public int hashCode()
+            {
+                return 0;
+            }
+        };
+        Object second = new Object()
+        {
+            @Override
+            public int hashCode()
+            {
+                return 0;
+            }
+        };
+        for (int i = 0; i < 20; i++)
+        {
+            map.put(new SameHashCode(i), String.valueOf(i));
+        }
+        map.put(first, "first");
+        map.put(null, "null");
+        map.put(0, "zero");
+        map.put(second, "second");
+        map.put(32, "32");
+
+        Verify.assertSize(25, map);
+        Assert.assertEquals("first", map.get(first));
+        Assert.assertEquals("second", map.get(second));
+        Assert.assertEquals("null", map.get(null));
+        Assert.assertEquals("zero", map.get(0));
+        Assert.assertEquals("32", map.get(32));
+        Assert.assertEquals("7", map.get(new SameHashCode(7)));
+
+        Assert.assertEquals("first", map.remove(first));
+        Assert.assertEquals("null", map.remove(null));
+        Assert.assertNull(map.get(first));
+        Assert.assertEquals("second", map.get(second));
+        Assert.assertEquals("19", map.getIfAbsentPut(new SameHashCode(19), () -> "missing"));
+        Assert.assertEquals("missing", map.getIfAbsentPut(new SameHashCode(20), () -> "missing"));
+        Verify.assertSize(24, map);
+    }
+
+    @Test
+    public void equalKeysOfDifferentClasses()
+    {
+        int listHashCode = FastList.newListWith(1, 2).hashCode();
+        UnifiedMap<Object, String> shortChain = UnifiedMap.newMapWithSortedChains();
+        shortChain.put(FastList.newListWith(1, 2), "fastList");
+        shortChain.put(new CollidingKey(listHashCode), "colliding");
+        shortChain.put(new ArrayList<Integer>(Arrays.asList(1, 2)), "arrayList");
+        Verify.assertSize(2, shortChain);
+        Assert.assertEquals("arrayList", shortChain.get(FastList.newListWith(1, 2)));
+
+        UnifiedMap<Object, String> longChain = UnifiedMap.newMapWithSortedChains();
+        for (int i = 0; i < 10; i++)
+        {
+            longChain.put(new CollidingKey(listHashCode), String.valueOf(i));
+        }
+        longChain.put(FastList.newListWith(1, 2), "fastList");
+        longChain.put(new ArrayList<Integer>(Arrays.asList(1, 2)), "arrayList");
+        Verify.assertSize(11, longChain);
+        Assert.assertEquals("arrayList", longChain.get(FastList.newListWith(1, 2)));
+        Assert.assertEquals("arrayList", longChain.get(new ArrayList<Integer>(Arrays.asList(1, 2))));
+        Assert.assertEquals("arrayList", longChain.remove(new ArrayList<Integer>(Arrays.asList(1, 2))));
+        Assert.assertFalse(longChain.containsKey(FastList.newListWith(1, 2)));
+        Verify.assertSize(10, longChain);
+    }
+
+    private static final class CollidingKey
+    {
+        private final int hashCode;
+
+        private CollidingKey(int hashCode)
+        {
+            this.hashCode = hashCode;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.hashCode;
+        }
+    }
+
+    private static final class SameHashCode implements Comparable<SameHashCode>
+    {
+        private final int value;
+
+        private SameHashCode(int value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            return o instanceof SameHashCode && ((SameHashCode) o).value == this.value;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 0;
+        }
+
+        public int compareTo(SameHashCode other)
+        {
+            return this.value < other.value ? -1 : this.value == other.value ? 0 : 1;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.map.sorted.mutable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.gs.collections.impl.block.factory.Comparators;
+import com.gs.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link BTreeMap}, which checks it against {@link TreeMap} with enough keys to split and merge leaves
+ * and branches.
+ */
+public class BTreeMapTest
+{
+    private static final int KEY_RANGE = 20000;
+
+    @Test
+    public void randomPutsAndRemovesMatchTreeMap()
+    {
+        Random random = new Random(42L);
+        BTreeMap<Integer, Integer> map = new BTreeMap<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < 200000; i++)
+        {
+            int key = random.nextInt(KEY_RANGE);
+            if (random.nextInt(3) == 0)
+            {
+                Assert.assertEquals(expected.remove(key), map.remove(key));
+            }
+            else
+            {
+                Assert.assertEquals(expected.put(key, i), map.put(key, i));
+            }
+            Assert.assertEquals(expected.size(), map.size());
+        }
+        Assert.assertEquals(expected, map);
+        Assert.assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(map.keySet()));
+        Assert.assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(map.values()));
+        Assert.assertEquals(expected.firstKey(), map.firstKey());
+        Assert.assertEquals(expected.lastKey(), map.lastKey());
+
+        List<Integer> keys = new ArrayList<>(expected.keySet());
+        Collections.shuffle(keys, random);
+        for (Integer key : keys)
+        {
+            Assert.assertEquals(expected.remove(key), map.remove(key));
+        }
+        Verify.assertEmpty(map);
+        Verify.assertThrows(NoSuchElementException.class, (Runnable) map::firstKey);
+    }
+
+    @Test
+    public void rangeViewsMatchTreeMap()
+    {
+        Random random = new Random(7L);
+        BTreeMap<Integer, Integer> map = new BTreeMap<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < 10000; i++)
+        {
+            int key = random.nextInt(KEY_RANGE);
+            map.put(key, i);
+            expected.put(key, i);
+        }
+        for (int i = 0; i < 500; i++)
+        {
+            int from = random.nextInt(KEY_RANGE);
+            int to = from + random.nextInt(KEY_RANGE / 4);
+            SortedMap<Integer, Integer> subMap = map.subMap(from, to);
+            SortedMap<Integer, Integer> expectedSubMap = expected.subMap(from, to);
+            Assert.assertEquals(expectedSubMap.size(), subMap.size());
+            Assert.assertEquals(new ArrayList<>(expectedSubMap.keySet()), new ArrayList<>(subMap.keySet()));
+            Assert.assertEquals(expected.headMap(to).size(), map.headMap(to).size());
+            Assert.assertEquals(expected.tailMap(from).size(), map.tailMap(from).size());
+            if (!expectedSubMap.isEmpty())
+            {
+                Assert.assertEquals(expectedSubMap.firstKey(), subMap.firstKey());
+                Assert.assertEquals(expectedSubMap.lastKey(), subMap.lastKey());
+                Integer middle = expectedSubMap.firstKey() + (to - expectedSubMap.firstKey()) / 2;
+                Assert.assertEquals(expectedSubMap.tailMap(middle), subMap.tailMap(middle));
+            }
+        }
+    }
+
+    @Test
+    public void rangeViewsAreLive()
+    {
+        BTreeMap<Integer, String> map = new BTreeMap<>();
+        SortedMap<Integer, String> subMap = map.subMap(100, 200);
+        Verify.assertEmpty(subMap);
+        for (int i = 0; i <= 999; i++)
+        {
+            map.put(i, String.valueOf(i));
+        }
+        Verify.assertSize(100, subMap);
+        subMap.keySet().removeIf(each -> each % 2 == 0);
+        Verify.assertSize(50, subMap);
+        Verify.assertSize(950, map);
+        Assert.assertEquals("199", subMap.put(199, "x"));
+        Verify.assertThrows(IllegalArgumentException.class, () -> subMap.put(200, "200"));
+        Verify.assertThrows(IllegalArgumentException.class, () -> subMap.subMap(50, 150));
+        Verify.assertThrows(IllegalArgumentException.class, () -> map.subMap(2, 1));
+        subMap.clear();
+        Verify.assertEmpty(subMap);
+        Verify.assertSize(900, map);
+        Assert.assertEquals(Integer.valueOf(99), map.headMap(200).lastKey());
+        Assert.assertEquals(Integer.valueOf(200), map.tailMap(100).firstKey());
+    }
+
+    @Test
+    public void iteratorRemove()
+    {
+        BTreeMap<Integer, Integer> map = new BTreeMap<>();
+        for (int i = 1; i <= 5000; i++)
+        {
+            map.put(i, i);
+        }
+        Iterator<Map.Entry<Integer, Integer>> iterator = map.entrySet().iterator();
+        Verify.assertThrows(IllegalStateException.class, (Runnable) iterator::remove);
+        int count = 0;
+        while (iterator.hasNext())
+        {
+            Map.Entry<Integer, Integer> entry = iterator.next();
+            count++;
+            if (entry.getKey() % 3 != 0)
+            {
+                iterator.remove();
+            }
+            else
+            {
+                entry.setValue(-entry.getValue());
+            }
+        }
+        Assert.assertEquals(5000, count);
+        Verify.assertSize(1666, map);
+        Assert.assertEquals(Integer.valueOf(-3), map.get(3));
+        Assert.assertEquals(Integer.valueOf(-4998), map.get(4998));
+    }
+
+    @Test
+    public void iteratorIsFailFast()
+    {
+        BTreeMap<Integer, Integer> map = new BTreeMap<>();
+        for (int i = 1; i <= 10; i++)
+        {
+            map.put(i, i);
+        }
+        Iterator<Integer> iterator = map.keySet().iterator();
+        iterator.next();
+        map.put(11, 11);
+        Verify.assertThrows(ConcurrentModificationException.class, (Runnable) iterator::next);
+
+        Iterator<Integer> replacing = map.keySet().iterator();
+        replacing.next();
+        map.put(1, 0);
+        Assert.assertEquals(Integer.valueOf(2), replacing.next());
+    }
+
+    @Test
+    public void bulkLoad()
+    {
+        for (int size : new int[]{0, 1, 64, 65, 4096, 4097, 300000})
+        {
+            TreeMap<Integer, Integer> expected = new TreeMap<>(Comparators.reverseNaturalOrder());
+            for (int i = 1; i <= size; i++)
+            {
+                expected.put(i, i);
+            }
+            BTreeMap<Integer, Integer> map = new BTreeMap<>(expected);
+            Assert.assertEquals(expected.comparator(), map.comparator());
+            Assert.assertEquals(expected, map);
+            Assert.assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(map.keySet()));
+            for (int i = 1; i <= size; i += 2)
+            {
+                map.remove(i);
+                expected.remove(i);
+                map.put(-i, i);
+                expected.put(-i, i);
+            }
+            Assert.assertEquals(expected, map);
+
+            BTreeMap<Integer, Integer> putAll = new BTreeMap<>(Comparators.reverseNaturalOrder());
+            putAll.putAll(expected);
+            Assert.assertEquals(expected, putAll);
+        }
+    }
+
+    @Test
+    public void keySetWithAddedValue()
+    {
+        BTreeMap<String, Boolean> map = new BTreeMap<>();
+        SortedSet<String> keys = map.keySet(Boolean.TRUE);
+        TreeSet<String> sortedKeys = new TreeSet<>();
+        for (int i = 1; i <= 1000; i++)
+        {
+            sortedKeys.add(String.valueOf(i));
+        }
+        Assert.assertTrue(keys.addAll(sortedKeys));
+        Verify.assertSize(1000, map);
+        Assert.assertEquals(Boolean.TRUE, map.get("500"));
+        SortedSet<String> headSet = keys.headSet("2");
+        Assert.assertTrue(headSet.add("1a"));
+        Assert.assertFalse(headSet.add("1a"));
+        Verify.assertThrows(IllegalArgumentException.class, () -> headSet.add("3"));
+        Verify.assertThrows(UnsupportedOperationException.class, () -> map.keySet().add("x"));
+        Verify.assertSize(1001, map);
+    }
+
+    @Test
+    public void nullKeys()
+    {
+        Verify.assertThrows(NullPointerException.class, () -> new BTreeMap<String, String>().put(null, "null"));
+        Verify.assertThrows(NullPointerException.class, () -> new BTreeMap<String, String>().get(null));
+        BTreeMap<String, String> nullsFirst = new BTreeMap<>(Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+        nullsFirst.put("a", "a");
+        nullsFirst.put(null, "null");
+        Assert.assertNull(nullsFirst.firstKey());
+        Assert.assertEquals("null", nullsFirst.get(null));
+    }
+}
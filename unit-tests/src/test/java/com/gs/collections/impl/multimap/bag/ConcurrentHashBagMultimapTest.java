@@ -0,0 +1,191 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.multimap.bag;
+
+import com.gs.collections.api.RichIterable;
+import com.gs.collections.api.collection.MutableCollection;
+import com.gs.collections.api.multimap.Multimap;
+import com.gs.collections.api.multimap.MutableMultimap;
+import com.gs.collections.api.tuple.Pair;
+import com.gs.collections.impl.bag.mutable.HashBag;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.multimap.AbstractMutableMultimapTestCase;
+import com.gs.collections.impl.parallel.ParallelIterate;
+import com.gs.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test of {@link ConcurrentHashBagMultimap}.
+ */
+public class ConcurrentHashBagMultimapTest extends AbstractMutableMultimapTestCase
+{
+    @Override
+    public <K, V> ConcurrentHashBagMultimap<K, V> newMultimap()
+    {
+        return ConcurrentHashBagMultimap.newMultimap();
+    }
+
+    @Override
+    public <K, V> ConcurrentHashBagMultimap<K, V> newMultimapWithKeyValue(K key, V value)
+    {
+        ConcurrentHashBagMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key, value);
+        return mutableMultimap;
+    }
+
+    @Override
+    public <K, V> ConcurrentHashBagMultimap<K, V> newMultimapWithKeysValues(K key1, V value1, K key2, V value2)
+    {
+        ConcurrentHashBagMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key1, value1);
+        mutableMultimap.put(key2, value2);
+        return mutableMultimap;
+    }
+
+    @Override
+    protected <V> MutableCollection<V> createCollection(V... args)
+    {
+        return HashBag.newBagWith(args);
+    }
+
+    @Override
+    public <K, V> Multimap<K, V> newMultimap(Pair<K, V>... pairs)
+    {
+        return ConcurrentHashBagMultimap.newMultimap(pairs);
+    }
+
+    @Override
+    public <K, V> ConcurrentHashBagMultimap<K, V> newMultimapWithKeysValues(
+            K key1, V value1,
+            K key2, V value2,
+            K key3, V value3)
+    {
+        ConcurrentHashBagMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key1, value1);
+        mutableMultimap.put(key2, value2);
+        mutableMultimap.put(key3, value3);
+        return mutableMultimap;
+    }
+
+    @Override
+    public <K, V> ConcurrentHashBagMultimap<K, V> newMultimapWithKeysValues(
+            K key1, V value1,
+            K key2, V value2,
+            K key3, V value3,
+            K key4, V value4)
+    {
+        ConcurrentHashBagMultimap<K, V> mutableMultimap = this.newMultimap();
+        mutableMultimap.put(key1, value1);
+        mutableMultimap.put(key2, value2);
+        mutableMultimap.put(key3, value3);
+        mutableMultimap.put(key4, value4);
+        return mutableMultimap;
+    }
+
+    @Test
+    @Override
+    public void testClear()
+    {
+        MutableMultimap<Integer, Object> multimap =
+                this.<Integer, Object>newMultimapWithKeysValues(1, "One", 2, "Two", 3, "Three", 4, "Four");
+        multimap.clear();
+        Verify.assertEmpty(multimap);
+    }
+
+    @Test
+    @Override
+    public void testToString()
+    {
+        MutableMultimap<String, Integer> multimap =
+                this.newMultimapWithKeysValues("One", 1, "One", 2);
+        String toString = multimap.toString();
+        Assert.assertTrue("{One=[1, 2]}".equals(toString) || "{One=[2, 1]}".equals(toString));
+    }
+
+    @Test
+    public void get_isSnapshot()
+    {
+        ConcurrentHashBagMultimap<String, Integer> multimap = this.newMultimapWithKeysValues("One", 1, "One", 1);
+        Assert.assertEquals(HashBag.newBagWith(1, 1), multimap.get("One"));
+        Verify.assertThrows(UnsupportedOperationException.class, () -> multimap.get("One").add(2));
+        HashBag<Integer> before = HashBag.newBag(multimap.get("One"));
+        multimap.put("One", 2);
+        Assert.assertEquals(HashBag.newBagWith(1, 1), before);
+        Assert.assertEquals(HashBag.newBagWith(1, 1, 2), multimap.get("One"));
+    }
+
+    @Test
+    public void removeLastValueRemovesKey()
+    {
+        ConcurrentHashBagMultimap<String, Integer> multimap = this.newMultimapWithKeysValues("One", 1, "One", 1);
+        Assert.assertTrue(multimap.remove("One", 1));
+        Assert.assertTrue(multimap.containsKey("One"));
+        Assert.assertTrue(multimap.remove("One", 1));
+        Assert.assertFalse(multimap.containsKey("One"));
+        Assert.assertFalse(multimap.remove("One", 1));
+        Verify.assertEmpty(multimap);
+    }
+
+    @Test
+    public void concurrentPutAndRemove()
+    {
+        ConcurrentHashBagMultimap<Integer, Integer> multimap = ConcurrentHashBagMultimap.newMultimap();
+        Interval interval = Interval.oneTo(1000);
+        ParallelIterate.forEach(interval, each -> {
+            multimap.put(each % 10, each);
+            multimap.put(each % 10, -each);
+            Assert.assertTrue(multimap.remove(each % 10, -each));
+        }, 1);
+
+        Verify.assertSize(1000, multimap);
+        Assert.assertEquals(10, multimap.sizeDistinct());
+        for (int key = 0; key < 10; key++)
+        {
+            int expectedKey = key;
+            Assert.assertEquals(interval.select(each -> each % 10 == expectedKey).toBag(), multimap.get(key));
+        }
+    }
+
+    @Test
+    public void multiValuesView_isSnapshot()
+    {
+        ConcurrentHashBagMultimap<String, Integer> multimap = this.newMultimapWithKeysValues("One", 1, "One", 1);
+        RichIterable<Integer> values = multimap.multiValuesView().getFirst();
+        RichIterable<Integer> pairValues = multimap.keyMultiValuePairsView().getFirst().getTwo();
+        multimap.put("One", 2);
+        Assert.assertEquals(HashBag.newBagWith(1, 1), values);
+        Assert.assertEquals(HashBag.newBagWith(1, 1), pairValues);
+        Assert.assertEquals(HashBag.newBagWith(1, 1, 2), multimap.toMap().get("One"));
+    }
+
+    @Test
+    public void concurrentPutAndRemoveOfLastValue()
+    {
+        ConcurrentHashBagMultimap<Integer, Integer> multimap = ConcurrentHashBagMultimap.newMultimap();
+        Interval interval = Interval.oneTo(10000);
+        ParallelIterate.forEach(interval, each -> {
+            multimap.put(1, each);
+            multimap.put(2, each);
+            Assert.assertTrue(multimap.remove(1, each));
+        }, 1);
+
+        Assert.assertFalse(multimap.containsKey(1));
+        Assert.assertEquals(interval.toBag(), multimap.get(2));
+        Verify.assertSize(10000, multimap);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.test.Verify;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BoundedExecutorTest
+{
+    private final ExecutorService delegate = Executors.newFixedThreadPool(8);
+
+    @After
+    public void tearDown()
+    {
+        this.delegate.shutdown();
+    }
+
+    @Test
+    public void newBoundedExecutor_throws()
+    {
+        Verify.assertThrows(IllegalArgumentException.class, () -> new BoundedExecutor(this.delegate, 0));
+    }
+
+    @Test
+    public void limitsConcurrentTasks() throws InterruptedException
+    {
+        BoundedExecutor executor = new BoundedExecutor(this.delegate, 2);
+        Assert.assertEquals(2, executor.getMaxParallelism());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        int taskCount = 50;
+        CountDownLatch done = new CountDownLatch(taskCount);
+        for (int i = 0; i < taskCount; i++)
+        {
+            executor.execute(() -> {
+                int now = running.incrementAndGet();
+                maxRunning.accumulateAndGet(now, Math::max);
+                try
+                {
+                    Thread.sleep(1L);
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+        Assert.assertTrue(done.await(10L, TimeUnit.SECONDS));
+        Assert.assertTrue(maxRunning.get() <= 2);
+    }
+
+    @Test
+    public void parallelIterate()
+    {
+        AtomicInteger sum = new AtomicInteger();
+        ParallelIterate.forEach(
+                Interval.oneTo(1000),
+                each -> { sum.addAndGet(each); },
+                10,
+                ParallelIterate.newBoundedExecutor(2));
+        Assert.assertEquals(500500, sum.get());
+    }
+}
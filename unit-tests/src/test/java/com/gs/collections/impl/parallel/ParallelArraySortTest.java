@@ -0,0 +1,132 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.gs.collections.api.tuple.Pair;
+import com.gs.collections.impl.block.factory.Comparators;
+import com.gs.collections.impl.test.Verify;
+import com.gs.collections.impl.tuple.Tuples;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParallelArraySortTest
+{
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final Random random = new Random(42L);
+
+    @After
+    public void tearDown()
+    {
+        this.executor.shutdown();
+    }
+
+    @Test
+    public void sortInts()
+    {
+        for (int taskCount = 1; taskCount <= 9; taskCount++)
+        {
+            int[] array = this.random.ints(10007, -500, 500).toArray();
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+            ParallelArraySort.sort(array, 0, array.length, 10, taskCount, this.executor);
+            Assert.assertArrayEquals(expected, array);
+        }
+    }
+
+    @Test
+    public void sortIntsDefaultEngine()
+    {
+        int[] array = this.random.ints(100000).toArray();
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        ParallelArraySort.sort(array, 0, array.length);
+        Assert.assertArrayEquals(expected, array);
+    }
+
+    @Test
+    public void sortRange()
+    {
+        long[] array = this.random.longs(1000).toArray();
+        long[] expected = array.clone();
+        Arrays.sort(expected, 100, 901);
+        ParallelArraySort.sort(array, 100, 901, 7, 5, this.executor);
+        Assert.assertArrayEquals(expected, array);
+
+        Verify.assertThrows(IllegalArgumentException.class, () -> ParallelArraySort.sort(array, 2, 1, 1, 2, this.executor));
+        Verify.assertThrows(ArrayIndexOutOfBoundsException.class, () -> ParallelArraySort.sort(array, -1, 1, 1, 2, this.executor));
+        Verify.assertThrows(ArrayIndexOutOfBoundsException.class, () -> ParallelArraySort.sort(array, 0, 1001, 1, 2, this.executor));
+    }
+
+    @Test
+    public void sortDoubles()
+    {
+        double[] array = this.random.doubles(5000).toArray();
+        array[10] = Double.NaN;
+        array[20] = -0.0;
+        array[30] = 0.0;
+        array[40] = Double.NEGATIVE_INFINITY;
+        double[] expected = array.clone();
+        Arrays.sort(expected);
+        ParallelArraySort.sort(array, 0, array.length, 16, 6, this.executor);
+        Assert.assertArrayEquals(expected, array, 0.0);
+    }
+
+    @Test
+    public void sortObjectsIsStable()
+    {
+        Pair<Integer, Integer>[] array = new Pair[5000];
+        for (int i = 0; i < array.length; i++)
+        {
+            array[i] = Tuples.pair(this.random.nextInt(10), i);
+        }
+        Pair<Integer, Integer>[] expected = array.clone();
+        Comparator<Pair<Integer, Integer>> byKey = Comparators.byFunction(Pair::getOne);
+        Arrays.sort(expected, byKey);
+        ParallelArraySort.sort(array, 0, array.length, byKey, 10, 7, this.executor);
+        Assert.assertArrayEquals(expected, array);
+    }
+
+    @Test
+    public void sortObjectsNaturalOrder()
+    {
+        String[] array = new String[3000];
+        for (int i = 0; i < array.length; i++)
+        {
+            array[i] = String.valueOf(this.random.nextInt());
+        }
+        String[] expected = array.clone();
+        Arrays.sort(expected);
+        ParallelArraySort.sort(array, 0, array.length, null, 10, 4, this.executor);
+        Assert.assertArrayEquals(expected, array);
+    }
+
+    @Test
+    public void comparatorFailure()
+    {
+        Object[] array = {1, "two", 3, 4, 5, 6, 7, 8};
+        Verify.assertThrows(
+                RuntimeException.class,
+                () -> ParallelArraySort.sort(array, 0, array.length, null, 1, 4, this.executor));
+    }
+}
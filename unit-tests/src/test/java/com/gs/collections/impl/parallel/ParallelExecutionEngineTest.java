@@ -0,0 +1,133 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.parallel;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.test.Verify;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelExecutionEngineTest
+{
+    private ParallelExecutionEngine originalEngine;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp()
+    {
+        this.originalEngine = ParallelIterate.getDefaultEngine();
+        this.executor = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown()
+    {
+        ParallelIterate.setDefaultEngine(this.originalEngine);
+        this.executor.shutdown();
+    }
+
+    @Test
+    public void defaults()
+    {
+        ParallelExecutionEngine engine = ParallelExecutionEngine.on(this.executor, 2);
+        Assert.assertSame(this.executor, engine.getExecutor());
+        Assert.assertEquals(2, engine.getParallelism());
+        Assert.assertEquals(ParallelIterate.DEFAULT_MIN_FORK_SIZE, engine.getMinForkSize());
+        Assert.assertEquals(4, engine.getTaskCount());
+        Assert.assertFalse(engine.isAdaptiveForkSize());
+    }
+
+    @Test
+    public void withers()
+    {
+        ParallelExecutionEngine engine = ParallelExecutionEngine.on(this.executor, 4)
+                .withMinForkSize(100)
+                .withTaskRatio(3)
+                .withAdaptiveForkSize(true);
+        Assert.assertEquals(100, engine.getMinForkSize());
+        Assert.assertEquals(12, engine.getTaskCount());
+        Assert.assertTrue(engine.isAdaptiveForkSize());
+
+        ParallelExecutionEngine bounded = engine.withMaxParallelism(2);
+        Assert.assertEquals(2, bounded.getParallelism());
+        Verify.assertInstanceOf(BoundedExecutor.class, bounded.getExecutor());
+        Assert.assertTrue(bounded.isAdaptiveForkSize());
+
+        Verify.assertThrows(IllegalArgumentException.class, () -> engine.withMinForkSize(0));
+        Verify.assertThrows(IllegalArgumentException.class, () -> engine.withTaskRatio(0));
+        Verify.assertThrows(IllegalArgumentException.class, () -> ParallelExecutionEngine.on(this.executor, 0));
+    }
+
+    @Test
+    public void forkJoin()
+    {
+        ParallelExecutionEngine engine = ParallelExecutionEngine.forkJoin(2).withMinForkSize(10);
+        ParallelIterate.setDefaultEngine(engine);
+        AtomicInteger sum = new AtomicInteger();
+        ParallelIterate.forEach(Interval.oneTo(1000).toList(), each -> { sum.addAndGet(each); });
+        Assert.assertEquals(500500, sum.get());
+        ((ExecutorService) engine.getExecutor()).shutdown();
+    }
+
+    @Test
+    public void setDefaultEngine()
+    {
+        Verify.assertThrows(IllegalArgumentException.class, () -> ParallelIterate.setDefaultEngine(null));
+        ParallelExecutionEngine engine = ParallelExecutionEngine.on(this.executor, 2).withMinForkSize(10);
+        ParallelIterate.setDefaultEngine(engine);
+        Assert.assertSame(engine, ParallelIterate.getDefaultEngine());
+        Assert.assertEquals(
+                Interval.evensFromTo(2, 1000).toList(),
+                ParallelIterate.select(Interval.oneTo(1000).toList(), each -> each % 2 == 0));
+    }
+
+    @Test
+    public void adaptiveForkSize()
+    {
+        ParallelExecutionEngine engine = ParallelExecutionEngine.on(this.executor, 2).withAdaptiveForkSize(true);
+        ParallelIterate.setDefaultEngine(engine);
+        AtomicInteger count = new AtomicInteger();
+        for (int i = 0; i < 3; i++)
+        {
+            Assert.assertEquals(
+                    50000,
+                    ParallelIterate.count(Interval.oneTo(100000).toList(), each -> {
+                        count.incrementAndGet();
+                        return each % 2 == 0;
+                    }));
+        }
+        Assert.assertEquals(300000, count.get());
+    }
+
+    @Test
+    public void forkSizeEstimator()
+    {
+        ForkSizeEstimator estimator = new ForkSizeEstimator(10000, 4);
+        Object block = new Object();
+        Assert.assertEquals(10000, estimator.batchSize(block));
+        estimator.record(block, 1000, 10, 4000000L);
+        Assert.assertEquals(62, estimator.batchSize(block));
+        estimator.record(block, 0, 10, 1L);
+        Assert.assertEquals(62, estimator.batchSize(block));
+    }
+}
@@ -277,6 +277,66 @@ public class ParallelIterateTest
                         5));
     }
 
+    @Test
+    public void testForEachWithExceptionSkipsRemainingTasks()
+    {
+        AtomicInteger visited = new AtomicInteger();
+        ExecutorService singleThread = Executors.newSingleThreadExecutor();
+        try
+        {
+            Verify.assertThrows(
+                    RuntimeException.class,
+                    () -> ParallelIterate.forEach(
+                            Interval.oneTo(100).toList(),
+                            each -> {
+                                visited.incrementAndGet();
+                                throw new RuntimeException("Thread death on its way!");
+                            },
+                            1,
+                            singleThread));
+            Assert.assertEquals(1, visited.get());
+        }
+        finally
+        {
+            singleThread.shutdown();
+        }
+    }
+
+    @Test
+    public void forEachBlocking()
+    {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger sum = new AtomicInteger();
+        ParallelIterate.forEachBlocking(Interval.oneTo(200).toList(), each -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try
+            {
+                Thread.sleep(2L);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            sum.addAndGet(each);
+        }, 32);
+        Assert.assertEquals(20100, sum.get());
+        Assert.assertTrue(maxRunning.get() <= 32);
+    }
+
+    @Test
+    public void forEachBlockingWithCombiner()
+    {
+        IntegerSum sum = new IntegerSum(0);
+        ParallelIterate.forEachBlocking(Interval.oneTo(1000).toSet(), new SumProcedure(sum), new SumCombiner(sum), 10, 8);
+        Assert.assertEquals(500500, sum.getSum());
+
+        Verify.assertThrows(
+                RuntimeException.class,
+                () -> ParallelIterate.forEachBlocking(createIntegerList(5), EXCEPTION_PROCEDURE, 2));
+    }
+
     @Test
     public void testForEachWithIndexToArrayUsingFastListSerialPath()
     {
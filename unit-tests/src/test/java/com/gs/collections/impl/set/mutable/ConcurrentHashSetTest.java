@@ -0,0 +1,184 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.set.mutable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.gs.collections.api.block.procedure.Procedure;
+import com.gs.collections.api.collection.MutableCollection;
+import com.gs.collections.api.set.MutableSet;
+import com.gs.collections.impl.block.factory.Predicates;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.parallel.ParallelIterate;
+import com.gs.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JUnit test for {@link ConcurrentHashSet}.
+ */
+public class ConcurrentHashSetTest extends AbstractMutableSetTestCase
+{
+    @Override
+    protected <T> ConcurrentHashSet<T> newWith(T... littleElements)
+    {
+        return ConcurrentHashSet.newSetWith(littleElements);
+    }
+
+    @Override
+    @Test
+    public void testToString()
+    {
+        MutableCollection<Object> collection = this.<Object>newWith(1);
+        collection.add(collection);
+        String simpleName = collection.getClass().getSimpleName();
+        String string = collection.toString();
+        Assert.assertTrue(
+                ("[1, (this " + simpleName + ")]").equals(string)
+                        || ("[(this " + simpleName + "), 1]").equals(string));
+    }
+
+    @Override
+    @Test
+    public void remove()
+    {
+        MutableSet<Integer> set = this.newWith(COLLISION_1, COLLISION_2, COLLISION_3, COLLISION_4);
+        Assert.assertTrue(set.remove(COLLISION_3));
+        Assert.assertFalse(set.remove(COLLISION_3));
+        Assert.assertEquals(UnifiedSet.newSetWith(COLLISION_1, COLLISION_2, COLLISION_4), set);
+        Assert.assertTrue(set.remove(COLLISION_1));
+        Assert.assertTrue(set.remove(COLLISION_4));
+        Assert.assertEquals(UnifiedSet.newSetWith(COLLISION_2), set);
+        Assert.assertTrue(set.remove(COLLISION_2));
+        Verify.assertEmpty(set);
+    }
+
+    /**
+     * Same as the inherited test, except that it never adds null, which this set rejects.
+     */
+    @Override
+    @Test
+    public void detect()
+    {
+        Assert.assertEquals(Integer.valueOf(3), this.newWith(1, 2, 3, 4, 5).detect(Predicates.equal(3)));
+        Assert.assertNull(this.newWith(1, 2, 3, 4, 5).detect(Predicates.equal(6)));
+
+        for (int i = 1; i < MORE_COLLISIONS.size(); i++)
+        {
+            MutableSet<Integer> set = this.newWith();
+            set.addAll(MORE_COLLISIONS.subList(0, i));
+            Verify.assertItemAtIndex(set.detect(Predicates.equal(MORE_COLLISIONS.get(i - 1))), i - 1, MORE_COLLISIONS);
+        }
+
+        MutableSet<Integer> set = this.newWith(COLLISION_1, COLLISION_2);
+        set.remove(COLLISION_2);
+        Assert.assertEquals(COLLISION_1, set.detect(Predicates.equal(COLLISION_1)));
+        Assert.assertNull(set.detect(Predicates.equal(COLLISION_2)));
+
+        for (int i = 1; i < COLLISIONS.size(); i++)
+        {
+            MutableSet<Integer> rehashingSet = this.newWith();
+            rehashingSet.addAll(COLLISIONS.subList(0, i));
+            Integer last = COLLISIONS.subList(0, i).getLast();
+            rehashingSet.remove(last);
+
+            int rehashingSetSize = rehashingSet.size();
+            for (int j = 0; j < rehashingSetSize; j++)
+            {
+                rehashingSet.add(Integer.valueOf(j + 1));
+            }
+
+            rehashingSet.add(last);
+            Assert.assertEquals(last, rehashingSet.detect(Predicates.equal(last)));
+            Assert.assertNull(rehashingSet.detect(Predicates.equal(Integer.valueOf(5))));
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void add_null_throws()
+    {
+        this.newWith().add(null);
+    }
+
+    @Test
+    public void contains_and_remove_null()
+    {
+        MutableSet<Integer> set = this.newWith(1, 2);
+        Assert.assertFalse(set.contains(null));
+        Assert.assertFalse(set.remove(null));
+        Verify.assertSize(2, set);
+    }
+
+    @Test
+    public void addReportsWhetherTheElementWasNew()
+    {
+        MutableSet<String> set = this.newWith();
+        Assert.assertTrue(set.add("a"));
+        Assert.assertFalse(set.add("a"));
+        Assert.assertTrue(set.remove("a"));
+        Assert.assertTrue(set.add("a"));
+        Verify.assertSize(1, set);
+    }
+
+    @Test
+    public void containsItselfAcrossResize()
+    {
+        ConcurrentHashSet<Object> set = ConcurrentHashSet.newSet(1);
+        set.add(set);
+        Interval.oneTo(100).forEach((Procedure<Integer>) set::add);
+        Verify.assertSize(101, set);
+        Assert.assertTrue(set.contains(set));
+        Assert.assertTrue(set.remove(set));
+        Verify.assertSize(100, set);
+    }
+
+    @Test
+    public void growAndShrink()
+    {
+        ConcurrentHashSet<Integer> set = ConcurrentHashSet.newSet(1);
+        Interval.oneTo(10000).forEach((Procedure<Integer>) each -> Assert.assertTrue(set.add(each)));
+        Verify.assertSize(10000, set);
+        Assert.assertEquals(Interval.oneTo(10000).toSet(), set);
+        Interval.evensFromTo(1, 10000).forEach((Procedure<Integer>) each -> Assert.assertTrue(set.remove(each)));
+        Assert.assertEquals(Interval.oddsFromTo(1, 10000).toSet(), set);
+        set.clear();
+        Verify.assertEmpty(set);
+    }
+
+    @Test
+    public void concurrentAdd()
+    {
+        ConcurrentHashSet<Integer> set = ConcurrentHashSet.newSet();
+        AtomicInteger added = new AtomicInteger();
+        ParallelIterate.forEach(Interval.oneTo(100000), each -> {
+            if (set.add(each % 50000))
+            {
+                added.incrementAndGet();
+            }
+        }, 1);
+        Assert.assertEquals(50000, added.get());
+        Verify.assertSize(50000, set);
+        Assert.assertEquals(Interval.zeroTo(49999).toSet(), set);
+    }
+
+    @Test
+    public void serialization()
+    {
+        Verify.assertPostSerializedEqualsAndHashCode(this.newWith(1, 2, 3, COLLISION_1, COLLISION_2));
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.gs.collections.impl.set.mutable;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.gs.collections.api.list.MutableList;
+import com.gs.collections.impl.list.mutable.FastList;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ConcurrentPoolTest
+{
+    @Test
+    public void putReturnsCanonicalInstance()
+    {
+        for (ConcurrentPool<String> pool : FastList.newListWith(
+                ConcurrentPool.<String>newPool(), ConcurrentPool.<String>newWeakPool(), ConcurrentPool.<String>newSoftPool(1)))
+        {
+            String first = new String("GSCO");
+            String second = new String("GSCO");
+            Assert.assertNull(pool.get(first));
+            Assert.assertSame(first, pool.put(first));
+            Assert.assertSame(first, pool.put(second));
+            Assert.assertSame(first, pool.get(second));
+            Assert.assertEquals(1, pool.size());
+
+            Assert.assertSame(first, pool.removeFromPool(second));
+            Assert.assertNull(pool.get(first));
+            Assert.assertEquals(0, pool.size());
+
+            pool.put("A");
+            pool.put("B");
+            Assert.assertEquals(2, pool.size());
+            pool.clear();
+            Assert.assertEquals(0, pool.size());
+        }
+    }
+
+    @Test
+    public void nullValues()
+    {
+        ConcurrentPool<String> pool = ConcurrentPool.newPool(1);
+        Assert.assertNull(pool.put(null));
+        Assert.assertEquals(1, pool.size());
+
+        ConcurrentPool<String> weakPool = ConcurrentPool.newWeakPool();
+        Assert.assertNull(weakPool.put(null));
+        Assert.assertEquals(0, weakPool.size());
+    }
+
+    @Test
+    public void getAndRemoveFromStrongPool()
+    {
+        ConcurrentPool<String> pool = ConcurrentPool.newPool();
+        String pooled = new String("value");
+        Assert.assertSame(pooled, pool.put(pooled));
+        Assert.assertSame(pooled, pool.put(new String("value")));
+        Assert.assertSame(pooled, pool.get(new String("value")));
+        Assert.assertNull(pool.get("other"));
+        pool.put(null);
+        Assert.assertNull(pool.get(null));
+        Assert.assertEquals(2, pool.size());
+
+        Assert.assertSame(pooled, pool.removeFromPool(new String("value")));
+        Assert.assertNull(pool.get("value"));
+        Assert.assertNull(pool.removeFromPool(null));
+        Assert.assertEquals(0, pool.size());
+        Assert.assertNull(pool.removeFromPool("value"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroConcurrencyLevel()
+    {
+        ConcurrentPool.newPool(0);
+    }
+
+    @Test
+    public void concurrentPutsAgreeOnCanonicalInstance() throws Exception
+    {
+        ConcurrentPool<String> pool = ConcurrentPool.newPool(4);
+        int threads = 8;
+        int size = 10000;
+        CountDownLatch startGate = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        MutableList<Future<String[]>> futures = FastList.newList();
+        for (int i = 0; i < threads; i++)
+        {
+            futures.add(executor.submit(() -> {
+                startGate.await();
+                String[] interned = new String[size];
+                for (int j = 0; j < size; j++)
+                {
+                    interned[j] = pool.put(new String("symbol" + j));
+                }
+                return interned;
+            }));
+        }
+        startGate.countDown();
+        String[] expected = futures.getFirst().get();
+        for (Future<String[]> future : futures)
+        {
+            String[] interned = future.get();
+            for (int j = 0; j < size; j++)
+            {
+                Assert.assertSame(expected[j], interned[j]);
+            }
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(10L, TimeUnit.SECONDS));
+        Assert.assertEquals(size, pool.size());
+    }
+
+    @Test
+    public void weakPoolReleasesUnreferencedValues() throws InterruptedException
+    {
+        ConcurrentPool<Object> pool = ConcurrentPool.newWeakPool(1);
+        Object retained = new Key(0);
+        pool.put(retained);
+        for (int i = 1; i < 1000; i++)
+        {
+            pool.put(new Key(i));
+        }
+        for (int i = 0; i < 50 && pool.size() > 1; i++)
+        {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        Assert.assertEquals(1, pool.size());
+        Assert.assertSame(retained, pool.get(new Key(0)));
+        Object replacement = new Key(1);
+        Assert.assertSame(replacement, pool.put(replacement));
+    }
+
+    private static final class Key
+    {
+        private final int value;
+
+        private Key(int value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            return o instanceof Key && ((Key) o).value == this.value;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.value;
+        }
+    }
+}
@@ -175,6 +175,40 @@ public class UnifiedSetTest extends AbstractMutableSetTestCase
         Assert.assertNull(chainedWithOneSlot.get(COLLISION_2));
     }
 
+    @Test
+    public void iterator_remove_longChain()
+    {
+        UnifiedSet<Object> set = UnifiedSet.newSet();
+        MutableSet<Object> expected = Sets.mutable.of();
+        for (int i = 0; i < 20; i++)
+        {
+            Object each = new Object()
+            {
+                @Override
+                public int hashCode()
+                {
+                    return 0;
+                }
+            };
+            set.add(each);
+            if (i % 3 != 0)
+            {
+                expected.add(each);
+            }
+        }
+        int count = 0;
+        for (Iterator<Object> iterator = set.iterator(); iterator.hasNext(); count++)
+        {
+            Object each = iterator.next();
+            if (!expected.contains(each))
+            {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(20, count);
+        Assert.assertEquals(expected, set);
+    }
+
     @Test
     public void put()
     {
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.set.mutable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Runs the set tests against {@link UnifiedSet#newSetWithSortedChains()}.
+ */
+public class UnifiedSetWithSortedChainsTest extends AbstractMutableSetTestCase
+{
+    @Override
+    protected <T> UnifiedSet<T> newWith(T... littleElements)
+    {
+        return UnifiedSet.<T>newSetWithSortedChains().with(littleElements);
+    }
+
+    @Test
+    public void sameHashCodeElements()
+    {
+        List<Integer> values = FastList.newList(Interval.zeroTo(999));
+        Collections.shuffle(values, new Random(42L));
+
+        UnifiedSet<SameHashCode> set = UnifiedSet.newSetWithSortedChains();
+        for (Integer each : values)
+        {
+            Assert.assertTrue(set.add(new SameHashCode(each)));
+        }
+        Assert.assertFalse(set.add(new SameHashCode(500)));
+        Verify.assertSize(1000, set);
+        for (int i = 0; i < 1000; i++)
+        {
+            Assert.assertTrue(set.contains(new SameHashCode(i)));
+        }
+
+        for (int i = 0; i < 1000; i += 2)
+        {
+            Assert.assertTrue(set.remove(new SameHashCode(i)));
+        }
+        Assert.assertFalse(set.remove(new SameHashCode(0)));
+        for (Iterator<SameHashCode> iterator = set.iterator(); iterator.hasNext(); )
+        {
+            if (iterator.next().value % 3 == 0)
+            {
+                iterator.remove();
+            }
+        }
+        for (int i = 0; i < 1000; i++)
+        {
+            Assert.assertEquals(i % 2 != 0 && i % 3 != 0, set.contains(new SameHashCode(i)));
+        }
+        Verify.assertSize(Interval.zeroTo(999).count(each -> each % 2 != 0 && each % 3 != 0), set);
+        Assert.assertEquals(set, set.clone());
+        Assert.assertTrue(set.clone().add(new SameHashCode(0)));
+        Assert.assertTrue(set.retainAll(FastList.newListWith(new SameHashCode(1), new SameHashCode(3), new SameHashCode(5))));
+        Assert.assertEquals(UnifiedSet.newSetWith(new SameHashCode(1), new SameHashCode(5)), set);
+    }
+
+    @Test
+    public void equalElementsOfDifferentClasses()
+    {
+        int listHashCode = FastList.newListWith(1, 2).hashCode();
+        UnifiedSet<Object> set = UnifiedSet.newSetWithSortedChains();
+        List<Object> colliding = FastList.newList();
+        for (int i = 0; i < 10; i++)
+        {
+            Object each = new Object()
+            {
+                @Override
+                public int hashCode()
+                {
+                    return listHashCode;
+                }
+            };
+            colliding.add(each);
+            set.add(each);
+        }
+        set.add(FastList.newListWith(1, 2));
+        Assert.assertFalse(set.add(new ArrayList<Integer>(Arrays.asList(1, 2))));
+        Verify.assertSize(11, set);
+        Assert.assertTrue(set.contains(new ArrayList<Integer>(Arrays.asList(1, 2))));
+        Assert.assertSame(colliding.get(4), set.get(colliding.get(4)));
+        Assert.assertEquals(FastList.newListWith(1, 2), set.removeFromPool(new ArrayList<Integer>(Arrays.asList(1, 2))));
+        Assert.assertFalse(set.contains(FastList.newListWith(1, 2)));
+        Verify.assertSize(10, set);
+    }
+
+    @Test
+    public void nullInLongChain()
+    {
+        UnifiedSet<Object> set = UnifiedSet.newSetWithSortedChains();
+        for (int i = 0; i < 20; i++)
+        {
+            set.add(new SameHashCode(i));
+        }
+        Assert.assertTrue(set.add(null));
+        Assert.assertFalse(set.add(null));
+        Assert.assertTrue(set.contains(null));
+        Verify.assertSize(21, set);
+        Assert.assertTrue(set.remove(null));
+        Assert.assertFalse(set.contains(null));
+        Assert.assertTrue(set.contains(new SameHashCode(19)));
+    }
+
+    private static final class SameHashCode implements Comparable<SameHashCode>
+    {
+        private final int value;
+
+        private SameHashCode(int value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            return o instanceof SameHashCode && ((SameHashCode) o).value == this.value;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return 0;
+        }
+
+        public int compareTo(SameHashCode other)
+        {
+            return this.value < other.value ? -1 : this.value == other.value ? 0 : 1;
+        }
+    }
+}
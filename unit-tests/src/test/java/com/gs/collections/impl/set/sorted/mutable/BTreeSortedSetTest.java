@@ -0,0 +1,127 @@
+/*
+ * Copyright 2014 Goldman Sachs.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.gs.collections.impl.set.sorted.mutable;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import com.gs.collections.api.LazyIterable;
+import com.gs.collections.api.set.sorted.MutableSortedSet;
+import com.gs.collections.impl.block.factory.IntegerPredicates;
+import com.gs.collections.impl.list.Interval;
+import com.gs.collections.impl.list.mutable.FastList;
+import com.gs.collections.impl.test.Verify;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BTreeSortedSetTest extends AbstractSortedSetTestCase
+{
+    @Override
+    protected <T> BTreeSortedSet<T> newWith(T... elements)
+    {
+        return BTreeSortedSet.newSetWith(elements);
+    }
+
+    @Override
+    protected <T> BTreeSortedSet<T> newWith(Comparator<? super T> comparator, T... elements)
+    {
+        return BTreeSortedSet.newSetWith(comparator, elements);
+    }
+
+    @Override
+    @Test
+    public void asSynchronized()
+    {
+        Verify.assertInstanceOf(SynchronizedSortedSet.class, this.newWith().asSynchronized());
+    }
+
+    @Override
+    @Test
+    public void asUnmodifiable()
+    {
+        Verify.assertInstanceOf(UnmodifiableSortedSet.class, this.newWith().asUnmodifiable());
+    }
+
+    @Test
+    public void sortedSetIterableConstructor()
+    {
+        BTreeSortedSet<Integer> sortedSetA = BTreeSortedSet.newSet(Collections.<Integer>reverseOrder());
+        BTreeSortedSet<Integer> sortedSetB = BTreeSortedSet.newSet(sortedSetA.with(1).with(2, 3).with(4, 5, 6));
+        Verify.assertSortedSetsEqual(sortedSetA, sortedSetB);
+        Assert.assertTrue(sortedSetA.first().equals(sortedSetB.first()) && sortedSetB.first() == 6);
+        Verify.assertSortedSetsEqual(sortedSetB, new BTreeSortedSet<Integer>(sortedSetB));
+    }
+
+    @Test
+    public void sortedSetConstructor()
+    {
+        SortedSet<String> setA = new TreeSet<String>(FastList.newListWith("a", "c", "b", "d"));
+        Verify.assertSortedSetsEqual(setA, BTreeSortedSet.newSet(setA));
+        Verify.assertSortedSetsEqual(setA, new BTreeSortedSet<String>(setA));
+    }
+
+    @Test
+    public void iterableConstructor()
+    {
+        LazyIterable<Integer> integerLazyIterable = FastList.newListWith(2, 4, 1, 3).asLazy();
+        BTreeSortedSet<Integer> sortedSet = BTreeSortedSet.newSet(integerLazyIterable);
+        Verify.assertSortedSetsEqual(BTreeSortedSet.newSetWith(1, 2, 3, 4), sortedSet);
+    }
+
+    @Test
+    public void serialization()
+    {
+        MutableSortedSet<Integer> set = this.newWith(1, 2, 3, 4, 5);
+        Verify.assertPostSerializedEqualsAndHashCode(set);
+    }
+
+    @Test
+    public void rangeViewsOverManyLeaves()
+    {
+        BTreeSortedSet<Integer> set = BTreeSortedSet.newSet(Interval.oneTo(10000));
+        TreeSet<Integer> expected = new TreeSet<Integer>(Interval.oneTo(10000));
+        MutableSortedSet<Integer> subSet = set.subSet(1000, 9000);
+        Verify.assertSortedSetsEqual(expected.subSet(1000, 9000), subSet);
+        Verify.assertSortedSetsEqual(expected.headSet(5000), set.headSet(5000));
+        Verify.assertSortedSetsEqual(expected.tailSet(5000), set.tailSet(5000));
+
+        subSet.removeIf(IntegerPredicates.isEven());
+        expected.subSet(1000, 9000).removeIf(each -> each % 2 == 0);
+        Verify.assertSortedSetsEqual(expected, set);
+        Verify.assertSize(4000, subSet);
+        Assert.assertEquals(Integer.valueOf(1001), subSet.first());
+        Assert.assertEquals(Integer.valueOf(8999), subSet.last());
+        Assert.assertTrue(subSet.add(2000));
+        Assert.assertTrue(set.contains(2000));
+    }
+
+    @Test
+    public void addAllFromSortedSet()
+    {
+        TreeSet<Integer> source = new TreeSet<Integer>(Collections.<Integer>reverseOrder());
+        source.addAll(Interval.oneTo(5000));
+        BTreeSortedSet<Integer> set = BTreeSortedSet.newSet(Collections.<Integer>reverseOrder());
+        Assert.assertTrue(set.addAll(source));
+        Assert.assertFalse(set.addAll(source));
+        Verify.assertSortedSetsEqual(source, set);
+        Assert.assertTrue(set.addAll(FastList.newListWith(0, 5001)));
+        Assert.assertEquals(Integer.valueOf(5001), set.first());
+        Assert.assertEquals(Integer.valueOf(0), set.last());
+    }
+}